@@ -25,9 +25,14 @@ import org.apache.dolphinscheduler.api.service.LoggerService;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -39,6 +44,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -82,6 +88,42 @@ public class LoggerController extends BaseController {
         return loggerService.queryLog(loginUser, taskInstanceId, skipNum, limit);
     }
 
+    /**
+     * tail task log, it's a long poll which returns once some log is appended since the offset or the wait time elapsed,
+     * the http thread is released while waiting
+     *
+     * @param loginUser login user
+     * @param taskInstanceId task instance id
+     * @param offset byte offset to tail from
+     * @param waitMillis max milliseconds to wait for the appended log
+     * @return the appended log and the next offset
+     */
+    @Operation(summary = "tailLog", description = "TAIL_TASK_INSTANCE_LOG_NOTES")
+    @Parameters({
+            @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "offset", description = "LOG_OFFSET", schema = @Schema(implementation = long.class, example = "0")),
+            @Parameter(name = "waitMillis", description = "LOG_TAIL_WAIT_MILLIS", schema = @Schema(implementation = long.class, example = "10000"))
+    })
+    @GetMapping(value = "/tail")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
+    public DeferredResult<Result<ResponseTaskLogTail>> tailLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                                               @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                                               @RequestParam(value = "offset", required = false, defaultValue = "0") long offset,
+                                                               @RequestParam(value = "waitMillis", required = false, defaultValue = "10000") long waitMillis) {
+        // The tail log is always completed in the max wait time, the timeout is only a guard against the slow rpc
+        final DeferredResult<Result<ResponseTaskLogTail>> deferredResult =
+                new DeferredResult<>(LoggerService.MAX_TAIL_WAIT_MILLIS + TimeUnit.MINUTES.toMillis(1));
+        loggerService.tailLog(loginUser, taskInstanceId, offset, waitMillis).whenComplete((logTail, ex) -> {
+            if (ex != null) {
+                deferredResult.setErrorResult(ex);
+            } else {
+                deferredResult.setResult(Result.success(logTail));
+            }
+        });
+        return deferredResult;
+    }
+
     /**
      * download log file
      *
@@ -98,12 +140,12 @@ public class LoggerController extends BaseController {
     @ApiException(DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR)
     public ResponseEntity downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
                                           @RequestParam(value = "taskInstanceId") int taskInstanceId) {
-        byte[] logBytes = loggerService.getLogBytes(loginUser, taskInstanceId);
+        InputStream logInputStream = loggerService.getLogInputStream(loginUser, taskInstanceId);
         return ResponseEntity
                 .ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"")
-                .body(logBytes);
+                .body(new InputStreamResource(logInputStream));
     }
 
     /**
@@ -154,11 +196,11 @@ public class LoggerController extends BaseController {
     public ResponseEntity downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
                                           @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
                                           @RequestParam(value = "taskInstanceId") int taskInstanceId) {
-        byte[] logBytes = loggerService.getLogBytes(loginUser, projectCode, taskInstanceId);
+        InputStream logInputStream = loggerService.getLogInputStream(loginUser, projectCode, taskInstanceId);
         return ResponseEntity
                 .ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"")
-                .body(logBytes);
+                .body(new InputStreamResource(logInputStream));
     }
 }
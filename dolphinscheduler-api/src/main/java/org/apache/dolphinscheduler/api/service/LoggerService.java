@@ -19,13 +19,22 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * logger service
  */
 public interface LoggerService {
 
+    /**
+     * The max milliseconds to wait for the appended log of a tail request.
+     */
+    long MAX_TAIL_WAIT_MILLIS = 30_000L;
+
     /**
      * view log
      *
@@ -46,6 +55,26 @@ public interface LoggerService {
      */
     byte[] getLogBytes(User loginUser, int taskInstId);
 
+    /**
+     * get log input stream, the whole log file will not be loaded into memory
+     *
+     * @param loginUser   login user
+     * @param taskInstId task instance id
+     * @return log input stream
+     */
+    InputStream getLogInputStream(User loginUser, int taskInstId);
+
+    /**
+     * tail log, wait for the log appended since the offset if there is no appended log yet
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     the byte offset to tail from, which is the next offset of the previous tail
+     * @param waitMillis max milliseconds to wait for the appended log, at most {@link #MAX_TAIL_WAIT_MILLIS}
+     * @return the future of the appended log and the next offset, the calling thread is not blocked while waiting
+     */
+    CompletableFuture<ResponseTaskLogTail> tailLog(User loginUser, int taskInstId, long offset, long waitMillis);
+
     /**
      * query log
      *
@@ -67,4 +96,14 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * get log input stream, the whole log file will not be loaded into memory
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @return log input stream
+     */
+    InputStream getLogInputStream(User loginUser, long projectCode, int taskInstId);
 }
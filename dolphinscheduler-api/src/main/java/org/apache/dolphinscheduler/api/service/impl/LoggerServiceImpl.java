@@ -26,8 +26,10 @@ import org.apache.dolphinscheduler.api.service.LoggerService;
 import org.apache.dolphinscheduler.api.service.ProjectService;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -35,22 +37,31 @@ import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.base.stream.ChunkedRpcInputStream;
 import org.apache.dolphinscheduler.extract.common.ILogService;
-import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
-import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.google.common.primitives.Bytes;
+import com.google.common.io.ByteStreams;
 
 /**
  * logger service impl
@@ -61,6 +72,15 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
     private static final String LOG_HEAD_FORMAT = "[LOG-PATH]: %s, [HOST]: %s%s";
 
+    private static final long TAIL_POLL_INTERVAL_MILLIS = 500L;
+
+    /**
+     * The waiting tail requests are polled by this shared scheduler rather than their http threads, every poll is a
+     * single rpc call to the host of the task.
+     */
+    private static final ScheduledExecutorService TAIL_LOG_POLLER =
+            ThreadUtils.newDaemonScheduledExecutorService("TaskLogTailPoller-%d", 4);
+
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
@@ -113,13 +133,89 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, int taskInstId) {
+        return getLogBytes(queryDownloadableTaskInstance(loginUser, taskInstId));
+    }
+
+    /**
+     * get log input stream, the log content will be pulled chunk by chunk when reading the stream
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @return log input stream
+     */
+    @Override
+    public InputStream getLogInputStream(User loginUser, int taskInstId) {
+        return openLogInputStream(queryDownloadableTaskInstance(loginUser, taskInstId));
+    }
+
+    /**
+     * tail log, the log is read from the byte offset, so the lines already read will not be read again
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     the byte offset to tail from, which is the next offset of the previous tail
+     * @param waitMillis max milliseconds to wait for the appended log
+     * @return the future of the appended log and the next offset, which is completed by the tail log poller
+     */
+    @Override
+    public CompletableFuture<ResponseTaskLogTail> tailLog(User loginUser, int taskInstId, long offset,
+                                                          long waitMillis) {
         TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
         if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
-            throw new ServiceException("task instance is null or host is null");
+            throw new ServiceException(Status.TASK_INSTANCE_NOT_FOUND);
+        }
+        projectService.checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
+        if (StringUtils.isBlank(taskInstance.getLogPath())) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                    "TaskInstanceLogPath is empty, maybe the taskInstance doesn't be dispatched");
+        }
+
+        // the log will not be appended once the task is finished, so don't wait then
+        boolean taskFinished = taskInstance.getState() != null && taskInstance.getState().isFinished();
+        long deadline = System.currentTimeMillis()
+                + (taskFinished ? 0 : Math.min(Math.max(0, waitMillis), MAX_TAIL_WAIT_MILLIS));
+        final TaskInstanceLogTailRequest request = TaskInstanceLogTailRequest.builder()
+                .taskInstanceId(taskInstance.getId())
+                .taskInstanceLogAbsolutePath(taskInstance.getLogPath())
+                .offset(Math.max(0, offset))
+                .maxBytes(TaskInstanceLogTailRequest.DEFAULT_MAX_BYTES)
+                .build();
+        final CompletableFuture<ResponseTaskLogTail> logTailFuture = new CompletableFuture<>();
+        TAIL_LOG_POLLER.execute(() -> pollLogTail(taskInstance.getHost(), request, taskFinished, deadline,
+                logTailFuture));
+        return logTailFuture;
+    }
+
+    /**
+     * Read the appended log once, schedule the next poll if there is no appended log and the deadline is not reached,
+     * otherwise complete the future.
+     */
+    private void pollLogTail(String host,
+                             TaskInstanceLogTailRequest request,
+                             boolean taskFinished,
+                             long deadline,
+                             CompletableFuture<ResponseTaskLogTail> logTailFuture) {
+        if (logTailFuture.isDone()) {
+            // The request has been timed out or cancelled
+            return;
+        }
+        try {
+            final ILogService logService = Clients
+                    .withService(ILogService.class)
+                    .withHost(host);
+            final TaskInstanceLogTailResponse response = logService.readTaskInstanceLogFrom(request);
+            if (StringUtils.isEmpty(response.getLogContent()) && System.currentTimeMillis() < deadline) {
+                TAIL_LOG_POLLER.schedule(() -> pollLogTail(host, request, taskFinished, deadline, logTailFuture),
+                        TAIL_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            }
+            boolean finished = taskFinished && response.isEndOfLog();
+            logTailFuture
+                    .complete(new ResponseTaskLogTail(response.getNextOffset(), response.getLogContent(), finished));
+        } catch (Throwable ex) {
+            logTailFuture.completeExceptionally(
+                    new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR, ex.getMessage(), ex));
         }
-        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
-        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
-        return getLogBytes(taskInstance);
     }
 
     /**
@@ -160,6 +256,33 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, long projectCode, int taskInstId) {
+        return getLogBytes(queryDownloadableTaskInstance(loginUser, projectCode, taskInstId));
+    }
+
+    /**
+     * get log input stream, the log content will be pulled chunk by chunk when reading the stream
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @return log input stream
+     */
+    @Override
+    public InputStream getLogInputStream(User loginUser, long projectCode, int taskInstId) {
+        return openLogInputStream(queryDownloadableTaskInstance(loginUser, projectCode, taskInstId));
+    }
+
+    private TaskInstance queryDownloadableTaskInstance(User loginUser, int taskInstId) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
+        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        return taskInstance;
+    }
+
+    private TaskInstance queryDownloadableTaskInstance(User loginUser, long projectCode, int taskInstId) {
         // check user access for project
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, DOWNLOAD_LOG);
 
@@ -173,7 +296,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException("task instance does not exist in project");
         }
-        return getLogBytes(task);
+        return task;
     }
 
     /**
@@ -230,6 +353,21 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      * @return log byte array
      */
     private byte[] getLogBytes(TaskInstance taskInstance) {
+        try (InputStream logInputStream = openLogInputStream(taskInstance)) {
+            return ByteStreams.toByteArray(logInputStream);
+        } catch (IOException ex) {
+            log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
+            throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
+        }
+    }
+
+    /**
+     * open log input stream, only the current chunk of the log file is held in memory
+     *
+     * @param taskInstance task instance
+     * @return log input stream
+     */
+    private InputStream openLogInputStream(TaskInstance taskInstance) {
         String host = taskInstance.getHost();
         String logPath = taskInstance.getLogPath();
 
@@ -238,18 +376,20 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
                 host,
                 Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
 
-        byte[] logBytes;
-
         try {
-            final TaskInstanceLogFileDownloadRequest request = new TaskInstanceLogFileDownloadRequest(
-                    taskInstance.getId(),
-                    logPath);
-            final TaskInstanceLogFileDownloadResponse response = Clients
+            final ILogService logService = Clients
                     .withService(ILogService.class)
-                    .withHost(taskInstance.getHost())
-                    .getTaskInstanceWholeLogFileBytes(request);
-            logBytes = response.getLogBytes();
-            return Bytes.concat(head, logBytes);
+                    .withHost(host);
+            final InputStream logInputStream = ChunkedRpcInputStream.open(
+                    (offset, chunkSize) -> logService.getTaskInstanceLogFileChunk(
+                            TaskInstanceLogFileChunkRequest.builder()
+                                    .taskInstanceId(taskInstance.getId())
+                                    .taskInstanceLogAbsolutePath(logPath)
+                                    .offset(offset)
+                                    .chunkSize(chunkSize)
+                                    .build()),
+                    TaskInstanceLogFileChunkRequest.DEFAULT_CHUNK_SIZE);
+            return new SequenceInputStream(new ByteArrayInputStream(head), logInputStream);
         } catch (Exception ex) {
             log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
             throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
@@ -81,6 +81,8 @@ import org.apache.commons.collections4.CollectionUtils;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -267,23 +269,30 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
         Integer pageNo = pagingResourceItemRequest.getPageNo();
         Integer pageSize = pagingResourceItemRequest.getPageSize();
 
-        List<StorageEntity> storageEntities = resourceAbsolutePaths.stream()
-                .flatMap(resourceAbsolutePath -> storageOperator.listStorageEntity(resourceAbsolutePath).stream())
-                .collect(Collectors.toList());
-
-        List<ResourceItemVO> result = storageEntities
-                .stream()
-                .filter(storageEntity -> storageEntity.getFileName()
-                        .contains(pagingResourceItemRequest.getResourceNameKeyWord()))
-                .skip((long) (pageNo - 1) * pageSize)
-                .limit(pageSize)
-                .map(ResourceItemVO::new)
-                .collect(Collectors.toList());
+        // Iterate the entities rather than list them, only the entities of the requested page are kept in memory
+        long offset = (long) (pageNo - 1) * pageSize;
+        int total = 0;
+        long matched = 0;
+        List<ResourceItemVO> result = new ArrayList<>();
+        for (String resourceAbsolutePath : resourceAbsolutePaths) {
+            Iterator<StorageEntity> storageEntities = storageOperator.iterateStorageEntity(resourceAbsolutePath);
+            while (storageEntities.hasNext()) {
+                StorageEntity storageEntity = storageEntities.next();
+                total++;
+                if (!storageEntity.getFileName().contains(pagingResourceItemRequest.getResourceNameKeyWord())) {
+                    continue;
+                }
+                if (matched >= offset && result.size() < pageSize) {
+                    result.add(new ResourceItemVO(storageEntity));
+                }
+                matched++;
+            }
+        }
 
         return PageInfo.<ResourceItemVO>builder()
                 .pageNo(pagingResourceItemRequest.getPageNo())
                 .pageSize(pagingResourceItemRequest.getPageSize())
-                .total(storageEntities.size())
+                .total(total)
                 .totalList(result)
                 .build();
     }
@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.api.AssertionsHelper.assertThrowsServi
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.DOWNLOAD_LOG;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.VIEW_LOG;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -34,6 +35,7 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -43,16 +45,23 @@ import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.extract.common.ILogService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -116,6 +125,17 @@ public class LoggerServiceTest {
                 throw new ServiceException("download error");
             }
 
+            @Override
+            public TaskInstanceLogFileChunkResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest taskInstanceLogFileChunkRequest) {
+                if (taskInstanceLogFileChunkRequest.getTaskInstanceId() == 1) {
+                    return new TaskInstanceLogFileChunkResponse(0, new byte[0], true);
+                } else if (taskInstanceLogFileChunkRequest.getTaskInstanceId() == 10) {
+                    return new TaskInstanceLogFileChunkResponse(0, "log content".getBytes(), true);
+                }
+
+                throw new ServiceException("download error");
+            }
+
             @Override
             public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
                 if (taskInstanceLogPageQueryRequest.getTaskInstanceId() != null) {
@@ -129,6 +149,17 @@ public class LoggerServiceTest {
                 return new TaskInstanceLogPageQueryResponse();
             }
 
+            @Override
+            public TaskInstanceLogTailResponse readTaskInstanceLogFrom(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+                final String logContent = "log content";
+                final long offset = taskInstanceLogTailRequest.getOffset();
+                if (offset >= logContent.length()) {
+                    return new TaskInstanceLogTailResponse(offset, offset, "", true);
+                }
+                return new TaskInstanceLogTailResponse(offset, logContent.length(),
+                        logContent.substring((int) offset), true);
+            }
+
             @Override
             public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
 
@@ -243,6 +274,46 @@ public class LoggerServiceTest {
         Assertions.assertEquals(42, logBytes.length - String.valueOf(nettyServerPort).length());
     }
 
+    @Test
+    public void testTailLog() {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+
+        // HOST NOT FOUND
+        assertThrowsServiceException(Status.TASK_INSTANCE_NOT_FOUND, () -> loggerService.tailLog(loginUser, 1, 0, 0));
+
+        // SUCCESS
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
+                VIEW_LOG);
+        ResponseTaskLogTail logTail = loggerService.tailLog(loginUser, 1, 4, 0).join();
+        assertEquals("content", logTail.getMessage());
+        assertEquals(11, logTail.getNextOffset());
+        Assertions.assertFalse(logTail.isFinished());
+
+        // Return the empty log once the wait time elapsed
+        logTail = loggerService.tailLog(loginUser, 1, logTail.getNextOffset(), 100).join();
+        assertEquals("", logTail.getMessage());
+        assertEquals(11, logTail.getNextOffset());
+        Assertions.assertFalse(logTail.isFinished());
+
+        // Don't wait for the finished task
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        logTail = loggerService.tailLog(loginUser, 1, logTail.getNextOffset(), 60_000).join();
+        Assertions.assertTrue(logTail.isFinished());
+
+        // The rpc failure completes the future rather than throwing to the caller
+        taskInstance.setHost("127.0.0.1:1");
+        CompletableFuture<ResponseTaskLogTail> failedLogTail = loggerService.tailLog(loginUser, 1, 0, 0);
+        CompletionException completionException = assertThrows(CompletionException.class, failedLogTail::join);
+        Assertions.assertTrue(completionException.getCause() instanceof ServiceException);
+    }
+
     @Test
     public void testQueryLogInSpecifiedProject() {
         long projectCode = 1L;
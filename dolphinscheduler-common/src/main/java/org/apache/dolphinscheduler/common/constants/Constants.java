@@ -498,6 +498,8 @@ public final class Constants {
     public static final Integer QUERY_ALL_ON_WORKFLOW = 2;
     public static final Integer QUERY_ALL_ON_TASK = 3;
 
+    public static final String TASK_LOG_COMPRESSION_ENABLE = "task.log.compression.enable";
+
     public static final String REMOTE_LOGGING_ENABLE = "remote.logging.enable";
 
     public static final String REMOTE_LOGGING_TARGET = "remote.logging.target";
@@ -506,6 +508,8 @@ public final class Constants {
 
     public static final String REMOTE_LOGGING_THREAD_POOL_SIZE = "remote.logging.thread.pool.size";
 
+    public static final String REMOTE_LOGGING_CHUNK_CACHE_MAX_BYTES = "remote.logging.chunk.cache.max.bytes";
+
     /**
      * remote logging for OSS
      */
@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import lombok.Getter;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * The block compressed log file of a finished task, which can be read by byte range or by line range without
+ * decompressing the whole file.
+ * <p>
+ * The log is split into blocks of {@link #DEFAULT_BLOCK_SIZE} bytes which are deflated separately, and an index of
+ * the blocks is appended after them, which records the offset of each block in the compressed file, the offset in the
+ * original log, and the number of lines before it. So a read only inflates the blocks which cover the requested range.
+ * <pre>
+ * | magic | version | block size | block 0 | ... | block n | index |
+ * | block count | index offset | uncompressed size | line count | magic |
+ * </pre>
+ */
+public class CompressedLogFile implements Closeable {
+
+    public static final String COMPRESSED_LOG_FILE_SUFFIX = ".blz";
+
+    private static final int MAGIC = 0x44534C5A;
+
+    private static final byte VERSION = 1;
+
+    private static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+    private static final int HEADER_SIZE = 4 + 1 + 4;
+
+    private static final int INDEX_ENTRY_SIZE = 8 + 4 + 8 + 8;
+
+    private static final int FOOTER_SIZE = 4 + 8 + 8 + 8 + 4;
+
+    private final RandomAccessLogSource source;
+
+    private final long[] compressedOffsets;
+
+    private final int[] compressedLengths;
+
+    private final long[] uncompressedOffsets;
+
+    /**
+     * The number of lines before the block at index i, which is the count of {@code \n} in the previous blocks.
+     */
+    private final long[] firstLines;
+
+    /**
+     * The size of the original log.
+     */
+    @Getter
+    private final long uncompressedSize;
+
+    /**
+     * The count of {@code \n} in the original log.
+     */
+    @Getter
+    private final long lineCount;
+
+    private CompressedLogFile(RandomAccessLogSource source) throws IOException {
+        this.source = source;
+        final long fileSize = source.size();
+        if (fileSize < HEADER_SIZE + FOOTER_SIZE) {
+            throw new IOException("The compressed log file is truncated");
+        }
+        final ByteBuffer footer = readFully(fileSize - FOOTER_SIZE, FOOTER_SIZE);
+        final int blockCount = footer.getInt();
+        final long indexOffset = footer.getLong();
+        this.uncompressedSize = footer.getLong();
+        this.lineCount = footer.getLong();
+        if (footer.getInt() != MAGIC || readFully(0, HEADER_SIZE).getInt() != MAGIC) {
+            throw new IOException("The file is not a compressed log file");
+        }
+        if (blockCount < 0 || indexOffset + (long) blockCount * INDEX_ENTRY_SIZE != fileSize - FOOTER_SIZE) {
+            throw new IOException("The index of the compressed log file is corrupted");
+        }
+        this.compressedOffsets = new long[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.uncompressedOffsets = new long[blockCount];
+        this.firstLines = new long[blockCount];
+        final ByteBuffer index = readFully(indexOffset, blockCount * INDEX_ENTRY_SIZE);
+        for (int i = 0; i < blockCount; i++) {
+            compressedOffsets[i] = index.getLong();
+            compressedLengths[i] = index.getInt();
+            uncompressedOffsets[i] = index.getLong();
+            firstLines[i] = index.getLong();
+        }
+    }
+
+    public static String getCompressedLogPath(String logPath) {
+        return logPath + COMPRESSED_LOG_FILE_SUFFIX;
+    }
+
+    public static boolean isCompressedLogFile(String filePath) {
+        final File file = new File(filePath);
+        if (!file.isFile()) {
+            return false;
+        }
+        try (CompressedLogFile ignored = open(filePath)) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static CompressedLogFile open(String filePath) throws IOException {
+        return open(RandomAccessLogSource.of(Paths.get(filePath)));
+    }
+
+    /**
+     * Open the compressed log of the given source, the source will be closed with the returned compressed log.
+     */
+    public static CompressedLogFile open(RandomAccessLogSource source) throws IOException {
+        try {
+            return new CompressedLogFile(source);
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Compress the finished log into {@link #getCompressedLogPath(String)} and delete the original log. The compressed
+     * file is written to a temporary file and renamed atomically, so it's either absent or complete for the readers,
+     * and the original log is only deleted after that, so the log is always readable during the compression.
+     *
+     * @return the path of the compressed log file
+     */
+    public static String compress(String logPath) throws IOException {
+        final Path source = Paths.get(logPath);
+        final Path target = Paths.get(getCompressedLogPath(logPath));
+        final Path tmp = Paths.get(target + ".tmp");
+        try {
+            compress(source, tmp, DEFAULT_BLOCK_SIZE);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        Files.deleteIfExists(source);
+        return target.toString();
+    }
+
+    @VisibleForTesting
+    static void compress(Path source, Path target, int blockSize) throws IOException {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (
+                FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put(VERSION).putInt(blockSize).flip();
+            writeFully(out, header);
+
+            final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            final ByteBuffer block = ByteBuffer.allocate(blockSize);
+            final byte[] compressed = new byte[blockSize + blockSize / 8 + 64];
+            long compressedOffset = HEADER_SIZE;
+            long uncompressedOffset = 0;
+            long lines = 0;
+            int blockCount = 0;
+            while (true) {
+                block.clear();
+                int readBytes = 0;
+                while (block.hasRemaining() && readBytes >= 0) {
+                    readBytes = in.read(block);
+                }
+                final int blockLength = block.position();
+                if (blockLength == 0) {
+                    break;
+                }
+                deflater.reset();
+                deflater.setInput(block.array(), 0, blockLength);
+                deflater.finish();
+                int compressedLength = 0;
+                while (!deflater.finished()) {
+                    compressedLength += deflater.deflate(compressed, compressedLength,
+                            compressed.length - compressedLength);
+                    if (compressedLength == compressed.length && !deflater.finished()) {
+                        throw new IOException("The compressed block exceeds the buffer");
+                    }
+                }
+                writeFully(out, ByteBuffer.wrap(compressed, 0, compressedLength));
+
+                final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+                entry.putLong(compressedOffset).putInt(compressedLength).putLong(uncompressedOffset).putLong(lines);
+                indexBytes.write(entry.array(), 0, INDEX_ENTRY_SIZE);
+
+                for (int i = 0; i < blockLength; i++) {
+                    if (block.get(i) == '\n') {
+                        lines++;
+                    }
+                }
+                compressedOffset += compressedLength;
+                uncompressedOffset += blockLength;
+                blockCount++;
+            }
+            writeFully(out, ByteBuffer.wrap(indexBytes.toByteArray()));
+            final ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            footer.putInt(blockCount).putLong(compressedOffset).putLong(uncompressedOffset).putLong(lines)
+                    .putInt(MAGIC).flip();
+            writeFully(out, footer);
+            out.force(true);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Read at most maxBytes bytes of the original log which start from the given offset, the returned bytes will be
+     * empty if the offset reaches the end of the log.
+     */
+    public byte[] read(long offset, int maxBytes) throws IOException {
+        if (offset < 0 || offset >= uncompressedSize || maxBytes <= 0) {
+            return new byte[0];
+        }
+        final int length = (int) Math.min(maxBytes, uncompressedSize - offset);
+        final byte[] result = new byte[length];
+        int copied = 0;
+        for (int blockIndex = findBlockByOffset(offset); copied < length; blockIndex++) {
+            final byte[] block = inflateBlock(blockIndex);
+            final int blockStart = (int) (offset + copied - uncompressedOffsets[blockIndex]);
+            final int copyLength = Math.min(block.length - blockStart, length - copied);
+            System.arraycopy(block, blockStart, result, copied, copyLength);
+            copied += copyLength;
+        }
+        return result;
+    }
+
+    /**
+     * Read at most limit lines of the original log which start from the given line, the lines are split by
+     * {@code \n} and the trailing {@code \r} is stripped.
+     */
+    public List<String> readLines(int skipLine, int limit) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        if (skipLine < 0 || limit <= 0 || skipLine > lineCount) {
+            return lines;
+        }
+        int blockIndex = findBlockByLine(skipLine);
+        if (blockIndex < 0) {
+            return lines;
+        }
+        final LogLineScanner lineScanner = new LogLineScanner(skipLine - firstLines[blockIndex], limit);
+        for (; blockIndex < compressedOffsets.length && !lineScanner.isFull(); blockIndex++) {
+            final byte[] block = inflateBlock(blockIndex);
+            lineScanner.scan(block, 0, block.length);
+        }
+        return lineScanner.finish();
+    }
+
+    /**
+     * Decompress the whole log, which should only be used for the small logs.
+     */
+    public byte[] readAll() throws IOException {
+        if (uncompressedSize > Integer.MAX_VALUE) {
+            throw new IOException("The log is too large to be read at once: " + uncompressedSize);
+        }
+        return read(0, (int) uncompressedSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private int findBlockByOffset(long offset) {
+        final int index = Arrays.binarySearch(uncompressedOffsets, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Find the block which contains the line separator ending the line before the given line, so the given line starts
+     * in this block, or just at the start of the next one.
+     */
+    private int findBlockByLine(long lineNumber) {
+        if (compressedOffsets.length == 0) {
+            return -1;
+        }
+        if (lineNumber == 0) {
+            return 0;
+        }
+        // The last block whose first line is less than the given line
+        int low = 0;
+        int high = firstLines.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (firstLines[mid] < lineNumber) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private byte[] inflateBlock(int blockIndex) throws IOException {
+        final long blockEnd = blockIndex + 1 < uncompressedOffsets.length
+                ? uncompressedOffsets[blockIndex + 1]
+                : uncompressedSize;
+        final byte[] block = new byte[(int) (blockEnd - uncompressedOffsets[blockIndex])];
+        final ByteBuffer compressed = readFully(compressedOffsets[blockIndex], compressedLengths[blockIndex]);
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array(), 0, compressedLengths[blockIndex]);
+            int inflated = 0;
+            while (inflated < block.length && !inflater.finished()) {
+                final int n = inflater.inflate(block, inflated, block.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != block.length) {
+                throw new IOException("The block " + blockIndex + " of the compressed log file is corrupted");
+            }
+            return block;
+        } catch (DataFormatException e) {
+            throw new IOException("The block " + blockIndex + " of the compressed log file is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        return ByteBuffer.wrap(source.read(position, length));
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+}
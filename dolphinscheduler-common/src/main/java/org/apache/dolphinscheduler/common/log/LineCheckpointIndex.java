@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.util.Arrays;
+
+/**
+ * The sparse checkpoint index of the lines in a file or an object, which records the byte offset of every
+ * {@link #linesPerCheckpoint} lines, so the given line can be read from the nearest checkpoint rather than the
+ * beginning. The checkpoints are recorded in order while the content is scanned, the first line always starts at 0.
+ */
+public class LineCheckpointIndex {
+
+    private final int linesPerCheckpoint;
+
+    /**
+     * The byte offset of the line {@code i * linesPerCheckpoint} at index i.
+     */
+    private long[] checkpointOffsets;
+
+    private int checkpointCount;
+
+    public LineCheckpointIndex(int linesPerCheckpoint) {
+        this(linesPerCheckpoint, new long[]{0L});
+    }
+
+    private LineCheckpointIndex(int linesPerCheckpoint, long[] checkpointOffsets) {
+        if (linesPerCheckpoint <= 0) {
+            throw new IllegalArgumentException("The lines per checkpoint should be positive: " + linesPerCheckpoint);
+        }
+        this.linesPerCheckpoint = linesPerCheckpoint;
+        this.checkpointOffsets = checkpointOffsets.length == 0 ? new long[]{0L} : checkpointOffsets;
+        this.checkpointCount = this.checkpointOffsets.length;
+    }
+
+    /**
+     * Create the index from the checkpoint offsets returned by {@link #getCheckpointOffsets()}.
+     */
+    public static LineCheckpointIndex of(int linesPerCheckpoint, long[] checkpointOffsets) {
+        return new LineCheckpointIndex(linesPerCheckpoint, checkpointOffsets.clone());
+    }
+
+    public int getLinesPerCheckpoint() {
+        return linesPerCheckpoint;
+    }
+
+    /**
+     * Find the nearest known checkpoint before the given line.
+     *
+     * @return the byte offset and the line number of the checkpoint
+     */
+    public synchronized long[] seek(long lineNumber) {
+        final int checkpointIndex = (int) Math.min(lineNumber / linesPerCheckpoint, checkpointCount - 1);
+        return new long[]{checkpointOffsets[checkpointIndex], (long) checkpointIndex * linesPerCheckpoint};
+    }
+
+    /**
+     * Record the byte offset where the given line starts, only the next unknown checkpoint will be recorded.
+     */
+    public synchronized void record(long lineNumber, long offset) {
+        if (lineNumber % linesPerCheckpoint != 0 || lineNumber / linesPerCheckpoint != checkpointCount) {
+            return;
+        }
+        if (checkpointCount == checkpointOffsets.length) {
+            checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpointCount * 2);
+        }
+        checkpointOffsets[checkpointCount++] = offset;
+    }
+
+    /**
+     * Forget all the checkpoints except the first line.
+     */
+    public synchronized void reset() {
+        checkpointCount = 1;
+    }
+
+    public synchronized long[] getCheckpointOffsets() {
+        return Arrays.copyOf(checkpointOffsets, checkpointCount);
+    }
+
+}
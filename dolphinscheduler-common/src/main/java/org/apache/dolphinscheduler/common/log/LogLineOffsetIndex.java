@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The sparse line offset index of a log file, which records the byte offset of every thousand lines by a
+ * {@link LineCheckpointIndex}, so a page of the log can be read by seeking to the nearest checkpoint rather than decoding the whole prefix.
+ * <p>
+ * The index is built lazily on the first read, and is extended incrementally by scanning the appended bytes only, so
+ * polling a running task log doesn't rescan it. It's rebuilt once the file is replaced or truncated. The lines are
+ * split by {@code \n} and the trailing {@code \r} is stripped.
+ */
+public class LogLineOffsetIndex {
+
+    private static final int DEFAULT_LINES_PER_CHECKPOINT = 1000;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private static final Cache<String, LogLineOffsetIndex> LOG_LINE_OFFSET_INDEXES = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private final LineCheckpointIndex lineCheckpointIndex;
+
+    /**
+     * The file has been scanned until this offset, which is always the start of a line.
+     */
+    private long indexedBytes;
+
+    private long indexedLines;
+
+    private Object indexedFileKey;
+
+    @VisibleForTesting
+    LogLineOffsetIndex(int linesPerCheckpoint) {
+        this.lineCheckpointIndex = new LineCheckpointIndex(linesPerCheckpoint);
+    }
+
+    /**
+     * Read at most limit lines of the log file which start from the given line, by the cached index of the file.
+     */
+    public static List<String> readLines(String filePath, int skipLine, int limit) throws IOException {
+        final LogLineOffsetIndex index;
+        try {
+            index = LOG_LINE_OFFSET_INDEXES.get(filePath,
+                    () -> new LogLineOffsetIndex(DEFAULT_LINES_PER_CHECKPOINT));
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        return index.read(Paths.get(filePath), skipLine, limit);
+    }
+
+    @VisibleForTesting
+    List<String> read(Path path, int skipLine, int limit) throws IOException {
+        if (skipLine < 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long[] checkpoint = seek(path, fileChannel, skipLine);
+            return readLinesFrom(fileChannel, checkpoint[0], skipLine - checkpoint[1], limit);
+        }
+    }
+
+    /**
+     * Extend the index to the end of the file, and find the nearest checkpoint before the given line.
+     *
+     * @return the byte offset and the line number of the checkpoint
+     */
+    private synchronized long[] seek(Path path, FileChannel fileChannel, int lineNumber) throws IOException {
+        final Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        final long fileSize = fileChannel.size();
+        if (!Objects.equals(fileKey, indexedFileKey) || fileSize < indexedBytes) {
+            reset(fileKey);
+        }
+        if (fileSize > indexedBytes) {
+            scan(fileChannel, fileSize);
+        }
+        return lineCheckpointIndex.seek(lineNumber);
+    }
+
+    private void reset(Object fileKey) {
+        lineCheckpointIndex.reset();
+        indexedBytes = 0;
+        indexedLines = 0;
+        indexedFileKey = fileKey;
+    }
+
+    private void scan(FileChannel fileChannel, long fileSize) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = indexedBytes;
+        while (position < fileSize) {
+            buffer.clear();
+            final int readBytes = fileChannel.read(buffer, position);
+            if (readBytes <= 0) {
+                break;
+            }
+            for (int i = 0; i < readBytes; i++) {
+                if (buffer.get(i) != '\n') {
+                    continue;
+                }
+                indexedLines++;
+                // Only the complete lines are indexed, the last line may still be written
+                indexedBytes = position + i + 1;
+                lineCheckpointIndex.record(indexedLines, indexedBytes);
+            }
+            position += readBytes;
+        }
+    }
+
+    private List<String> readLinesFrom(FileChannel fileChannel,
+                                       long offset,
+                                       long skipLines,
+                                       int limit) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        final LogLineScanner lineScanner = new LogLineScanner(skipLines, limit);
+        long position = offset;
+        while (!lineScanner.isFull()) {
+            buffer.clear();
+            final int readBytes = fileChannel.read(buffer, position);
+            if (readBytes <= 0) {
+                break;
+            }
+            lineScanner.scan(buffer.array(), 0, readBytes);
+            position += readBytes;
+        }
+        return lineScanner.finish();
+    }
+
+}
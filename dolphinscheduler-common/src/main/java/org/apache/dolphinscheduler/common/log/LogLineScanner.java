@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Split the log content into lines, the content is fed block by block, e.g. the chunks of a file or a remote object,
+ * or the inflated blocks of a compressed log. The lines are split by {@code \n} and the trailing {@code \r} is
+ * stripped, a line may span several blocks.
+ * <p>
+ * The scanner skips the given number of lines first, then collects at most limit lines.
+ */
+public class LogLineScanner {
+
+    private final long skipLines;
+
+    private final int limit;
+
+    private final LineStartListener lineStartListener;
+
+    private final List<String> lines = new ArrayList<>();
+
+    private final ByteArrayOutputStream currentLine = new ByteArrayOutputStream();
+
+    private long skippedLines;
+
+    private long scannedLines;
+
+    private long scannedBytes;
+
+    public LogLineScanner(long skipLines, int limit) {
+        this(skipLines, limit, null);
+    }
+
+    public LogLineScanner(long skipLines, int limit, LineStartListener lineStartListener) {
+        this.skipLines = skipLines;
+        this.limit = limit;
+        this.lineStartListener = lineStartListener;
+    }
+
+    /**
+     * Scan the next block of the content, the bytes after the last collected line are ignored.
+     */
+    public void scan(byte[] bytes, int offset, int length) {
+        int lineStart = offset;
+        final int end = offset + length;
+        for (int i = offset; i < end && !isFull(); i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            if (skippedLines < skipLines) {
+                skippedLines++;
+            } else {
+                currentLine.write(bytes, lineStart, i - lineStart);
+                lines.add(toLine(currentLine));
+            }
+            currentLine.reset();
+            lineStart = i + 1;
+            scannedLines++;
+            if (lineStartListener != null) {
+                lineStartListener.onLineStart(scannedLines, scannedBytes + lineStart - offset);
+            }
+        }
+        if (skippedLines >= skipLines && !isFull()) {
+            currentLine.write(bytes, lineStart, end - lineStart);
+        }
+        scannedBytes += length;
+    }
+
+    /**
+     * Whether the limit lines have been collected, the remaining content doesn't need to be scanned then.
+     */
+    public boolean isFull() {
+        return lines.size() >= limit;
+    }
+
+    /**
+     * Finish the scan once the content ends, the last line which is not ended by line separator is collected too.
+     */
+    public List<String> finish() {
+        if (currentLine.size() > 0 && !isFull()) {
+            lines.add(toLine(currentLine));
+            currentLine.reset();
+        }
+        return lines;
+    }
+
+    private static String toLine(ByteArrayOutputStream lineBytes) {
+        final byte[] bytes = lineBytes.toByteArray();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    public interface LineStartListener {
+
+        /**
+         * Called once a line separator is scanned.
+         *
+         * @param lineNumber the number of the new line, relative to the first scanned line which is 0
+         * @param offset     the offset where the new line starts, relative to the first scanned byte
+         */
+        void onLineStart(long lineNumber, long offset);
+    }
+
+}
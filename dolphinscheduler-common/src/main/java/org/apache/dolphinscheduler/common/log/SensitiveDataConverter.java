@@ -23,7 +23,8 @@ import org.apache.dolphinscheduler.common.constants.DataSourceConstants;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,9 +38,14 @@ import com.google.common.base.Strings;
  */
 public class SensitiveDataConverter extends MessageConverter {
 
-    private static Pattern multilinePattern;
-    private static HashSet<String> maskPatterns =
-            new HashSet<>(Arrays.asList(DataSourceConstants.DATASOURCE_PASSWORD_REGEX));
+    private static final Set<String> maskPatterns =
+            new CopyOnWriteArraySet<>(Arrays.asList(DataSourceConstants.DATASOURCE_PASSWORD_REGEX));
+
+    /**
+     * The combined pattern of the mask patterns, which is compiled once the mask patterns are changed rather than for
+     * every message.
+     */
+    private static volatile Pattern multilinePattern = compileMaskPatterns();
 
     @Override
     public String convert(ILoggingEvent event) {
@@ -51,16 +57,20 @@ public class SensitiveDataConverter extends MessageConverter {
         return maskSensitiveData(requestLogMsg);
     }
 
-    public static void addMaskPattern(String maskPattern) {
-        maskPatterns.add(maskPattern);
+    public static synchronized void addMaskPattern(String maskPattern) {
+        if (maskPatterns.add(maskPattern)) {
+            multilinePattern = compileMaskPatterns();
+        }
+    }
+
+    private static Pattern compileMaskPatterns() {
+        return Pattern.compile(String.join("|", maskPatterns), Pattern.MULTILINE);
     }
 
     public static String maskSensitiveData(final String logMsg) {
         if (StringUtils.isEmpty(logMsg)) {
             return logMsg;
         }
-        multilinePattern = Pattern.compile(String.join("|", maskPatterns), Pattern.MULTILINE);
-
         StringBuffer sb = new StringBuffer(logMsg.length());
         Matcher matcher = multilinePattern.matcher(logMsg);
 
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
@@ -31,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.specialized.BlobInputStream;
 import com.azure.storage.common.StorageSharedKeyCredential;
 
@@ -123,6 +125,20 @@ public class AbsRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public byte[] readRemoteLog(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try (
+                BlobInputStream bis = blobContainerClient.getBlobClient(objectName)
+                        .openInputStream(new BlobRange(offset, (long) length), null)) {
+            return IOUtils.toByteArray(bis);
+        } catch (Exception e) {
+            throw new IOException(String.format("error while reading remote log on Azure Blob %s from %d to %d",
+                    objectName, offset, offset + length), e);
+        }
+    }
+
     protected String readAccountName() {
         return PropertyUtils.getString(Constants.REMOTE_LOGGING_ABS_ACCOUNT_NAME);
     }
@@ -20,11 +20,13 @@ package org.apache.dolphinscheduler.common.log.remote;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,6 +35,7 @@ import com.qcloud.cos.ClientConfig;
 import com.qcloud.cos.auth.BasicCOSCredentials;
 import com.qcloud.cos.auth.COSCredentials;
 import com.qcloud.cos.http.HttpProtocol;
+import com.qcloud.cos.model.COSObject;
 import com.qcloud.cos.model.GetObjectRequest;
 import com.qcloud.cos.model.PutObjectRequest;
 import com.qcloud.cos.region.Region;
@@ -90,6 +93,22 @@ public class CosRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public byte[] readRemoteLog(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        try (
+                COSObject cosObject = cosClient.getObject(getObjectRequest);
+                InputStream in = cosObject.getObjectContent()) {
+            return IOUtils.toByteArray(in);
+        } catch (Exception e) {
+            throw new IOException(String.format("error while reading remote log from tencent cos %s from %d to %d",
+                    objectName, offset, offset + length), e);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (cosClient != null) {
@@ -24,12 +24,15 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -109,6 +112,25 @@ public class GcsRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public byte[] readRemoteLog(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        try (ReadChannel reader = gcsStorage.reader(BlobId.of(bucketName, objectName))) {
+            reader.seek(offset);
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (reader.read(buffer) < 0) {
+                    break;
+                }
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        } catch (Exception e) {
+            throw new IOException(String.format("error while reading remote log on GCS %s from %d to %d",
+                    objectName, offset, offset + length), e);
+        }
+    }
+
     protected Storage buildGcsStorage(String credential) throws IOException {
         return StorageOptions.newBuilder()
                 .setCredentials(ServiceAccountCredentials.fromStream(
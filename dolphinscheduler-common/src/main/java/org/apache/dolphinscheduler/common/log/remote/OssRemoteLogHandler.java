@@ -22,16 +22,19 @@ import org.apache.dolphinscheduler.common.factory.OssClientFactory;
 import org.apache.dolphinscheduler.common.model.OssConnection;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.PutObjectRequest;
 
 @Slf4j
@@ -86,6 +89,22 @@ public class OssRemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public byte[] readRemoteLog(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        try (
+                OSSObject ossObject = ossClient.getObject(getObjectRequest);
+                InputStream in = ossObject.getObjectContent()) {
+            return IOUtils.toByteArray(in);
+        } catch (Exception e) {
+            throw new IOException(String.format("error while reading remote log on OSS %s from %d to %d",
+                    objectName, offset, offset + length), e);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (ossClient != null) {
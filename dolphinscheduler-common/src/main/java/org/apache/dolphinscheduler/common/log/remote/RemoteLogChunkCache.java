@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+
+/**
+ * The on-disk LRU cache of the remote log chunks fetched by ranged requests, so paging through a remote log doesn't
+ * fetch the same chunk repeatedly. The chunks are only kept in memory by their paths, and the least recently used ones
+ * are deleted once the total bytes exceed the max bytes.
+ * <p> The api, master and worker on the same host share the base directory, so each cache owns a directory of its own
+ * under it, which is locked by the process while it's alive. The directories left by the exited processes, whose lock
+ * can be acquired, are deleted when a cache is created.
+ */
+@Slf4j
+public class RemoteLogChunkCache {
+
+    public static final int CHUNK_SIZE = 1024 * 1024;
+
+    private static final String CACHE_DIRECTORY_PREFIX = "chunks-";
+
+    private static final String LOCK_FILE_NAME = ".lock";
+
+    private final Path cacheDirectory;
+
+    /**
+     * Keep the channel open so the lock of the cache directory is held until the process exits.
+     */
+    private final FileChannel lockChannel;
+
+    private final Cache<String, Path> chunks;
+
+    public RemoteLogChunkCache(Path baseDirectory, long maxBytes) {
+        try {
+            Files.createDirectories(baseDirectory);
+            deleteAbandonedCacheDirectories(baseDirectory);
+            this.cacheDirectory = Files.createTempDirectory(baseDirectory, CACHE_DIRECTORY_PREFIX);
+            this.lockChannel = lockCacheDirectory(cacheDirectory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Create the remote log chunk cache directory under " + baseDirectory
+                    + " failed", e);
+        }
+        // The max weight is split by the segments, use one segment so the least recently used chunk is always evicted
+        this.chunks = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maxBytes)
+                .weigher((String key, Path chunk) -> (int) chunk.toFile().length())
+                .removalListener((RemovalListener<String, Path>) notification -> {
+                    try {
+                        Files.deleteIfExists(notification.getValue());
+                    } catch (IOException e) {
+                        log.warn("Delete the remote log chunk {} failed", notification.getValue(), e);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Get the chunk of the given key from the cache, or load it by the loader and cache it.
+     */
+    public byte[] get(String key, ChunkLoader chunkLoader) throws IOException {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            final Path chunk;
+            try {
+                chunk = chunks.get(key, () -> save(chunkLoader.load()));
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            }
+            try {
+                return Files.readAllBytes(chunk);
+            } catch (NoSuchFileException e) {
+                // The chunk is evicted after it's got, load it again
+                chunks.asMap().remove(key, chunk);
+            }
+        }
+        return chunkLoader.load();
+    }
+
+    Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    private static FileChannel lockCacheDirectory(Path cacheDirectory) throws IOException {
+        final Path lockFile = cacheDirectory.resolve(LOCK_FILE_NAME);
+        final FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+            // The directory may be deleted as an abandoned one by another process before it's locked
+            if (!Files.exists(lockFile)) {
+                throw new IOException("The remote log chunk cache directory " + cacheDirectory + " is deleted");
+            }
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void deleteAbandonedCacheDirectories(Path baseDirectory) throws IOException {
+        try (
+                DirectoryStream<Path> directories =
+                        Files.newDirectoryStream(baseDirectory, CACHE_DIRECTORY_PREFIX + "*")) {
+            for (Path directory : directories) {
+                final Path lockFile = directory.resolve(LOCK_FILE_NAME);
+                if (!Files.exists(lockFile)) {
+                    // The directory is being created
+                    continue;
+                }
+                try (
+                        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE);
+                        FileLock lock = channel.tryLock()) {
+                    if (lock != null) {
+                        FileUtils.deleteDirectory(directory.toFile());
+                        log.info("Deleted the abandoned remote log chunk cache directory {}", directory);
+                    }
+                } catch (OverlappingFileLockException e) {
+                    // The directory is used by another cache of this process
+                } catch (IOException e) {
+                    log.warn("Delete the abandoned remote log chunk cache directory {} failed", directory, e);
+                }
+            }
+        }
+    }
+
+    private Path save(byte[] bytes) throws IOException {
+        final Path chunk = cacheDirectory.resolve(UUID.randomUUID().toString());
+        final Path tmp = cacheDirectory.resolve(chunk.getFileName() + ".tmp");
+        Files.write(tmp, bytes);
+        return Files.move(tmp, chunk, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public interface ChunkLoader {
+
+        byte[] load() throws IOException;
+    }
+
+}
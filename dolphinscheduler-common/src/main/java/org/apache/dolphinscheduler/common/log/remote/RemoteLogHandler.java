@@ -17,9 +17,17 @@
 
 package org.apache.dolphinscheduler.common.log.remote;
 
+import java.io.IOException;
+
 public interface RemoteLogHandler {
 
     void sendRemoteLog(String logPath);
 
     void getRemoteLog(String logPath);
+
+    /**
+     * Read the bytes of the remote log in the range [offset, offset + length) by a ranged request rather than
+     * downloading the whole log, the range should be within the remote log.
+     */
+    byte[] readRemoteLog(String logPath, long offset, int length) throws IOException;
 }
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.dolphinscheduler.common.log.LineCheckpointIndex;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import lombok.Getter;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * The offset index of a remote log, which is uploaded alongside the log, so a page of the log can be fetched by a
+ * ranged request from the nearest checkpoint rather than downloading the whole log.
+ * <p>
+ * For the original log, the index records the byte offset of every thousand lines by a {@link LineCheckpointIndex}. For the
+ * compressed log, the block index is already in the log itself, so only the size of the log is recorded.
+ */
+public class RemoteLogIndex {
+
+    public static final String REMOTE_LOG_INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x44534C49;
+
+    private static final byte VERSION = 1;
+
+    private static final int DEFAULT_LINES_PER_CHECKPOINT = 1000;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Whether the remote log is the block compressed log rather than the original one.
+     */
+    @Getter
+    private final boolean compressed;
+
+    /**
+     * The size of the remote log object.
+     */
+    @Getter
+    private final long objectSize;
+
+    /**
+     * The checkpoints of the lines, only the first line for the compressed log.
+     */
+    private final LineCheckpointIndex lineCheckpointIndex;
+
+    private RemoteLogIndex(boolean compressed, long objectSize, LineCheckpointIndex lineCheckpointIndex) {
+        this.compressed = compressed;
+        this.objectSize = objectSize;
+        this.lineCheckpointIndex = lineCheckpointIndex;
+    }
+
+    public static String getRemoteLogIndexPath(String logPath) {
+        return logPath + REMOTE_LOG_INDEX_SUFFIX;
+    }
+
+    public static RemoteLogIndex build(Path logPath, boolean compressed) throws IOException {
+        return build(logPath, compressed, DEFAULT_LINES_PER_CHECKPOINT);
+    }
+
+    @VisibleForTesting
+    static RemoteLogIndex build(Path logPath, boolean compressed, int linesPerCheckpoint) throws IOException {
+        final LineCheckpointIndex lineCheckpointIndex = new LineCheckpointIndex(linesPerCheckpoint);
+        if (compressed) {
+            return new RemoteLogIndex(true, Files.size(logPath), lineCheckpointIndex);
+        }
+        try (FileChannel fileChannel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            long position = 0;
+            long lines = 0;
+            while (true) {
+                buffer.clear();
+                final int readBytes = fileChannel.read(buffer, position);
+                if (readBytes <= 0) {
+                    break;
+                }
+                for (int i = 0; i < readBytes; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lineCheckpointIndex.record(++lines, position + i + 1);
+                    }
+                }
+                position += readBytes;
+            }
+            return new RemoteLogIndex(false, position, lineCheckpointIndex);
+        }
+    }
+
+    public static RemoteLogIndex readFrom(InputStream inputStream) throws IOException {
+        final DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("The file is not a remote log index");
+        }
+        final boolean compressed = in.readBoolean();
+        final long objectSize = in.readLong();
+        final int linesPerCheckpoint = in.readInt();
+        final int checkpointCount = in.readInt();
+        if (linesPerCheckpoint <= 0 || checkpointCount < 0) {
+            throw new IOException("The remote log index is corrupted");
+        }
+        final long[] checkpointOffsets = new long[checkpointCount];
+        for (int i = 0; i < checkpointCount; i++) {
+            checkpointOffsets[i] = in.readLong();
+        }
+        return new RemoteLogIndex(compressed, objectSize,
+                LineCheckpointIndex.of(linesPerCheckpoint, checkpointOffsets));
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeBoolean(compressed);
+        out.writeLong(objectSize);
+        final long[] checkpointOffsets = lineCheckpointIndex.getCheckpointOffsets();
+        out.writeInt(lineCheckpointIndex.getLinesPerCheckpoint());
+        out.writeInt(checkpointOffsets.length);
+        for (long checkpointOffset : checkpointOffsets) {
+            out.writeLong(checkpointOffset);
+        }
+        out.flush();
+    }
+
+    /**
+     * Find the nearest checkpoint before the given line of the original log.
+     *
+     * @return the byte offset and the line number of the checkpoint
+     */
+    public long[] seek(int lineNumber) {
+        if (compressed) {
+            throw new UnsupportedOperationException("The compressed log should be read by its block index");
+        }
+        return lineCheckpointIndex.seek(lineNumber);
+    }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.log.CompressedLogFile;
+import org.apache.dolphinscheduler.common.log.LogLineScanner;
+import org.apache.dolphinscheduler.common.log.RandomAccessLogSource;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Read a page of the remote log by ranged requests, guided by the {@link RemoteLogIndex} uploaded alongside the log,
+ * rather than downloading the whole log to local disk. The fetched chunks are cached by {@link RemoteLogChunkCache}.
+ * <p>
+ * The methods return null if the index of the remote log doesn't exist, e.g. the log is uploaded by the previous
+ * version, then the caller should fall back to download the whole log.
+ */
+@Slf4j
+public class RemoteLogReader {
+
+    private static final long DEFAULT_CHUNK_CACHE_MAX_BYTES = 256 * 1024 * 1024L;
+
+    private static final Cache<String, RemoteLogIndex> REMOTE_LOG_INDEXES = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private static volatile RemoteLogChunkCache remoteLogChunkCache;
+
+    private RemoteLogReader() {
+    }
+
+    /**
+     * Read at most limit lines of the remote log which start from the given line.
+     */
+    public static List<String> readLines(String logPath, int skipLine, int limit) throws IOException {
+        final RemoteLogHandler remoteLogHandler = RemoteLogHandlerFactory.getRemoteLogHandler();
+        if (remoteLogHandler == null) {
+            return null;
+        }
+        final RemoteLogIndex remoteLogIndex = getRemoteLogIndex(remoteLogHandler, logPath);
+        if (remoteLogIndex == null) {
+            return null;
+        }
+        if (skipLine < 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        final RandomAccessLogSource source = openSource(remoteLogHandler, logPath, remoteLogIndex);
+        if (remoteLogIndex.isCompressed()) {
+            try (CompressedLogFile compressedLogFile = CompressedLogFile.open(source)) {
+                return compressedLogFile.readLines(skipLine, limit);
+            }
+        }
+        final long[] checkpoint = remoteLogIndex.seek(skipLine);
+        return readLines(source, checkpoint[0], skipLine - checkpoint[1], limit);
+    }
+
+    /**
+     * Read at most maxBytes bytes of the remote log which start from the given offset, the returned bytes will be
+     * empty if the offset reaches the end of the log.
+     */
+    public static byte[] readBytes(String logPath, long offset, int maxBytes) throws IOException {
+        final RemoteLogHandler remoteLogHandler = RemoteLogHandlerFactory.getRemoteLogHandler();
+        if (remoteLogHandler == null) {
+            return null;
+        }
+        final RemoteLogIndex remoteLogIndex = getRemoteLogIndex(remoteLogHandler, logPath);
+        if (remoteLogIndex == null) {
+            return null;
+        }
+        final RandomAccessLogSource source = openSource(remoteLogHandler, logPath, remoteLogIndex);
+        if (remoteLogIndex.isCompressed()) {
+            try (CompressedLogFile compressedLogFile = CompressedLogFile.open(source)) {
+                return compressedLogFile.read(offset, maxBytes);
+            }
+        }
+        if (offset < 0 || offset >= source.size() || maxBytes <= 0) {
+            return new byte[0];
+        }
+        return source.read(offset, (int) Math.min(maxBytes, source.size() - offset));
+    }
+
+    private static RemoteLogIndex getRemoteLogIndex(RemoteLogHandler remoteLogHandler, String logPath) {
+        final RemoteLogIndex cachedRemoteLogIndex = REMOTE_LOG_INDEXES.getIfPresent(logPath);
+        if (cachedRemoteLogIndex != null) {
+            return cachedRemoteLogIndex;
+        }
+        // The missing index is not cached, since the log might be uploaded later
+        final String remoteLogIndexPath = RemoteLogIndex.getRemoteLogIndexPath(logPath);
+        new File(remoteLogIndexPath).getParentFile().mkdirs();
+        try {
+            remoteLogHandler.getRemoteLog(remoteLogIndexPath);
+            if (!new File(remoteLogIndexPath).isFile()) {
+                return null;
+            }
+            try (InputStream in = Files.newInputStream(Paths.get(remoteLogIndexPath))) {
+                final RemoteLogIndex remoteLogIndex = RemoteLogIndex.readFrom(in);
+                REMOTE_LOG_INDEXES.put(logPath, remoteLogIndex);
+                return remoteLogIndex;
+            }
+        } catch (IOException e) {
+            log.warn("Read the remote log index {} failed", remoteLogIndexPath, e);
+            return null;
+        } finally {
+            FileUtils.deleteFile(remoteLogIndexPath);
+        }
+    }
+
+    private static RandomAccessLogSource openSource(RemoteLogHandler remoteLogHandler,
+                                                    String logPath,
+                                                    RemoteLogIndex remoteLogIndex) {
+        final String objectLogPath = remoteLogIndex.isCompressed()
+                ? CompressedLogFile.getCompressedLogPath(logPath)
+                : logPath;
+        return new RemoteLogSource(remoteLogHandler, objectLogPath, remoteLogIndex.getObjectSize(),
+                getRemoteLogChunkCache());
+    }
+
+    private static RemoteLogChunkCache getRemoteLogChunkCache() {
+        if (remoteLogChunkCache == null) {
+            synchronized (RemoteLogReader.class) {
+                if (remoteLogChunkCache == null) {
+                    remoteLogChunkCache = new RemoteLogChunkCache(
+                            Paths.get(FileUtils.DATA_BASEDIR, "remote-log-cache"),
+                            PropertyUtils.getLong(Constants.REMOTE_LOGGING_CHUNK_CACHE_MAX_BYTES,
+                                    DEFAULT_CHUNK_CACHE_MAX_BYTES));
+                }
+            }
+        }
+        return remoteLogChunkCache;
+    }
+
+    @VisibleForTesting
+    static List<String> readLines(RandomAccessLogSource source,
+                                  long offset,
+                                  long skipLines,
+                                  int limit) throws IOException {
+        final LogLineScanner lineScanner = new LogLineScanner(skipLines, limit);
+        final long size = source.size();
+        long position = offset;
+        while (!lineScanner.isFull() && position < size) {
+            // Read to the end of the chunk, so every read is served by one cached chunk
+            final int readLength = (int) Math.min(
+                    RemoteLogChunkCache.CHUNK_SIZE - position % RemoteLogChunkCache.CHUNK_SIZE, size - position);
+            final byte[] bytes = source.read(position, readLength);
+            lineScanner.scan(bytes, 0, bytes.length);
+            position += readLength;
+        }
+        return lineScanner.finish();
+    }
+
+    /**
+     * The remote log object read by ranged requests, which are aligned to the chunks of the cache.
+     */
+    private static class RemoteLogSource implements RandomAccessLogSource {
+
+        private final RemoteLogHandler remoteLogHandler;
+
+        private final String objectLogPath;
+
+        private final long objectSize;
+
+        private final RemoteLogChunkCache remoteLogChunkCache;
+
+        RemoteLogSource(RemoteLogHandler remoteLogHandler,
+                        String objectLogPath,
+                        long objectSize,
+                        RemoteLogChunkCache remoteLogChunkCache) {
+            this.remoteLogHandler = remoteLogHandler;
+            this.objectLogPath = objectLogPath;
+            this.objectSize = objectSize;
+            this.remoteLogChunkCache = remoteLogChunkCache;
+        }
+
+        @Override
+        public long size() {
+            return objectSize;
+        }
+
+        @Override
+        public byte[] read(long position, int length) throws IOException {
+            final byte[] result = new byte[length];
+            int copied = 0;
+            while (copied < length) {
+                final long chunkIndex = (position + copied) / RemoteLogChunkCache.CHUNK_SIZE;
+                final long chunkStart = chunkIndex * RemoteLogChunkCache.CHUNK_SIZE;
+                final int chunkLength = (int) Math.min(RemoteLogChunkCache.CHUNK_SIZE, objectSize - chunkStart);
+                // The size is in the key, so the chunks of the replaced log won't be used
+                final String key = objectLogPath + "@" + objectSize + "#" + chunkIndex;
+                final byte[] chunk = remoteLogChunkCache.get(key,
+                        () -> remoteLogHandler.readRemoteLog(objectLogPath, chunkStart, chunkLength));
+                if (chunk.length != chunkLength) {
+                    throw new IOException("The remote log " + objectLogPath + " is changed");
+                }
+                final int chunkOffset = (int) (position + copied - chunkStart);
+                final int copyLength = Math.min(chunkLength - chunkOffset, length - copied);
+                System.arraycopy(chunk, chunkOffset, result, copied, copyLength);
+                copied += copyLength;
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            // the chunks are kept in the cache
+        }
+    }
+
+}
@@ -18,8 +18,16 @@
 package org.apache.dolphinscheduler.common.log.remote;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.log.CompressedLogFile;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.scheduling.annotation.Async;
@@ -39,9 +47,30 @@ public class RemoteLogService {
             if (remoteLogHandler == null) {
                 return;
             }
-            remoteLogHandler.sendRemoteLog(logPath);
-            log.info("End send log {} to remote target {}", logPath,
+            // The compressed log is sent instead if the original log has been compressed
+            final String localLogPath = new File(logPath).exists()
+                    ? logPath
+                    : CompressedLogFile.getCompressedLogPath(logPath);
+            remoteLogHandler.sendRemoteLog(localLogPath);
+            sendRemoteLogIndex(remoteLogHandler, logPath, localLogPath);
+            log.info("End send log {} to remote target {}", localLogPath,
                     PropertyUtils.getString(Constants.REMOTE_LOGGING_TARGET));
         }
     }
+
+    /**
+     * Send the offset index alongside the log, so a page of the log can be read by a ranged request.
+     */
+    private void sendRemoteLogIndex(RemoteLogHandler remoteLogHandler, String logPath, String localLogPath) {
+        final String remoteLogIndexPath = RemoteLogIndex.getRemoteLogIndexPath(logPath);
+        try (OutputStream out = Files.newOutputStream(Paths.get(remoteLogIndexPath))) {
+            RemoteLogIndex.build(Paths.get(localLogPath), !localLogPath.equals(logPath)).writeTo(out);
+        } catch (IOException e) {
+            log.error("Build the index of remote log {} failed", localLogPath, e);
+            FileUtils.deleteFile(remoteLogIndexPath);
+            return;
+        }
+        remoteLogHandler.sendRemoteLog(remoteLogIndexPath);
+        FileUtils.deleteFile(remoteLogIndexPath);
+    }
 }
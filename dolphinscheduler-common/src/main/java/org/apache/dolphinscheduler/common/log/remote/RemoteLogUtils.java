@@ -20,8 +20,11 @@ package org.apache.dolphinscheduler.common.log.remote;
 import static org.apache.dolphinscheduler.common.utils.LogUtils.getLocalLogBaseDir;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.log.CompressedLogFile;
+import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -62,12 +65,33 @@ public class RemoteLogUtils {
             if (remoteLogHandler == null) {
                 return;
             }
-            remoteLogHandler.getRemoteLog(logPath);
+            // The log might be uploaded either compressed or not, try the one this server would upload first
+            final String compressedLogPath = CompressedLogFile.getCompressedLogPath(logPath);
+            if (LogUtils.isTaskLogCompressionEnable()) {
+                if (!getRemoteCompressedLog(remoteLogHandler, compressedLogPath)) {
+                    remoteLogHandler.getRemoteLog(logPath);
+                }
+            } else {
+                remoteLogHandler.getRemoteLog(logPath);
+                if (!new File(logPath).exists()) {
+                    getRemoteCompressedLog(remoteLogHandler, compressedLogPath);
+                }
+            }
             log.info("End get log {} from remote target {}", logPath,
                     PropertyUtils.getString(Constants.REMOTE_LOGGING_TARGET));
         }
     }
 
+    private static boolean getRemoteCompressedLog(RemoteLogHandler remoteLogHandler, String compressedLogPath) {
+        remoteLogHandler.getRemoteLog(compressedLogPath);
+        if (CompressedLogFile.isCompressedLogFile(compressedLogPath)) {
+            return true;
+        }
+        // The handlers might leave an empty or partial file if the object doesn't exist
+        new File(compressedLogPath).delete();
+        return false;
+    }
+
     private static void mkdirOfLog(String logPath) {
         Path directory = Paths.get(logPath).getParent();
         directory.toFile().mkdirs();
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.authentication.aws.AmazonS3ClientFactory;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Closeable;
@@ -32,6 +33,7 @@ import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 
@@ -101,6 +103,22 @@ public class S3RemoteLogHandler implements RemoteLogHandler, Closeable {
         }
     }
 
+    @Override
+    public byte[] readRemoteLog(String logPath, long offset, int length) throws IOException {
+        String objectName = RemoteLogUtils.getObjectNameFromLogPath(logPath);
+
+        GetObjectRequest getObjectRequest =
+                new GetObjectRequest(bucketName, objectName).withRange(offset, offset + length - 1);
+        try (
+                S3Object o = s3Client.getObject(getObjectRequest);
+                S3ObjectInputStream s3is = o.getObjectContent()) {
+            return IOUtils.toByteArray(s3is);
+        } catch (Exception e) {
+            throw new IOException(String.format("error while reading remote log on S3 %s from %d to %d",
+                    objectName, offset, offset + length), e);
+        }
+    }
+
     protected String readBucketName() {
         return PropertyUtils.getString(Constants.AWS_S3_BUCKET_NAME);
     }
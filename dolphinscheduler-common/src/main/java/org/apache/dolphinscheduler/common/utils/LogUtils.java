@@ -17,22 +17,30 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.log.CompressedLogFile;
+import org.apache.dolphinscheduler.common.log.LogLineOffsetIndex;
+import org.apache.dolphinscheduler.common.log.remote.RemoteLogReader;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.slf4j.LoggerFactory;
@@ -43,6 +51,14 @@ import ch.qos.logback.classic.LoggerContext;
 public class LogUtils {
 
     public static byte[] getFileContentBytesFromLocal(String filePath) {
+        if (isCompressedLog(filePath)) {
+            try (CompressedLogFile compressedLogFile = openCompressedLog(filePath)) {
+                return compressedLogFile.readAll();
+            } catch (IOException e) {
+                log.error("get file bytes error", e);
+                return new byte[0];
+            }
+        }
         try (
                 InputStream in = new FileInputStream(filePath);
                 ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
@@ -64,8 +80,7 @@ public class LogUtils {
     }
 
     public static byte[] getFileContentBytes(String filePath) {
-        File file = new File(filePath);
-        if (file.exists()) {
+        if (isLogExists(filePath)) {
             return getFileContentBytesFromLocal(filePath);
         }
         if (RemoteLogUtils.isRemoteLoggingEnable()) {
@@ -74,13 +89,114 @@ public class LogUtils {
         return getFileContentBytesFromLocal(filePath);
     }
 
+    /**
+     * Read at most maxBytes bytes of the file which start from the given offset, the returned bytes will be empty if
+     * the offset reaches the end of the file.
+     */
+    public static byte[] readPartFileContentBytesFromLocal(String filePath, long offset, int maxBytes) {
+        if (isCompressedLog(filePath)) {
+            try (CompressedLogFile compressedLogFile = openCompressedLog(filePath)) {
+                return compressedLogFile.read(offset, maxBytes);
+            } catch (IOException e) {
+                log.error("read file error", e);
+                throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+            }
+        }
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            final long fileSize = fileChannel.size();
+            if (offset >= fileSize || maxBytes <= 0) {
+                return new byte[0];
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(maxBytes, fileSize - offset));
+            while (buffer.hasRemaining()) {
+                if (fileChannel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            if (buffer.hasRemaining()) {
+                return Arrays.copyOf(buffer.array(), buffer.position());
+            }
+            return buffer.array();
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static byte[] readPartFileContentBytesFromRemote(String filePath, long offset, int maxBytes) {
+        try {
+            final byte[] bytes = RemoteLogReader.readBytes(filePath, offset, maxBytes);
+            if (bytes != null) {
+                return bytes;
+            }
+        } catch (IOException e) {
+            log.warn("Read remote log {} by range failed, will download the whole log", filePath, e);
+        }
+        RemoteLogUtils.getRemoteLog(filePath);
+        return readPartFileContentBytesFromLocal(filePath, offset, maxBytes);
+    }
+
+    public static byte[] readPartFileContentBytes(String filePath, long offset, int maxBytes) {
+        if (isLogExists(filePath)) {
+            return readPartFileContentBytesFromLocal(filePath, offset, maxBytes);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readPartFileContentBytesFromRemote(filePath, offset, maxBytes);
+        }
+        return readPartFileContentBytesFromLocal(filePath, offset, maxBytes);
+    }
+
+    /**
+     * Read at most maxBytes bytes of the log appended since the given offset, the trailing incomplete UTF-8 character
+     * which is still written is excluded, so the returned bytes can always be decoded and the next read should start
+     * from the offset plus the length of the returned bytes.
+     */
+    public static byte[] readAppendedFileContentBytes(String filePath, long offset, int maxBytes) {
+        return readAppendedFileContent(filePath, offset, maxBytes).getBytes();
+    }
+
+    /**
+     * Same as {@link #readAppendedFileContentBytes(String, long, int)}, and also tell whether the returned bytes reach
+     * the end of the file.
+     */
+    public static AppendedFileContent readAppendedFileContent(String filePath, long offset, int maxBytes) {
+        final byte[] bytes = readPartFileContentBytes(filePath, offset, maxBytes);
+        final int completeLength = getUtf8CompleteLength(bytes);
+        if (completeLength != bytes.length) {
+            return new AppendedFileContent(Arrays.copyOf(bytes, completeLength), false);
+        }
+        // A read shorter than maxBytes stops at the end of the file
+        return new AppendedFileContent(bytes, maxBytes > 0 && bytes.length < maxBytes);
+    }
+
+    private static int getUtf8CompleteLength(byte[] bytes) {
+        // A UTF-8 character is at most 4 bytes, find the lead byte of the last character
+        for (int i = bytes.length - 1; i >= 0 && i >= bytes.length - 4; i--) {
+            final int b = bytes[i] & 0xFF;
+            if ((b & 0xC0) == 0x80) {
+                // continuation byte
+                continue;
+            }
+            final int charLength = b < 0x80 ? 1 : b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : 2;
+            return i + charLength <= bytes.length ? bytes.length : i;
+        }
+        return bytes.length;
+    }
+
     public static List<String> readPartFileContentFromLocal(String filePath,
                                                             int skipLine,
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try {
+                return LogLineOffsetIndex.readLines(filePath, skipLine, limit);
+            } catch (IOException e) {
+                log.error("read file error", e);
+                throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+            }
+        } else if (isCompressedLog(filePath)) {
+            try (CompressedLogFile compressedLogFile = openCompressedLog(filePath)) {
+                return compressedLogFile.readLines(skipLine, limit);
             } catch (IOException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
@@ -93,6 +209,14 @@ public class LogUtils {
     public static List<String> readPartFileContentFromRemote(String filePath,
                                                              int skipLine,
                                                              int limit) {
+        try {
+            final List<String> lines = RemoteLogReader.readLines(filePath, skipLine, limit);
+            if (lines != null) {
+                return lines;
+            }
+        } catch (IOException e) {
+            log.warn("Read remote log {} by range failed, will download the whole log", filePath, e);
+        }
         RemoteLogUtils.getRemoteLog(filePath);
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
@@ -100,8 +224,7 @@ public class LogUtils {
     public static List<String> readPartFileContent(String filePath,
                                                    int skipLine,
                                                    int limit) {
-        File file = new File(filePath);
-        if (file.exists()) {
+        if (isLogExists(filePath)) {
             return readPartFileContentFromLocal(filePath, skipLine, limit);
         }
         if (RemoteLogUtils.isRemoteLoggingEnable()) {
@@ -118,7 +241,11 @@ public class LogUtils {
     public static String readWholeFileContentFromLocal(String filePath) {
         String line;
         StringBuilder sb = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(filePath)))) {
+        try (
+                InputStream in = isCompressedLog(filePath)
+                        ? new ByteArrayInputStream(getFileContentBytesFromLocal(filePath))
+                        : new FileInputStream(filePath);
+                BufferedReader br = new BufferedReader(new InputStreamReader(in))) {
             while ((line = br.readLine()) != null) {
                 sb.append(line + "\r\n");
             }
@@ -130,8 +257,7 @@ public class LogUtils {
     }
 
     public static String readWholeFileContent(String filePath) {
-        File file = new File(filePath);
-        if (file.exists()) {
+        if (isLogExists(filePath)) {
             return readWholeFileContentFromLocal(filePath);
         }
         if (RemoteLogUtils.isRemoteLoggingEnable()) {
@@ -164,9 +290,44 @@ public class LogUtils {
 
         return builder.toString();
     }
+
+    public static boolean isTaskLogCompressionEnable() {
+        return PropertyUtils.getBoolean(Constants.TASK_LOG_COMPRESSION_ENABLE, Boolean.FALSE);
+    }
+
+    /**
+     * Whether the log exists locally, either the original log or the compressed one of a finished task.
+     */
+    public static boolean isLogExists(String filePath) {
+        return new File(filePath).exists() || new File(CompressedLogFile.getCompressedLogPath(filePath)).exists();
+    }
+
+    /**
+     * The original log is read first since it's only deleted after the compressed log is complete.
+     */
+    private static boolean isCompressedLog(String filePath) {
+        return !new File(filePath).exists() && new File(CompressedLogFile.getCompressedLogPath(filePath)).isFile();
+    }
+
+    private static CompressedLogFile openCompressedLog(String filePath) throws IOException {
+        return CompressedLogFile.open(CompressedLogFile.getCompressedLogPath(filePath));
+    }
+
     public static String getLocalLogBaseDir() {
         LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
         return loggerContext.getProperty("log.base.ctx");
     }
 
+    @Getter
+    @AllArgsConstructor
+    public static class AppendedFileContent {
+
+        private final byte[] bytes;
+
+        /**
+         * Whether the bytes end at the end of the file when they are read.
+         */
+        private final boolean endOfFile;
+
+    }
 }
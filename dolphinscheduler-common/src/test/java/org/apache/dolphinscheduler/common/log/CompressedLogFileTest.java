@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.truth.Truth;
+
+public class CompressedLogFileTest {
+
+    @TempDir
+    public Path folder;
+
+    @Test
+    public void testReadLines() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            content.append("line").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        // The small block size makes the lines cross the blocks
+        try (CompressedLogFile compressedLogFile = compress(content.toString(), 4)) {
+            Truth.assertThat(compressedLogFile.getLineCount()).isEqualTo(10);
+            Truth.assertThat(compressedLogFile.readLines(0, 2)).containsExactly("line0", "line1").inOrder();
+            Truth.assertThat(compressedLogFile.readLines(2, 3))
+                    .containsExactly("line2", "line3", "line4").inOrder();
+            Truth.assertThat(compressedLogFile.readLines(7, 5))
+                    .containsExactly("line7", "line8", "line9").inOrder();
+            Truth.assertThat(compressedLogFile.readLines(10, 5)).isEmpty();
+        }
+    }
+
+    @Test
+    public void testReadLastLineWithoutSeparator() throws IOException {
+        try (CompressedLogFile compressedLogFile = compress("line0\nline1\nline2", 5)) {
+            Truth.assertThat(compressedLogFile.readLines(1, 5)).containsExactly("line1", "line2").inOrder();
+            Truth.assertThat(compressedLogFile.readLines(2, 5)).containsExactly("line2");
+        }
+    }
+
+    @Test
+    public void testReadBytes() throws IOException {
+        final String content = "0123456789abcdefghijklmnopqrstuvwxyz";
+        try (CompressedLogFile compressedLogFile = compress(content, 7)) {
+            Truth.assertThat(compressedLogFile.getUncompressedSize()).isEqualTo(content.length());
+            Truth.assertThat(new String(compressedLogFile.read(5, 10), StandardCharsets.UTF_8))
+                    .isEqualTo("56789abcde");
+            Truth.assertThat(new String(compressedLogFile.read(30, 10), StandardCharsets.UTF_8)).isEqualTo("uvwxyz");
+            Truth.assertThat(compressedLogFile.read(36, 10)).isEmpty();
+            Truth.assertThat(new String(compressedLogFile.readAll(), StandardCharsets.UTF_8)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void testReadEmptyLog() throws IOException {
+        try (CompressedLogFile compressedLogFile = compress("", 7)) {
+            Truth.assertThat(compressedLogFile.readLines(0, 5)).isEmpty();
+            Truth.assertThat(compressedLogFile.readAll()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testCompressReplacesOriginalLog() throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        Files.write(logFile, "line0\nline1\n".getBytes(StandardCharsets.UTF_8));
+
+        final String compressedLogPath = CompressedLogFile.compress(logFile.toString());
+
+        Truth.assertThat(compressedLogPath).isEqualTo(CompressedLogFile.getCompressedLogPath(logFile.toString()));
+        Truth.assertThat(Files.exists(logFile)).isFalse();
+        Truth.assertThat(CompressedLogFile.isCompressedLogFile(compressedLogPath)).isTrue();
+    }
+
+    @Test
+    public void testOpenCorruptedFile() throws IOException {
+        final Path file = folder.resolve("test.log.blz");
+        final byte[] bytes = new byte[64];
+        Arrays.fill(bytes, (byte) 1);
+        Files.write(file, bytes);
+
+        Truth.assertThat(CompressedLogFile.isCompressedLogFile(file.toString())).isFalse();
+    }
+
+    private CompressedLogFile compress(String content, int blockSize) throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        final Path compressedLogFile = folder.resolve("test.log.blz");
+        Files.write(logFile, content.getBytes(StandardCharsets.UTF_8));
+        CompressedLogFile.compress(logFile, compressedLogFile, blockSize);
+        return CompressedLogFile.open(compressedLogFile.toString());
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LineCheckpointIndexTest {
+
+    @Test
+    void testRecordAndSeek() {
+        final LineCheckpointIndex lineCheckpointIndex = new LineCheckpointIndex(3);
+        assertThat(lineCheckpointIndex.seek(5)).asList().containsExactly(0L, 0L).inOrder();
+
+        // Only the next unknown checkpoint is recorded
+        lineCheckpointIndex.record(2, 10);
+        lineCheckpointIndex.record(6, 30);
+        lineCheckpointIndex.record(3, 15);
+        lineCheckpointIndex.record(3, 16);
+        assertThat(lineCheckpointIndex.seek(2)).asList().containsExactly(0L, 0L).inOrder();
+        assertThat(lineCheckpointIndex.seek(5)).asList().containsExactly(15L, 3L).inOrder();
+        assertThat(lineCheckpointIndex.seek(100)).asList().containsExactly(15L, 3L).inOrder();
+
+        lineCheckpointIndex.reset();
+        assertThat(lineCheckpointIndex.seek(5)).asList().containsExactly(0L, 0L).inOrder();
+    }
+
+    @Test
+    void testRestoreFromCheckpointOffsets() {
+        final LineCheckpointIndex lineCheckpointIndex = new LineCheckpointIndex(2);
+        for (int lineNumber = 1; lineNumber <= 40; lineNumber++) {
+            lineCheckpointIndex.record(lineNumber, lineNumber * 10L);
+        }
+        final long[] checkpointOffsets = lineCheckpointIndex.getCheckpointOffsets();
+        assertThat(checkpointOffsets).hasLength(21);
+
+        final LineCheckpointIndex restoredIndex = LineCheckpointIndex.of(2, checkpointOffsets);
+        assertThat(restoredIndex.seek(39)).asList().containsExactly(380L, 38L).inOrder();
+        assertThat(restoredIndex.getLinesPerCheckpoint()).isEqualTo(2);
+    }
+
+}
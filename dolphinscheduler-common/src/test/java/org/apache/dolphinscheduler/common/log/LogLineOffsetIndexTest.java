@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.truth.Truth;
+
+public class LogLineOffsetIndexTest {
+
+    @TempDir
+    public Path folder;
+
+    @Test
+    public void testReadLines() throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            content.append("line").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        Files.write(logFile, content.toString().getBytes(StandardCharsets.UTF_8));
+        final LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex(3);
+
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 0, 2)).containsExactly("line0", "line1").inOrder();
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 2, 3)).containsExactly("line2", "line3", "line4").inOrder();
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 7, 5)).containsExactly("line7", "line8", "line9").inOrder();
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 10, 5)).isEmpty();
+    }
+
+    @Test
+    public void testReadAppendedLines() throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        Files.write(logFile, "line0\nline1\nline".getBytes(StandardCharsets.UTF_8));
+        final LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex(2);
+
+        // The last line which is still written can be read
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 1, 5)).containsExactly("line1", "line").inOrder();
+
+        Files.write(logFile, "2\nline3\nline4\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 2, 5)).containsExactly("line2", "line3", "line4").inOrder();
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 4, 5)).containsExactly("line4");
+    }
+
+    @Test
+    public void testReadTruncatedLines() throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        Files.write(logFile, "line0\nline1\nline2\nline3\n".getBytes(StandardCharsets.UTF_8));
+        final LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex(2);
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 3, 1)).containsExactly("line3");
+
+        Files.write(logFile, "new0\nnew1\n".getBytes(StandardCharsets.UTF_8));
+        Truth.assertThat(logLineOffsetIndex.read(logFile, 1, 5)).containsExactly("new1");
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LogLineScannerTest {
+
+    private static final byte[] CONTENT = "a\r\nbb\nccc\r\ndddd".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testScanLinesAcrossBlocks() {
+        // Every line spans several blocks of 2 bytes
+        final LogLineScanner lineScanner = new LogLineScanner(0, 10);
+        for (int offset = 0; offset < CONTENT.length; offset += 2) {
+            lineScanner.scan(CONTENT, offset, Math.min(2, CONTENT.length - offset));
+        }
+        assertThat(lineScanner.finish()).containsExactly("a", "bb", "ccc", "dddd").inOrder();
+    }
+
+    @Test
+    void testScanWithSkipAndLimit() {
+        LogLineScanner lineScanner = new LogLineScanner(1, 2);
+        lineScanner.scan(CONTENT, 0, CONTENT.length);
+        assertThat(lineScanner.isFull()).isTrue();
+        assertThat(lineScanner.finish()).containsExactly("bb", "ccc").inOrder();
+
+        lineScanner = new LogLineScanner(3, 2);
+        lineScanner.scan(CONTENT, 0, CONTENT.length);
+        assertThat(lineScanner.isFull()).isFalse();
+        assertThat(lineScanner.finish()).containsExactly("dddd");
+
+        lineScanner = new LogLineScanner(4, 2);
+        lineScanner.scan(CONTENT, 0, CONTENT.length);
+        assertThat(lineScanner.finish()).isEmpty();
+    }
+
+    @Test
+    void testNotifyLineStart() {
+        final List<long[]> lineStarts = new ArrayList<>();
+        final LogLineScanner lineScanner = new LogLineScanner(0, 10,
+                (lineNumber, offset) -> lineStarts.add(new long[]{lineNumber, offset}));
+        lineScanner.scan(CONTENT, 0, 5);
+        lineScanner.scan(CONTENT, 5, CONTENT.length - 5);
+        lineScanner.finish();
+
+        assertThat(lineStarts).hasSize(3);
+        assertThat(lineStarts.get(0)).isEqualTo(new long[]{1, 3});
+        assertThat(lineStarts.get(1)).isEqualTo(new long[]{2, 6});
+        assertThat(lineStarts.get(2)).isEqualTo(new long[]{3, 11});
+    }
+
+}
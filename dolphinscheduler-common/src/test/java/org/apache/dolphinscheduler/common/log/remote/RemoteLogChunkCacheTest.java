@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.truth.Truth;
+
+public class RemoteLogChunkCacheTest {
+
+    @TempDir
+    public Path folder;
+
+    @Test
+    public void testGet() throws IOException {
+        final RemoteLogChunkCache remoteLogChunkCache = new RemoteLogChunkCache(folder.resolve("cache"), 1024);
+        final AtomicInteger loadTimes = new AtomicInteger();
+        final RemoteLogChunkCache.ChunkLoader chunkLoader = () -> {
+            loadTimes.incrementAndGet();
+            return new byte[]{1, 2, 3};
+        };
+
+        Truth.assertThat(remoteLogChunkCache.get("chunk", chunkLoader)).isEqualTo(new byte[]{1, 2, 3});
+        Truth.assertThat(remoteLogChunkCache.get("chunk", chunkLoader)).isEqualTo(new byte[]{1, 2, 3});
+        Truth.assertThat(loadTimes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEvict() throws IOException {
+        final RemoteLogChunkCache remoteLogChunkCache = new RemoteLogChunkCache(folder.resolve("cache"), 100);
+        for (int i = 0; i < 10; i++) {
+            remoteLogChunkCache.get("chunk" + i, () -> new byte[60]);
+        }
+
+        // The evicted chunks are deleted from the disk
+        try (Stream<Path> chunks = Files.list(remoteLogChunkCache.getCacheDirectory())) {
+            Truth.assertThat(chunks.filter(chunk -> !chunk.endsWith(".lock")).count()).isAtMost(2);
+        }
+    }
+
+    @Test
+    public void testShareBaseDirectory() throws IOException {
+        final Path baseDirectory = folder.resolve("cache");
+        final RemoteLogChunkCache remoteLogChunkCache = new RemoteLogChunkCache(baseDirectory, 1024);
+        remoteLogChunkCache.get("chunk", () -> new byte[]{1, 2, 3});
+        // The directory left by an exited process is not locked
+        final Path abandonedDirectory = Files.createDirectories(baseDirectory.resolve("chunks-abandoned"));
+        Files.createFile(abandonedDirectory.resolve(".lock"));
+        Files.write(abandonedDirectory.resolve("chunk"), new byte[]{1});
+
+        final RemoteLogChunkCache anotherRemoteLogChunkCache = new RemoteLogChunkCache(baseDirectory, 1024);
+
+        Truth.assertThat(anotherRemoteLogChunkCache.getCacheDirectory())
+                .isNotEqualTo(remoteLogChunkCache.getCacheDirectory());
+        Truth.assertThat(Files.exists(abandonedDirectory)).isFalse();
+        // The chunks of the cache in use are kept
+        Truth.assertThat(remoteLogChunkCache.get("chunk", () -> {
+            throw new IOException("the chunk is deleted");
+        })).isEqualTo(new byte[]{1, 2, 3});
+    }
+
+    @Test
+    public void testLoadFailed() {
+        final RemoteLogChunkCache remoteLogChunkCache = new RemoteLogChunkCache(folder.resolve("cache"), 1024);
+
+        final IOException exception = Assertions.assertThrows(IOException.class,
+                () -> remoteLogChunkCache.get("chunk", () -> {
+                    throw new IOException("not found");
+                }));
+        Truth.assertThat(exception).hasMessageThat().isEqualTo("not found");
+    }
+
+}
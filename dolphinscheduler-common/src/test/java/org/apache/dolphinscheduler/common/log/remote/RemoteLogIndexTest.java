@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log.remote;
+
+import org.apache.dolphinscheduler.common.log.RandomAccessLogSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.truth.Truth;
+
+public class RemoteLogIndexTest {
+
+    @TempDir
+    public Path folder;
+
+    @Test
+    public void testBuildAndSeek() throws IOException {
+        final Path logFile = writeLog(10);
+        final RemoteLogIndex remoteLogIndex = RemoteLogIndex.build(logFile, false, 3);
+
+        Truth.assertThat(remoteLogIndex.isCompressed()).isFalse();
+        Truth.assertThat(remoteLogIndex.getObjectSize()).isEqualTo(Files.size(logFile));
+        Truth.assertThat(remoteLogIndex.seek(0)).asList().containsExactly(0L, 0L).inOrder();
+        // "lineN\n" is 6 bytes
+        Truth.assertThat(remoteLogIndex.seek(4)).asList().containsExactly(18L, 3L).inOrder();
+        Truth.assertThat(remoteLogIndex.seek(100)).asList().containsExactly(54L, 9L).inOrder();
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final RemoteLogIndex remoteLogIndex = RemoteLogIndex.build(writeLog(10), false, 3);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        remoteLogIndex.writeTo(out);
+
+        final RemoteLogIndex readRemoteLogIndex = RemoteLogIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        Truth.assertThat(readRemoteLogIndex.getObjectSize()).isEqualTo(remoteLogIndex.getObjectSize());
+        Truth.assertThat(readRemoteLogIndex.seek(7)).asList().containsExactly(36L, 6L).inOrder();
+    }
+
+    @Test
+    public void testReadLinesFromCheckpoint() throws IOException {
+        final Path logFile = writeLog(10);
+        final RemoteLogIndex remoteLogIndex = RemoteLogIndex.build(logFile, false, 3);
+        final long[] checkpoint = remoteLogIndex.seek(5);
+
+        try (RandomAccessLogSource source = RandomAccessLogSource.of(logFile)) {
+            Truth.assertThat(RemoteLogReader.readLines(source, checkpoint[0], 5 - checkpoint[1], 2))
+                    .containsExactly("line5", "line6").inOrder();
+            Truth.assertThat(RemoteLogReader.readLines(source, 0, 8, 5))
+                    .containsExactly("line8", "line9").inOrder();
+        }
+    }
+
+    private Path writeLog(int lines) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append("line").append(i).append("\n");
+        }
+        final Path logFile = folder.resolve("test.log");
+        Files.write(logFile, content.toString().getBytes(StandardCharsets.UTF_8));
+        return logFile;
+    }
+
+}
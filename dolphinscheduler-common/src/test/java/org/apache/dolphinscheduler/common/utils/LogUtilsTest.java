@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.truth.Truth;
+
+public class LogUtilsTest {
+
+    @TempDir
+    public Path folder;
+
+    @Test
+    public void testReadPartFileContentBytesFromLocal() throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        Files.write(logFile, "0123456789".getBytes(StandardCharsets.UTF_8));
+        final String logPath = logFile.toString();
+
+        Truth.assertThat(new String(LogUtils.readPartFileContentBytesFromLocal(logPath, 0, 4), StandardCharsets.UTF_8))
+                .isEqualTo("0123");
+        Truth.assertThat(new String(LogUtils.readPartFileContentBytesFromLocal(logPath, 8, 4), StandardCharsets.UTF_8))
+                .isEqualTo("89");
+        Truth.assertThat(LogUtils.readPartFileContentBytesFromLocal(logPath, 10, 4)).isEmpty();
+
+        Assertions.assertThrows(RuntimeException.class,
+                () -> LogUtils.readPartFileContentBytesFromLocal(folder.resolve("absent.log").toString(), 0, 4));
+    }
+
+    @Test
+    public void testReadAppendedFileContentBytes() throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        // The chinese character is 3 bytes in UTF-8
+        Files.write(logFile, "ab\u4e2d".getBytes(StandardCharsets.UTF_8));
+        final String logPath = logFile.toString();
+
+        // The incomplete character is excluded
+        Truth.assertThat(new String(LogUtils.readAppendedFileContentBytes(logPath, 0, 4), StandardCharsets.UTF_8))
+                .isEqualTo("ab");
+        Truth.assertThat(new String(LogUtils.readAppendedFileContentBytes(logPath, 0, 5), StandardCharsets.UTF_8))
+                .isEqualTo("ab\u4e2d");
+        Truth.assertThat(new String(LogUtils.readAppendedFileContentBytes(logPath, 2, 5), StandardCharsets.UTF_8))
+                .isEqualTo("\u4e2d");
+        Truth.assertThat(LogUtils.readAppendedFileContentBytes(logPath, 5, 5)).isEmpty();
+    }
+
+    @Test
+    public void testReadAppendedFileContentEndOfFile() throws IOException {
+        final Path logFile = folder.resolve("test.log");
+        Files.write(logFile, "ab\u4e2d".getBytes(StandardCharsets.UTF_8));
+        final String logPath = logFile.toString();
+
+        // Trimming the incomplete character, the end of file is not reached
+        Truth.assertThat(LogUtils.readAppendedFileContent(logPath, 0, 4).isEndOfFile()).isFalse();
+        Truth.assertThat(LogUtils.readAppendedFileContent(logPath, 0, 6).isEndOfFile()).isTrue();
+        Truth.assertThat(LogUtils.readAppendedFileContent(logPath, 5, 6).isEndOfFile()).isTrue();
+    }
+
+}
@@ -17,7 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.base;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
 
 import lombok.Data;
 
@@ -49,6 +49,6 @@ public class StandardRpcResponse implements IRpcResponse {
 
     @Override
     public byte[] toBytes() {
-        return JsonSerializer.serialize(this);
+        return Serializers.getDefaultSerializer().serialize(this);
     }
 }
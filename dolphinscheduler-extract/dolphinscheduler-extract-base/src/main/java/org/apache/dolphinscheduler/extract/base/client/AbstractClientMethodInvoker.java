@@ -17,6 +17,17 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
+import org.apache.dolphinscheduler.extract.base.compress.Compressor;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -38,4 +49,55 @@ abstract class AbstractClientMethodInvoker implements ClientMethodInvoker {
         this.methodIdentifier = localMethod.toGenericString();
     }
 
+    protected SyncRequestDto buildRequest(RpcMethod rpcMethod, Object[] args) {
+        final NegotiatedProtocol protocol = nettyRemotingClient.getNegotiatedProtocol(serverHost);
+        final Serializer serializer = protocol.getSerializer();
+        final TransporterHeader transporterHeader = TransporterHeader.of(
+                methodIdentifier, serializer.getCode(), nettyRemotingClient.getPreferredSerializer().getCode());
+        final Transporter transporter =
+                Transporter.of(transporterHeader, StandardRpcRequest.of(serializer, args));
+        transporter.setVersion(protocol.getVersion());
+        final Integer methodId = protocol.getMethodId(methodIdentifier);
+        if (methodId != null) {
+            transporterHeader.useMethodId(methodId);
+        }
+        final Compressor compressor = nettyRemotingClient.getCompressor();
+        if (compressor != null) {
+            transporterHeader.addFlag(TransporterHeader.FLAG_ACCEPT_COMPRESSION);
+            if (protocol.isCompressionAccepted()) {
+                final int rawBytes = transporter.getBodyLength();
+                if (transporter.compressBody(compressor, nettyRemotingClient.getCompressionThresholdBytes())) {
+                    RpcMetrics.recordPayloadCompression(methodIdentifier, rawBytes, transporter.getBodyLength());
+                }
+            }
+        }
+
+        return SyncRequestDto.builder()
+                .timeoutMillis(rpcMethod.timeout())
+                .retryStrategy(rpcMethod.retry())
+                .transporter(transporter)
+                .serverHost(serverHost)
+                .build();
+    }
+
+    /**
+     * Decode the method result from the response, the response will be released after decoding.
+     */
+    protected Object decodeResponse(Transporter response, Class<?> responseClass) {
+        final StandardRpcResponse iRpcResponse;
+        try {
+            iRpcResponse = response.deserializeBody(StandardRpcResponse.class);
+        } finally {
+            response.release();
+        }
+        if (!iRpcResponse.isSuccess()) {
+            throw MethodInvocationException.of(iRpcResponse.getMessage());
+        }
+        if (iRpcResponse.getBody() == null) {
+            return null;
+        }
+        return Serializers.getSerializer(response.getHeader().getSerializer())
+                .deserialize(iRpcResponse.getBody(), responseClass);
+    }
+
 }
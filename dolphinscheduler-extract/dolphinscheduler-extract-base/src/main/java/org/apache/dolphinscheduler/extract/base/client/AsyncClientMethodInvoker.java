@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The invoker used for the rpc method which returns {@link CompletableFuture}, the calling thread will not be blocked,
+ * the returned future will be completed with the result of the remote method.
+ */
+class AsyncClientMethodInvoker extends AbstractClientMethodInvoker {
+
+    private final Class<?> responseClass;
+
+    AsyncClientMethodInvoker(Host serverHost, Method localMethod, NettyRemotingClient nettyRemotingClient) {
+        super(serverHost, localMethod, nettyRemotingClient);
+        this.responseClass = resolveResponseClass(localMethod);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        RpcMethod rpcMethod = method.getAnnotation(RpcMethod.class);
+        return nettyRemotingClient.sendAsync(buildRequest(rpcMethod, args))
+                .thenApply(response -> decodeResponse(response, responseClass));
+    }
+
+    /**
+     * Resolve the class of {@code T} in {@code CompletableFuture<T>}, will return {@link Object} if it cannot be
+     * resolved.
+     */
+    static Class<?> resolveResponseClass(Method method) {
+        final Type returnType = method.getGenericReturnType();
+        if (!(returnType instanceof ParameterizedType)) {
+            return Object.class;
+        }
+        final Type actualType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (actualType instanceof Class) {
+            return (Class<?>) actualType;
+        }
+        if (actualType instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) actualType).getRawType();
+        }
+        return Object.class;
+    }
+
+    static boolean isAsyncMethod(Method method) {
+        return CompletableFuture.class.isAssignableFrom(method.getReturnType());
+    }
+}
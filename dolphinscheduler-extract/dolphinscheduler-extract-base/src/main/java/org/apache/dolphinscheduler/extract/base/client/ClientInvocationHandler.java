@@ -51,7 +51,7 @@ class ClientInvocationHandler implements InvocationHandler {
             return method.invoke(proxy, args);
         }
         ClientMethodInvoker methodInvoker = methodInvokerMap.computeIfAbsent(
-                method.toGenericString(), m -> new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient));
+                method.toGenericString(), m -> createMethodInvoker(method));
         try {
             return methodInvoker.invoke(proxy, method, args);
         } catch (UndeclaredThrowableException undeclaredThrowableException) {
@@ -61,4 +61,11 @@ class ClientInvocationHandler implements InvocationHandler {
         }
     }
 
+    private ClientMethodInvoker createMethodInvoker(Method method) {
+        if (AsyncClientMethodInvoker.isAsyncMethod(method)) {
+            return new AsyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+        }
+        return new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+    }
+
 }
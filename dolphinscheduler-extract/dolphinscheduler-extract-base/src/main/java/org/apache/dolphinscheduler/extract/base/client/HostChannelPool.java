@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import lombok.extern.slf4j.Slf4j;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.util.AttributeKey;
+
+/**
+ * The channels connected to a server host.
+ * <ul>
+ *     <li>The connection is established asynchronously, the connecting future is cached in the pool, so the callers
+ *     never block each other, and the callers of other hosts are never blocked by this host.</li>
+ *     <li>The request is sent by the active channel with the least pending requests, a new channel will be created
+ *     once all the channels are busy until the pool is full.</li>
+ *     <li>Once the host fails to connect for several times continuously, the circuit will be opened, the following
+ *     requests fail fast until the circuit open duration passed, then one connect attempt is allowed to probe the
+ *     host.</li>
+ * </ul>
+ */
+@Slf4j
+class HostChannelPool {
+
+    private static final AttributeKey<AtomicInteger> PENDING_REQUESTS = AttributeKey.valueOf("pendingRequests");
+
+    private final Host host;
+
+    private final Bootstrap bootstrap;
+
+    private final AtomicReferenceArray<ChannelFuture> channelFutures;
+
+    private final int connectFailureThreshold;
+
+    private final long circuitOpenMillis;
+
+    /**
+     * Called once a new connection is created while there is no active channel of the host, the peer might be
+     * restarted or replaced.
+     */
+    private final Runnable reconnectListener;
+
+    private final AtomicInteger continuousConnectFailures = new AtomicInteger();
+
+    private volatile long circuitOpenUntil;
+
+    HostChannelPool(Host host,
+                    Bootstrap bootstrap,
+                    int poolSize,
+                    int connectFailureThreshold,
+                    long circuitOpenMillis,
+                    Runnable reconnectListener) {
+        this.host = host;
+        this.bootstrap = bootstrap;
+        this.channelFutures = new AtomicReferenceArray<>(Math.max(1, poolSize));
+        this.connectFailureThreshold = connectFailureThreshold;
+        this.circuitOpenMillis = circuitOpenMillis;
+        this.reconnectListener = reconnectListener;
+    }
+
+    /**
+     * Select the channel to send request, the returned future might be still connecting.
+     *
+     * @throws ConnectException if the circuit of the host is open
+     */
+    ChannelFuture acquire() throws ConnectException {
+        ChannelFuture leastPendingFuture = null;
+        int leastPending = Integer.MAX_VALUE;
+        ChannelFuture connectingFuture = null;
+        int emptySlot = -1;
+        for (int i = 0; i < channelFutures.length(); i++) {
+            final ChannelFuture channelFuture = channelFutures.get(i);
+            if (isEmptySlot(channelFuture)) {
+                if (emptySlot < 0) {
+                    emptySlot = i;
+                }
+                continue;
+            }
+            if (!channelFuture.isDone()) {
+                connectingFuture = channelFuture;
+                continue;
+            }
+            final int pending = getPendingRequests(channelFuture.channel());
+            if (pending < leastPending) {
+                leastPending = pending;
+                leastPendingFuture = channelFuture;
+            }
+        }
+        if (leastPendingFuture != null && (leastPending == 0 || emptySlot < 0)) {
+            return leastPendingFuture;
+        }
+        if (emptySlot >= 0) {
+            final ChannelFuture channelFuture = connect(emptySlot);
+            if (channelFuture != null) {
+                return channelFuture;
+            }
+        }
+        if (leastPendingFuture != null) {
+            return leastPendingFuture;
+        }
+        if (connectingFuture != null) {
+            return connectingFuture;
+        }
+        throw new ConnectException("The circuit of host: " + host + " is open since it failed to connect "
+                + continuousConnectFailures.get() + " times continuously");
+    }
+
+    private synchronized ChannelFuture connect(int slot) {
+        final ChannelFuture current = channelFutures.get(slot);
+        if (!isEmptySlot(current)) {
+            return current;
+        }
+        if (!tryPassCircuit()) {
+            return null;
+        }
+        final boolean hasActiveChannel = hasActiveChannel();
+        final ChannelFuture channelFuture = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
+        channelFuture.channel().attr(PENDING_REQUESTS).set(new AtomicInteger());
+        channelFutures.set(slot, channelFuture);
+        if (!hasActiveChannel) {
+            reconnectListener.run();
+        }
+        channelFuture.addListener(future -> {
+            if (future.isSuccess()) {
+                continuousConnectFailures.set(0);
+                channelFuture.channel().closeFuture()
+                        .addListener(closeFuture -> channelFutures.compareAndSet(slot, channelFuture, null));
+                return;
+            }
+            channelFutures.compareAndSet(slot, channelFuture, null);
+            final int failures = continuousConnectFailures.incrementAndGet();
+            if (failures >= connectFailureThreshold) {
+                circuitOpenUntil = System.currentTimeMillis() + circuitOpenMillis;
+                log.warn("Connect to host: {} failed {} times continuously, open the circuit for {}/ms",
+                        host, failures, circuitOpenMillis, future.cause());
+            }
+        });
+        return channelFuture;
+    }
+
+    /**
+     * Whether the connection can be established, once the circuit is half-open, only one attempt is allowed.
+     */
+    private boolean tryPassCircuit() {
+        if (continuousConnectFailures.get() < connectFailureThreshold) {
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        if (now < circuitOpenUntil) {
+            return false;
+        }
+        // Block the other attempts until the probe attempt finished
+        circuitOpenUntil = now + circuitOpenMillis;
+        return true;
+    }
+
+    private boolean hasActiveChannel() {
+        for (int i = 0; i < channelFutures.length(); i++) {
+            final ChannelFuture channelFuture = channelFutures.get(i);
+            if (channelFuture != null && channelFuture.channel().isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEmptySlot(ChannelFuture channelFuture) {
+        return channelFuture == null
+                || (channelFuture.isDone() && !channelFuture.channel().isActive());
+    }
+
+    void close() {
+        for (int i = 0; i < channelFutures.length(); i++) {
+            final ChannelFuture channelFuture = channelFutures.getAndSet(i, null);
+            if (channelFuture != null) {
+                channelFuture.channel().close();
+            }
+        }
+    }
+
+    static void incrementPendingRequests(Channel channel) {
+        final AtomicInteger pendingRequests = channel.attr(PENDING_REQUESTS).get();
+        if (pendingRequests != null) {
+            pendingRequests.incrementAndGet();
+        }
+    }
+
+    static void decrementPendingRequests(Channel channel) {
+        final AtomicInteger pendingRequests = channel.attr(PENDING_REQUESTS).get();
+        if (pendingRequests != null) {
+            pendingRequests.decrementAndGet();
+        }
+    }
+
+    private static int getPendingRequests(Channel channel) {
+        final AtomicInteger pendingRequests = channel.attr(PENDING_REQUESTS).get();
+        return pendingRequests == null ? 0 : pendingRequests.get();
+    }
+
+}
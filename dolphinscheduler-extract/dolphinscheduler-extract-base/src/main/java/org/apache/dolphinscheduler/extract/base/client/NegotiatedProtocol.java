@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The protocol negotiated with a server host, the client starts with the protocol which is supported by all versions
+ * of server, and upgrades it once the server responds with a newer protocol.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class NegotiatedProtocol {
+
+    static final NegotiatedProtocol DEFAULT =
+            new NegotiatedProtocol(Transporter.VERSION, Serializers.getDefaultSerializer(), Collections.emptyMap(),
+                    false);
+
+    private final byte version;
+
+    private final Serializer serializer;
+
+    /**
+     * The method ids told by the server, the key is the method identifier. The method which is not in it will be
+     * called by method identifier.
+     */
+    private final Map<String, Integer> methodIds;
+
+    /**
+     * Whether the server accepts the compressed request body.
+     */
+    private final boolean compressionAccepted;
+
+    NegotiatedProtocol withVersion(byte version) {
+        return new NegotiatedProtocol(version, serializer, methodIds, compressionAccepted);
+    }
+
+    NegotiatedProtocol withSerializer(Serializer serializer) {
+        return new NegotiatedProtocol(version, serializer, methodIds, compressionAccepted);
+    }
+
+    NegotiatedProtocol withCompressionAccepted(boolean compressionAccepted) {
+        return new NegotiatedProtocol(version, serializer, methodIds, compressionAccepted);
+    }
+
+    NegotiatedProtocol withMethodId(String methodIdentifier, int methodId) {
+        final Integer current = methodIds.get(methodIdentifier);
+        if (current != null && current == methodId) {
+            return this;
+        }
+        final Map<String, Integer> newMethodIds = new HashMap<>(methodIds);
+        newMethodIds.put(methodIdentifier, methodId);
+        return new NegotiatedProtocol(version, serializer, Collections.unmodifiableMap(newMethodIds),
+                compressionAccepted);
+    }
+
+    NegotiatedProtocol withoutMethodId(String methodIdentifier) {
+        if (!methodIds.containsKey(methodIdentifier)) {
+            return this;
+        }
+        final Map<String, Integer> newMethodIds = new HashMap<>(methodIds);
+        newMethodIds.remove(methodIdentifier);
+        return new NegotiatedProtocol(version, serializer, Collections.unmodifiableMap(newMethodIds),
+                compressionAccepted);
+    }
+
+    /**
+     * Get the method id of the given method identifier, return null if the method should be called by identifier.
+     */
+    Integer getMethodId(String methodIdentifier) {
+        if (version < Transporter.BINARY_HEADER_VERSION) {
+            return null;
+        }
+        return methodIds.get(methodIdentifier);
+    }
+
+}
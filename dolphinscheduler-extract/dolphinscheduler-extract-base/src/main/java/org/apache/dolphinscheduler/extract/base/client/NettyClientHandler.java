@@ -17,11 +17,9 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
-import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -43,7 +41,7 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
-        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()));
+        // The channel will be removed from the channel pool once closed, the other channels of the host are kept
         ctx.channel().close();
     }
 
@@ -56,17 +54,17 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
         ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
         if (future == null) {
             log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
+            transporter.release();
             return;
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
-        future.setIRpcResponse(deserialize);
-        future.putResponse(deserialize);
+        // The response body will be deserialized by the caller thread, to avoid blocking the netty io thread
+        future.putResponse(transporter);
     }
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
-        log.error("NettyClientHandler catch an exception : {}", cause.getMessage(), cause);
-        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()));
+        log.error("NettyClientHandler catch an exception : {}, will close the channel connected to: {}",
+                cause.getMessage(), ChannelUtils.toAddress(ctx.channel()), cause);
         ctx.channel().close();
     }
 
@@ -18,9 +18,10 @@
 package org.apache.dolphinscheduler.extract.base.client;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
-import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.RpcMethodRetryStrategy;
 import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
+import org.apache.dolphinscheduler.extract.base.compress.Compressor;
+import org.apache.dolphinscheduler.extract.base.compress.Compressors;
 import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.exception.RemoteException;
 import org.apache.dolphinscheduler.extract.base.exception.RemoteTimeoutException;
@@ -31,17 +32,22 @@ import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
-import java.net.InetSocketAddress;
+import java.net.ConnectException;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantLock;
 
 import lombok.extern.slf4j.Slf4j;
 import io.netty.bootstrap.Bootstrap;
@@ -55,14 +61,20 @@ import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.HashedWheelTimer;
 
 @Slf4j
 public class NettyRemotingClient implements AutoCloseable {
 
     private final Bootstrap bootstrap = new Bootstrap();
 
-    private final ReentrantLock channelsLock = new ReentrantLock();
-    private final Map<Host, Channel> channels = new ConcurrentHashMap<>();
+    private final Map<Host, HostChannelPool> channelPools = new ConcurrentHashMap<>();
+
+    /**
+     * The protocol negotiated with each host, it will be reset once the connection is recreated after all the channels
+     * of the host are inactive, since the peer might be replaced by another version.
+     */
+    private final Map<Host, NegotiatedProtocol> negotiatedProtocols = new ConcurrentHashMap<>();
 
     private final AtomicBoolean isStarted = new AtomicBoolean(false);
 
@@ -72,8 +84,33 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientHandler clientHandler;
 
+    private final Serializer preferredSerializer;
+
+    /**
+     * The compressor used to compress the large request body, null if the compression is disabled.
+     */
+    private final Compressor compressor;
+
+    /**
+     * Used to schedule the timeout and retry of the async requests, rather than blocking a thread.
+     */
+    private final HashedWheelTimer asyncRequestTimer;
+
+    /**
+     * Used to complete the async requests, so that the callbacks of the caller will not block the netty io thread.
+     */
+    private final ExecutorService asyncCallbackExecutor;
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
+        this.preferredSerializer = Serializers.getSerializer(clientConfig.getSerializer());
+        this.compressor = Compressors.findCompressor(clientConfig.getCompressor()).orElse(null);
+        this.asyncRequestTimer = new HashedWheelTimer(
+                ThreadUtils.newDaemonThreadFactory("NettyClientAsyncRequestTimer-%d"),
+                10,
+                TimeUnit.MILLISECONDS);
+        this.asyncCallbackExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
+                "NettyClientAsyncCallbackThread-%d", clientConfig.getAsyncCallbackThreads());
         ThreadFactory nettyClientThreadFactory = ThreadUtils.newDaemonThreadFactory("NettyClientThread-");
         if (Epoll.isAvailable()) {
             this.workerGroup = new EpollEventLoopGroup(clientConfig.getWorkerThreads(), nettyClientThreadFactory);
@@ -112,7 +149,28 @@ public class NettyRemotingClient implements AutoCloseable {
         isStarted.compareAndSet(false, true);
     }
 
-    public IRpcResponse sendSync(final SyncRequestDto syncRequestDto) throws RemoteException {
+    /**
+     * Get the protocol which should be used to send request to the given host.
+     * <p> The first request on a connection is always encoded by the oldest protocol and carries the latest protocol
+     * version and the preferred serializer, once the server responds with them, the following requests will use them.
+     */
+    NegotiatedProtocol getNegotiatedProtocol(Host host) {
+        return negotiatedProtocols.getOrDefault(host, NegotiatedProtocol.DEFAULT);
+    }
+
+    public Serializer getPreferredSerializer() {
+        return preferredSerializer;
+    }
+
+    Compressor getCompressor() {
+        return compressor;
+    }
+
+    int getCompressionThresholdBytes() {
+        return clientConfig.getCompressionThresholdBytes();
+    }
+
+    public Transporter sendSync(final SyncRequestDto syncRequestDto) throws RemoteException {
         final Host host = syncRequestDto.getServerHost();
         final Transporter transporter = syncRequestDto.getTransporter();
         final long timeoutMillis = syncRequestDto.getTimeoutMillis() < 0 ? clientConfig.getDefaultRpcTimeoutMillis()
@@ -126,7 +184,9 @@ public class NettyRemotingClient implements AutoCloseable {
         while (true) {
             final long start = System.currentTimeMillis();
             try {
-                return doSendSync(transporter, host, timeoutMillis);
+                final Transporter response = doSendSync(transporter, host, timeoutMillis);
+                negotiateProtocol(host, transporter, response);
+                return response;
             } catch (Exception ex) {
                 ClientSyncExceptionMetrics clientSyncExceptionMetrics =
                         ClientSyncExceptionMetrics.of(syncRequestDto, ex);
@@ -155,14 +215,155 @@ public class NettyRemotingClient implements AutoCloseable {
         }
     }
 
-    private IRpcResponse doSendSync(final Transporter transporter,
-                                    final Host serverHost,
-                                    long timeoutMills) throws RemoteException, InterruptedException {
-        final Channel channel = getOrCreateChannel(serverHost);
-        if (channel == null) {
-            throw new RemoteException(String.format("connect to : %s fail", serverHost));
+    /**
+     * Send the request asynchronously, the returned future will be completed with the response, or completed
+     * exceptionally once the request failed after retrying.
+     * <p> The retry interval and the timeout are scheduled by a timer, so no thread is blocked while waiting.
+     */
+    public CompletableFuture<Transporter> sendAsync(final SyncRequestDto requestDto) {
+        final CompletableFuture<Transporter> result = new CompletableFuture<>();
+        final long timeoutMillis = requestDto.getTimeoutMillis() < 0 ? clientConfig.getDefaultRpcTimeoutMillis()
+                : requestDto.getTimeoutMillis();
+        sendAsync(requestDto, timeoutMillis, 1, result);
+        return result;
+    }
+
+    private void sendAsync(final SyncRequestDto requestDto,
+                           final long timeoutMillis,
+                           final int currentExecuteTimes,
+                           final CompletableFuture<Transporter> result) {
+        final Host host = requestDto.getServerHost();
+        final RpcMethodRetryStrategy retryStrategy = requestDto.getRetryStrategy();
+        final long start = System.currentTimeMillis();
+        doSendAsync(requestDto.getTransporter(), host, timeoutMillis).whenComplete((response, throwable) -> {
+            RpcMetrics.recordClientSyncRequestDuration(ClientSyncDurationMetrics
+                    .of(requestDto)
+                    .withMilliseconds(System.currentTimeMillis() - start));
+            if (throwable == null) {
+                negotiateProtocol(host, requestDto.getTransporter(), response);
+                if (!result.complete(response)) {
+                    response.release();
+                }
+                return;
+            }
+            final Throwable ex = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+            RpcMetrics.recordClientSyncRequestException(ClientSyncExceptionMetrics.of(requestDto, ex));
+
+            if (currentExecuteTimes < retryStrategy.maxRetryTimes()
+                    && Arrays.stream(retryStrategy.retryFor()).anyMatch(e -> e.isInstance(ex))) {
+                final Runnable retryTask =
+                        () -> sendAsync(requestDto, timeoutMillis, currentExecuteTimes + 1, result);
+                if (retryStrategy.retryInterval() > 0) {
+                    asyncRequestTimer.newTimeout(timeout -> asyncCallbackExecutor.execute(retryTask),
+                            retryStrategy.retryInterval(), TimeUnit.MILLISECONDS);
+                } else {
+                    asyncCallbackExecutor.execute(retryTask);
+                }
+                return;
+            }
+            if (ex instanceof RemoteException) {
+                result.completeExceptionally(ex);
+            } else {
+                result.completeExceptionally(new RemoteException("Call method to " + host + " failed", ex));
+            }
+        });
+    }
+
+    private CompletableFuture<Transporter> doSendAsync(final Transporter transporter,
+                                                       final Host serverHost,
+                                                       final long timeoutMills) {
+        final CompletableFuture<Transporter> future = new CompletableFuture<>();
+        final ChannelFuture channelFuture;
+        try {
+            channelFuture = getChannelPool(serverHost).acquire();
+        } catch (Exception ex) {
+            future.completeExceptionally(ex);
+            return future;
         }
+        // Send the request once connected, rather than waiting for the connection
+        channelFuture.addListener(connectFuture -> {
+            if (!connectFuture.isSuccess()) {
+                // The listener runs on the event loop, don't run the callbacks of the caller on it
+                final ConnectException connectException = toConnectException(serverHost, connectFuture.cause());
+                asyncCallbackExecutor.execute(() -> future.completeExceptionally(connectException));
+                return;
+            }
+            doSendAsync(channelFuture.channel(), transporter, serverHost, timeoutMills, future);
+        });
+        return future;
+    }
+
+    private void doSendAsync(final Channel channel,
+                             final Transporter transporter,
+                             final Host serverHost,
+                             final long timeoutMills,
+                             final CompletableFuture<Transporter> future) {
+        HostChannelPool.incrementPendingRequests(channel);
+        final ResponseFuture responseFuture =
+                new ResponseFuture(transporter.getHeader().getOpaque(), timeoutMills, completedFuture -> {
+                    HostChannelPool.decrementPendingRequests(channel);
+                    final Transporter response = completedFuture.getResponse();
+                    if (response != null) {
+                        asyncCallbackExecutor.execute(() -> future.complete(response));
+                        return;
+                    }
+                    final RemoteException remoteException = completedFuture.isSendOK()
+                            ? new RemoteTimeoutException(serverHost.toString(), timeoutMills,
+                                    completedFuture.getCause())
+                            : new RemoteException(serverHost.toString(), completedFuture.getCause());
+                    asyncCallbackExecutor.execute(() -> future.completeExceptionally(remoteException));
+                });
+        responseFuture.scheduleTimeout(asyncRequestTimer);
+        channel.writeAndFlush(transporter).addListener(sendFuture -> {
+            if (sendFuture.isSuccess()) {
+                responseFuture.setSendOk(true);
+                return;
+            }
+            responseFuture.setSendOk(false);
+            responseFuture.setCause(sendFuture.cause());
+            responseFuture.putResponse(null);
+            log.error("Send Async request {} to host {} failed", transporter, serverHost, sendFuture.cause());
+        });
+    }
+
+    private void negotiateProtocol(final Host host, final Transporter request, final Transporter response) {
+        final TransporterHeader responseHeader = response.getHeader();
+        final String methodIdentifier = request.getHeader().getMethodIdentifier();
+        negotiatedProtocols.compute(host, (h, current) -> {
+            NegotiatedProtocol protocol = current == null ? NegotiatedProtocol.DEFAULT : current;
+            if (response.getVersion() > protocol.getVersion()) {
+                protocol = protocol.withVersion(response.getVersion());
+            }
+            if (responseHeader.getSerializer() == preferredSerializer.getCode()
+                    && protocol.getSerializer() != preferredSerializer) {
+                protocol = protocol.withSerializer(preferredSerializer);
+            }
+            final boolean compressionAccepted = responseHeader.hasFlag(TransporterHeader.FLAG_ACCEPT_COMPRESSION);
+            if (protocol.isCompressionAccepted() != compressionAccepted) {
+                protocol = protocol.withCompressionAccepted(compressionAccepted);
+            }
+            if (response.getVersion() == Transporter.BINARY_HEADER_VERSION) {
+                if (responseHeader.hasFlag(TransporterHeader.FLAG_METHOD_ID)) {
+                    protocol = protocol.withMethodId(methodIdentifier, responseHeader.getMethodId());
+                } else {
+                    protocol = protocol.withoutMethodId(methodIdentifier);
+                }
+            }
+            if (protocol != current) {
+                log.debug("Negotiated protocol: {} with host: {}", protocol, host);
+            }
+            return protocol;
+        });
+    }
+
+    private Transporter doSendSync(final Transporter transporter,
+                                   final Host serverHost,
+                                   long timeoutMills) throws ConnectException, InterruptedException {
+        final Channel channel = getOrCreateChannel(serverHost);
         final ResponseFuture responseFuture = new ResponseFuture(transporter.getHeader().getOpaque(), timeoutMills);
+        HostChannelPool.incrementPendingRequests(channel);
         channel.writeAndFlush(transporter).addListener(future -> {
             if (future.isSuccess()) {
                 responseFuture.setSendOk(true);
@@ -177,9 +378,14 @@ public class NettyRemotingClient implements AutoCloseable {
         /*
          * sync wait for result
          */
-        final IRpcResponse iRpcResponse = responseFuture.waitResponse();
-        if (iRpcResponse != null) {
-            return iRpcResponse;
+        final Transporter response;
+        try {
+            response = responseFuture.waitResponse();
+        } finally {
+            HostChannelPool.decrementPendingRequests(channel);
+        }
+        if (response != null) {
+            return response;
         }
         if (responseFuture.isSendOK()) {
             throw new RemoteTimeoutException(serverHost.toString(), timeoutMills, responseFuture.getCause());
@@ -188,44 +394,38 @@ public class NettyRemotingClient implements AutoCloseable {
         }
     }
 
-    Channel getOrCreateChannel(Host host) {
-        Channel channel = channels.get(host);
-        if (channel != null && channel.isActive()) {
-            return channel;
-        }
-        try {
-            channelsLock.lock();
-            channel = channels.get(host);
-            if (channel != null && channel.isActive()) {
-                return channel;
-            }
-            channel = createChannel(host);
-            channels.put(host, channel);
-        } finally {
-            channelsLock.unlock();
-        }
-        return channel;
-    }
-
     /**
-     * create channel
+     * Get the channel connected to the given host, will wait for the connection if the selected channel is connecting.
      *
-     * @param host host
-     * @return channel
+     * @throws ConnectException if failed to connect, or the circuit of the host is open
      */
-    Channel createChannel(Host host) {
-        try {
-            ChannelFuture future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
-            future = future.sync();
-            if (future.isSuccess()) {
-                return future.channel();
-            } else {
-                throw new IllegalArgumentException("connect to host: " + host + " failed", future.cause());
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Connect to host: " + host + " failed", e);
+    Channel getOrCreateChannel(Host host) throws ConnectException, InterruptedException {
+        final ChannelFuture channelFuture = getChannelPool(host).acquire();
+        // The connect future will be completed in connectTimeoutMillis
+        channelFuture.await();
+        if (!channelFuture.isSuccess()) {
+            throw toConnectException(host, channelFuture.cause());
         }
+        return channelFuture.channel();
+    }
+
+    private HostChannelPool getChannelPool(Host host) {
+        return channelPools.computeIfAbsent(host, h -> new HostChannelPool(
+                h,
+                bootstrap,
+                clientConfig.getChannelsPerHost(),
+                clientConfig.getConnectFailureThreshold(),
+                clientConfig.getCircuitOpenMillis(),
+                () -> negotiatedProtocols.remove(h)));
+    }
+
+    private ConnectException toConnectException(Host host, Throwable cause) {
+        if (cause instanceof ConnectException) {
+            return (ConnectException) cause;
+        }
+        final ConnectException connectException = new ConnectException("Connect to host: " + host + " failed");
+        connectException.initCause(cause);
+        return connectException;
     }
 
     @Override
@@ -233,6 +433,8 @@ public class NettyRemotingClient implements AutoCloseable {
         if (isStarted.compareAndSet(true, false)) {
             try {
                 closeChannels();
+                asyncRequestTimer.stop();
+                asyncCallbackExecutor.shutdownNow();
                 if (workerGroup != null) {
                     this.workerGroup.shutdownGracefully();
                 }
@@ -244,23 +446,18 @@ public class NettyRemotingClient implements AutoCloseable {
     }
 
     private void closeChannels() {
-        try {
-            channelsLock.lock();
-            channels.values().forEach(Channel::close);
-        } finally {
-            channelsLock.unlock();
-        }
+        channelPools.values().forEach(HostChannelPool::close);
+        channelPools.clear();
     }
 
+    /**
+     * Close all the channels of the given host.
+     */
     public void closeChannel(Host host) {
-        try {
-            channelsLock.lock();
-            Channel channel = this.channels.remove(host);
-            if (channel != null) {
-                channel.close();
-            }
-        } finally {
-            channelsLock.unlock();
+        final HostChannelPool channelPool = channelPools.remove(host);
+        negotiatedProtocols.remove(host);
+        if (channelPool != null) {
+            channelPool.close();
         }
     }
 }
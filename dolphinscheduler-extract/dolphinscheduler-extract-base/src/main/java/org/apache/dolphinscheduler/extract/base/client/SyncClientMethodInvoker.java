@@ -17,14 +17,9 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
-import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
-import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
-import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -38,24 +33,8 @@ class SyncClientMethodInvoker extends AbstractClientMethodInvoker {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         RpcMethod sync = method.getAnnotation(RpcMethod.class);
-        final Transporter transporter = Transporter.of(
-                TransporterHeader.of(methodIdentifier),
-                JsonSerializer.serialize(StandardRpcRequest.of(args)));
-
-        final SyncRequestDto syncRequestDto = SyncRequestDto.builder()
-                .timeoutMillis(sync.timeout())
-                .retryStrategy(sync.retry())
-                .transporter(transporter)
-                .serverHost(serverHost)
-                .build();
-        IRpcResponse iRpcResponse = nettyRemotingClient.sendSync(syncRequestDto);
-        if (!iRpcResponse.isSuccess()) {
-            throw MethodInvocationException.of(iRpcResponse.getMessage());
-        }
-        if (iRpcResponse.getBody() == null) {
-            return null;
-        }
-        Class<?> responseClass = method.getReturnType();
-        return JsonSerializer.deserialize(iRpcResponse.getBody(), responseClass);
+        final SyncRequestDto syncRequestDto = buildRequest(sync, args);
+        final Transporter response = nettyRemotingClient.sendSync(syncRequestDto);
+        return decodeResponse(response, method.getReturnType());
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.compress;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The compressor used to compress the large rpc body, the compressed body is flagged by
+ * {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader#FLAG_COMPRESSED}.
+ */
+public interface Compressor {
+
+    /**
+     * The unique code of the compressor, it's written into the compressed body.
+     */
+    byte getCode();
+
+    String getName();
+
+    byte[] compress(byte[] data);
+
+    /**
+     * Decompress the remaining bytes of the given buffer.
+     *
+     * @param compressed the compressed bytes
+     * @param rawLength  the length of the original data
+     * @throws IllegalArgumentException if the compressed bytes are malformed or not decompressed to the raw length
+     */
+    byte[] decompress(ByteBuffer compressed, int rawLength);
+
+}
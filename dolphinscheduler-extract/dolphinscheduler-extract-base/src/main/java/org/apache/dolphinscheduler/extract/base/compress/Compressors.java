@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.compress;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registry of the built-in {@link Compressor}s, all of them can be decompressed by the peers which accept the
+ * compression, see {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader#FLAG_ACCEPT_COMPRESSION}.
+ */
+public class Compressors {
+
+    /**
+     * The name used to disable the compression.
+     */
+    public static final String NONE = "none";
+
+    private static final Map<Byte, Compressor> COMPRESSOR_CODE_MAP = new ConcurrentHashMap<>();
+
+    private static final Map<String, Compressor> COMPRESSOR_NAME_MAP = new ConcurrentHashMap<>();
+
+    static {
+        registerCompressor(new Lz4Compressor());
+    }
+
+    private Compressors() {
+
+    }
+
+    private static void registerCompressor(Compressor compressor) {
+        COMPRESSOR_CODE_MAP.put(compressor.getCode(), compressor);
+        COMPRESSOR_NAME_MAP.put(compressor.getName(), compressor);
+    }
+
+    public static Compressor getCompressor(byte code) {
+        final Compressor compressor = COMPRESSOR_CODE_MAP.get(code);
+        if (compressor == null) {
+            throw new IllegalArgumentException("Cannot find the compressor with code: " + code);
+        }
+        return compressor;
+    }
+
+    /**
+     * Find the compressor by name, return empty if the compression is disabled by {@link #NONE}.
+     */
+    public static Optional<Compressor> findCompressor(String name) {
+        if (name == null || NONE.equalsIgnoreCase(name)) {
+            return Optional.empty();
+        }
+        final Compressor compressor = COMPRESSOR_NAME_MAP.get(name);
+        if (compressor == null) {
+            throw new IllegalArgumentException("Cannot find the compressor with name: " + name);
+        }
+        return Optional.of(compressor);
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.compress;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * The LZ4 compressor, which is fast enough to be used on the rpc path, the compression ratio of the json/cbor body is
+ * usually 3~5x.
+ */
+public class Lz4Compressor implements Compressor {
+
+    public static final byte CODE = 1;
+
+    public static final String NAME = "lz4";
+
+    private final LZ4Compressor compressor;
+
+    /**
+     * The safe decompressor never reads or writes out of the bounds on a malformed input, unlike the fast one.
+     */
+    private final LZ4SafeDecompressor decompressor;
+
+    public Lz4Compressor() {
+        final LZ4Factory lz4Factory = LZ4Factory.fastestInstance();
+        this.compressor = lz4Factory.fastCompressor();
+        this.decompressor = lz4Factory.safeDecompressor();
+    }
+
+    @Override
+    public byte getCode() {
+        return CODE;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        final byte[] compressed = new byte[compressor.maxCompressedLength(data.length)];
+        final int compressedLength = compressor.compress(data, 0, data.length, compressed, 0, compressed.length);
+        return Arrays.copyOf(compressed, compressedLength);
+    }
+
+    @Override
+    public byte[] decompress(ByteBuffer compressed, int rawLength) {
+        final byte[] raw = new byte[rawLength];
+        final int decompressedLength;
+        try {
+            decompressedLength = decompressor.decompress(compressed, compressed.position(), compressed.remaining(),
+                    ByteBuffer.wrap(raw), 0, rawLength);
+        } catch (LZ4Exception ex) {
+            throw new IllegalArgumentException("illegal lz4 compressed body", ex);
+        }
+        if (decompressedLength != rawLength) {
+            throw new IllegalArgumentException(
+                    "illegal lz4 compressed body [rawLength]" + rawLength + " [decompressedLength]"
+                            + decompressedLength);
+        }
+        return raw;
+    }
+
+}
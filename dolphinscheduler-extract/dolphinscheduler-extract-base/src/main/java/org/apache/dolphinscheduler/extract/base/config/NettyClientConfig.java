@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.compress.Lz4Compressor;
+import org.apache.dolphinscheduler.extract.base.serialize.CborSerializer;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -66,6 +69,23 @@ public class NettyClientConfig {
     @Builder.Default
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * The max channels connected to each server host, the request is sent by the channel with the least pending
+     * requests, so the small requests will not wait behind the large ones.
+     */
+    @Builder.Default
+    private int channelsPerHost = 2;
+
+    /**
+     * Once the host fails to connect for connectFailureThreshold times continuously, the requests to it will fail fast
+     * in circuitOpenMillis, rather than trying to connect it again.
+     */
+    @Builder.Default
+    private int connectFailureThreshold = 3;
+
+    @Builder.Default
+    private long circuitOpenMillis = Duration.ofSeconds(10).toMillis();
+
     /**
      * Will send {@link org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter} to netty server every
      * heartBeatIntervalMillis, used to keep the {@link io.netty.channel.Channel} active.
@@ -76,4 +96,30 @@ public class NettyClientConfig {
     @Builder.Default
     private int defaultRpcTimeoutMillis = 10_000;
 
+    /**
+     * The threads used to complete the async rpc requests and schedule their retries.
+     */
+    @Builder.Default
+    private int asyncCallbackThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The preferred {@link org.apache.dolphinscheduler.extract.base.serialize.Serializer} name, it will be used once
+     * the server supports it, otherwise will fall back to json.
+     */
+    @Builder.Default
+    private String serializer = CborSerializer.NAME;
+
+    /**
+     * The {@link org.apache.dolphinscheduler.extract.base.compress.Compressor} name used to compress the large rpc
+     * body once the peer accepts the compression, set to none to disable the compression.
+     */
+    @Builder.Default
+    private String compressor = Lz4Compressor.NAME;
+
+    /**
+     * The body whose length is not less than this value will be compressed.
+     */
+    @Builder.Default
+    private int compressionThresholdBytes = 16 * 1024;
+
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.compress.Lz4Compressor;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -79,4 +81,23 @@ public class NettyServerConfig {
      */
     private int listenPort;
 
+    /**
+     * The executors used to invoke the rpc methods.
+     */
+    @Builder.Default
+    private RpcServerExecutorConfig executorConfig = new RpcServerExecutorConfig();
+
+    /**
+     * The {@link org.apache.dolphinscheduler.extract.base.compress.Compressor} name used to compress the large rpc
+     * body once the peer accepts the compression, set to none to disable the compression.
+     */
+    @Builder.Default
+    private String compressor = Lz4Compressor.NAME;
+
+    /**
+     * The body whose length is not less than this value will be compressed.
+     */
+    @Builder.Default
+    private int compressionThresholdBytes = 16 * 1024;
+
 }
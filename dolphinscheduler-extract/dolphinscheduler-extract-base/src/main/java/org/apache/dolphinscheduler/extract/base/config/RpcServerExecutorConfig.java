@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The executor config used to invoke the rpc methods, the methods of a service can be isolated into a dedicated
+ * executor by {@link #services}, then the slow methods of a service will not block the methods of other services.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RpcServerExecutorConfig {
+
+    /**
+     * Whether to invoke the methods in virtual threads, only work when running on the JDK which supports virtual
+     * threads, otherwise the platform threads will be used.
+     * <p> When enabled, the threads is the max running invocations and the queueCapacity is the max invocations waiting
+     * for running, which are both enforced for the default executor and the dedicated executors.
+     */
+    @Builder.Default
+    private boolean virtualThreadEnabled = false;
+
+    /**
+     * The threads of the default executor which is used by the services not configured in {@link #services}.
+     */
+    @Builder.Default
+    private int threads = Runtime.getRuntime().availableProcessors() * 2 + 1;
+
+    /**
+     * The queue capacity of the default executor, the invocation will be rejected once the queue is full.
+     */
+    @Builder.Default
+    private int queueCapacity = 10000;
+
+    /**
+     * The dedicated executors, the key is the simple name of the
+     * {@link org.apache.dolphinscheduler.extract.base.RpcService} interface, e.g. ILogService.
+     */
+    @Builder.Default
+    private Map<String, ServiceExecutorConfig> services = new HashMap<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ServiceExecutorConfig {
+
+        @Builder.Default
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        @Builder.Default
+        private int queueCapacity = 1000;
+
+    }
+
+}
@@ -17,16 +17,19 @@
 
 package org.apache.dolphinscheduler.extract.base.future;
 
-import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
 
 @ToString
 @Slf4j
@@ -42,36 +45,94 @@ public class ResponseFuture {
 
     private final long beginTimestamp = System.currentTimeMillis();
 
+    private final AtomicBoolean done = new AtomicBoolean(false);
+
     @Getter
     @Setter
-    private IRpcResponse iRpcResponse;
+    private Transporter response;
 
     private volatile boolean sendOk = true;
 
     private Throwable cause;
 
+    private final InvokeCallback invokeCallback;
+
+    private volatile Timeout timeoutTask;
+
     public ResponseFuture(long opaque, long timeoutMillis) {
+        this(opaque, timeoutMillis, null);
+    }
+
+    /**
+     * Create a future which will execute the callback once the response is received, or the request is failed or
+     * timeout, the timeout should be scheduled by {@link #scheduleTimeout(Timer)}.
+     */
+    public ResponseFuture(long opaque, long timeoutMillis, InvokeCallback invokeCallback) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
+        this.invokeCallback = invokeCallback;
         FUTURE_TABLE.put(opaque, this);
     }
 
+    public void scheduleTimeout(Timer timer) {
+        this.timeoutTask = timer.newTimeout(timeout -> onTimeout(), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void onTimeout() {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
+        log.warn("Wait response in {}/ms timeout, request id {}", timeoutMillis, opaque);
+        FUTURE_TABLE.remove(opaque, this);
+        latch.countDown();
+        executeInvokeCallback();
+    }
+
+    private void executeInvokeCallback() {
+        if (invokeCallback == null) {
+            return;
+        }
+        try {
+            invokeCallback.operationComplete(this);
+        } catch (Exception ex) {
+            log.error("Execute invoke callback of request id {} failed", opaque, ex);
+        }
+    }
+
     /**
      * wait for response
      *
      * @return command
      */
-    public IRpcResponse waitResponse() throws InterruptedException {
-        if (!latch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+    public Transporter waitResponse() throws InterruptedException {
+        if (!latch.await(timeoutMillis, TimeUnit.MILLISECONDS) && done.compareAndSet(false, true)) {
             log.warn("Wait response in {}/ms timeout, request id {}", timeoutMillis, opaque);
+            FUTURE_TABLE.remove(opaque, this);
+            return null;
         }
-        return this.iRpcResponse;
+        latch.await();
+        return this.response;
     }
 
-    public void putResponse(final IRpcResponse iRpcResponse) {
-        this.iRpcResponse = iRpcResponse;
+    /**
+     * Complete the future with the received response, the response will be released directly if the future is already
+     * timeout, since no one will consume it.
+     */
+    public void putResponse(final Transporter response) {
+        FUTURE_TABLE.remove(opaque, this);
+        if (!done.compareAndSet(false, true)) {
+            if (response != null) {
+                response.release();
+            }
+            return;
+        }
+        this.response = response;
         this.latch.countDown();
-        FUTURE_TABLE.remove(opaque);
+        final Timeout task = this.timeoutTask;
+        if (task != null) {
+            task.cancel();
+        }
+        executeInvokeCallback();
     }
 
     public static ResponseFuture getFuture(long opaque) {
@@ -22,10 +22,13 @@ import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 
@@ -35,6 +38,30 @@ public class RpcMetrics {
 
     private static final Map<String, Counter> rpcRequestExceptionCounter = new ConcurrentHashMap<>();
 
+    private static final Map<String, Timer> serverMethodQueueWaitTimer = new ConcurrentHashMap<>();
+
+    private static final Map<String, Counter> serverMethodRejectedCounter = new ConcurrentHashMap<>();
+
+    private static final Map<String, Timer> serverMethodDecodeTimer = new ConcurrentHashMap<>();
+
+    private static final Map<String, Timer> serverMethodExecuteTimer = new ConcurrentHashMap<>();
+
+    private static final Map<String, DistributionSummary> serverRequestBytesSummary = new ConcurrentHashMap<>();
+
+    private static final Map<String, DistributionSummary> serverResponseBytesSummary = new ConcurrentHashMap<>();
+
+    private static final Map<String, ServerInvocationCounter> serverInvocationCounters = new ConcurrentHashMap<>();
+
+    static final int MAX_SERVER_METHOD_NAMES = 256;
+
+    static final String OTHER_METHOD_NAME = "other";
+
+    private static final Set<String> serverMethodNames = ConcurrentHashMap.newKeySet();
+
+    private static final Map<String, Counter> payloadRawBytesCounter = new ConcurrentHashMap<>();
+
+    private static final Map<String, Counter> payloadCompressedBytesCounter = new ConcurrentHashMap<>();
+
     public static void recordClientSyncRequestException(ClientSyncExceptionMetrics clientSyncExceptionMetrics) {
         recordClientSyncRequestException(
                 clientSyncExceptionMetrics.getThrowable(),
@@ -91,4 +118,130 @@ public class RpcMetrics {
                 .record(milliseconds, TimeUnit.MILLISECONDS);
     }
 
+    public static void recordServerMethodQueueWaitTime(final String serviceName,
+                                                       final String methodName,
+                                                       final long nanos) {
+        serverMethodQueueWaitTimer.computeIfAbsent(boundedMethodName(methodName),
+                (method) -> Timer.builder("ds.rpc.server.method.queue.wait.time")
+                        .tag("service_name", serviceName)
+                        .tag("method_name", method)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .description("time cost of rpc method waiting to be invoked, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordServerMethodDecodeTime(final String methodName, final long nanos) {
+        serverMethodDecodeTimer.computeIfAbsent(boundedMethodName(methodName),
+                (method) -> Timer.builder("ds.rpc.server.method.decode.time")
+                        .tag("method_name", method)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .description("time cost of deserializing the rpc method arguments, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordServerMethodExecuteTime(final String methodName, final long nanos) {
+        serverMethodExecuteTimer.computeIfAbsent(boundedMethodName(methodName),
+                (method) -> Timer.builder("ds.rpc.server.method.execute.time")
+                        .tag("method_name", method)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .description("time cost of executing the rpc method, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordServerRequestBytes(final String methodName, final long bytes) {
+        serverRequestBytesSummary.computeIfAbsent(boundedMethodName(methodName),
+                (method) -> DistributionSummary.builder("ds.rpc.server.request.bytes")
+                        .tag("method_name", method)
+                        .baseUnit("bytes")
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("the body size of the received rpc request")
+                        .register(Metrics.globalRegistry))
+                .record(bytes);
+    }
+
+    public static void recordServerResponseBytes(final String methodName, final long bytes) {
+        serverResponseBytesSummary.computeIfAbsent(boundedMethodName(methodName),
+                (method) -> DistributionSummary.builder("ds.rpc.server.response.bytes")
+                        .tag("method_name", method)
+                        .baseUnit("bytes")
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("the body size of the sent rpc response")
+                        .register(Metrics.globalRegistry))
+                .record(bytes);
+    }
+
+    /**
+     * Get the counter of the queued and in-flight method invocations of the given server, the gauges of the counter
+     * are registered once it's created.
+     */
+    public static ServerInvocationCounter getServerInvocationCounter(final String serverName) {
+        return serverInvocationCounters.computeIfAbsent(serverName, (server) -> {
+            final ServerInvocationCounter invocationCounter = new ServerInvocationCounter();
+            Gauge.builder("ds.rpc.server.method.queued.count", invocationCounter,
+                    ServerInvocationCounter::getQueuedInvocations)
+                    .tag("server_name", server)
+                    .description("the number of rpc method invocations waiting to be executed")
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("ds.rpc.server.method.inflight.count", invocationCounter,
+                    ServerInvocationCounter::getInFlightInvocations)
+                    .tag("server_name", server)
+                    .description("the number of rpc method invocations being executed")
+                    .register(Metrics.globalRegistry);
+            return invocationCounter;
+        });
+    }
+
+    /**
+     * The method name is used as the tag of the server side metrics, once there are too many methods, e.g. the
+     * server is probed by unknown clients, the extra methods are aggregated into one tag.
+     */
+    static String boundedMethodName(final String methodName) {
+        if (methodName == null) {
+            return OTHER_METHOD_NAME;
+        }
+        if (serverMethodNames.contains(methodName)) {
+            return methodName;
+        }
+        if (serverMethodNames.size() < MAX_SERVER_METHOD_NAMES && serverMethodNames.add(methodName)) {
+            return methodName;
+        }
+        return serverMethodNames.contains(methodName) ? methodName : OTHER_METHOD_NAME;
+    }
+
+    public static void recordServerMethodRejected(final String serviceName) {
+        serverMethodRejectedCounter.computeIfAbsent(serviceName,
+                (service) -> Counter.builder("ds.rpc.server.method.rejected.count")
+                        .tag("service_name", service)
+                        .description("rpc method rejected counter since the executor is full")
+                        .register(Metrics.globalRegistry))
+                .increment();
+    }
+
+    /**
+     * Record the bytes of the compressed rpc body before and after compression.
+     */
+    public static void recordPayloadCompression(final String methodName, final long rawBytes,
+                                                final long compressedBytes) {
+        payloadRawBytesCounter.computeIfAbsent(methodName,
+                (method) -> Counter.builder("ds.rpc.payload.compression.raw.bytes")
+                        .tag("method_name", method)
+                        .baseUnit("bytes")
+                        .description("the raw bytes of the compressed rpc body")
+                        .register(Metrics.globalRegistry))
+                .increment(rawBytes);
+        payloadCompressedBytesCounter.computeIfAbsent(methodName,
+                (method) -> Counter.builder("ds.rpc.payload.compression.compressed.bytes")
+                        .tag("method_name", method)
+                        .baseUnit("bytes")
+                        .description("the compressed bytes of the compressed rpc body")
+                        .register(Metrics.globalRegistry))
+                .increment(compressedBytes);
+    }
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Count the rpc method invocations which are waiting in the queue or being executed in a server.
+ */
+public class ServerInvocationCounter {
+
+    private final AtomicInteger queuedInvocations = new AtomicInteger();
+
+    private final AtomicInteger inFlightInvocations = new AtomicInteger();
+
+    public void onQueued() {
+        queuedInvocations.incrementAndGet();
+    }
+
+    /**
+     * The queued invocation is rejected, it will not be executed.
+     */
+    public void onRejected() {
+        queuedInvocations.decrementAndGet();
+    }
+
+    public void onStarted() {
+        queuedInvocations.decrementAndGet();
+        inFlightInvocations.incrementAndGet();
+    }
+
+    public void onFinished() {
+        inFlightInvocations.decrementAndGet();
+    }
+
+    public int getQueuedInvocations() {
+        return queuedInvocations.get();
+    }
+
+    public int getInFlightInvocations() {
+        return inFlightInvocations.get();
+    }
+
+}
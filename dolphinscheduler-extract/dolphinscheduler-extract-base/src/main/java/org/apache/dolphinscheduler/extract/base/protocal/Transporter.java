@@ -19,12 +19,19 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.compress.Compressor;
+import org.apache.dolphinscheduler.extract.base.compress.Compressors;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 import lombok.Data;
 import lombok.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.ReferenceCountUtil;
 
 @Data
 public class Transporter implements Serializable {
@@ -32,17 +39,54 @@ public class Transporter implements Serializable {
     private static final long serialVersionUID = -1L;
 
     public static final byte MAGIC = (byte) 0xbabe;
+
+    /**
+     * The protocol version whose header is encoded by json.
+     */
     public static final byte VERSION = 0;
 
+    /**
+     * The protocol version whose header is encoded by a fixed binary layout, see {@link TransporterEncoder}.
+     */
+    public static final byte BINARY_HEADER_VERSION = 1;
+
+    /**
+     * The latest protocol version supported by this peer.
+     */
+    public static final byte LATEST_VERSION = BINARY_HEADER_VERSION;
+
+    /**
+     * The max length of a received frame, it also bounds the raw length of a compressed body, so a broken or malicious
+     * peer cannot make this peer allocate an arbitrarily large buffer.
+     */
+    public static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+    /**
+     * compressorCode(1) + rawLength(4)
+     */
+    private static final int COMPRESSED_BODY_PREFIX_LENGTH = 5;
+
     private TransporterHeader header;
+
     private byte[] body;
 
+    /**
+     * The body of a received transporter, it's a retained slice of the received frame which avoids copying the body,
+     * so it must be {@link #release() released} once the transporter is consumed.
+     */
+    private transient ByteBuf bodyBuffer;
+
+    /**
+     * The protocol version used to encode/decode this transporter.
+     */
+    private byte version = VERSION;
+
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
+        return of(header, Serializers.getSerializer(header.getSerializer()).serialize(iRpcResponse));
     }
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+        return of(header, Serializers.getSerializer(header.getSerializer()).serialize(iRpcRequest));
     }
 
     public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
@@ -52,4 +96,79 @@ public class Transporter implements Serializable {
         return transporter;
     }
 
+    public static Transporter of(@NonNull TransporterHeader header, ByteBuf bodyBuffer, byte version) {
+        Transporter transporter = new Transporter();
+        transporter.setHeader(header);
+        transporter.setBodyBuffer(bodyBuffer);
+        transporter.setVersion(version);
+        return transporter;
+    }
+
+    /**
+     * Compress the body if its length is not less than the threshold, and the compressed one is smaller.
+     *
+     * @return true if the body is compressed
+     */
+    public boolean compressBody(@NonNull Compressor compressor, int thresholdBytes) {
+        if (body == null || body.length < thresholdBytes || header.hasFlag(TransporterHeader.FLAG_COMPRESSED)) {
+            return false;
+        }
+        final byte[] compressed = compressor.compress(body);
+        if (compressed.length + COMPRESSED_BODY_PREFIX_LENGTH >= body.length) {
+            return false;
+        }
+        final ByteBuffer compressedBody = ByteBuffer.allocate(COMPRESSED_BODY_PREFIX_LENGTH + compressed.length);
+        compressedBody.put(compressor.getCode());
+        compressedBody.putInt(body.length);
+        compressedBody.put(compressed);
+        body = compressedBody.array();
+        header.addFlag(TransporterHeader.FLAG_COMPRESSED);
+        return true;
+    }
+
+    /**
+     * Deserialize the body by the serializer in header, the received body will be decoded from the buffer directly.
+     */
+    public <T> T deserializeBody(Class<T> clazz) {
+        final Serializer serializer = Serializers.getSerializer(header.getSerializer());
+        if (header.hasFlag(TransporterHeader.FLAG_COMPRESSED)) {
+            return serializer.deserialize(decompressBody(), clazz);
+        }
+        if (bodyBuffer != null) {
+            return serializer.deserialize(new ByteBufInputStream(bodyBuffer.duplicate()), clazz);
+        }
+        return serializer.deserialize(body, clazz);
+    }
+
+    private byte[] decompressBody() {
+        final ByteBuffer compressedBody = bodyBuffer != null ? bodyBuffer.nioBuffer() : ByteBuffer.wrap(body);
+        if (compressedBody.remaining() < COMPRESSED_BODY_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("illegal compressed body [length]" + compressedBody.remaining());
+        }
+        final Compressor compressor = Compressors.getCompressor(compressedBody.get());
+        final int rawLength = compressedBody.getInt();
+        if (rawLength < 0 || rawLength > MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("illegal compressed body [rawLength]" + rawLength);
+        }
+        return compressor.decompress(compressedBody.slice(), rawLength);
+    }
+
+    public int getBodyLength() {
+        if (bodyBuffer != null) {
+            return bodyBuffer.readableBytes();
+        }
+        return body == null ? 0 : body.length;
+    }
+
+    /**
+     * Release the received body buffer, this method is idempotent.
+     */
+    public void release() {
+        final ByteBuf buffer = bodyBuffer;
+        bodyBuffer = null;
+        if (buffer != null) {
+            ReferenceCountUtil.safeRelease(buffer);
+        }
+    }
+
 }
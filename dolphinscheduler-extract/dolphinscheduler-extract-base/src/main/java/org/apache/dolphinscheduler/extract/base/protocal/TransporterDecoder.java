@@ -17,78 +17,106 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 
+/**
+ * Decode the frame encoded by {@link TransporterEncoder}, both the json header version and the binary header version
+ * are supported.
+ * <p> The decoder waits until the whole frame is received, which is known from the length fields, and then the body
+ * of the decoded {@link Transporter} is a retained slice of the received buffer rather than a copied byte array.
+ */
 @Slf4j
-public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.State> {
-
-    public TransporterDecoder() {
-        super(State.MAGIC);
-    }
+public class TransporterDecoder extends ByteToMessageDecoder {
 
-    private int headerLength;
-    private byte[] header;
-    private int bodyLength;
-    private byte[] body;
+    /**
+     * magic(1) + version(1) + length(4)
+     */
+    private static final int FRAME_PREFIX_LENGTH = 6;
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        switch (state()) {
-            case MAGIC:
-                checkMagic(in.readByte());
-                checkpoint(State.VERSION);
-            case VERSION:
-                checkVersion(in.readByte());
-                checkpoint(State.HEADER_LENGTH);
-            case HEADER_LENGTH:
-                headerLength = in.readInt();
-                checkpoint(State.HEADER);
-            case HEADER:
-                header = new byte[headerLength];
-                in.readBytes(header);
-                checkpoint(State.BODY_LENGTH);
-            case BODY_LENGTH:
-                bodyLength = in.readInt();
-                checkpoint(State.BODY);
-            case BODY:
-                body = new byte[bodyLength];
-                in.readBytes(body);
-                Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
-                out.add(transporter);
-                checkpoint(State.MAGIC);
+        if (in.readableBytes() < FRAME_PREFIX_LENGTH) {
+            return;
+        }
+        final int readerIndex = in.readerIndex();
+        checkMagic(in.getByte(readerIndex));
+        final byte version = in.getByte(readerIndex + 1);
+        switch (version) {
+            case Transporter.VERSION:
+                decodeWithJsonHeader(in, out);
+                break;
+            case Transporter.BINARY_HEADER_VERSION:
+                decodeWithBinaryHeader(in, out);
                 break;
             default:
-                log.warn("unknown decoder state {}", state());
+                throw new IllegalArgumentException("illegal protocol [version]" + version);
         }
     }
 
-    private void checkMagic(byte magic) {
-        if (magic != Transporter.MAGIC) {
-            throw new IllegalArgumentException("illegal packet [magic]" + magic);
+    private void decodeWithJsonHeader(ByteBuf in, List<Object> out) {
+        final int readerIndex = in.readerIndex();
+        final int headerLength = checkLength(in.getInt(readerIndex + 2));
+        // headerLength + bodyLength(4)
+        if (in.readableBytes() < (long) FRAME_PREFIX_LENGTH + headerLength + 4) {
+            return;
         }
+        final int bodyLength = checkLength(in.getInt(readerIndex + FRAME_PREFIX_LENGTH + headerLength));
+        if (in.readableBytes() < (long) FRAME_PREFIX_LENGTH + headerLength + 4 + bodyLength) {
+            return;
+        }
+        in.skipBytes(FRAME_PREFIX_LENGTH);
+        final TransporterHeader header = Serializers.getDefaultSerializer()
+                .deserialize(new ByteBufInputStream(in.readSlice(headerLength)), TransporterHeader.class);
+        in.skipBytes(4);
+        out.add(Transporter.of(header, in.readRetainedSlice(bodyLength), Transporter.VERSION));
     }
 
-    private void checkVersion(byte version) {
-        if (version != Transporter.VERSION) {
-            throw new IllegalArgumentException("illegal protocol [version]" + version);
+    private void decodeWithBinaryHeader(ByteBuf in, List<Object> out) {
+        final int frameLength = checkLength(in.getInt(in.readerIndex() + 2));
+        if (in.readableBytes() < (long) FRAME_PREFIX_LENGTH + frameLength) {
+            return;
         }
+        in.skipBytes(FRAME_PREFIX_LENGTH);
+        final ByteBuf frame = in.readSlice(frameLength);
+
+        final TransporterHeader header = new TransporterHeader();
+        header.setOpaque(frame.readLong());
+        header.setFlags(frame.readByte());
+        header.setSerializer(frame.readByte());
+        header.setPreferredSerializer(frame.readByte());
+        header.setProtocolVersion(Transporter.BINARY_HEADER_VERSION);
+        if (header.hasFlag(TransporterHeader.FLAG_METHOD_ID)) {
+            header.setMethodId(frame.readInt());
+        } else {
+            final int methodIdentifierLength = frame.readUnsignedShort();
+            header.setMethodIdentifier(
+                    frame.readCharSequence(methodIdentifierLength, StandardCharsets.UTF_8).toString());
+        }
+
+        out.add(Transporter.of(header, frame.readRetainedSlice(frame.readableBytes()),
+                Transporter.BINARY_HEADER_VERSION));
+    }
+
+    private int checkLength(int length) {
+        if (length < 0 || length > Transporter.MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("illegal packet [length]" + length);
+        }
+        return length;
     }
 
-    enum State {
-        MAGIC,
-        VERSION,
-        HEADER_LENGTH,
-        HEADER,
-        BODY_LENGTH,
-        BODY;
+    private void checkMagic(byte magic) {
+        if (magic != Transporter.MAGIC) {
+            throw new IllegalArgumentException("illegal packet [magic]" + magic);
+        }
     }
 
 }
@@ -19,19 +19,61 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemoteException;
 
+import java.nio.charset.StandardCharsets;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
+/**
+ * Encode the {@link Transporter} into frame.
+ * <p> The frame of {@link Transporter#VERSION}:
+ * <pre>
+ * | magic(1) | version(1) | headerLength(4) | json header | bodyLength(4) | body |
+ * </pre>
+ * The frame of {@link Transporter#BINARY_HEADER_VERSION}:
+ * <pre>
+ * | magic(1) | version(1) | frameLength(4) | opaque(8) | flags(1) | serializer(1) | preferredSerializer(1) |
+ * | methodIdentifierLength(2) | methodIdentifier | body |
+ * </pre>
+ * The method part is replaced by {@code | methodId(4) |} once the {@link TransporterHeader#FLAG_METHOD_ID} is set.
+ * The frameLength is the length of the bytes after it.
+ */
 @Sharable
 public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
 
+    /**
+     * opaque(8) + flags(1) + serializer(1) + preferredSerializer(1) + methodIdentifierLength(2)
+     */
+    static final int BINARY_HEADER_FIXED_LENGTH = 13;
+
+    /**
+     * opaque(8) + flags(1) + serializer(1) + preferredSerializer(1) + methodId(4)
+     */
+    static final int BINARY_HEADER_WITH_METHOD_ID_LENGTH = 15;
+
+    static final int MAX_METHOD_IDENTIFIER_LENGTH = 0xFFFF;
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Transporter transporter, boolean preferDirect) {
+        // Allocate the buffer at once rather than expanding it several times when writing a large body
+        final int estimatedLength = 64 + BINARY_HEADER_FIXED_LENGTH + transporter.getBodyLength();
+        if (preferDirect) {
+            return ctx.alloc().ioBuffer(estimatedLength);
+        }
+        return ctx.alloc().heapBuffer(estimatedLength);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Transporter transporter, ByteBuf out) {
         if (transporter == null) {
             throw new RemoteException("encode msg is null");
         }
+        if (transporter.getVersion() == Transporter.BINARY_HEADER_VERSION) {
+            encodeWithBinaryHeader(transporter, out);
+            return;
+        }
         out.writeByte(Transporter.MAGIC);
         out.writeByte(Transporter.VERSION);
 
@@ -46,4 +88,47 @@ public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
         out.writeBytes(body);
     }
 
+    private void encodeWithBinaryHeader(Transporter transporter, ByteBuf out) {
+        final TransporterHeader header = transporter.getHeader();
+        if (header.hasFlag(TransporterHeader.FLAG_METHOD_ID)) {
+            encodeWithMethodId(transporter, out);
+            return;
+        }
+        final byte[] methodIdentifier = header.getMethodIdentifier().getBytes(StandardCharsets.UTF_8);
+        if (methodIdentifier.length > MAX_METHOD_IDENTIFIER_LENGTH) {
+            throw new RemoteException("The method identifier is too long: " + header.getMethodIdentifier());
+        }
+        final byte[] body = transporter.getBody();
+
+        out.writeByte(Transporter.MAGIC);
+        out.writeByte(Transporter.BINARY_HEADER_VERSION);
+        out.writeInt(BINARY_HEADER_FIXED_LENGTH + methodIdentifier.length + body.length);
+
+        out.writeLong(header.getOpaque());
+        out.writeByte(header.getFlags());
+        out.writeByte(header.getSerializer());
+        out.writeByte(header.getPreferredSerializer());
+        out.writeShort(methodIdentifier.length);
+        out.writeBytes(methodIdentifier);
+
+        out.writeBytes(body);
+    }
+
+    private void encodeWithMethodId(Transporter transporter, ByteBuf out) {
+        final TransporterHeader header = transporter.getHeader();
+        final byte[] body = transporter.getBody();
+
+        out.writeByte(Transporter.MAGIC);
+        out.writeByte(Transporter.BINARY_HEADER_VERSION);
+        out.writeInt(BINARY_HEADER_WITH_METHOD_ID_LENGTH + body.length);
+
+        out.writeLong(header.getOpaque());
+        out.writeByte(header.getFlags());
+        out.writeByte(header.getSerializer());
+        out.writeByte(header.getPreferredSerializer());
+        out.writeInt(header.getMethodId());
+
+        out.writeBytes(body);
+    }
+
 }
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
 
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
@@ -31,9 +32,56 @@ public class TransporterHeader implements Serializable {
 
     private static final AtomicLong REQUEST_ID = new AtomicLong(1);
 
+    /**
+     * The method is identified by {@link #methodId} rather than {@link #methodIdentifier}, only used in the binary
+     * header.
+     */
+    public static final byte FLAG_METHOD_ID = 0x01;
+
+    /**
+     * The body is compressed, the body is {@code | compressorCode(1) | rawLength(4) | compressed bytes |}.
+     */
+    public static final byte FLAG_COMPRESSED = 0x02;
+
+    /**
+     * The sender can decompress the body compressed by the
+     * {@link org.apache.dolphinscheduler.extract.base.compress.Compressors built-in compressors}, then the peer can
+     * compress the large body sent to it.
+     */
+    public static final byte FLAG_ACCEPT_COMPRESSION = 0x04;
+
     private String methodIdentifier;
     private long opaque;
 
+    /**
+     * The code of the {@link org.apache.dolphinscheduler.extract.base.serialize.Serializer} used to encode the body.
+     * The peers which don't know this field will use json.
+     */
+    private byte serializer = JsonSerializer.CODE;
+
+    /**
+     * The serializer which the client prefer to use, the server will use it to encode the response if supported, and
+     * then the client will switch to it for the following requests on the connection.
+     */
+    private byte preferredSerializer = JsonSerializer.CODE;
+
+    /**
+     * The latest protocol version supported by the sender, the peer can switch to the binary header once it's
+     * supported by both sides. The peers which don't know this field only support {@link Transporter#VERSION}.
+     */
+    private byte protocolVersion = Transporter.VERSION;
+
+    /**
+     * The bit flags of the transporter, reserved for the protocol extensions.
+     */
+    private byte flags;
+
+    /**
+     * The compact id of the method assigned by the server, the server responds with it and then the client can use it
+     * instead of the {@link #methodIdentifier} on the connection, see {@link #FLAG_METHOD_ID}.
+     */
+    private int methodId;
+
     // Used for JsonDeSerializer
     public TransporterHeader() {
 
@@ -52,12 +100,44 @@ public class TransporterHeader implements Serializable {
         return new TransporterHeader(methodIdentifier);
     }
 
+    public static TransporterHeader of(String methodIdentifier, byte serializer, byte preferredSerializer) {
+        TransporterHeader transporterHeader = new TransporterHeader(methodIdentifier);
+        transporterHeader.setSerializer(serializer);
+        transporterHeader.setPreferredSerializer(preferredSerializer);
+        transporterHeader.setProtocolVersion(Transporter.LATEST_VERSION);
+        return transporterHeader;
+    }
+
     public static TransporterHeader of(long opaque, String methodIdentifier) {
         return new TransporterHeader(opaque, methodIdentifier);
     }
 
+    public static TransporterHeader of(long opaque, String methodIdentifier, byte serializer) {
+        TransporterHeader transporterHeader = new TransporterHeader(opaque, methodIdentifier);
+        transporterHeader.setSerializer(serializer);
+        return transporterHeader;
+    }
+
+    public boolean hasFlag(byte flag) {
+        return (flags & flag) != 0;
+    }
+
+    public void addFlag(byte flag) {
+        flags = (byte) (flags | flag);
+    }
+
+    public void removeFlag(byte flag) {
+        flags = (byte) (flags & ~flag);
+    }
+
+    public void useMethodId(int methodId) {
+        this.methodId = methodId;
+        addFlag(FLAG_METHOD_ID);
+    }
+
     public byte[] toBytes() {
-        return JsonSerializer.serialize(this);
+        // The header is always encoded by json, since the serializer is negotiated by the header
+        return Serializers.getDefaultSerializer().serialize(this);
     }
 
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.io.InputStream;
+
+/**
+ * The serializer used to encode/decode the body of the {@link org.apache.dolphinscheduler.extract.base.protocal.Transporter}.
+ * <p> Each serializer is identified by a unique code which is carried in the
+ * {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader}, so the peer can always decode the body
+ * with the same serializer. Custom serializers can be provided by java SPI, see {@link Serializers}.
+ */
+public interface Serializer {
+
+    /**
+     * The unique code of the serializer, written into the transporter header.
+     */
+    byte getCode();
+
+    /**
+     * The unique name of the serializer, used in configuration.
+     */
+    String getName();
+
+    <T> byte[] serialize(T obj);
+
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+    /**
+     * Deserialize from the given stream, this is used to decode the body from the received buffer without copying it
+     * into a byte array first.
+     */
+    <T> T deserialize(InputStream src, Class<T> clazz);
+
+}
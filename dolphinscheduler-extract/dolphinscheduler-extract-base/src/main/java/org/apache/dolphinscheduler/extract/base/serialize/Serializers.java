@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The registry of {@link Serializer}, the built-in serializers are {@link JsonSerializer} and {@link CborSerializer},
+ * the custom serializer can be registered by java SPI.
+ */
+@Slf4j
+public class Serializers {
+
+    private static final Map<Byte, Serializer> SERIALIZER_CODE_MAP = new ConcurrentHashMap<>();
+
+    private static final Map<String, Serializer> SERIALIZER_NAME_MAP = new ConcurrentHashMap<>();
+
+    private static final Serializer DEFAULT_SERIALIZER = new JsonSerializer();
+
+    static {
+        registerSerializer(DEFAULT_SERIALIZER);
+        registerSerializer(new CborSerializer());
+        for (Serializer serializer : ServiceLoader.load(Serializer.class)) {
+            registerSerializer(serializer);
+        }
+    }
+
+    private Serializers() {
+
+    }
+
+    public static void registerSerializer(Serializer serializer) {
+        Serializer existSerializer = SERIALIZER_CODE_MAP.putIfAbsent(serializer.getCode(), serializer);
+        if (existSerializer != null && existSerializer.getClass() != serializer.getClass()) {
+            throw new IllegalArgumentException(String.format("The serializer code %s of %s is conflict with %s",
+                    serializer.getCode(), serializer.getClass().getName(), existSerializer.getClass().getName()));
+        }
+        SERIALIZER_NAME_MAP.putIfAbsent(serializer.getName(), serializer);
+        log.debug("Register serializer: {}, code: {}", serializer.getName(), serializer.getCode());
+    }
+
+    /**
+     * The default serializer, which can be understood by all peers.
+     */
+    public static Serializer getDefaultSerializer() {
+        return DEFAULT_SERIALIZER;
+    }
+
+    public static Optional<Serializer> findSerializer(byte code) {
+        return Optional.ofNullable(SERIALIZER_CODE_MAP.get(code));
+    }
+
+    public static Serializer getSerializer(byte code) {
+        return findSerializer(code)
+                .orElseThrow(() -> new IllegalArgumentException("Cannot find the serializer with code: " + code));
+    }
+
+    public static Serializer getSerializer(String name) {
+        Serializer serializer = SERIALIZER_NAME_MAP.get(name);
+        if (serializer == null) {
+            throw new IllegalArgumentException("Cannot find the serializer with name: " + name);
+        }
+        return serializer;
+    }
+
+}
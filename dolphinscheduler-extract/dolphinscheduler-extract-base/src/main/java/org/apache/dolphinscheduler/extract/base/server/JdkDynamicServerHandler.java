@@ -21,15 +21,24 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.compress.Compressor;
+import org.apache.dolphinscheduler.extract.base.compress.Compressors;
+import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
+import org.apache.dolphinscheduler.extract.base.metrics.ServerInvocationCounter;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -45,13 +54,36 @@ import io.netty.handler.timeout.IdleStateEvent;
 @ChannelHandler.Sharable
 class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
-    private final ExecutorService methodInvokeExecutor;
+    private final MethodInvokeBulkheads methodInvokeBulkheads;
 
     private final Map<String, ServerMethodInvoker> methodInvokerMap;
 
-    JdkDynamicServerHandler(ExecutorService methodInvokeExecutor) {
-        this.methodInvokeExecutor = methodInvokeExecutor;
+    /**
+     * The invokers which can be found by the compact method id, the methods whose id is conflicted with others are
+     * excluded, they are always called by the method identifier.
+     */
+    private final Map<Integer, ServerMethodInvoker> methodIdInvokerMap;
+
+    private final Set<Integer> conflictedMethodIds;
+
+    /**
+     * The compressor used to compress the large response body, null if the compression is disabled.
+     */
+    private final Compressor compressor;
+
+    private final int compressionThresholdBytes;
+
+    private final ServerInvocationCounter invocationCounter;
+
+    JdkDynamicServerHandler(MethodInvokeBulkheads methodInvokeBulkheads, NettyServerConfig serverConfig) {
+        this.methodInvokeBulkheads = methodInvokeBulkheads;
+        this.compressor = Compressors.findCompressor(serverConfig.getCompressor()).orElse(null);
+        this.compressionThresholdBytes = serverConfig.getCompressionThresholdBytes();
+        this.invocationCounter = RpcMetrics.getServerInvocationCounter(
+                Objects.toString(serverConfig.getServerName(), "unknown"));
         this.methodInvokerMap = new ConcurrentHashMap<>();
+        this.methodIdInvokerMap = new ConcurrentHashMap<>();
+        this.conflictedMethodIds = ConcurrentHashMap.newKeySet();
     }
 
     @Override
@@ -69,67 +101,210 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
         checkNotNull(methodInvoker.getMethodIdentify());
 
         methodInvokerMap.put(methodInvoker.getMethodIdentify(), methodInvoker);
+        registerMethodId(methodInvoker);
+    }
+
+    private synchronized void registerMethodId(ServerMethodInvoker methodInvoker) {
+        final int methodId = methodInvoker.getMethodId();
+        if (conflictedMethodIds.contains(methodId)) {
+            return;
+        }
+        final ServerMethodInvoker existing = methodIdInvokerMap.get(methodId);
+        if (existing != null && !existing.getMethodIdentify().equals(methodInvoker.getMethodIdentify())) {
+            log.warn("The method id of {} is conflicted with {}, they will be called by method identifier",
+                    methodInvoker.getMethodIdentify(), existing.getMethodIdentify());
+            methodIdInvokerMap.remove(methodId);
+            conflictedMethodIds.add(methodId);
+            return;
+        }
+        methodIdInvokerMap.put(methodId, methodInvoker);
+    }
+
+    private ServerMethodInvoker findMethodInvoker(final TransporterHeader requestHeader) {
+        if (requestHeader.hasFlag(TransporterHeader.FLAG_METHOD_ID)) {
+            final ServerMethodInvoker methodInvoker = methodIdInvokerMap.get(requestHeader.getMethodId());
+            if (methodInvoker != null) {
+                requestHeader.setMethodIdentifier(methodInvoker.getMethodIdentify());
+            }
+            return methodInvoker;
+        }
+        final ServerMethodInvoker methodInvoker = methodInvokerMap.get(requestHeader.getMethodIdentifier());
+        if (methodInvoker != null && methodIdInvokerMap.get(methodInvoker.getMethodId()) == methodInvoker) {
+            // Tell the client the method id, then it can use the method id in the following requests
+            requestHeader.useMethodId(methodInvoker.getMethodId());
+        }
+        return methodInvoker;
     }
 
     private void processReceived(final Channel channel, final Transporter transporter) {
-        final String methodIdentifier = transporter.getHeader().getMethodIdentifier();
-        if (HeartBeatTransporter.METHOD_IDENTIFY.equals(methodIdentifier)) {
+        final TransporterHeader requestHeader = transporter.getHeader();
+        if (HeartBeatTransporter.METHOD_IDENTIFY.equals(requestHeader.getMethodIdentifier())) {
             if (log.isDebugEnabled()) {
                 log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
             }
+            transporter.release();
+            return;
+        }
+        final byte responseVersion = negotiateResponseVersion(transporter);
+        final Serializer requestSerializer = Serializers.findSerializer(requestHeader.getSerializer()).orElse(null);
+        if (requestSerializer == null) {
+            log.error("Cannot find the Serializer of : {}", transporter);
+            transporter.release();
+            writeFailResponse(channel, requestHeader, responseVersion, Serializers.getDefaultSerializer(),
+                    "Cannot find the Serializer of " + requestHeader.getSerializer());
             return;
         }
-        ServerMethodInvoker methodInvoker = methodInvokerMap.get(methodIdentifier);
+        // Use the client preferred serializer to response if supported, then the client will switch to it
+        final Serializer responseSerializer =
+                Serializers.findSerializer(requestHeader.getPreferredSerializer()).orElse(requestSerializer);
+        ServerMethodInvoker methodInvoker = findMethodInvoker(requestHeader);
         try {
             if (methodInvoker == null) {
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
-                StandardRpcResponse iRpcResponse =
-                        StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                transporter.release();
+                final String method = requestHeader.hasFlag(TransporterHeader.FLAG_METHOD_ID)
+                        ? "method id " + requestHeader.getMethodId()
+                        : requestHeader.getMethodIdentifier();
+                // Response without the method id, then the client will fall back to the method identifier
+                requestHeader.removeFlag(TransporterHeader.FLAG_METHOD_ID);
+                writeFailResponse(channel, requestHeader, responseVersion, responseSerializer,
+                        "Cannot find the ServerMethodInvoker of " + method);
                 return;
             }
-            methodInvokeExecutor.execute(() -> {
-                StandardRpcResponse iRpcResponse;
+            final String serviceName = methodInvoker.getServiceName();
+            final String methodName = methodInvoker.getMethodIdentify();
+            RpcMetrics.recordServerRequestBytes(methodName, transporter.getBodyLength());
+            final long queuedTime = System.nanoTime();
+            invocationCounter.onQueued();
+            methodInvokeBulkheads.getBulkhead(serviceName).execute(serviceName, () -> {
+                final long startTime = System.nanoTime();
+                invocationCounter.onStarted();
+                RpcMetrics.recordServerMethodQueueWaitTime(serviceName, methodName, startTime - queuedTime);
+                final Object result;
                 try {
-                    StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
+                    StandardRpcRequest standardRpcRequest;
+                    try {
+                        standardRpcRequest = transporter.deserializeBody(StandardRpcRequest.class);
+                    } finally {
+                        transporter.release();
+                    }
                     Object[] args;
                     if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
                         args = null;
                     } else {
                         args = new Object[standardRpcRequest.getArgs().length];
                         for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
+                            args[i] = requestSerializer.deserialize(standardRpcRequest.getArgs()[i],
                                     standardRpcRequest.getArgsTypes()[i]);
                         }
                     }
-                    Object result = methodInvoker.invoke(args);
-                    if (result == null) {
-                        iRpcResponse = StandardRpcResponse.success(null, null);
-                    } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
+                    final long executeTime = System.nanoTime();
+                    RpcMetrics.recordServerMethodDecodeTime(methodName, executeTime - startTime);
+                    try {
+                        result = methodInvoker.invoke(args);
+                    } finally {
+                        RpcMetrics.recordServerMethodExecuteTime(methodName, System.nanoTime() - executeTime);
                     }
                 } catch (Throwable e) {
-                    log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
-                    iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+                    invocationCounter.onFinished();
+                    writeResponse(channel, requestHeader, responseVersion, responseSerializer, null, e);
+                    return;
+                }
+                if (result instanceof CompletableFuture) {
+                    // The async method, response once the future is completed rather than blocking the invoke thread
+                    ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+                        invocationCounter.onFinished();
+                        writeResponse(channel, requestHeader, responseVersion, responseSerializer, value, ex);
+                    });
+                    return;
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                invocationCounter.onFinished();
+                writeResponse(channel, requestHeader, responseVersion, responseSerializer, result, null);
             });
         } catch (RejectedExecutionException e) {
-            log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
-                    ChannelUtils.getRemoteAddress(channel));
-            StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            invocationCounter.onRejected();
+            log.warn("NettyRemotingServer's thread pool of {} is full, discard msg {} from {}",
+                    methodInvoker.getServiceName(), transporter, ChannelUtils.getRemoteAddress(channel));
+            transporter.release();
+            writeFailResponse(channel, requestHeader, responseVersion, responseSerializer,
+                    "NettyRemotingServer's thread pool of " + methodInvoker.getServiceName() + " is full");
+        }
+    }
+
+    /**
+     * Response with the binary header once the client supports it, then the client will switch to it.
+     */
+    private byte negotiateResponseVersion(final Transporter request) {
+        return (byte) Math.min(Transporter.LATEST_VERSION,
+                Math.max(request.getVersion(), request.getHeader().getProtocolVersion()));
+    }
+
+    private void writeResponse(final Channel channel,
+                               final TransporterHeader requestHeader,
+                               final byte responseVersion,
+                               final Serializer responseSerializer,
+                               final Object result,
+                               final Throwable throwable) {
+        final String methodIdentifier = requestHeader.getMethodIdentifier();
+        StandardRpcResponse iRpcResponse;
+        if (throwable != null) {
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+            log.error("Invoke method {} failed, {}.", methodIdentifier, cause.getMessage(), cause);
+            iRpcResponse = StandardRpcResponse.fail(cause.getMessage());
+        } else {
+            try {
+                if (result == null) {
+                    iRpcResponse = StandardRpcResponse.success(null, null);
+                } else {
+                    iRpcResponse = StandardRpcResponse.success(responseSerializer.serialize(result),
+                            result.getClass());
+                }
+            } catch (Throwable e) {
+                log.error("Serialize the result of method {} failed, {}.", methodIdentifier, e.getMessage(), e);
+                iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+            }
+        }
+        Transporter response =
+                Transporter.of(createResponseHeader(requestHeader, responseVersion, responseSerializer), iRpcResponse);
+        response.setVersion(responseVersion);
+        if (compressor != null && requestHeader.hasFlag(TransporterHeader.FLAG_ACCEPT_COMPRESSION)) {
+            final int rawBytes = response.getBodyLength();
+            if (response.compressBody(compressor, compressionThresholdBytes)) {
+                RpcMetrics.recordPayloadCompression(methodIdentifier, rawBytes, response.getBodyLength());
+            }
+        }
+        RpcMetrics.recordServerResponseBytes(methodIdentifier, response.getBodyLength());
+        channel.writeAndFlush(response);
+    }
+
+    private void writeFailResponse(final Channel channel,
+                                   final TransporterHeader requestHeader,
+                                   final byte responseVersion,
+                                   final Serializer responseSerializer,
+                                   final String message) {
+        StandardRpcResponse iRpcResponse = StandardRpcResponse.fail(message);
+        Transporter response =
+                Transporter.of(createResponseHeader(requestHeader, responseVersion, responseSerializer), iRpcResponse);
+        response.setVersion(responseVersion);
+        channel.writeAndFlush(response);
+    }
+
+    private TransporterHeader createResponseHeader(final TransporterHeader requestHeader,
+                                                   final byte responseVersion,
+                                                   final Serializer responseSerializer) {
+        final TransporterHeader responseHeader = TransporterHeader.of(
+                requestHeader.getOpaque(), requestHeader.getMethodIdentifier(), responseSerializer.getCode());
+        // The method id can only be carried by the binary header
+        if (responseVersion == Transporter.BINARY_HEADER_VERSION
+                && requestHeader.hasFlag(TransporterHeader.FLAG_METHOD_ID)) {
+            responseHeader.useMethodId(requestHeader.getMethodId());
+        }
+        if (compressor != null) {
+            responseHeader.addFlag(TransporterHeader.FLAG_ACCEPT_COMPRESSION);
         }
+        return responseHeader;
     }
 
     @Override
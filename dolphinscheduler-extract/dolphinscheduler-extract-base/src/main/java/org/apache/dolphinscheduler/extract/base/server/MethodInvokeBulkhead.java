@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.server;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * The isolated executor used to invoke the methods of some services, the invocation will be rejected once the
+ * executor is saturated, rather than occupying the threads of other services.
+ */
+@Slf4j
+class MethodInvokeBulkhead {
+
+    @Getter
+    private final String name;
+
+    private final ExecutorService executor;
+
+    /**
+     * Limit the running invocations, only used by the virtual thread executor, since it starts a thread per
+     * invocation. The invocations beyond the limit wait in their virtual threads.
+     */
+    private final Semaphore runningPermits;
+
+    /**
+     * The max invocations which are running or waiting, only used by the virtual thread executor, since it doesn't
+     * have a queue.
+     */
+    private final int maxPendingInvocations;
+
+    private final AtomicInteger pendingInvocations = new AtomicInteger();
+
+    @VisibleForTesting
+    MethodInvokeBulkhead(String name, ExecutorService executor, Semaphore runningPermits, int maxPendingInvocations) {
+        this.name = name;
+        this.executor = executor;
+        this.runningPermits = runningPermits;
+        this.maxPendingInvocations = maxPendingInvocations;
+    }
+
+    static MethodInvokeBulkhead of(String name,
+                                   String threadNamePrefix,
+                                   int threads,
+                                   int queueCapacity,
+                                   boolean virtualThreadEnabled) {
+        if (virtualThreadEnabled) {
+            final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor != null) {
+                final int maxPendingInvocations = (int) Math.min(Integer.MAX_VALUE, (long) threads + queueCapacity);
+                return new MethodInvokeBulkhead(name, virtualThreadExecutor, new Semaphore(threads),
+                        maxPendingInvocations);
+            }
+            log.warn("The virtual thread is not supported by current JDK, will use the platform threads for: {}",
+                    name);
+        }
+        final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                ThreadUtils.newDaemonThreadFactory(threadNamePrefix + "-%d"));
+        return new MethodInvokeBulkhead(name, threadPoolExecutor, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Submit the invocation of the given service.
+     *
+     * @throws RejectedExecutionException if the bulkhead is saturated
+     */
+    void execute(final String serviceName, final Runnable invocation) {
+        if (pendingInvocations.incrementAndGet() > maxPendingInvocations) {
+            pendingInvocations.decrementAndGet();
+            RpcMetrics.recordServerMethodRejected(serviceName);
+            throw new RejectedExecutionException("The bulkhead: " + name + " is full");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    invokeWithPermit(invocation);
+                } finally {
+                    pendingInvocations.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pendingInvocations.decrementAndGet();
+            RpcMetrics.recordServerMethodRejected(serviceName);
+            throw ex;
+        }
+    }
+
+    private void invokeWithPermit(final Runnable invocation) {
+        if (runningPermits == null) {
+            invocation.run();
+            return;
+        }
+        try {
+            runningPermits.acquire();
+        } catch (InterruptedException ex) {
+            // The bulkhead is closed
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            invocation.run();
+        } finally {
+            runningPermits.release();
+        }
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Create the virtual thread executor by reflection, since the project is compiled by JDK 8.
+     *
+     * @return null if the virtual thread is not supported
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        } catch (Exception ex) {
+            log.warn("Create the virtual thread executor failed", ex);
+            return null;
+        }
+    }
+
+}
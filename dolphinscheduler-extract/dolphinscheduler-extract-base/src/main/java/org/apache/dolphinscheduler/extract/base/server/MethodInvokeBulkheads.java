@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.server;
+
+import org.apache.dolphinscheduler.extract.base.config.RpcServerExecutorConfig;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route the invocations to the bulkhead of the service, the services which are not configured share the default one.
+ */
+class MethodInvokeBulkheads implements AutoCloseable {
+
+    private static final String DEFAULT_BULKHEAD_NAME = "default";
+
+    private final String serverName;
+
+    private final RpcServerExecutorConfig executorConfig;
+
+    /**
+     * The service executor configs, the service name is case-insensitive, since it might be lower-cased by the
+     * configuration binding.
+     */
+    private final Map<String, RpcServerExecutorConfig.ServiceExecutorConfig> serviceExecutorConfigs;
+
+    private final MethodInvokeBulkhead defaultBulkhead;
+
+    private final Map<String, MethodInvokeBulkhead> serviceBulkheads = new ConcurrentHashMap<>();
+
+    MethodInvokeBulkheads(String serverName, RpcServerExecutorConfig executorConfig) {
+        this.serverName = serverName;
+        this.executorConfig = executorConfig;
+        this.serviceExecutorConfigs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (executorConfig.getServices() != null) {
+            this.serviceExecutorConfigs.putAll(executorConfig.getServices());
+        }
+        this.defaultBulkhead = MethodInvokeBulkhead.of(
+                DEFAULT_BULKHEAD_NAME,
+                serverName + "-methodInvoker",
+                executorConfig.getThreads(),
+                executorConfig.getQueueCapacity(),
+                executorConfig.isVirtualThreadEnabled());
+    }
+
+    MethodInvokeBulkhead getBulkhead(String serviceName) {
+        final RpcServerExecutorConfig.ServiceExecutorConfig serviceExecutorConfig =
+                serviceExecutorConfigs.get(serviceName);
+        if (serviceExecutorConfig == null) {
+            return defaultBulkhead;
+        }
+        return serviceBulkheads.computeIfAbsent(serviceName, name -> MethodInvokeBulkhead.of(
+                name,
+                serverName + "-" + name + "-methodInvoker",
+                serviceExecutorConfig.getThreads(),
+                serviceExecutorConfig.getQueueCapacity(),
+                executorConfig.isVirtualThreadEnabled()));
+    }
+
+    @Override
+    public void close() {
+        defaultBulkhead.close();
+        serviceBulkheads.values().forEach(MethodInvokeBulkhead::close);
+    }
+
+}
@@ -24,7 +24,6 @@ import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -54,8 +53,7 @@ class NettyRemotingServer {
     @Getter
     private final String serverName;
 
-    @Getter
-    private final ExecutorService methodInvokerExecutor;
+    private final MethodInvokeBulkheads methodInvokeBulkheads;
 
     private final EventLoopGroup bossGroup;
 
@@ -70,9 +68,8 @@ class NettyRemotingServer {
     NettyRemotingServer(final NettyServerConfig serverConfig) {
         this.serverConfig = serverConfig;
         this.serverName = serverConfig.getServerName();
-        this.methodInvokerExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
-                serverName + "-methodInvoker-%d", Runtime.getRuntime().availableProcessors() * 2 + 1);
-        this.channelHandler = new JdkDynamicServerHandler(methodInvokerExecutor);
+        this.methodInvokeBulkheads = new MethodInvokeBulkheads(serverName, serverConfig.getExecutorConfig());
+        this.channelHandler = new JdkDynamicServerHandler(methodInvokeBulkheads, serverConfig);
         ThreadFactory bossThreadFactory =
                 ThreadUtils.newDaemonThreadFactory(serverName + "-boss-%d");
         ThreadFactory workerThreadFactory =
@@ -158,7 +155,7 @@ class NettyRemotingServer {
                 if (workGroup != null) {
                     this.workGroup.shutdownGracefully();
                 }
-                methodInvokerExecutor.shutdownNow();
+                methodInvokeBulkheads.close();
             } catch (InterruptedException it) {
                 ThreadUtils.consumeInterruptedException(it);
             } catch (Exception ex) {
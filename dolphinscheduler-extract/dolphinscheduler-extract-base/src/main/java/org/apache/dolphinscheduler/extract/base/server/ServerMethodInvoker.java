@@ -21,8 +21,19 @@ interface ServerMethodInvoker {
 
     String getMethodIdentify();
 
+    /**
+     * The compact id of the method, which is sent instead of the {@link #getMethodIdentify()} once the client knows it.
+     */
+    int getMethodId();
+
     String getMethodProviderIdentify();
 
+    /**
+     * The simple name of the {@link org.apache.dolphinscheduler.extract.base.RpcService} interface which declares the
+     * method.
+     */
+    String getServiceName();
+
     Object invoke(final Object... arg) throws Throwable;
 
 }
@@ -17,31 +17,45 @@
 
 package org.apache.dolphinscheduler.extract.base.server;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 
 class ServerMethodInvokerImpl implements ServerMethodInvoker {
 
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    /**
+     * The handle of (Object serviceBean, Object[] args) -> Object, the arguments are spread and the return value is
+     * boxed by the handle itself, so it can be invoked exactly without the reflective checks of each call.
+     */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
     private final Object serviceBean;
 
-    private final Method method;
+    private final MethodHandle methodHandle;
 
     private final String methodIdentify;
 
+    private final int methodId;
+
+    private final String serviceName;
+
     ServerMethodInvokerImpl(Object serviceBean, Method method) {
         this.serviceBean = serviceBean;
-        this.method = method;
+        this.methodHandle = createMethodHandle(method);
         this.methodIdentify = method.toGenericString();
+        this.methodId = methodIdentify.hashCode();
+        this.serviceName = method.getDeclaringClass().getSimpleName();
     }
 
     @Override
     public Object invoke(Object... args) throws Throwable {
         // todo: check the request param when register
-        try {
-            return method.invoke(serviceBean, args);
-        } catch (InvocationTargetException ex) {
-            throw ex.getTargetException();
-        }
+        // The arguments must be typed as Object[] at the call site, the handle is invoked exactly by its static type
+        final Object[] invokeArgs = args == null ? EMPTY_ARGS : args;
+        return (Object) methodHandle.invokeExact(serviceBean, invokeArgs);
     }
 
     @Override
@@ -49,8 +63,36 @@ class ServerMethodInvokerImpl implements ServerMethodInvoker {
         return methodIdentify;
     }
 
+    @Override
+    public int getMethodId() {
+        return methodId;
+    }
+
     @Override
     public String getMethodProviderIdentify() {
         return serviceBean.getClass().getName();
     }
+
+    @Override
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    private static MethodHandle createMethodHandle(Method method) {
+        MethodHandle methodHandle;
+        try {
+            methodHandle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            // The rpc service interface is not public
+            method.setAccessible(true);
+            try {
+                methodHandle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot access the rpc method: " + method, e);
+            }
+        }
+        return methodHandle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
 }
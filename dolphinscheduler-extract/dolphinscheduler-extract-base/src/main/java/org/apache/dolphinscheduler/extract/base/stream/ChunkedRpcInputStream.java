@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import lombok.NonNull;
+
+/**
+ * An {@link InputStream} which pulls a remote content chunk by chunk.
+ * <p>
+ * Only the current chunk is held in memory, and the next chunk will not be requested until the current one is
+ * consumed, so the memory usage is bounded by the chunk size whatever the content size is, and a slow consumer will
+ * slow down the transfer rather than piling up the chunks.
+ */
+public class ChunkedRpcInputStream extends InputStream {
+
+    private static final byte[] EMPTY_CHUNK = new byte[0];
+
+    private final IRpcChunkFetcher<? extends IRpcChunk> chunkFetcher;
+
+    private final int chunkSize;
+
+    private long offset;
+
+    private byte[] chunk = EMPTY_CHUNK;
+
+    private int position;
+
+    private boolean lastChunk;
+
+    private boolean closed;
+
+    private ChunkedRpcInputStream(IRpcChunkFetcher<? extends IRpcChunk> chunkFetcher, int chunkSize) {
+        this.chunkFetcher = chunkFetcher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Open the stream and fetch the first chunk eagerly, so the failure of the remote side can be found before the
+     * content is consumed.
+     *
+     * @throws RuntimeException if failed to fetch the first chunk
+     */
+    public static ChunkedRpcInputStream open(@NonNull IRpcChunkFetcher<? extends IRpcChunk> chunkFetcher,
+                                             int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunkSize should be positive: " + chunkSize);
+        }
+        final ChunkedRpcInputStream inputStream = new ChunkedRpcInputStream(chunkFetcher, chunkSize);
+        inputStream.fetchNextChunk();
+        return inputStream;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureChunkAvailable()) {
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > bytes.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureChunkAvailable()) {
+            return -1;
+        }
+        final int readBytes = Math.min(len, chunk.length - position);
+        System.arraycopy(chunk, position, bytes, off, readBytes);
+        position += readBytes;
+        return readBytes;
+    }
+
+    @Override
+    public int available() {
+        return closed ? 0 : chunk.length - position;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        chunk = EMPTY_CHUNK;
+        position = 0;
+    }
+
+    /**
+     * The offset of the next chunk which will be fetched.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    private boolean ensureChunkAvailable() throws IOException {
+        if (closed) {
+            throw new IOException("The stream is closed");
+        }
+        while (position >= chunk.length) {
+            if (lastChunk) {
+                return false;
+            }
+            try {
+                fetchNextChunk();
+            } catch (RuntimeException ex) {
+                throw new IOException("Fetch the chunk at offset: " + offset + " failed", ex);
+            }
+        }
+        return true;
+    }
+
+    private void fetchNextChunk() {
+        final IRpcChunk rpcChunk = chunkFetcher.fetchChunk(offset, chunkSize);
+        if (rpcChunk == null) {
+            throw new IllegalStateException("The fetched chunk at offset: " + offset + " is null");
+        }
+        final byte[] bytes = rpcChunk.getChunk() == null ? EMPTY_CHUNK : rpcChunk.getChunk();
+        if (bytes.length > chunkSize) {
+            throw new IllegalStateException(
+                    "The fetched chunk size: " + bytes.length + " exceeds the requested size: " + chunkSize);
+        }
+        chunk = bytes;
+        position = 0;
+        offset += bytes.length;
+        // An empty chunk means there is nothing left, this avoids requesting the same offset forever
+        lastChunk = rpcChunk.isLastChunk() || bytes.length == 0;
+    }
+
+}
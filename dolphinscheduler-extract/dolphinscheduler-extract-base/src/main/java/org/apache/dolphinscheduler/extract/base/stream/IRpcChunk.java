@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.stream;
+
+/**
+ * A bounded chunk of a content which is transferred by several rpc requests, see {@link ChunkedRpcInputStream}.
+ */
+public interface IRpcChunk {
+
+    /**
+     * The content of this chunk, its length should not be greater than the requested chunk size.
+     */
+    byte[] getChunk();
+
+    /**
+     * Whether this is the last chunk of the content, the stream will not request the next chunk if true.
+     */
+    boolean isLastChunk();
+
+}
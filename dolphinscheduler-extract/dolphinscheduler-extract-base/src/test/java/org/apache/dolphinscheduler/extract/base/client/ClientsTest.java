@@ -33,6 +33,9 @@ import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterEach;
@@ -98,6 +101,33 @@ public class ClientsTest {
         assertDoesNotThrow(proxyClient::voidMethod);
     }
 
+    @Test
+    public void testPingAsync() throws Exception {
+        IService proxyClient = Clients
+                .withService(IService.class)
+                .withHost(serverAddress);
+        assertEquals("pong", proxyClient.pingAsync("ping").get(10, TimeUnit.SECONDS));
+
+        ExecutionException executionException =
+                assertThrows(ExecutionException.class, () -> proxyClient.pingAsync(null).get(10, TimeUnit.SECONDS));
+        assertEquals(MethodInvocationException.class, executionException.getCause().getClass());
+        assertEquals("ping: null is illegal", executionException.getCause().getMessage());
+    }
+
+    @Test
+    public void testPingAsyncWithRetry() {
+        IService proxyClient = Clients
+                .withService(IService.class)
+                .withHost("localhost:1");
+        CompletableFuture<String> future = proxyClient.pingAsync("ping");
+        // The caller's callbacks never run on the netty event loop, even if the connection failed
+        CompletableFuture<String> callbackThread = future.handle((result, ex) -> Thread.currentThread().getName());
+        ExecutionException executionException =
+                assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.MINUTES));
+        Assertions.assertTrue(executionException.getCause() instanceof RemoteException);
+        Assertions.assertTrue(callbackThread.join().startsWith("NettyClientAsyncCallbackThread"));
+    }
+
     @AfterEach
     public void tearDown() {
         springServerMethodInvokerDiscovery.close();
@@ -111,6 +141,9 @@ public class ClientsTest {
 
         @RpcMethod
         void voidMethod();
+
+        @RpcMethod(retry = @RpcMethodRetryStrategy(maxRetryTimes = 2, retryInterval = 100))
+        CompletableFuture<String> pingAsync(String ping);
     }
 
     public static class IServiceImpl implements IService {
@@ -127,6 +160,17 @@ public class ClientsTest {
         public void voidMethod() {
             System.out.println("void method");
         }
+
+        @Override
+        public CompletableFuture<String> pingAsync(String ping) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            if (StringUtils.isEmpty(ping)) {
+                future.completeExceptionally(new IllegalArgumentException("ping: " + ping + " is illegal"));
+            } else {
+                future.complete("pong");
+            }
+            return future;
+        }
     }
 
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.net.ConnectException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+class HostChannelPoolTest {
+
+    private EventLoopGroup eventLoopGroup;
+
+    private Bootstrap bootstrap;
+
+    @BeforeEach
+    void setUp() {
+        eventLoopGroup = new NioEventLoopGroup(1);
+        bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000)
+                .handler(new ChannelInboundHandlerAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    void testCircuitOpenAfterContinuousConnectFailures() throws Exception {
+        final AtomicInteger reconnectTimes = new AtomicInteger();
+        final HostChannelPool channelPool = new HostChannelPool(
+                Host.of("localhost:1"), bootstrap, 2, 2, 60_000, reconnectTimes::incrementAndGet);
+
+        for (int i = 0; i < 2; i++) {
+            final ChannelFuture channelFuture = channelPool.acquire();
+            channelFuture.await();
+            assertThat(channelFuture.isSuccess()).isFalse();
+            // Make sure the connect listeners are executed in the event loop
+            eventLoopGroup.submit(() -> {
+            }).sync();
+        }
+        assertThat(reconnectTimes.get()).isEqualTo(2);
+
+        final ConnectException connectException = assertThrows(ConnectException.class, channelPool::acquire);
+        assertThat(connectException).hasMessageThat().contains("circuit");
+        // Fail fast without connecting
+        assertThat(reconnectTimes.get()).isEqualTo(2);
+        channelPool.close();
+    }
+
+}
@@ -67,4 +67,48 @@ class RpcMetricsTest {
         assertThat(Metrics.globalRegistry.find("ds.rpc.client.sync.request.duration.time").timer()).isNotNull();
     }
 
+    @Test
+    void testRecordServerMethodMetrics() {
+        RpcMetrics.recordServerMethodQueueWaitTime("ILogService", "ILogService.removeTaskInstanceLog(String)", 100);
+        RpcMetrics.recordServerMethodDecodeTime("ILogService.removeTaskInstanceLog(String)", 200);
+        RpcMetrics.recordServerMethodExecuteTime("ILogService.removeTaskInstanceLog(String)", 300);
+        RpcMetrics.recordServerRequestBytes("ILogService.removeTaskInstanceLog(String)", 1024);
+        RpcMetrics.recordServerResponseBytes("ILogService.removeTaskInstanceLog(String)", 2048);
+
+        assertThat(Metrics.globalRegistry.find("ds.rpc.server.method.queue.wait.time").timer()).isNotNull();
+        assertThat(Metrics.globalRegistry.find("ds.rpc.server.method.decode.time").timer()).isNotNull();
+        assertThat(Metrics.globalRegistry.find("ds.rpc.server.method.execute.time").timer().count()).isEqualTo(1);
+        assertThat(Metrics.globalRegistry.find("ds.rpc.server.request.bytes").summary().totalAmount())
+                .isEqualTo(1024);
+        assertThat(Metrics.globalRegistry.find("ds.rpc.server.response.bytes").summary().totalAmount())
+                .isEqualTo(2048);
+    }
+
+    @Test
+    void testServerInvocationCounter() {
+        final ServerInvocationCounter invocationCounter = RpcMetrics.getServerInvocationCounter("RpcMetricsTestServer");
+        assertThat(RpcMetrics.getServerInvocationCounter("RpcMetricsTestServer")).isSameInstanceAs(invocationCounter);
+
+        invocationCounter.onQueued();
+        invocationCounter.onQueued();
+        invocationCounter.onStarted();
+        assertThat(Metrics.globalRegistry.find("ds.rpc.server.method.queued.count").gauge().value()).isEqualTo(1);
+        assertThat(Metrics.globalRegistry.find("ds.rpc.server.method.inflight.count").gauge().value()).isEqualTo(1);
+
+        invocationCounter.onRejected();
+        invocationCounter.onFinished();
+        assertThat(invocationCounter.getQueuedInvocations()).isEqualTo(0);
+        assertThat(invocationCounter.getInFlightInvocations()).isEqualTo(0);
+    }
+
+    @Test
+    void testBoundedMethodName() {
+        for (int i = 0; i < RpcMetrics.MAX_SERVER_METHOD_NAMES; i++) {
+            RpcMetrics.boundedMethodName("method" + i);
+        }
+        assertThat(RpcMetrics.boundedMethodName("method0")).isEqualTo("method0");
+        assertThat(RpcMetrics.boundedMethodName("unknownMethod")).isEqualTo(RpcMetrics.OTHER_METHOD_NAME);
+        assertThat(RpcMetrics.boundedMethodName(null)).isEqualTo(RpcMetrics.OTHER_METHOD_NAME);
+    }
+
 }
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.compress.Lz4Compressor;
+import org.apache.dolphinscheduler.extract.base.serialize.CborSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+class TransporterCodecTest {
+
+    @Test
+    void testEncodeAndDecodeWithJsonHeader() {
+        assertEncodeAndDecode(Transporter.VERSION, JsonSerializer.CODE);
+    }
+
+    @Test
+    void testEncodeAndDecodeWithBinaryHeader() {
+        assertEncodeAndDecode(Transporter.BINARY_HEADER_VERSION, CborSerializer.CODE);
+    }
+
+    @Test
+    void testEncodeAndDecodeWithMethodId() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new TransporterEncoder(), new TransporterDecoder());
+        final Transporter transporter = createTransporter(Transporter.BINARY_HEADER_VERSION, CborSerializer.CODE);
+        transporter.getHeader().useMethodId(1024);
+
+        channel.writeOutbound(transporter);
+        final ByteBuf frame = channel.readOutbound();
+        // The method identifier is not written once the method id is used
+        assertThat(frame.readableBytes()).isEqualTo(
+                6 + TransporterEncoder.BINARY_HEADER_WITH_METHOD_ID_LENGTH + transporter.getBody().length);
+        channel.writeInbound(frame);
+        final Transporter decoded = channel.readInbound();
+
+        assertThat(decoded.getHeader().hasFlag(TransporterHeader.FLAG_METHOD_ID)).isTrue();
+        assertThat(decoded.getHeader().getMethodId()).isEqualTo(1024);
+        assertThat(decoded.getHeader().getMethodIdentifier()).isNull();
+        assertThat(decoded.getBodyLength()).isEqualTo(transporter.getBody().length);
+        decoded.release();
+        assertThat(channel.finish()).isFalse();
+    }
+
+    @Test
+    void testEncodeAndDecodeCompressedBody() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new TransporterEncoder(), new TransporterDecoder());
+        final StringBuilder contentBuilder = new StringBuilder();
+        for (int i = 0; i < 2048; i++) {
+            contentBuilder.append("compressible log line ").append(i % 16).append('\n');
+        }
+        final String content = contentBuilder.toString();
+        final TransporterHeader header = TransporterHeader.of("ping()", CborSerializer.CODE, CborSerializer.CODE);
+        final StandardRpcResponse response =
+                StandardRpcResponse.success(content.getBytes(StandardCharsets.UTF_8), String.class);
+        final Transporter transporter =
+                Transporter.of(header, Serializers.getSerializer(CborSerializer.CODE).serialize(response));
+        transporter.setVersion(Transporter.BINARY_HEADER_VERSION);
+        final int rawLength = transporter.getBodyLength();
+
+        assertThat(transporter.compressBody(new Lz4Compressor(), 1024)).isTrue();
+        assertThat(transporter.getBodyLength()).isLessThan(rawLength);
+        // The compressed body will not be compressed again
+        assertThat(transporter.compressBody(new Lz4Compressor(), 1024)).isFalse();
+
+        channel.writeOutbound(transporter);
+        channel.writeInbound((ByteBuf) channel.readOutbound());
+        final Transporter decoded = channel.readInbound();
+        assertThat(decoded.getHeader().hasFlag(TransporterHeader.FLAG_COMPRESSED)).isTrue();
+        final StandardRpcResponse decodedResponse = decoded.deserializeBody(StandardRpcResponse.class);
+        assertThat(new String(decodedResponse.getBody(), StandardCharsets.UTF_8)).isEqualTo(content);
+        decoded.release();
+        assertThat(channel.finish()).isFalse();
+    }
+
+    @Test
+    void testDecompressIllegalRawLength() {
+        for (int illegalRawLength : new int[]{-1, Transporter.MAX_FRAME_LENGTH + 1}) {
+            final Transporter transporter = createCompressedTransporter();
+            ByteBuffer.wrap(transporter.getBody()).putInt(1, illegalRawLength);
+            assertThrows(IllegalArgumentException.class,
+                    () -> transporter.deserializeBody(StandardRpcResponse.class));
+        }
+        // The raw length mismatches the decompressed data
+        for (int delta : new int[]{-1, 1}) {
+            final Transporter transporter = createCompressedTransporter();
+            final ByteBuffer body = ByteBuffer.wrap(transporter.getBody());
+            body.putInt(1, body.getInt(1) + delta);
+            assertThrows(IllegalArgumentException.class,
+                    () -> transporter.deserializeBody(StandardRpcResponse.class));
+        }
+    }
+
+    @Test
+    void testDecompressMalformedBody() {
+        final Transporter transporter = createCompressedTransporter();
+        final byte[] body = transporter.getBody();
+        Arrays.fill(body, 5, body.length, (byte) 0xff);
+        assertThrows(IllegalArgumentException.class, () -> transporter.deserializeBody(StandardRpcResponse.class));
+    }
+
+    @Test
+    void testDecodeOversizeFrame() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new TransporterDecoder());
+        final ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(Transporter.MAGIC);
+        frame.writeByte(Transporter.BINARY_HEADER_VERSION);
+        frame.writeInt(Transporter.MAX_FRAME_LENGTH + 1);
+        assertThrows(DecoderException.class, () -> channel.writeInbound(frame));
+    }
+
+    @Test
+    void testSkipCompressSmallBody() {
+        final Transporter transporter = createTransporter(Transporter.BINARY_HEADER_VERSION, CborSerializer.CODE);
+        assertThat(transporter.compressBody(new Lz4Compressor(), 1024)).isFalse();
+        assertThat(transporter.getHeader().hasFlag(TransporterHeader.FLAG_COMPRESSED)).isFalse();
+    }
+
+    @Test
+    void testDecodeSplitFrames() {
+        final EmbeddedChannel encodeChannel = new EmbeddedChannel(new TransporterEncoder());
+        final EmbeddedChannel decodeChannel = new EmbeddedChannel(new TransporterDecoder());
+        for (byte version : new byte[]{Transporter.VERSION, Transporter.BINARY_HEADER_VERSION}) {
+            final Transporter transporter = createTransporter(version, JsonSerializer.CODE);
+            encodeChannel.writeOutbound(transporter);
+            final ByteBuf frame = encodeChannel.readOutbound();
+            // Write the frame byte by byte, the decoder should wait until the whole frame is received
+            while (frame.isReadable()) {
+                assertThat((Object) decodeChannel.readInbound()).isNull();
+                decodeChannel.writeInbound(frame.readRetainedSlice(1));
+            }
+            frame.release();
+            final Transporter decoded = decodeChannel.readInbound();
+            assertThat(decoded.getHeader().getOpaque()).isEqualTo(transporter.getHeader().getOpaque());
+            decoded.release();
+        }
+        assertThat(decodeChannel.finish()).isFalse();
+    }
+
+    private void assertEncodeAndDecode(byte version, byte serializer) {
+        final EmbeddedChannel channel = new EmbeddedChannel(new TransporterEncoder(), new TransporterDecoder());
+        final Transporter transporter = createTransporter(version, serializer);
+
+        channel.writeOutbound(transporter);
+        final ByteBuf frame = channel.readOutbound();
+        channel.writeInbound(frame);
+        final Transporter decoded = channel.readInbound();
+
+        assertThat(decoded.getVersion()).isEqualTo(version);
+        assertThat(decoded.getHeader().getOpaque()).isEqualTo(transporter.getHeader().getOpaque());
+        assertThat(decoded.getHeader().getMethodIdentifier()).isEqualTo(transporter.getHeader().getMethodIdentifier());
+        assertThat(decoded.getHeader().getSerializer()).isEqualTo(serializer);
+        assertThat(decoded.getHeader().getPreferredSerializer()).isEqualTo(CborSerializer.CODE);
+        assertThat(decoded.getBodyLength()).isEqualTo(transporter.getBody().length);
+
+        final StandardRpcResponse response = decoded.deserializeBody(StandardRpcResponse.class);
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("body");
+
+        final ByteBuf bodyBuffer = decoded.getBodyBuffer();
+        decoded.release();
+        assertThat(bodyBuffer.refCnt()).isEqualTo(0);
+        assertThat(channel.finish()).isFalse();
+    }
+
+    private Transporter createCompressedTransporter() {
+        final byte[] content = new byte[4096];
+        Arrays.fill(content, (byte) 'a');
+        final TransporterHeader header = TransporterHeader.of("ping()", CborSerializer.CODE, CborSerializer.CODE);
+        final Transporter transporter = Transporter.of(header, Serializers.getSerializer(CborSerializer.CODE)
+                .serialize(StandardRpcResponse.success(content, String.class)));
+        transporter.setVersion(Transporter.BINARY_HEADER_VERSION);
+        assertThat(transporter.compressBody(new Lz4Compressor(), 1024)).isTrue();
+        return transporter;
+    }
+
+    private Transporter createTransporter(byte version, byte serializer) {
+        final TransporterHeader header = TransporterHeader.of("ping()", serializer, CborSerializer.CODE);
+        final StandardRpcResponse response =
+                StandardRpcResponse.success("body".getBytes(StandardCharsets.UTF_8), String.class);
+        final Transporter transporter =
+                Transporter.of(header, Serializers.getSerializer(serializer).serialize(response));
+        transporter.setVersion(version);
+        return transporter;
+    }
+
+}
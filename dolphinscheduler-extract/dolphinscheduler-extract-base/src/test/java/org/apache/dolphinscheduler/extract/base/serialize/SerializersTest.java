@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+
+class SerializersTest {
+
+    @Test
+    void testGetSerializer() {
+        assertThat(Serializers.getDefaultSerializer()).isInstanceOf(JsonSerializer.class);
+        assertThat(Serializers.getSerializer(JsonSerializer.CODE)).isInstanceOf(JsonSerializer.class);
+        assertThat(Serializers.getSerializer(CborSerializer.NAME)).isInstanceOf(CborSerializer.class);
+        assertThat(Serializers.findSerializer((byte) 127).isPresent()).isFalse();
+        assertThrows(IllegalArgumentException.class, () -> Serializers.getSerializer("unknown"));
+    }
+
+    @Test
+    void testJsonSerializer() {
+        assertSerializeAndDeserialize(Serializers.getSerializer(JsonSerializer.NAME));
+    }
+
+    @Test
+    void testCborSerializer() {
+        assertSerializeAndDeserialize(Serializers.getSerializer(CborSerializer.NAME));
+    }
+
+    private void assertSerializeAndDeserialize(Serializer serializer) {
+        Payload payload = new Payload(1, "payload", new byte[]{1, 2, 3}, LocalDateTime.now().withNano(0), new Date(0));
+        assertThat(serializer.deserialize(serializer.serialize(payload), Payload.class)).isEqualTo(payload);
+
+        StandardRpcRequest standardRpcRequest = StandardRpcRequest.of(serializer, new Object[]{payload, "arg"});
+        StandardRpcRequest deserializedRequest =
+                serializer.deserialize(serializer.serialize(standardRpcRequest), StandardRpcRequest.class);
+        assertThat(deserializedRequest.getArgsTypes()).isEqualTo(new Class[]{Payload.class, String.class});
+        assertThat(serializer.deserialize(deserializedRequest.getArgs()[0], Payload.class)).isEqualTo(payload);
+
+        StandardRpcResponse standardRpcResponse = StandardRpcResponse.fail("failed");
+        assertThat(serializer.deserialize(serializer.serialize(standardRpcResponse), StandardRpcResponse.class))
+                .isEqualTo(standardRpcResponse);
+
+        assertThat(serializer.serialize(null)).isNull();
+        assertThat(serializer.deserialize((byte[]) null, Payload.class)).isNull();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+
+        private int id;
+
+        private String name;
+
+        private byte[] bytes;
+
+        private LocalDateTime localDateTime;
+
+        private Date date;
+    }
+
+}
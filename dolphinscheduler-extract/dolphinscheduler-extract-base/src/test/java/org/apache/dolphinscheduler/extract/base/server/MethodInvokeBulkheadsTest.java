@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.server;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.config.RpcServerExecutorConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+class MethodInvokeBulkheadsTest {
+
+    @Test
+    void testGetBulkhead() {
+        final RpcServerExecutorConfig executorConfig = RpcServerExecutorConfig.builder()
+                .services(ImmutableMap.of("ilogservice", RpcServerExecutorConfig.ServiceExecutorConfig.builder()
+                        .threads(1)
+                        .queueCapacity(1)
+                        .build()))
+                .build();
+        try (MethodInvokeBulkheads bulkheads = new MethodInvokeBulkheads("TestServer", executorConfig)) {
+            final MethodInvokeBulkhead logServiceBulkhead = bulkheads.getBulkhead("ILogService");
+            assertThat(logServiceBulkhead.getName()).isEqualTo("ILogService");
+            assertThat(bulkheads.getBulkhead("ILogService")).isSameInstanceAs(logServiceBulkhead);
+            assertThat(bulkheads.getBulkhead("ITaskExecutorEventListener").getName()).isEqualTo("default");
+        }
+    }
+
+    @Test
+    void testRejectWhenSaturated() throws InterruptedException {
+        final MethodInvokeBulkhead bulkhead = MethodInvokeBulkhead.of("test", "test-methodInvoker", 1, 1, false);
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        final CountDownLatch finishLatch = new CountDownLatch(2);
+        try {
+            final Runnable blockedInvocation = () -> {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finishLatch.countDown();
+            };
+            // One is running and the other one is waiting in queue
+            bulkhead.execute("IService", blockedInvocation);
+            bulkhead.execute("IService", blockedInvocation);
+            assertThrows(RejectedExecutionException.class, () -> bulkhead.execute("IService", blockedInvocation));
+
+            blockLatch.countDown();
+            assertThat(finishLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            bulkhead.close();
+        }
+    }
+
+    @Test
+    void testLimitRunningInvocationsOfThreadPerTaskExecutor() throws InterruptedException {
+        // Start a thread per invocation like the virtual thread executor, which is not supported by the test JDK
+        final MethodInvokeBulkhead bulkhead = new MethodInvokeBulkhead("test", Executors.newCachedThreadPool(),
+                new Semaphore(2), 3);
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        final CountDownLatch finishLatch = new CountDownLatch(3);
+        final AtomicInteger runningInvocations = new AtomicInteger();
+        final AtomicInteger maxRunningInvocations = new AtomicInteger();
+        try {
+            final Runnable blockedInvocation = () -> {
+                maxRunningInvocations.accumulateAndGet(runningInvocations.incrementAndGet(), Math::max);
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                runningInvocations.decrementAndGet();
+                finishLatch.countDown();
+            };
+            // Two are running and the other one is waiting for the permit
+            for (int i = 0; i < 3; i++) {
+                bulkhead.execute("IService", blockedInvocation);
+            }
+            assertThrows(RejectedExecutionException.class, () -> bulkhead.execute("IService", blockedInvocation));
+
+            blockLatch.countDown();
+            assertThat(finishLatch.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxRunningInvocations.get()).isEqualTo(2);
+        } finally {
+            bulkhead.close();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.server;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ServerMethodInvokerImplTest {
+
+    @Test
+    void testInvoke() throws Throwable {
+        final ServerMethodInvokerImpl invoker = new ServerMethodInvokerImpl(new EchoServiceImpl(),
+                IEchoService.class.getMethod("echo", String.class, int.class));
+        assertThat(invoker.invoke("a", 3)).isEqualTo("aaa");
+    }
+
+    @Test
+    void testInvokeWithoutArgs() throws Throwable {
+        final ServerMethodInvokerImpl invoker = new ServerMethodInvokerImpl(new EchoServiceImpl(),
+                IEchoService.class.getMethod("ping"));
+        assertThat(invoker.invoke((Object[]) null)).isEqualTo("pong");
+        assertThat(invoker.invoke()).isEqualTo("pong");
+    }
+
+    public interface IEchoService {
+
+        String echo(String message, int times);
+
+        String ping();
+    }
+
+    public static class EchoServiceImpl implements IEchoService {
+
+        @Override
+        public String echo(String message, int times) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < times; i++) {
+                builder.append(message);
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public String ping() {
+            return "pong";
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.io.ByteStreams;
+
+class ChunkedRpcInputStreamTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testReadChunkByChunk() throws IOException {
+        final List<Long> requestedOffsets = new ArrayList<>();
+        try (
+                ChunkedRpcInputStream inputStream = ChunkedRpcInputStream.open((offset, chunkSize) -> {
+                    requestedOffsets.add(offset);
+                    return fetchChunk(offset, chunkSize);
+                }, 8)) {
+            // The first chunk is fetched eagerly, and the next chunk is fetched only when it's needed
+            assertThat(requestedOffsets).containsExactly(0L);
+            assertThat(inputStream.available()).isEqualTo(8);
+
+            assertThat(ByteStreams.toByteArray(inputStream)).isEqualTo(CONTENT);
+            assertThat(requestedOffsets).containsExactly(0L, 8L, 16L).inOrder();
+            assertThat(inputStream.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void testReadEmptyContent() throws IOException {
+        try (
+                ChunkedRpcInputStream inputStream = ChunkedRpcInputStream.open(
+                        (offset, chunkSize) -> new TestChunk(new byte[0], false), 8)) {
+            assertThat(inputStream.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void testFetchChunkFailed() throws IOException {
+        assertThrows(IllegalStateException.class, () -> ChunkedRpcInputStream.open((offset, chunkSize) -> {
+            throw new IllegalStateException("fetch failed");
+        }, 8));
+
+        try (ChunkedRpcInputStream inputStream = ChunkedRpcInputStream.open((offset, chunkSize) -> {
+            if (offset > 0) {
+                throw new IllegalStateException("fetch failed");
+            }
+            return fetchChunk(offset, chunkSize);
+        }, 8)) {
+            assertThrows(IOException.class, () -> ByteStreams.toByteArray(inputStream));
+        }
+    }
+
+    @Test
+    void testChunkExceedsChunkSize() {
+        assertThrows(IllegalStateException.class,
+                () -> ChunkedRpcInputStream.open((offset, chunkSize) -> new TestChunk(CONTENT, true), 8));
+    }
+
+    private TestChunk fetchChunk(long offset, int chunkSize) {
+        final int from = (int) Math.min(offset, CONTENT.length);
+        final int to = Math.min(from + chunkSize, CONTENT.length);
+        return new TestChunk(Arrays.copyOfRange(CONTENT, from, to), to == CONTENT.length);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class TestChunk implements IRpcChunk {
+
+        private final byte[] chunk;
+
+        private final boolean lastChunk;
+    }
+
+}
@@ -19,20 +19,43 @@ package org.apache.dolphinscheduler.extract.common;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
 @RpcService
 public interface ILogService {
 
+    /**
+     * Get the whole log file in a single response, the log file might be huge, use
+     * {@link #getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest)} instead.
+     */
+    @Deprecated
     @RpcMethod
     TaskInstanceLogFileDownloadResponse getTaskInstanceWholeLogFileBytes(TaskInstanceLogFileDownloadRequest taskInstanceLogFileDownloadRequest);
 
+    /**
+     * Get a bounded chunk of the log file which starts from the given offset, the whole log file can be transferred
+     * by pulling the chunks one by one.
+     */
+    @RpcMethod
+    TaskInstanceLogFileChunkResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest taskInstanceLogFileChunkRequest);
+
     @RpcMethod
     TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest);
 
+    /**
+     * Read the log appended since the given byte offset, which is used to follow the log of a running task without
+     * re-reading the lines already read.
+     */
+    @RpcMethod
+    TaskInstanceLogTailResponse readTaskInstanceLogFrom(TaskInstanceLogTailRequest taskInstanceLogTailRequest);
+
     @RpcMethod
     void removeTaskInstanceLog(String taskInstanceLogAbsolutePath);
 
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.config;
 
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.extract.base.config.RpcServerExecutorConfig;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerConfigurationProperties;
 
@@ -64,6 +65,11 @@ public class MasterConfig implements Validator {
     private WorkerLoadBalancerConfigurationProperties workerLoadBalancerConfigurationProperties =
             new WorkerLoadBalancerConfigurationProperties();
 
+    /**
+     * The executors used to invoke the rpc methods, the slow services such as log service can be isolated.
+     */
+    private RpcServerExecutorConfig rpcServerExecutor = new RpcServerExecutorConfig();
+
     /**
      * The IP address and listening port of the master server in the format 'ip:listenPort'.
      */
@@ -122,6 +128,7 @@ public class MasterConfig implements Validator {
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
                         "\n  worker-load-balancer-configuration-properties: "
                         + workerLoadBalancerConfigurationProperties +
+                        "\n  rpc-server-executor: " + rpcServerExecutor +
                         "\n****************************Master Configuration**************************************";
         log.info(config);
     }
@@ -31,6 +31,7 @@ public class MasterRpcServer extends SpringServerMethodInvokerDiscovery implemen
 
     public MasterRpcServer(MasterConfig masterConfig) {
         super(NettyServerConfig.builder().serverName("MasterRpcServer").listenPort(masterConfig.getListenPort())
+                .executorConfig(masterConfig.getRpcServerExecutor())
                 .build());
     }
 
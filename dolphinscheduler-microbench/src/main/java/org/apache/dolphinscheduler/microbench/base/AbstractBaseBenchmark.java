@@ -28,6 +28,7 @@ import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
@@ -58,8 +59,8 @@ public abstract class AbstractBaseBenchmark {
                 // set benchmark ClassName
                 .include(className);
 
-        if (getMeasureIterations() > 0) {
-            optBuilder.warmupIterations(getMeasureIterations());
+        if (getWarmupIterations() > 0) {
+            optBuilder.warmupIterations(getWarmupIterations());
         }
 
         if (getMeasureIterations() > 0) {
@@ -70,6 +71,16 @@ public abstract class AbstractBaseBenchmark {
             optBuilder.forks(getForks());
         }
 
+        if (getThreads() > 0) {
+            // the number of the concurrent callers
+            optBuilder.threads(getThreads());
+        }
+
+        if (isGcProfilerEnabled()) {
+            // report the allocation rate and gc count of each benchmark
+            optBuilder.addProfiler(GCProfiler.class);
+        }
+
         String output = getReportDir();
         if (output != null) {
             boolean writeFileStatus;
@@ -111,6 +122,15 @@ public abstract class AbstractBaseBenchmark {
         return null != value ? Integer.parseInt(value) : -1;
     }
 
+    private static int getThreads() {
+        String value = System.getProperty("threads");
+        return null != value ? Integer.parseInt(value) : -1;
+    }
+
+    private static boolean isGcProfilerEnabled() {
+        return Boolean.parseBoolean(System.getProperty("gcProfiler"));
+    }
+
     private static String getReportDir() {
         return System.getProperty("perfReportDir");
     }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorLifecycleEventType;
+import org.apache.dolphinscheduler.task.executor.events.TaskExecutorSuccessLifecycleEvent;
+import org.apache.dolphinscheduler.task.executor.operations.TaskExecutorDispatchRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The real transporter objects used in the rpc benchmarks, the payloadSize is the approximate size in bytes of the
+ * variable part of the payload, e.g. task params, var pool and log content.
+ */
+public class RpcBenchmarkPayloads {
+
+    private RpcBenchmarkPayloads() {
+
+    }
+
+    public static Object createPayload(String payloadType, int payloadSize) {
+        switch (payloadType) {
+            case "TaskExecutorDispatchRequest":
+                return createTaskExecutorDispatchRequest(payloadSize);
+            case "TaskExecutorSuccessLifecycleEvent":
+                return createTaskExecutorSuccessLifecycleEvent(payloadSize);
+            case "TaskInstanceLogFileDownloadResponse":
+                return createTaskInstanceLogFileDownloadResponse(payloadSize);
+            case "TaskInstanceLogPageQueryResponse":
+                return createTaskInstanceLogPageQueryResponse(payloadSize);
+            case "TaskInstanceLogFileChunkResponse":
+                return createTaskInstanceLogFileChunkResponse(payloadSize);
+            default:
+                throw new IllegalArgumentException("Unknown payload type: " + payloadType);
+        }
+    }
+
+    public static TaskExecutorDispatchRequest createTaskExecutorDispatchRequest(int payloadSize) {
+        final Map<String, Property> paramsMap = new HashMap<>();
+        for (int i = 0; i < 16; i++) {
+            paramsMap.put("param" + i, new Property("param" + i, Direct.IN, DataType.VARCHAR, "value" + i));
+        }
+        final TaskExecutionContext taskExecutionContext = TaskExecutionContext.builder()
+                .taskInstanceId(1)
+                .taskName("benchmark-task")
+                .taskType("SHELL")
+                .firstSubmitTime(System.currentTimeMillis())
+                .workflowInstanceId(1)
+                .workflowInstanceHost("127.0.0.1:5678")
+                .host("127.0.0.1:1234")
+                .logPath("/tmp/dolphinscheduler/logs/20240101/1/1/1/1.log")
+                .executePath("/tmp/dolphinscheduler/exec/process/default/1/1_1/1/1")
+                .tenantCode("default")
+                .workerGroup("default")
+                .taskParams("{\"rawScript\":\"" + randomText(payloadSize / 2) + "\"}")
+                .varPool(randomText(payloadSize / 2))
+                .paramsMap(paramsMap)
+                .prepareParamsMap(paramsMap)
+                .build();
+        return TaskExecutorDispatchRequest.of(taskExecutionContext);
+    }
+
+    public static TaskExecutorSuccessLifecycleEvent createTaskExecutorSuccessLifecycleEvent(int payloadSize) {
+        return TaskExecutorSuccessLifecycleEvent.builder()
+                .taskInstanceId(1)
+                .workflowInstanceId(1)
+                .workflowInstanceHost("127.0.0.1:5678")
+                .taskInstanceHost("127.0.0.1:1234")
+                .type(TaskExecutorLifecycleEventType.SUCCESS)
+                .endTime(System.currentTimeMillis())
+                .varPool(randomText(payloadSize))
+                .build();
+    }
+
+    public static TaskInstanceLogFileDownloadResponse createTaskInstanceLogFileDownloadResponse(int payloadSize) {
+        return new TaskInstanceLogFileDownloadResponse(randomText(payloadSize).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskInstanceLogPageQueryResponse createTaskInstanceLogPageQueryResponse(int payloadSize) {
+        return new TaskInstanceLogPageQueryResponse(randomText(payloadSize));
+    }
+
+    public static TaskInstanceLogFileChunkResponse createTaskInstanceLogFileChunkResponse(int payloadSize) {
+        return new TaskInstanceLogFileChunkResponse(0, randomText(payloadSize).getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    private static String randomText(int length) {
+        final StringBuilder stringBuilder = new StringBuilder(length);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (stringBuilder.length() < length) {
+            // Mimic the log lines, which are mostly ascii characters split by line break
+            if (random.nextInt(80) == 0) {
+                stringBuilder.append('\n');
+            } else {
+                stringBuilder.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return stringBuilder.toString();
+    }
+
+}
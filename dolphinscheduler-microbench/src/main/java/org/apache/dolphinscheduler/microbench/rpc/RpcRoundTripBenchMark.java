@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.task.executor.operations.TaskExecutorDispatchRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmark of the sync rpc call over loopback, including the client proxy, serialization, the netty
+ * transport and the server method invocation.
+ * <p>
+ * The payloadType decides which side carries the large payload: the request of dispatchTask or the response of
+ * pageQueryTaskInstanceLog. The benchmark reports the throughput and the sampled latency percentiles (p50/p99) of
+ * the concurrent callers, the number of callers can be changed by -Dthreads, run with -DgcProfiler=true to get the
+ * allocation rate, and with -DperfReportDir to write the json result which can be compared across commits.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@Threads(8)
+public class RpcRoundTripBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"TaskExecutorDispatchRequest", "TaskInstanceLogPageQueryResponse"})
+    private String payloadType;
+
+    @Param({"128", "4096", "65536", "1048576"})
+    private int payloadSize;
+
+    private SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery;
+
+    private Supplier<Object> rpcCall;
+
+    @Setup
+    public void before() {
+        final int listenPort = findAvailablePort();
+        springServerMethodInvokerDiscovery = new SpringServerMethodInvokerDiscovery(NettyServerConfig.builder()
+                .serverName("RpcRoundTripBenchMarkServer")
+                .listenPort(listenPort)
+                .build());
+        springServerMethodInvokerDiscovery.postProcessAfterInitialization(
+                new RpcBenchmarkServiceImpl(RpcBenchmarkPayloads.createTaskInstanceLogPageQueryResponse(payloadSize)),
+                "rpcBenchmarkServiceImpl");
+        springServerMethodInvokerDiscovery.start();
+
+        final IRpcBenchmarkService rpcBenchmarkService = Clients
+                .withService(IRpcBenchmarkService.class)
+                .withHost("localhost:" + listenPort);
+        switch (payloadType) {
+            case "TaskExecutorDispatchRequest":
+                final TaskExecutorDispatchRequest dispatchRequest =
+                        RpcBenchmarkPayloads.createTaskExecutorDispatchRequest(payloadSize);
+                rpcCall = () -> rpcBenchmarkService.dispatchTask(dispatchRequest);
+                break;
+            case "TaskInstanceLogPageQueryResponse":
+                final TaskInstanceLogPageQueryRequest logPageQueryRequest = TaskInstanceLogPageQueryRequest.builder()
+                        .taskInstanceId(1)
+                        .taskInstanceLogAbsolutePath("/tmp/dolphinscheduler/logs/20240101/1/1/1/1.log")
+                        .skipLineNum(0)
+                        .limit(1000)
+                        .build();
+                rpcCall = () -> rpcBenchmarkService.pageQueryTaskInstanceLog(logPageQueryRequest);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown payload type: " + payloadType);
+        }
+        // Establish the connection and negotiate the protocol before measuring
+        rpcCall.get();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object syncCall() {
+        return rpcCall.get();
+    }
+
+    @TearDown
+    public void after() {
+        springServerMethodInvokerDiscovery.close();
+    }
+
+    private static int findAvailablePort() {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot find an available port", e);
+        }
+    }
+
+}
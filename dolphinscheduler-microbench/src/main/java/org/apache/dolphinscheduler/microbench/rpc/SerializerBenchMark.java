@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.serialize.Serializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode/decode benchmark of the rpc {@link Serializer}s with the real transporter types.
+ * <p> Run with -DgcProfiler=true to get the allocation rate of each serializer.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class SerializerBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"json", "cbor"})
+    private String serializerName;
+
+    @Param({"TaskExecutorDispatchRequest", "TaskExecutorSuccessLifecycleEvent", "TaskInstanceLogFileChunkResponse",
+            "TaskInstanceLogPageQueryResponse"})
+    private String payloadType;
+
+    @Param({"128", "1024", "65536", "1048576"})
+    private int payloadSize;
+
+    private Serializer serializer;
+
+    private Object payload;
+
+    private byte[] serializedPayload;
+
+    @Setup
+    public void before() {
+        serializer = Serializers.getSerializer(serializerName);
+        payload = RpcBenchmarkPayloads.createPayload(payloadType, payloadSize);
+        serializedPayload = serializer.serialize(payload);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] serialize() {
+        return serializer.serialize(payload);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object deserialize() {
+        return serializer.deserialize(serializedPayload, payload.getClass());
+    }
+
+}
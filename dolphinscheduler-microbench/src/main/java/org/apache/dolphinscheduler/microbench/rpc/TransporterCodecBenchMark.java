@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializer;
+import org.apache.dolphinscheduler.extract.base.serialize.Serializers;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Benchmark of the {@link TransporterEncoder} and {@link TransporterDecoder} with the json header and the binary
+ * header, the decode benchmark includes decoding the request body from the received buffer.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Thread)
+public class TransporterCodecBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"0", "1"})
+    private byte version;
+
+    @Param({"json", "cbor"})
+    private String serializerName;
+
+    @Param({"1024", "65536"})
+    private int payloadSize;
+
+    private Transporter transporter;
+
+    private ByteBuf encodedFrame;
+
+    private EmbeddedChannel encodeChannel;
+
+    private EmbeddedChannel decodeChannel;
+
+    @Setup
+    public void before() {
+        final Serializer serializer = Serializers.getSerializer(serializerName);
+        final Object payload = RpcBenchmarkPayloads.createTaskExecutorDispatchRequest(payloadSize);
+        final TransporterHeader header = TransporterHeader.of(
+                "public abstract void ITaskExecutorOperator.dispatchTask(TaskExecutorDispatchRequest)",
+                serializer.getCode(),
+                serializer.getCode());
+        transporter = Transporter.of(header, StandardRpcRequest.of(serializer, new Object[]{payload}));
+        transporter.setVersion(version);
+
+        encodeChannel = new EmbeddedChannel(new TransporterEncoder());
+        decodeChannel = new EmbeddedChannel(new TransporterDecoder());
+        encodeChannel.writeOutbound(transporter);
+        encodedFrame = encodeChannel.readOutbound();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int encode() {
+        encodeChannel.writeOutbound(transporter);
+        final ByteBuf frame = encodeChannel.readOutbound();
+        final int length = frame.readableBytes();
+        frame.release();
+        return length;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object decode() {
+        decodeChannel.writeInbound(encodedFrame.retainedDuplicate());
+        final Transporter decoded = decodeChannel.readInbound();
+        try {
+            return decoded.deserializeBody(StandardRpcRequest.class);
+        } finally {
+            decoded.release();
+        }
+    }
+
+    @TearDown
+    public void after() {
+        encodedFrame.release();
+        encodeChannel.finishAndReleaseAll();
+        decodeChannel.finishAndReleaseAll();
+    }
+
+}
@@ -24,33 +24,44 @@ import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.RangedLineReader;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferMetrics;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Optional;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobContainerItem;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobDownloadToFileOptions;
+import com.azure.storage.blob.options.BlobUploadFromFileOptions;
 import com.azure.storage.blob.specialized.BlockBlobClient;
 
 @Slf4j
@@ -60,6 +71,10 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
 
     private final BlobServiceClient blobServiceClient;
 
+    private final long transferPartSize;
+
+    private final int transferParallelism;
+
     public AbsStorageOperator(AbsStorageProperties absStorageProperties) {
         super(absStorageProperties.getResourceUploadPath());
         blobServiceClient = new BlobServiceClientBuilder()
@@ -68,6 +83,11 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
                 .buildClient();
         blobContainerClient = blobServiceClient.getBlobContainerClient(absStorageProperties.getContainerName());
         checkContainerNameExists(absStorageProperties.getContainerName());
+        StorageTransferConfig storageTransferConfig = Optional
+                .ofNullable(absStorageProperties.getStorageTransferConfig())
+                .orElseGet(StorageTransferConfig::new);
+        transferPartSize = Math.max(storageTransferConfig.getPartSize(), StorageTransferConfig.MIN_PART_SIZE);
+        transferParallelism = Math.max(storageTransferConfig.getParallelism(), 1);
     }
 
     @Override
@@ -102,8 +122,22 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
 
+        long startNanos = System.nanoTime();
         BlobClient blobClient = blobContainerClient.getBlobClient(srcFilePath);
-        blobClient.downloadToFile(dstFilePath, true);
+        // The sdk downloads the ranges of a large blob in parallel
+        BlobDownloadToFileOptions downloadToFileOptions = new BlobDownloadToFileOptions(dstFilePath)
+                .setParallelTransferOptions(new com.azure.storage.common.ParallelTransferOptions()
+                        .setBlockSizeLong(transferPartSize)
+                        .setMaxConcurrency(transferParallelism))
+                .setOpenOptions(new HashSet<>(Arrays.asList(
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)));
+        BlobProperties blobProperties =
+                blobClient.downloadToFileWithResponse(downloadToFileOptions, null, Context.NONE).getValue();
+        StorageTransferMetrics.recordTransfer(StorageType.ABS, StorageTransferMetrics.DOWNLOAD,
+                blobProperties.getBlobSize(), System.nanoTime() - startNanos);
     }
 
     @Override
@@ -136,10 +170,22 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
     @SneakyThrows
     @Override
     public void upload(String srcFile, String dstPath, boolean deleteSource, boolean overwrite) {
+        long startNanos = System.nanoTime();
         BlobClient blobClient = blobContainerClient.getBlobClient(dstPath);
-        blobClient.uploadFromFile(srcFile, overwrite);
+        // The file which is larger than the part size is uploaded by blocks in parallel
+        BlobUploadFromFileOptions uploadFromFileOptions = new BlobUploadFromFileOptions(srcFile)
+                .setParallelTransferOptions(new ParallelTransferOptions()
+                        .setBlockSizeLong(transferPartSize)
+                        .setMaxSingleUploadSizeLong(transferPartSize)
+                        .setMaxConcurrency(transferParallelism));
+        if (!overwrite) {
+            uploadFromFileOptions.setRequestConditions(new BlobRequestConditions().setIfNoneMatch("*"));
+        }
+        blobClient.uploadFromFileWithResponse(uploadFromFileOptions, null, Context.NONE);
 
         Path srcPath = Paths.get(srcFile);
+        StorageTransferMetrics.recordTransfer(StorageType.ABS, StorageTransferMetrics.UPLOAD, Files.size(srcPath),
+                System.nanoTime() - startNanos);
         if (deleteSource) {
             Files.delete(srcPath);
         }
@@ -154,13 +200,12 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
         }
 
         BlobClient blobClient = blobContainerClient.getBlobClient(filePath);
-        try (
-                BufferedReader bufferedReader =
-                        new BufferedReader(new InputStreamReader(
-                                new ByteArrayInputStream(blobClient.downloadContent().toBytes())))) {
-            Stream<String> stream = bufferedReader.lines().skip(skipLineNums).limit(limit);
-            return stream.collect(Collectors.toList());
-        }
+        BlobProperties blobProperties = blobClient.getProperties();
+        // Pin the ETag so that the ranges cannot come from different versions of the blob
+        BlobRequestConditions requestConditions = new BlobRequestConditions().setIfMatch(blobProperties.getETag());
+        return RangedLineReader.readLines(filePath, blobProperties.getETag(), blobProperties.getBlobSize(),
+                skipLineNums, limit,
+                (offset, length) -> blobClient.openInputStream(new BlobRange(offset, length), requestConditions));
     }
 
     @Override
@@ -183,6 +228,11 @@ public class AbsStorageOperator extends AbstractStorageOperator implements Close
         return null;
     }
 
+    @Override
+    public String getResourceVersion(String resourceAbsolutePath) {
+        return blobContainerClient.getBlobClient(resourceAbsolutePath).getProperties().getETag();
+    }
+
     public void checkContainerNameExists(String containerName) {
         if (StringUtils.isBlank(containerName)) {
             throw new IllegalArgumentException(containerName + " is blank");
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperatorFactory;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
 
 import com.google.auto.service.AutoService;
 
@@ -40,6 +41,7 @@ public class AbsStorageOperatorFactory implements StorageOperatorFactory {
                 .connectionString(PropertyUtils.getString(StorageConstants.AZURE_BLOB_STORAGE_CONNECTION_STRING))
                 .storageAccountName(PropertyUtils.getString(StorageConstants.AZURE_BLOB_STORAGE_ACCOUNT_NAME))
                 .resourceUploadPath(PropertyUtils.getString(StorageConstants.RESOURCE_UPLOAD_PATH, "/dolphinscheduler"))
+                .storageTransferConfig(StorageTransferConfig.fromProperties())
                 .build();
     }
 
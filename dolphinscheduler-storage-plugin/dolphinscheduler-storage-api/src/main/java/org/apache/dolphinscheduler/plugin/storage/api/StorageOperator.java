@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.plugin.storage.api;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import java.nio.file.FileAlreadyExistsException;
+import java.util.Iterator;
 import java.util.List;
 
 public interface StorageOperator {
@@ -146,6 +147,27 @@ public interface StorageOperator {
      */
     List<StorageEntity> listFileStorageEntityRecursively(String resourceAbsolutePath);
 
+    /**
+     * Iterate the {@link StorageEntity} under the given path, same as {@link #listStorageEntity(String)}, but the
+     * storage which supports paged listing will fetch the next page only when the iterator reaches it, so that a
+     * large directory doesn't need to be loaded into memory at once.
+     *
+     * @param resourceAbsolutePath the resource absolute path, cannot be empty
+     */
+    default Iterator<StorageEntity> iterateStorageEntity(String resourceAbsolutePath) {
+        return listStorageEntity(resourceAbsolutePath).iterator();
+    }
+
+    /**
+     * Iterate the {@link StorageEntity} which is file under the given path, same as
+     * {@link #listFileStorageEntityRecursively(String)}, but the entities are fetched lazily if the storage supports.
+     *
+     * @param resourceAbsolutePath the resource absolute path, cannot be empty
+     */
+    default Iterator<StorageEntity> iterateFileStorageEntityRecursively(String resourceAbsolutePath) {
+        return listFileStorageEntityRecursively(resourceAbsolutePath).iterator();
+    }
+
     /**
      * Return the {@link StorageEntity} under the current directory
      *
@@ -153,4 +175,17 @@ public interface StorageOperator {
      */
     StorageEntity getStorageEntity(String resourceAbsolutePath);
 
+    /**
+     * Return a token which changes whenever the content of the given file changes, e.g. the ETag of an object or the
+     * generation of a blob. The token is read from the metadata only, the content will not be downloaded.
+     * <p> Return null if the storage cannot provide a reliable version, the caller should then treat the file as
+     * changed every time.
+     *
+     * @param resourceAbsolutePath the file absolute path, cannot be empty
+     * @return the version of the file, or null if unknown
+     */
+    default String getResourceVersion(String resourceAbsolutePath) {
+        return null;
+    }
+
 }
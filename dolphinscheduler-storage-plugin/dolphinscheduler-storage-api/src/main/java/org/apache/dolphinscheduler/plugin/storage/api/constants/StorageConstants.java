@@ -51,6 +51,16 @@ public final class StorageConstants {
      */
     public static final String RESOURCE_STORAGE_TYPE = "resource.storage.type";
 
+    /**
+     * the size of each part when transferring a large object by parallel parts
+     */
+    public static final String RESOURCE_STORAGE_TRANSFER_PART_SIZE = "resource.storage.transfer.part.size";
+
+    /**
+     * the max number of parts of one object which are transferred at the same time
+     */
+    public static final String RESOURCE_STORAGE_TRANSFER_PARALLELISM = "resource.storage.transfer.parallelism";
+
     public static final String AWS_S3_BUCKET_NAME = "aws.s3.bucket.name";
 
     public static final String ALIBABA_CLOUD_OSS_BUCKET_NAME = "resource.alibaba.cloud.oss.bucket.name";
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api.transfer;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Transfer a large object between the local file system and an object store by parts, the parts of one object are
+ * transferred at the same time.
+ * <p> Download: the object is split into byte ranges, each range is read by a ranged GET request and written at its
+ * own position of the local file, which is allocated to the object size before.
+ * <p> Upload: the local file is split into regions, each region is uploaded as one part of a multipart upload, the
+ * results of the parts are returned in the order of the part number so that the caller can complete the upload.
+ * <p> The thread which calls the transfer always works on the parts too, the pool only provides the extra workers, so
+ * a transfer never waits for a pool thread and a small object doesn't use the pool at all.
+ */
+@Slf4j
+public class ParallelObjectTransfer implements Closeable {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final StorageType storageType;
+
+    private final long partSize;
+
+    private final int parallelism;
+
+    private final ExecutorService transferExecutor;
+
+    public ParallelObjectTransfer(StorageType storageType, StorageTransferConfig storageTransferConfig) {
+        this.storageType = storageType;
+        if (storageTransferConfig.getPartSize() < StorageTransferConfig.MIN_PART_SIZE) {
+            log.warn("The transfer part size: {} is smaller than the min part size: {}, will use the min part size",
+                    storageTransferConfig.getPartSize(), StorageTransferConfig.MIN_PART_SIZE);
+        }
+        this.partSize = Math.max(storageTransferConfig.getPartSize(), StorageTransferConfig.MIN_PART_SIZE);
+        this.parallelism = Math.max(storageTransferConfig.getParallelism(), 1);
+        this.transferExecutor = parallelism > 1
+                ? ThreadUtils.newDaemonFixedThreadExecutor(storageType.getName() + "-ObjectTransfer-%d",
+                        parallelism)
+                : null;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Whether the object with the given size should be transferred by parts.
+     */
+    public boolean isMultipart(long objectSize) {
+        return parallelism > 1 && objectSize > partSize;
+    }
+
+    public int getPartCount(long objectSize) {
+        return (int) Math.max((objectSize + partSize - 1) / partSize, 1);
+    }
+
+    /**
+     * Download the object into the local file by parallel ranged reads, the local file will be overwritten.
+     * If the download fails the local file will be deleted.
+     *
+     * @param objectSize  the size of the object
+     * @param localFile   the local file
+     * @param rangeReader open the content of the given byte range of the object
+     */
+    public void download(long objectSize, File localFile, RangeReader rangeReader) throws IOException {
+        final long startNanos = System.nanoTime();
+        try (
+                RandomAccessFile randomAccessFile = new RandomAccessFile(localFile, "rw");
+                FileChannel fileChannel = randomAccessFile.getChannel()) {
+            randomAccessFile.setLength(objectSize);
+            runParts(getPartCount(objectSize), partIndex -> {
+                final long offset = partIndex * partSize;
+                final long length = Math.min(partSize, objectSize - offset);
+                try (InputStream inputStream = rangeReader.read(offset, length)) {
+                    writeRange(inputStream, fileChannel, offset, length);
+                }
+                return null;
+            });
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(localFile.toPath());
+            throw ex;
+        }
+        StorageTransferMetrics.recordTransfer(storageType, StorageTransferMetrics.DOWNLOAD, objectSize,
+                System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Upload the parts of the local file by the given uploader, the caller should initiate the multipart upload before
+     * and complete it with the returned results, or abort it if this method throws exception.
+     *
+     * @param localFile    the local file
+     * @param partUploader upload one part, the part number starts from 1
+     * @return the result of each part, ordered by the part number
+     */
+    public <T> List<T> upload(File localFile, PartUploader<T> partUploader) throws IOException {
+        final long startNanos = System.nanoTime();
+        final long objectSize = localFile.length();
+        final List<T> partResults = runParts(getPartCount(objectSize), partIndex -> {
+            final long offset = partIndex * partSize;
+            return partUploader.upload(partIndex + 1, offset, Math.min(partSize, objectSize - offset));
+        });
+        StorageTransferMetrics.recordTransfer(storageType, StorageTransferMetrics.UPLOAD, objectSize,
+                System.nanoTime() - startNanos);
+        return partResults;
+    }
+
+    /**
+     * Open the given region of the local file, used by the storage whose sdk cannot upload a part from a file region.
+     */
+    public static InputStream openFileRegion(File file, long offset, long length) throws IOException {
+        final FileInputStream fileInputStream = new FileInputStream(file);
+        try {
+            fileInputStream.getChannel().position(offset);
+        } catch (IOException ex) {
+            fileInputStream.close();
+            throw ex;
+        }
+        return ByteStreams.limit(fileInputStream, length);
+    }
+
+    private <T> List<T> runParts(int partCount, PartTask<T> partTask) throws IOException {
+        final AtomicReferenceArray<T> partResults = new AtomicReferenceArray<>(partCount);
+        final AtomicInteger nextPart = new AtomicInteger(0);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        // Count down once a claimed part is finished, or for each part which will never be claimed after a failure
+        final CountDownLatch partsLatch = new CountDownLatch(partCount);
+
+        final Runnable worker = () -> {
+            int partIndex;
+            while ((partIndex = claimPart(nextPart, partCount)) >= 0) {
+                try {
+                    partResults.set(partIndex, partTask.run(partIndex));
+                } catch (Throwable ex) {
+                    if (failure.compareAndSet(null, ex)) {
+                        final int claimedParts = nextPart.getAndSet(partCount);
+                        for (int i = claimedParts; i < partCount; i++) {
+                            partsLatch.countDown();
+                        }
+                    }
+                } finally {
+                    partsLatch.countDown();
+                }
+            }
+        };
+
+        final List<Future<?>> helpers = new ArrayList<>();
+        if (transferExecutor != null) {
+            for (int i = 1; i < Math.min(parallelism, partCount); i++) {
+                try {
+                    helpers.add(transferExecutor.submit(worker));
+                } catch (RejectedExecutionException ex) {
+                    // The operator is closing, the current thread will transfer the left parts
+                    break;
+                }
+            }
+        }
+        worker.run();
+        try {
+            partsLatch.await();
+        } catch (InterruptedException ex) {
+            failure.compareAndSet(null, ex);
+            nextPart.set(partCount);
+            Thread.currentThread().interrupt();
+        } finally {
+            // The helpers which haven't started yet have nothing to do
+            helpers.forEach(helper -> helper.cancel(false));
+        }
+
+        final Throwable throwable = failure.get();
+        if (throwable instanceof IOException) {
+            throw (IOException) throwable;
+        }
+        if (throwable instanceof InterruptedException) {
+            throw (InterruptedIOException) new InterruptedIOException("The transfer is interrupted")
+                    .initCause(throwable);
+        }
+        if (throwable != null) {
+            throw new IOException("Transfer part failed", throwable);
+        }
+        final List<T> results = new ArrayList<>(partCount);
+        for (int i = 0; i < partCount; i++) {
+            results.add(partResults.get(i));
+        }
+        return results;
+    }
+
+    private static int claimPart(AtomicInteger nextPart, int partCount) {
+        while (true) {
+            final int partIndex = nextPart.get();
+            if (partIndex >= partCount) {
+                return -1;
+            }
+            if (nextPart.compareAndSet(partIndex, partIndex + 1)) {
+                return partIndex;
+            }
+        }
+    }
+
+    private static void writeRange(InputStream inputStream,
+                                   FileChannel fileChannel,
+                                   long offset,
+                                   long length) throws IOException {
+        final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long written = 0;
+        int readLen;
+        while (written < length
+                && (readLen = inputStream.read(buffer, 0, (int) Math.min(buffer.length, length - written))) > 0) {
+            final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, readLen);
+            while (byteBuffer.hasRemaining()) {
+                fileChannel.write(byteBuffer, offset + written + byteBuffer.position());
+            }
+            written += readLen;
+        }
+        if (written != length) {
+            throw new IOException("The range [" + offset + ", " + (offset + length) + ") is truncated, expect "
+                    + length + " bytes but got " + written + " bytes");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (transferExecutor != null) {
+            transferExecutor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * Open the content of the byte range [offset, offset + length) of the object.
+         */
+        InputStream read(long offset, long length) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface PartUploader<T> {
+
+        /**
+         * Upload the region [offset, offset + length) of the local file as the given part.
+         */
+        T upload(int partNumber, long offset, long length) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface PartTask<T> {
+
+        T run(int partIndex) throws Exception;
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api.transfer;
+
+import org.apache.dolphinscheduler.common.log.LineCheckpointIndex;
+import org.apache.dolphinscheduler.common.log.LogLineScanner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Read lines of an object by ranged requests rather than streaming the object from the beginning.
+ * <p>
+ * A sparse {@link LineCheckpointIndex} is cached per object version, and filled by every read. The lines between the
+ * nearest known checkpoint and the first requested line are scanned by one open-ended ranged request, which is
+ * closed once the first requested line is found, so the first read of a far line still transfers the bytes before it
+ * once but in a single round trip. The later reads around or before that line start from a closer checkpoint. The
+ * returned lines are read by chunk-aligned ranged requests.
+ */
+public class RangedLineReader {
+
+    static final int LINES_PER_CHECKPOINT = 1000;
+
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private static final Cache<String, LineCheckpointIndex> LINE_OFFSET_INDEXES = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+    private RangedLineReader() {
+    }
+
+    /**
+     * Read at most limit lines of the object which start from the given line.
+     *
+     * @param objectPath    the path of the object, used as the key of the cached index
+     * @param objectVersion the version of the object, e.g. the ETag, the index will not be cached if it's null
+     * @param objectSize    the size of the object
+     * @param skipLineNums  the number of lines to skip
+     * @param limit         the number of lines to read
+     * @param rangeReader   open the content of the given byte range of the object
+     */
+    public static List<String> readLines(String objectPath,
+                                         String objectVersion,
+                                         long objectSize,
+                                         int skipLineNums,
+                                         int limit,
+                                         ParallelObjectTransfer.RangeReader rangeReader) throws IOException {
+        if (skipLineNums < 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return readLines(getLineCheckpointIndex(objectPath, objectVersion, objectSize), objectSize, skipLineNums, limit,
+                rangeReader);
+    }
+
+    private static LineCheckpointIndex getLineCheckpointIndex(String objectPath, String objectVersion,
+                                                              long objectSize) {
+        if (objectVersion == null) {
+            return new LineCheckpointIndex(LINES_PER_CHECKPOINT);
+        }
+        // The size is in the key too, in case the version of the storage is not strict
+        final String key = objectPath + "@" + objectVersion + "#" + objectSize;
+        try {
+            return LINE_OFFSET_INDEXES.get(key, () -> new LineCheckpointIndex(LINES_PER_CHECKPOINT));
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @VisibleForTesting
+    static List<String> readLines(LineCheckpointIndex lineCheckpointIndex,
+                                  long objectSize,
+                                  long skipLineNums,
+                                  int limit,
+                                  ParallelObjectTransfer.RangeReader rangeReader) throws IOException {
+        final long[] checkpoint = lineCheckpointIndex.seek(skipLineNums);
+        long position = checkpoint[0];
+        long lineNumber = checkpoint[1];
+        if (lineNumber < skipLineNums && position < objectSize) {
+            position = scanToLine(lineCheckpointIndex, objectSize, position, lineNumber, skipLineNums, rangeReader);
+            lineNumber = skipLineNums;
+        }
+        final long startLineNumber = lineNumber;
+        final long startPosition = position;
+        final LogLineScanner lineScanner = new LogLineScanner(skipLineNums - lineNumber, limit,
+                (scannedLineNumber, offset) -> lineCheckpointIndex.record(startLineNumber + scannedLineNumber,
+                        startPosition + offset));
+        while (!lineScanner.isFull() && position < objectSize) {
+            // Read to the end of the chunk, so the ranges of the different reads are aligned
+            final int readLength = (int) Math.min(CHUNK_SIZE - position % CHUNK_SIZE, objectSize - position);
+            final byte[] bytes = readRange(rangeReader, position, readLength);
+            lineScanner.scan(bytes, 0, bytes.length);
+            position += readLength;
+        }
+        return lineScanner.finish();
+    }
+
+    /**
+     * Stream the object from the given checkpoint to find where the target line starts, by one ranged request to the
+     * end of the object, the request is closed once the target line is found.
+     *
+     * @return the byte offset of the target line, or the object size if the object doesn't have the target line
+     */
+    private static long scanToLine(LineCheckpointIndex lineCheckpointIndex,
+                                   long objectSize,
+                                   long checkpointOffset,
+                                   long checkpointLineNumber,
+                                   long targetLineNumber,
+                                   ParallelObjectTransfer.RangeReader rangeReader) throws IOException {
+        final byte[] buffer = new byte[CHUNK_SIZE];
+        long position = checkpointOffset;
+        long lineNumber = checkpointLineNumber;
+        try (InputStream inputStream = rangeReader.read(checkpointOffset, objectSize - checkpointOffset)) {
+            int readLength;
+            while ((readLength = inputStream.read(buffer)) > 0) {
+                for (int i = 0; i < readLength; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    lineNumber++;
+                    lineCheckpointIndex.record(lineNumber, position + i + 1);
+                    if (lineNumber == targetLineNumber) {
+                        return position + i + 1;
+                    }
+                }
+                position += readLength;
+            }
+        }
+        if (position != objectSize) {
+            throw new IOException("The range [" + checkpointOffset + ", " + objectSize + ") is truncated at "
+                    + position);
+        }
+        return objectSize;
+    }
+
+    private static byte[] readRange(ParallelObjectTransfer.RangeReader rangeReader,
+                                    long offset,
+                                    int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        try (InputStream inputStream = rangeReader.read(offset, length)) {
+            final int readLength = ByteStreams.read(inputStream, bytes, 0, length);
+            if (readLength != length) {
+                throw new IOException("The range [" + offset + ", " + (offset + length) + ") is truncated, expect "
+                        + length + " bytes but got " + readLength + " bytes");
+            }
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api.transfer;
+
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The config of transferring a large object by parallel parts, see {@link ParallelObjectTransfer}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageTransferConfig {
+
+    public static final long DEFAULT_PART_SIZE = 16 * 1024 * 1024L;
+
+    /**
+     * Most of the object stores reject a multipart upload whose parts (except the last one) are smaller than 5MB.
+     */
+    public static final long MIN_PART_SIZE = 5 * 1024 * 1024L;
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The size of each part, the object which is not larger than it will be transferred by a single request.
+     */
+    private long partSize = DEFAULT_PART_SIZE;
+
+    /**
+     * The max number of parts of one object which are transferred at the same time, 1 means transfer the parts one
+     * by one.
+     */
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    public static StorageTransferConfig fromProperties() {
+        return new StorageTransferConfig(
+                PropertyUtils.getLong(StorageConstants.RESOURCE_STORAGE_TRANSFER_PART_SIZE, DEFAULT_PART_SIZE),
+                PropertyUtils.getInt(StorageConstants.RESOURCE_STORAGE_TRANSFER_PARALLELISM, DEFAULT_PARALLELISM));
+    }
+
+}
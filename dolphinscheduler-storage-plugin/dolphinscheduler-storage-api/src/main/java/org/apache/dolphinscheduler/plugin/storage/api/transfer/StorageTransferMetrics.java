@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api.transfer;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+@UtilityClass
+public class StorageTransferMetrics {
+
+    public static final String UPLOAD = "upload";
+
+    public static final String DOWNLOAD = "download";
+
+    private static final Map<String, Counter> transferBytesCounters = new ConcurrentHashMap<>();
+
+    private static final Map<String, Timer> transferDurationTimers = new ConcurrentHashMap<>();
+
+    private static final Map<String, DistributionSummary> transferThroughputSummaries = new ConcurrentHashMap<>();
+
+    /**
+     * Record a finished transfer of one object.
+     *
+     * @param storageType the storage which the object is transferred from/to
+     * @param direction   {@link #UPLOAD} or {@link #DOWNLOAD}
+     * @param bytes       the size of the object
+     * @param nanos       the time cost of the whole transfer
+     */
+    public static void recordTransfer(final StorageType storageType,
+                                      final String direction,
+                                      final long bytes,
+                                      final long nanos) {
+        final String key = storageType.getName() + "_" + direction;
+        transferBytesCounters.computeIfAbsent(key,
+                (k) -> Counter.builder("ds.storage.transfer.bytes")
+                        .tag("storage_type", storageType.getName())
+                        .tag("direction", direction)
+                        .baseUnit("bytes")
+                        .description("the bytes transferred between the worker/server and the storage")
+                        .register(Metrics.globalRegistry))
+                .increment(bytes);
+        transferDurationTimers.computeIfAbsent(key,
+                (k) -> Timer.builder("ds.storage.transfer.duration")
+                        .tag("storage_type", storageType.getName())
+                        .tag("direction", direction)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .description("time cost of transferring one object, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos <= 0) {
+            return;
+        }
+        transferThroughputSummaries.computeIfAbsent(key,
+                (k) -> DistributionSummary.builder("ds.storage.transfer.throughput")
+                        .tag("storage_type", storageType.getName())
+                        .tag("direction", direction)
+                        .baseUnit("bytes_per_second")
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("the throughput of transferring one object")
+                        .register(Metrics.globalRegistry))
+                .record(bytes * (double) TimeUnit.SECONDS.toNanos(1) / nanos);
+    }
+
+}
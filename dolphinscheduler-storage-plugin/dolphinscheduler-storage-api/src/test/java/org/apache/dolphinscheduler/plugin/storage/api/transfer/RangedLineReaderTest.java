@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.storage.api.transfer;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.log.LineCheckpointIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RangedLineReaderTest {
+
+    private final List<String> lines = IntStream.range(0, 50000)
+            .mapToObj(i -> "line-" + i)
+            .collect(Collectors.toList());
+
+    private final byte[] content = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+
+    private final List<long[]> requestedRanges = new ArrayList<>();
+
+    private LineCheckpointIndex lineCheckpointIndex;
+
+    @BeforeEach
+    void setUp() {
+        lineCheckpointIndex = new LineCheckpointIndex(RangedLineReader.LINES_PER_CHECKPOINT);
+    }
+
+    @Test
+    void testReadFarLinesByOneScan() throws IOException {
+        assertThat(readLines(content, 30000, 5)).isEqualTo(lines.subList(30000, 30005));
+
+        // One open-ended request scans from the beginning, then the returned lines are read by one chunk
+        assertThat(requestedRanges.get(0)).isEqualTo(new long[]{0, content.length});
+        assertThat(requestedRanges).hasSize(2);
+        assertThat(requestedRanges.get(1)[1]).isAtMost(RangedLineReader.CHUNK_SIZE);
+    }
+
+    @Test
+    void testReadFromCachedCheckpoints() throws IOException {
+        readLines(content, 30000, 5);
+        requestedRanges.clear();
+
+        // The checkpoint of the line 20000 is known, the returned lines are read by chunks directly
+        assertThat(readLines(content, 20000, 5)).isEqualTo(lines.subList(20000, 20005));
+        assertThat(requestedRanges).hasSize(1);
+        assertThat(requestedRanges.get(0)[1]).isAtMost(RangedLineReader.CHUNK_SIZE);
+
+        // Scan from the nearest checkpoint of the line 15000 rather than the beginning
+        requestedRanges.clear();
+        assertThat(readLines(content, 15500, 5)).isEqualTo(lines.subList(15500, 15505));
+        final long checkpointOffset = requestedRanges.get(0)[0];
+        assertThat(checkpointOffset).isEqualTo(lines.subList(0, 15000).stream().mapToInt(line -> line.length() + 1)
+                .sum());
+        assertThat(requestedRanges.get(0)[1]).isEqualTo(content.length - checkpointOffset);
+    }
+
+    @Test
+    void testReadLinesAcrossChunks() throws IOException {
+        final int skipLineNums = 25000;
+        final int limit = 20000;
+        assertThat(readLines(content, skipLineNums, limit))
+                .isEqualTo(lines.subList(skipLineNums, skipLineNums + limit));
+    }
+
+    @Test
+    void testReadLastLines() throws IOException {
+        final byte[] contentWithoutLastSeparator = "a\r\nb\r\nc".getBytes(StandardCharsets.UTF_8);
+        assertThat(readLines(contentWithoutLastSeparator, 1, 5)).containsExactly("b", "c").inOrder();
+
+        lineCheckpointIndex = new LineCheckpointIndex(RangedLineReader.LINES_PER_CHECKPOINT);
+        assertThat(readLines(contentWithoutLastSeparator, 3, 5)).isEmpty();
+
+        lineCheckpointIndex = new LineCheckpointIndex(RangedLineReader.LINES_PER_CHECKPOINT);
+        assertThat(readLines(content, lines.size(), 5)).isEmpty();
+    }
+
+    private List<String> readLines(byte[] objectContent, int skipLineNums, int limit) throws IOException {
+        return RangedLineReader.readLines(lineCheckpointIndex, objectContent.length, skipLineNums, limit,
+                (offset, length) -> {
+                    requestedRanges.add(new long[]{offset, length});
+                    return new ByteArrayInputStream(objectContent, (int) offset, (int) length);
+                });
+    }
+
+}
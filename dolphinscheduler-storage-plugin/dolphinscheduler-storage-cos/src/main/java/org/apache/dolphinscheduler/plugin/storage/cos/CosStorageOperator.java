@@ -22,25 +22,29 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.RangedLineReader;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferMetrics;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -77,13 +81,14 @@ public class CosStorageOperator extends AbstractStorageOperator implements Close
 
     private static final int TRANSFER_THREAD_POOL_SIZE = 16;
 
-    private static final long MULTIPART_UPLOAD_BYTES_THRESHOLD = 5 * 1024 * 1024L;
-    private static final long MIN_UPLOAD_PART_BYTES = 1024 * 1024L;
-
     private final String bucketName;
 
     private final COSClient cosClient;
 
+    private final long transferPartSize;
+
+    private final boolean multipartTransferEnabled;
+
     private final TransferManager cosTransferManager;
 
     public CosStorageOperator(CosStorageProperties cosStorageProperties) {
@@ -97,6 +102,11 @@ public class CosStorageOperator extends AbstractStorageOperator implements Close
         this.cosClient = new COSClient(cosCredentials, clientConfig);
         this.bucketName = cosStorageProperties.getBucketName();
         ensureBucketSuccessfullyCreated(bucketName);
+        StorageTransferConfig storageTransferConfig = Optional
+                .ofNullable(cosStorageProperties.getStorageTransferConfig())
+                .orElseGet(StorageTransferConfig::new);
+        this.transferPartSize = Math.max(storageTransferConfig.getPartSize(), StorageTransferConfig.MIN_PART_SIZE);
+        this.multipartTransferEnabled = storageTransferConfig.getParallelism() > 1;
         this.cosTransferManager = getCosTransferManager();
     }
 
@@ -151,9 +161,17 @@ public class CosStorageOperator extends AbstractStorageOperator implements Close
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
 
+        long startNanos = System.nanoTime();
         GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, cosKey);
-        Download download = cosTransferManager.download(getObjectRequest, dstFile);
+        // The transfer manager only downloads the ranges of a large object in parallel in the resumable mode
+        Download download = multipartTransferEnabled
+                ? cosTransferManager.download(getObjectRequest, dstFile, true, null,
+                        (int) Math.min(transferPartSize, Integer.MAX_VALUE),
+                        (int) Math.min(transferPartSize, Integer.MAX_VALUE))
+                : cosTransferManager.download(getObjectRequest, dstFile);
         download.waitForCompletion();
+        StorageTransferMetrics.recordTransfer(StorageType.COS, StorageTransferMetrics.DOWNLOAD, dstFile.length(),
+                System.nanoTime() - startNanos);
     }
 
     @Override
@@ -195,9 +213,13 @@ public class CosStorageOperator extends AbstractStorageOperator implements Close
             }
         }
 
-        PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, dstPath, new File(srcFile));
+        long startNanos = System.nanoTime();
+        File localFile = new File(srcFile);
+        PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, dstPath, localFile);
         Upload upload = cosTransferManager.upload(putObjectRequest);
         UploadResult uploadResult = upload.waitForUploadResult();
+        StorageTransferMetrics.recordTransfer(StorageType.COS, StorageTransferMetrics.UPLOAD, localFile.length(),
+                System.nanoTime() - startNanos);
         if (uploadResult != null && deleteSource) {
             Files.delete(Paths.get(srcFile));
         }
@@ -207,17 +229,24 @@ public class CosStorageOperator extends AbstractStorageOperator implements Close
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
         String cosKey = transformAbsolutePathToCOSKey(filePath);
+        ObjectMetadata objectMetadata = cosClient.getObjectMetadata(bucketName, cosKey);
+        return RangedLineReader.readLines(cosKey, objectMetadata.getETag(), objectMetadata.getContentLength(),
+                skipLineNums, limit, (offset, length) -> openRange(cosKey, objectMetadata.getETag(), offset, length));
+    }
 
-        COSObject cosObject = cosClient.getObject(bucketName, cosKey);
-        try (
-                InputStreamReader inputStreamReader = new InputStreamReader(cosObject.getObjectContent());
-                BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
-            return bufferedReader
-                    .lines()
-                    .skip(skipLineNums)
-                    .limit(limit)
-                    .collect(Collectors.toList());
+    /**
+     * Open the given byte range of the object, the ETag is pinned so that the ranges cannot come from different
+     * versions of the object.
+     */
+    private InputStream openRange(String cosKey, String eTag, long offset, long length) throws IOException {
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, cosKey);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+        COSObject rangeObject = cosClient.getObject(getObjectRequest);
+        if (rangeObject == null) {
+            throw new IOException("The object " + cosKey + " has been changed during reading");
         }
+        return rangeObject.getObjectContent();
     }
 
     @Override
@@ -280,6 +309,12 @@ public class CosStorageOperator extends AbstractStorageOperator implements Close
         return transformCOSObjectToStorageEntity(object);
     }
 
+    @Override
+    public String getResourceVersion(String resourceAbsolutePath) {
+        String cosKey = transformAbsolutePathToCOSKey(resourceAbsolutePath);
+        return cosClient.getObjectMetadata(bucketName, cosKey).getETag();
+    }
+
     public void ensureBucketSuccessfullyCreated(String bucketName) {
         if (StringUtils.isBlank(bucketName)) {
             throw new IllegalArgumentException(CosStorageConstants.TENCENT_CLOUD_COS_BUCKET_NAME + " is empty");
@@ -331,8 +366,9 @@ public class CosStorageOperator extends AbstractStorageOperator implements Close
         ExecutorService threadPool = Executors.newFixedThreadPool(TRANSFER_THREAD_POOL_SIZE);
         TransferManager transferManager = new TransferManager(cosClient, threadPool);
         TransferManagerConfiguration transferManagerConfiguration = new TransferManagerConfiguration();
-        transferManagerConfiguration.setMultipartUploadThreshold(MULTIPART_UPLOAD_BYTES_THRESHOLD);
-        transferManagerConfiguration.setMinimumUploadPartSize(MIN_UPLOAD_PART_BYTES);
+        transferManagerConfiguration
+                .setMultipartUploadThreshold(multipartTransferEnabled ? transferPartSize : Long.MAX_VALUE);
+        transferManagerConfiguration.setMinimumUploadPartSize(transferPartSize);
         transferManager.setConfiguration(transferManagerConfiguration);
         return transferManager;
     }
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperatorFactory;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
 
 import java.util.Map;
 
@@ -54,6 +55,7 @@ public class CosStorageOperatorFactory implements StorageOperatorFactory {
                 .resourceUploadPath(
                         cosPropertiesMap.getOrDefault(StorageConstants.RESOURCE_UPLOAD_PATH,
                                 CosStorageConstants.DEFAULT_COS_RESOURCE_UPLOAD_PATH))
+                .storageTransferConfig(StorageTransferConfig.fromProperties())
                 .build();
     }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.plugin.storage.cos;
 
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -37,4 +39,9 @@ public class CosStorageProperties {
     private String bucketName;
 
     private String resourceUploadPath;
+
+    /**
+     * The config of transferring large objects by parallel parts, use the default config if it's null.
+     */
+    private StorageTransferConfig storageTransferConfig;
 }
@@ -24,16 +24,20 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.ParallelObjectTransfer;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.RangedLineReader;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferMetrics;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
@@ -45,15 +49,15 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.api.gax.paging.Page;
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -68,6 +72,8 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
 
     private final String bucketName;
 
+    private final ParallelObjectTransfer parallelObjectTransfer;
+
     @SneakyThrows
     public GcsStorageOperator(GcsStorageProperties gcsStorageProperties) {
         super(gcsStorageProperties.getResourceUploadPath());
@@ -79,6 +85,9 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
                 .getService();
 
         checkBucketNameExists(bucketName);
+        parallelObjectTransfer = new ParallelObjectTransfer(StorageType.GCS,
+                Optional.ofNullable(gcsStorageProperties.getStorageTransferConfig())
+                        .orElseGet(StorageTransferConfig::new));
     }
 
     @Override
@@ -116,7 +125,16 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
         }
 
         Blob blob = gcsStorage.get(BlobId.of(bucketName, srcFilePath));
+        if (parallelObjectTransfer.isMultipart(blob.getSize())) {
+            BlobId blobId = BlobId.of(bucketName, srcFilePath, blob.getGeneration());
+            parallelObjectTransfer.download(blob.getSize(), dstFile,
+                    (offset, length) -> openRange(blobId, offset, length));
+            return;
+        }
+        long startNanos = System.nanoTime();
         blob.downloadTo(Paths.get(dstFilePath));
+        StorageTransferMetrics.recordTransfer(StorageType.GCS, StorageTransferMetrics.DOWNLOAD, blob.getSize(),
+                System.nanoTime() - startNanos);
     }
 
     @Override
@@ -164,8 +182,14 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
         BlobInfo blobInfo = BlobInfo.newBuilder(
                 BlobId.of(bucketName, dstPath)).build();
 
+        // Stream the file by the resumable upload instead of loading the whole file into memory, GCS has no
+        // multipart upload, so the part size is used as the chunk size of each request
+        long startNanos = System.nanoTime();
         Path srcPath = Paths.get(srcFile);
-        gcsStorage.create(blobInfo, Files.readAllBytes(srcPath));
+        gcsStorage.createFrom(blobInfo, srcPath,
+                (int) Math.min(parallelObjectTransfer.getPartSize(), Integer.MAX_VALUE));
+        StorageTransferMetrics.recordTransfer(StorageType.GCS, StorageTransferMetrics.UPLOAD, Files.size(srcPath),
+                System.nanoTime() - startNanos);
 
         if (deleteSource) {
             Files.delete(srcPath);
@@ -182,17 +206,28 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
         }
 
         Blob blob = gcsStorage.get(BlobId.of(bucketName, filePath));
-        try (
-                BufferedReader bufferedReader =
-                        new BufferedReader(new InputStreamReader(new ByteArrayInputStream(blob.getContent())))) {
-            Stream<String> stream = bufferedReader.lines().skip(skipLineNums).limit(limit);
-            return stream.collect(Collectors.toList());
-        }
+        BlobId blobId = BlobId.of(bucketName, filePath, blob.getGeneration());
+        return RangedLineReader.readLines(filePath, String.valueOf(blob.getGeneration()), blob.getSize(),
+                skipLineNums, limit, (offset, length) -> openRange(blobId, offset, length));
+    }
+
+    /**
+     * Open the given byte range of the blob, the blob id should carry the generation so that the ranges cannot come
+     * from different versions of the blob.
+     */
+    private InputStream openRange(BlobId blobId, long offset, long length) throws IOException {
+        ReadChannel readChannel = gcsStorage.reader(blobId);
+        readChannel.seek(offset);
+        readChannel.limit(offset + length);
+        return Channels.newInputStream(readChannel);
     }
 
     @SneakyThrows
     @Override
     public void close() throws IOException {
+        if (parallelObjectTransfer != null) {
+            parallelObjectTransfer.close();
+        }
         if (gcsStorage != null) {
             gcsStorage.close();
         }
@@ -241,6 +276,16 @@ public class GcsStorageOperator extends AbstractStorageOperator implements Close
         return transformBlobToStorageEntity(blob);
     }
 
+    @Override
+    public String getResourceVersion(String resourceAbsolutePath) {
+        String gcsKey = transformAbsolutePathToGcsKey(resourceAbsolutePath);
+        Blob blob = gcsStorage.get(BlobId.of(bucketName, gcsKey));
+        if (blob == null || blob.getGeneration() == null) {
+            return null;
+        }
+        return String.valueOf(blob.getGeneration());
+    }
+
     private void checkBucketNameExists(String bucketName) {
         if (StringUtils.isBlank(bucketName)) {
             throw new IllegalArgumentException(StorageConstants.GOOGLE_CLOUD_STORAGE_BUCKET_NAME + " is blank");
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperatorFactory;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
 
 import com.google.auto.service.AutoService;
 
@@ -39,6 +40,7 @@ public class GcsStorageOperatorFactory implements StorageOperatorFactory {
                 .resourceUploadPath(PropertyUtils.getString(StorageConstants.RESOURCE_UPLOAD_PATH, "/dolphinscheduler"))
                 .credential(PropertyUtils.getString(StorageConstants.GOOGLE_CLOUD_STORAGE_CREDENTIAL))
                 .bucketName(PropertyUtils.getString(StorageConstants.GOOGLE_CLOUD_STORAGE_BUCKET_NAME))
+                .storageTransferConfig(StorageTransferConfig.fromProperties())
                 .build();
     }
 
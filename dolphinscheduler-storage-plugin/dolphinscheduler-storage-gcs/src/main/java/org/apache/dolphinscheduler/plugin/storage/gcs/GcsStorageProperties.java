@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.plugin.storage.gcs;
 
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,4 +35,9 @@ public class GcsStorageProperties {
     private String credential;
 
     private String resourceUploadPath;
+
+    /**
+     * The config of transferring large objects by parallel parts, use the default config if it's null.
+     */
+    private StorageTransferConfig storageTransferConfig;
 }
@@ -252,6 +252,14 @@ public class HdfsStorageOperator extends AbstractStorageOperator implements Clos
         return transformFileStatusToResourceMetadata(fileStatus);
     }
 
+    @SneakyThrows
+    @Override
+    public String getResourceVersion(String resourceAbsolutePath) {
+        exceptionIfPathEmpty(resourceAbsolutePath);
+        FileStatus fileStatus = fs.getFileStatus(new Path(resourceAbsolutePath));
+        return fileStatus.getLen() + "-" + fileStatus.getModificationTime();
+    }
+
     @Override
     public void close() throws IOException {
         if (fs != null) {
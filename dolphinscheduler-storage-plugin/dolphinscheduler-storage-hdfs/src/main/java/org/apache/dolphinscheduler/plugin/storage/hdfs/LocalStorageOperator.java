@@ -17,8 +17,37 @@
 
 package org.apache.dolphinscheduler.plugin.storage.hdfs;
 
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The storage operator of the local file system.
+ * <p>
+ * The regular files are copied/uploaded/downloaded by the file system directly rather than streamed through the
+ * hadoop {@code LocalFileSystem}: a move is a rename, a copy between the storage files inside the same file system is a
+ * hard link and the other transfers use {@link FileChannel#transferTo}, which is zero-copy on most platforms. The
+ * destination is always written into a temporary sibling and then renamed atomically, so readers never see a partial
+ * file. The directories are copied and uploaded file by file in the same way, so a file in the storage is never
+ * modified in place, which may be shared with another storage file by a hard link. Only the missing sources fall back
+ * to the hadoop implementation, which reports the error.
+ */
 @Slf4j
 public class LocalStorageOperator extends HdfsStorageOperator {
 
@@ -26,4 +55,196 @@ public class LocalStorageOperator extends HdfsStorageOperator {
         super(hdfsStorageProperties);
     }
 
+    @SneakyThrows
+    @Override
+    public void download(String srcFilePath, String dstFile, boolean overwrite) {
+        Path srcPath = toLocalPath(srcFilePath);
+        Path dstPath = toLocalPath(dstFile);
+        if (!Files.isRegularFile(srcPath) || Files.isDirectory(dstPath)) {
+            super.download(srcFilePath, dstFile, overwrite);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        // Never link the downloaded file to the storage, the caller may change the permission of it or hand it
+        // over to the task, which should not affect the file in the storage.
+        transferFile(srcPath, dstPath, false, true, false);
+        StorageTransferMetrics.recordTransfer(StorageType.LOCAL, StorageTransferMetrics.DOWNLOAD,
+                Files.size(dstPath), System.nanoTime() - startNanos);
+    }
+
+    @SneakyThrows
+    @Override
+    public void copy(String srcPath, String dstPath, boolean deleteSource, boolean overwrite) {
+        Path srcLocalPath = toLocalPath(srcPath);
+        if (!Files.exists(srcLocalPath)) {
+            super.copy(srcPath, dstPath, deleteSource, overwrite);
+            return;
+        }
+        // Both of them are storage files, which are never modified in place, so they can share the content
+        transfer(srcLocalPath, toLocalPath(dstPath), deleteSource, overwrite, true);
+    }
+
+    @SneakyThrows
+    @Override
+    public void upload(String srcAbsoluteFilePath,
+                       String dstAbsoluteFilePath,
+                       boolean deleteSource,
+                       boolean overwrite) {
+        Path srcPath = toLocalPath(srcAbsoluteFilePath);
+        if (!Files.exists(srcPath)) {
+            super.upload(srcAbsoluteFilePath, dstAbsoluteFilePath, deleteSource, overwrite);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        long size = Files.isRegularFile(srcPath) ? Files.size(srcPath) : 0;
+        // Never link the uploaded file into the storage, the source is still writable by the task after uploading
+        transfer(srcPath, toLocalPath(dstAbsoluteFilePath), deleteSource, overwrite, false);
+        StorageTransferMetrics.recordTransfer(StorageType.LOCAL, StorageTransferMetrics.UPLOAD, size,
+                System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Transfer the file or the directory into the storage, the source is put under the destination if the destination
+     * is an existing directory, the same as the hadoop {@code FileUtil#copy}.
+     */
+    private void transfer(Path srcPath,
+                          Path dstPath,
+                          boolean deleteSource,
+                          boolean overwrite,
+                          boolean linkAllowed) throws IOException {
+        if (Files.isDirectory(dstPath)) {
+            dstPath = dstPath.resolve(srcPath.getFileName().toString());
+        }
+        if (!Files.isDirectory(srcPath)) {
+            transferFile(srcPath, dstPath, deleteSource, overwrite, linkAllowed);
+            return;
+        }
+        // Moving a whole directory is a single rename when the destination does not exist
+        if (deleteSource && !Files.exists(dstPath) && tryRename(srcPath, dstPath)) {
+            return;
+        }
+        transferDirectory(srcPath, dstPath, deleteSource, overwrite, linkAllowed);
+    }
+
+    private void transferDirectory(Path srcPath,
+                                   Path dstPath,
+                                   boolean deleteSource,
+                                   boolean overwrite,
+                                   boolean linkAllowed) throws IOException {
+        if (!overwrite && Files.exists(dstPath)) {
+            throw new FileAlreadyExistsException("Directory: " + dstPath + " already exists");
+        }
+        try (Stream<Path> paths = Files.walk(srcPath)) {
+            Iterator<Path> iterator = paths.iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                Path target = dstPath.resolve(srcPath.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target);
+                } else if (!isChecksumFile(path)) {
+                    transferFile(path, target, false, overwrite, linkAllowed);
+                }
+            }
+        }
+        if (deleteSource) {
+            try (Stream<Path> paths = Files.walk(srcPath)) {
+                Iterator<Path> iterator = paths.sorted(Comparator.reverseOrder()).iterator();
+                while (iterator.hasNext()) {
+                    Files.delete(iterator.next());
+                }
+            }
+        }
+    }
+
+    /**
+     * Transfer the regular file, the fastest available way is used:
+     * <ol>
+     *     <li>rename the source if it will be deleted</li>
+     *     <li>hard link the source if it is allowed and the destination is in the same file system</li>
+     *     <li>copy the content by {@link FileChannel#transferTo}</li>
+     * </ol>
+     * An overwrite always replaces the file by an atomic rename rather than writing it in place, so it's safe to share
+     * the content of two storage files by a hard link.
+     */
+    private void transferFile(Path srcPath,
+                              Path dstPath,
+                              boolean deleteSource,
+                              boolean overwrite,
+                              boolean linkAllowed) throws IOException {
+        if (!overwrite && Files.exists(dstPath)) {
+            throw new FileAlreadyExistsException("File: " + dstPath + " already exists");
+        }
+        Files.createDirectories(dstPath.getParent());
+        if (deleteSource && tryRename(srcPath, dstPath)) {
+            deleteChecksumFile(srcPath);
+            deleteChecksumFile(dstPath);
+            return;
+        }
+
+        Path tmpPath = dstPath.resolveSibling("." + dstPath.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            if (!linkAllowed || !tryLink(srcPath, tmpPath)) {
+                transferContent(srcPath, tmpPath);
+            }
+            Files.move(tmpPath, dstPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+        deleteChecksumFile(dstPath);
+        if (deleteSource) {
+            Files.delete(srcPath);
+            deleteChecksumFile(srcPath);
+        }
+    }
+
+    private boolean tryRename(Path srcPath, Path dstPath) throws IOException {
+        try {
+            Files.move(srcPath, dstPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (AtomicMoveNotSupportedException ex) {
+            log.debug("Cannot rename: {} to {}, they are not in the same file system", srcPath, dstPath);
+            return false;
+        }
+    }
+
+    private boolean tryLink(Path srcPath, Path linkPath) {
+        try {
+            Files.createLink(linkPath, srcPath);
+            return true;
+        } catch (IOException | UnsupportedOperationException | SecurityException ex) {
+            log.debug("Cannot link: {} to {}, will copy it", srcPath, linkPath, ex);
+            return false;
+        }
+    }
+
+    private void transferContent(Path srcPath, Path dstPath) throws IOException {
+        try (
+                FileChannel srcChannel = FileChannel.open(srcPath, StandardOpenOption.READ);
+                FileChannel dstChannel =
+                        FileChannel.open(dstPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = srcChannel.size();
+            long position = 0;
+            while (position < size) {
+                position += srcChannel.transferTo(position, size - position, dstChannel);
+            }
+        }
+    }
+
+    /**
+     * The hadoop {@code LocalFileSystem} verifies the file by the checksum file beside it if it exists, which
+     * becomes stale once the file is replaced here.
+     */
+    private void deleteChecksumFile(Path path) throws IOException {
+        Files.deleteIfExists(path.resolveSibling("." + path.getFileName() + ".crc"));
+    }
+
+    private static boolean isChecksumFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(".") && fileName.endsWith(".crc");
+    }
+
+    private static Path toLocalPath(String path) {
+        return new File(new org.apache.hadoop.fs.Path(path).toUri().getPath()).toPath();
+    }
+
 }
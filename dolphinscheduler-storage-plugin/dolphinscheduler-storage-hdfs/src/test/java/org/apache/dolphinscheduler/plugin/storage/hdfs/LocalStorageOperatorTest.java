@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
@@ -241,6 +242,131 @@ class LocalStorageOperatorTest {
 
     }
 
+    @SneakyThrows
+    @Test
+    public void testUpload_file() {
+        Path srcFile = Paths.get(resourceBaseDir, "upload.sql");
+        Files.write(srcFile, "select * from upload".getBytes());
+        String resourceFileAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory", "upload.sql");
+
+        storageOperator.upload(srcFile.toString(), resourceFileAbsolutePath, true, false);
+        assertThat(Files.exists(srcFile)).isFalse();
+        assertThat(storageOperator.fetchFileContent(resourceFileAbsolutePath, 0, 10))
+                .containsExactly("select * from upload");
+    }
+
+    @SneakyThrows
+    @Test
+    public void testUpload_fileExist() {
+        Path srcFile = Paths.get(resourceBaseDir, "demo.sql");
+        Files.write(srcFile, "select * from upload".getBytes());
+        String resourceFileAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory", "demo.sql");
+
+        assertThrows(FileAlreadyExistsException.class,
+                () -> storageOperator.upload(srcFile.toString(), resourceFileAbsolutePath, false, false));
+
+        storageOperator.upload(srcFile.toString(), resourceFileAbsolutePath, false, true);
+        assertThat(Files.exists(srcFile)).isTrue();
+        assertThat(storageOperator.fetchFileContent(resourceFileAbsolutePath, 0, 10))
+                .containsExactly("select * from upload");
+    }
+
+    @SneakyThrows
+    @Test
+    public void testUpload_fileNotLinked() {
+        Path srcFile = Paths.get(resourceBaseDir, "upload.sql");
+        Files.write(srcFile, "select * from upload".getBytes());
+        String resourceFileAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory", "upload.sql");
+
+        storageOperator.upload(srcFile.toString(), resourceFileAbsolutePath, false, false);
+        // The task may still write the uploaded file, which should not affect the file in the storage
+        Files.write(srcFile, "select * from task".getBytes());
+        assertThat(storageOperator.fetchFileContent(resourceFileAbsolutePath, 0, 10))
+                .containsExactly("select * from upload");
+    }
+
+    @SneakyThrows
+    @Test
+    public void testUpload_directoryIntoDirectory() {
+        Path srcDirectory = Paths.get(resourceBaseDir, "output");
+        Files.createDirectories(srcDirectory.resolve("sub"));
+        Files.write(srcDirectory.resolve("sub").resolve("a.sql"), "select a".getBytes());
+        String dstDirectoryAbsolutePath = "file:" + Paths.get(baseDir, "emptyDirectory");
+
+        storageOperator.upload(srcDirectory.toString(), dstDirectoryAbsolutePath, false, false);
+        assertThat(storageOperator.fetchFileContent(dstDirectoryAbsolutePath + "/output/sub/a.sql", 0, 10))
+                .containsExactly("select a");
+        assertThat(Files.exists(srcDirectory)).isTrue();
+        assertThrows(FileAlreadyExistsException.class,
+                () -> storageOperator.upload(srcDirectory.toString(), dstDirectoryAbsolutePath, false, false));
+    }
+
+    @SneakyThrows
+    @Test
+    public void testCopy_fileIntoDirectoryNotModifyLinkedFile() {
+        String srcFileAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory", "demo.sql");
+        String linkedFileAbsolutePath = "file:" + Paths.get(baseDir, "emptyDirectory", "demo.sql");
+        storageOperator.copy(srcFileAbsolutePath, linkedFileAbsolutePath, false, false);
+
+        // Overwrite the source by copying another file into its directory
+        Path otherFile = Paths.get(baseDir, "other", "demo.sql");
+        Files.createDirectories(otherFile.getParent());
+        Files.write(otherFile, "select * from other".getBytes());
+        storageOperator.copy("file:" + otherFile, "file:" + Paths.get(baseDir, "sqlDirectory"), false, true);
+
+        assertThat(storageOperator.fetchFileContent(srcFileAbsolutePath, 0, 10))
+                .containsExactly("select * from other");
+        assertThat(storageOperator.fetchFileContent(linkedFileAbsolutePath, 0, 10))
+                .containsExactly("select * from demo");
+    }
+
+    @Test
+    public void testCopy_directory() {
+        String srcDirectoryAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory");
+        String dstDirectoryAbsolutePath = "file:" + Paths.get(baseDir, "copiedDirectory");
+
+        storageOperator.copy(srcDirectoryAbsolutePath, dstDirectoryAbsolutePath, false, false);
+        assertThat(storageOperator.exists(srcDirectoryAbsolutePath)).isTrue();
+        assertThat(storageOperator.fetchFileContent(dstDirectoryAbsolutePath + "/demo.sql", 0, 10))
+                .containsExactly("select * from demo");
+    }
+
+    @Test
+    public void testCopy_file() {
+        String srcFileAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory", "demo.sql");
+        String dstFileAbsolutePath = "file:" + Paths.get(baseDir, "emptyDirectory", "demo.sql");
+
+        storageOperator.copy(srcFileAbsolutePath, dstFileAbsolutePath, false, false);
+        assertThat(storageOperator.exists(srcFileAbsolutePath)).isTrue();
+        assertThat(storageOperator.fetchFileContent(dstFileAbsolutePath, 0, 10))
+                .containsExactly("select * from demo");
+    }
+
+    @Test
+    public void testCopy_directoryWithDeleteSource() {
+        String srcDirectoryAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory");
+        String dstDirectoryAbsolutePath = "file:" + Paths.get(baseDir, "movedDirectory");
+
+        storageOperator.copy(srcDirectoryAbsolutePath, dstDirectoryAbsolutePath, true, true);
+        assertThat(storageOperator.exists(srcDirectoryAbsolutePath)).isFalse();
+        assertThat(storageOperator.fetchFileContent(dstDirectoryAbsolutePath + "/demo.sql", 0, 10))
+                .containsExactly("select * from demo");
+    }
+
+    @SneakyThrows
+    @Test
+    public void testDownload_file() {
+        String resourceFileAbsolutePath = "file:" + Paths.get(baseDir, "sqlDirectory", "demo.sql");
+        Path dstFile = Paths.get(resourceBaseDir, "download", "demo.sql");
+
+        storageOperator.download(resourceFileAbsolutePath, dstFile.toString(), true);
+        assertThat(Files.readAllLines(dstFile)).containsExactly("select * from demo");
+        // The downloaded file should not share the content with the file in the storage
+        Files.write(dstFile, "select * from download".getBytes());
+        assertThat(storageOperator.fetchFileContent(resourceFileAbsolutePath, 0, 10))
+                .containsExactly("select * from demo");
+    }
+
     @Test
     public void testListStorageEntity_directoryNotEmpty() {
         String resourceFileAbsolutePath = "file:" + baseDir;
@@ -22,18 +22,21 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.ParallelObjectTransfer;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.RangedLineReader;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferMetrics;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -41,6 +44,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -49,11 +53,18 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.obs.services.ObsClient;
 import com.obs.services.exception.ObsException;
+import com.obs.services.model.AbortMultipartUploadRequest;
+import com.obs.services.model.CompleteMultipartUploadRequest;
+import com.obs.services.model.GetObjectRequest;
+import com.obs.services.model.InitiateMultipartUploadRequest;
 import com.obs.services.model.ListObjectsRequest;
 import com.obs.services.model.ObjectListing;
 import com.obs.services.model.ObjectMetadata;
 import com.obs.services.model.ObsObject;
+import com.obs.services.model.PartEtag;
 import com.obs.services.model.PutObjectRequest;
+import com.obs.services.model.UploadPartRequest;
+import com.obs.services.model.UploadPartResult;
 
 @Slf4j
 public class ObsStorageOperator extends AbstractStorageOperator implements Closeable, StorageOperator {
@@ -62,6 +73,8 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
 
     private final ObsClient obsClient;
 
+    private final ParallelObjectTransfer parallelObjectTransfer;
+
     public ObsStorageOperator(ObsStorageProperties obsStorageProperties) {
         super(obsStorageProperties.getResourceUploadPath());
         this.bucketName = obsStorageProperties.getBucketName();
@@ -70,10 +83,14 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
                 obsStorageProperties.getAccessKeySecret(),
                 obsStorageProperties.getEndPoint());
         ensureBucketSuccessfullyCreated(bucketName);
+        this.parallelObjectTransfer = new ParallelObjectTransfer(StorageType.OBS,
+                Optional.ofNullable(obsStorageProperties.getStorageTransferConfig())
+                        .orElseGet(StorageTransferConfig::new));
     }
 
     @Override
     public void close() throws IOException {
+        parallelObjectTransfer.close();
         obsClient.close();
     }
 
@@ -113,16 +130,27 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
         } else {
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
+        ObjectMetadata objectMetadata = obsClient.getObjectMetadata(bucketName, srcFilePath);
+        long objectSize = objectMetadata.getContentLength();
+        if (parallelObjectTransfer.isMultipart(objectSize)) {
+            String obsKey = srcFilePath;
+            parallelObjectTransfer.download(objectSize, dstFile,
+                    (offset, length) -> openRange(obsKey, objectMetadata.getEtag(), offset, length));
+            return;
+        }
+        long startNanos = System.nanoTime();
         ObsObject obsObject = obsClient.getObject(bucketName, srcFilePath);
         try (
                 InputStream obsInputStream = obsObject.getObjectContent();
                 FileOutputStream fos = new FileOutputStream(dstFilePath)) {
-            byte[] readBuf = new byte[1024];
+            byte[] readBuf = new byte[8192];
             int readLen;
             while ((readLen = obsInputStream.read(readBuf)) > 0) {
                 fos.write(readBuf, 0, readLen);
             }
         }
+        StorageTransferMetrics.recordTransfer(StorageType.OBS, StorageTransferMetrics.DOWNLOAD, objectSize,
+                System.nanoTime() - startNanos);
     }
 
     @Override
@@ -158,27 +186,71 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
                 obsClient.deleteObject(bucketName, dstPath);
             }
         }
-        obsClient.putObject(bucketName, dstPath, new File(srcFile));
+        File localFile = new File(srcFile);
+        if (parallelObjectTransfer.isMultipart(localFile.length())) {
+            multipartUpload(localFile, dstPath);
+        } else {
+            long startNanos = System.nanoTime();
+            obsClient.putObject(bucketName, dstPath, localFile);
+            StorageTransferMetrics.recordTransfer(StorageType.OBS, StorageTransferMetrics.UPLOAD, localFile.length(),
+                    System.nanoTime() - startNanos);
+        }
         if (deleteSource) {
             Files.delete(Paths.get(srcFile));
         }
 
     }
 
+    private void multipartUpload(File localFile, String obsKey) throws IOException {
+        String uploadId = obsClient
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, obsKey))
+                .getUploadId();
+        try {
+            List<PartEtag> partEtags = parallelObjectTransfer.upload(localFile, (partNumber, offset, length) -> {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, obsKey);
+                uploadPartRequest.setUploadId(uploadId);
+                uploadPartRequest.setPartNumber(partNumber);
+                uploadPartRequest.setFile(localFile);
+                uploadPartRequest.setOffset(offset);
+                uploadPartRequest.setPartSize(length);
+                UploadPartResult uploadPartResult = obsClient.uploadPart(uploadPartRequest);
+                return new PartEtag(uploadPartResult.getEtag(), uploadPartResult.getPartNumber());
+            });
+            obsClient.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, obsKey, uploadId, partEtags));
+        } catch (IOException | RuntimeException ex) {
+            abortMultipartUpload(obsKey, uploadId);
+            throw ex;
+        }
+    }
+
+    private void abortMultipartUpload(String obsKey, String uploadId) {
+        try {
+            obsClient.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, obsKey, uploadId));
+        } catch (Exception ex) {
+            log.warn("Abort the multipart upload: {} of {} failed", uploadId, obsKey, ex);
+        }
+    }
+
     @SneakyThrows
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
-        filePath = transformAbsolutePathToObsKey(filePath);
-        ObsObject obsObject = obsClient.getObject(bucketName, filePath);
-        try (
-                InputStreamReader inputStreamReader = new InputStreamReader(obsObject.getObjectContent());
-                BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
-            return bufferedReader
-                    .lines()
-                    .skip(skipLineNums)
-                    .limit(limit)
-                    .collect(Collectors.toList());
-        }
+        String obsKey = transformAbsolutePathToObsKey(filePath);
+        ObjectMetadata objectMetadata = obsClient.getObjectMetadata(bucketName, obsKey);
+        return RangedLineReader.readLines(obsKey, objectMetadata.getEtag(), objectMetadata.getContentLength(),
+                skipLineNums, limit, (offset, length) -> openRange(obsKey, objectMetadata.getEtag(), offset, length));
+    }
+
+    /**
+     * Open the given byte range of the object, the ETag is pinned so that the ranges cannot come from different
+     * versions of the object.
+     */
+    private InputStream openRange(String obsKey, String eTag, long offset, long length) {
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, obsKey);
+        getObjectRequest.setRangeStart(offset);
+        getObjectRequest.setRangeEnd(offset + length - 1);
+        getObjectRequest.setIfMatchTag(eTag);
+        return obsClient.getObject(getObjectRequest).getObjectContent();
     }
 
     @Override
@@ -233,6 +305,12 @@ public class ObsStorageOperator extends AbstractStorageOperator implements Close
         return transformObsObjectToStorageEntity(object);
     }
 
+    @Override
+    public String getResourceVersion(String resourceAbsolutePath) {
+        String obsKey = transformAbsolutePathToObsKey(resourceAbsolutePath);
+        return obsClient.getObjectMetadata(bucketName, obsKey).getEtag();
+    }
+
     public void ensureBucketSuccessfullyCreated(String bucketName) {
         if (StringUtils.isBlank(bucketName)) {
             throw new IllegalArgumentException("resource.alibaba.cloud.obs.bucket.name is empty");
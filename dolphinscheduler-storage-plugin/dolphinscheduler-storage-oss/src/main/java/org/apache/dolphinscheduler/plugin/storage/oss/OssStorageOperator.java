@@ -23,11 +23,15 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.ParallelObjectTransfer;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.RangedLineReader;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferMetrics;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
@@ -35,11 +39,11 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -51,13 +55,18 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
 import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
 import com.aliyun.oss.model.ListObjectsV2Request;
 import com.aliyun.oss.model.ListObjectsV2Result;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.OSSObjectSummary;
 import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
 import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.UploadPartRequest;
 
 @Slf4j
 public class OssStorageOperator extends AbstractStorageOperator implements Closeable, StorageOperator {
@@ -76,6 +85,8 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
 
     private OSS ossClient;
 
+    private ParallelObjectTransfer parallelObjectTransfer;
+
     public OssStorageOperator(String resourceBaseAbsolutePath) {
         super(resourceBaseAbsolutePath);
     }
@@ -88,6 +99,7 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         this.bucketName = readOssBucketName();
         this.ossConnection = buildOssConnection();
         this.ossClient = buildOssClient();
+        this.parallelObjectTransfer = new ParallelObjectTransfer(StorageType.OSS, readStorageTransferConfig());
         ensureBucketSuccessfullyCreated(bucketName);
     }
 
@@ -100,6 +112,7 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         this.bucketName = readOssBucketName();
         this.ossConnection = ossConnection;
         this.ossClient = buildOssClient();
+        this.parallelObjectTransfer = new ParallelObjectTransfer(StorageType.OSS, readStorageTransferConfig());
         ensureBucketSuccessfullyCreated(bucketName);
     }
 
@@ -123,6 +136,10 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         return PropertyUtils.getString(StorageConstants.ALIBABA_CLOUD_OSS_END_POINT);
     }
 
+    protected StorageTransferConfig readStorageTransferConfig() {
+        return StorageTransferConfig.fromProperties();
+    }
+
     protected OssConnection buildOssConnection() {
         return new OssConnection(accessKeyId, accessKeySecret, endPoint);
     }
@@ -140,6 +157,9 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
 
     @Override
     public void close() throws IOException {
+        if (parallelObjectTransfer != null) {
+            parallelObjectTransfer.close();
+        }
         ossClient.shutdown();
     }
 
@@ -171,15 +191,28 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         } else {
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
-        OSSObject ossObject = ossClient.getObject(bucketName, srcFilePath);
-        try (
-                InputStream ossInputStream = ossObject.getObjectContent();
-                FileOutputStream fos = new FileOutputStream(dstFilePath)) {
-            byte[] readBuf = new byte[1024];
-            int readLen;
-            while ((readLen = ossInputStream.read(readBuf)) > 0) {
-                fos.write(readBuf, 0, readLen);
+        try {
+            ObjectMetadata objectMetadata = ossClient.getObjectMetadata(bucketName, srcFilePath);
+            long objectSize = objectMetadata.getContentLength();
+            if (parallelObjectTransfer.isMultipart(objectSize)) {
+                String ossKey = srcFilePath;
+                parallelObjectTransfer.download(objectSize, dstFile,
+                        (offset, length) -> openRange(ossKey, objectMetadata.getETag(), offset, length));
+                return;
+            }
+            long startNanos = System.nanoTime();
+            OSSObject ossObject = ossClient.getObject(bucketName, srcFilePath);
+            try (
+                    InputStream ossInputStream = ossObject.getObjectContent();
+                    FileOutputStream fos = new FileOutputStream(dstFilePath)) {
+                byte[] readBuf = new byte[8192];
+                int readLen;
+                while ((readLen = ossInputStream.read(readBuf)) > 0) {
+                    fos.write(readBuf, 0, readLen);
+                }
             }
+            StorageTransferMetrics.recordTransfer(StorageType.OSS, StorageTransferMetrics.DOWNLOAD, objectSize,
+                    System.nanoTime() - startNanos);
         } catch (OSSException e) {
             throw new IOException(e);
         } catch (FileNotFoundException e) {
@@ -223,25 +256,66 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
             }
 
         }
-        ossClient.putObject(bucketName, dstPath, new File(srcFile));
+        File localFile = new File(srcFile);
+        if (parallelObjectTransfer.isMultipart(localFile.length())) {
+            multipartUpload(localFile, dstPath);
+        } else {
+            long startNanos = System.nanoTime();
+            ossClient.putObject(bucketName, dstPath, localFile);
+            StorageTransferMetrics.recordTransfer(StorageType.OSS, StorageTransferMetrics.UPLOAD, localFile.length(),
+                    System.nanoTime() - startNanos);
+        }
         if (deleteSource) {
             Files.delete(Paths.get(srcFile));
         }
     }
 
+    private void multipartUpload(File localFile, String ossKey) throws IOException {
+        String uploadId = ossClient
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, ossKey))
+                .getUploadId();
+        try {
+            List<PartETag> partETags = parallelObjectTransfer.upload(localFile, (partNumber, offset, length) -> {
+                try (InputStream partContent = ParallelObjectTransfer.openFileRegion(localFile, offset, length)) {
+                    return ossClient.uploadPart(
+                            new UploadPartRequest(bucketName, ossKey, uploadId, partNumber, partContent, length))
+                            .getPartETag();
+                }
+            });
+            ossClient.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, ossKey, uploadId, partETags));
+        } catch (IOException | RuntimeException ex) {
+            abortMultipartUpload(ossKey, uploadId);
+            throw ex;
+        }
+    }
+
+    private void abortMultipartUpload(String ossKey, String uploadId) {
+        try {
+            ossClient.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, ossKey, uploadId));
+        } catch (Exception ex) {
+            log.warn("Abort the multipart upload: {} of {} failed", uploadId, ossKey, ex);
+        }
+    }
+
     @SneakyThrows
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
-        filePath = transformAbsolutePathToOssKey(filePath);
-        OSSObject ossObject = ossClient.getObject(bucketName, filePath);
-        try (
-                InputStreamReader inputStreamReader = new InputStreamReader(ossObject.getObjectContent());
-                BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
-            return bufferedReader.lines()
-                    .skip(skipLineNums)
-                    .limit(limit)
-                    .collect(Collectors.toList());
-        }
+        String ossKey = transformAbsolutePathToOssKey(filePath);
+        ObjectMetadata objectMetadata = ossClient.getObjectMetadata(bucketName, ossKey);
+        return RangedLineReader.readLines(ossKey, objectMetadata.getETag(), objectMetadata.getContentLength(),
+                skipLineNums, limit, (offset, length) -> openRange(ossKey, objectMetadata.getETag(), offset, length));
+    }
+
+    /**
+     * Open the given byte range of the object, the ETag is pinned so that the ranges cannot come from different
+     * versions of the object.
+     */
+    private InputStream openRange(String ossKey, String eTag, long offset, long length) {
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, ossKey);
+        getObjectRequest.setRange(offset, offset + length - 1);
+        getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+        return ossClient.getObject(getObjectRequest).getObjectContent();
     }
 
     @Override
@@ -303,6 +377,12 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         return transformOSSObjectToStorageEntity(object);
     }
 
+    @Override
+    public String getResourceVersion(String resourceAbsolutePath) {
+        String ossKey = transformAbsolutePathToOssKey(resourceAbsolutePath);
+        return ossClient.getObjectMetadata(bucketName, ossKey).getETag();
+    }
+
     public void ensureBucketSuccessfullyCreated(String bucketName) {
         if (StringUtils.isBlank(bucketName)) {
             throw new IllegalArgumentException("resource.alibaba.cloud.oss.bucket.name is empty");
@@ -23,39 +23,52 @@ import org.apache.dolphinscheduler.plugin.storage.api.AbstractStorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.ParallelObjectTransfer;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.RangedLineReader;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferMetrics;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 
 @Slf4j
 public class S3StorageOperator extends AbstractStorageOperator implements Closeable, StorageOperator {
@@ -64,11 +77,16 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
 
     private final AmazonS3 s3Client;
 
+    private final ParallelObjectTransfer parallelObjectTransfer;
+
     public S3StorageOperator(S3StorageProperties s3StorageProperties) {
         super(s3StorageProperties.getResourceUploadPath());
         bucketName = s3StorageProperties.getBucketName();
         s3Client = AmazonS3ClientFactory.createAmazonS3Client(s3StorageProperties.getS3Configuration());
         exceptionWhenBucketNameNotExists(bucketName);
+        parallelObjectTransfer = new ParallelObjectTransfer(StorageType.S3,
+                Optional.ofNullable(s3StorageProperties.getStorageTransferConfig())
+                        .orElseGet(StorageTransferConfig::new));
     }
 
     @Override
@@ -84,6 +102,7 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
 
     @Override
     public void close() throws IOException {
+        parallelObjectTransfer.close();
         s3Client.shutdown();
     }
 
@@ -115,16 +134,27 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         } else {
             FileUtils.createDirectoryWith755(dstFile.getParentFile().toPath());
         }
+        ObjectMetadata objectMetadata = s3Client.getObjectMetadata(bucketName, srcFilePath);
+        long objectSize = objectMetadata.getContentLength();
+        if (parallelObjectTransfer.isMultipart(objectSize)) {
+            String s3Key = srcFilePath;
+            parallelObjectTransfer.download(objectSize, dstFile,
+                    (offset, length) -> openRange(s3Key, objectMetadata.getETag(), offset, length));
+            return;
+        }
+        long startNanos = System.nanoTime();
         S3Object o = s3Client.getObject(bucketName, srcFilePath);
         try (
                 S3ObjectInputStream s3is = o.getObjectContent();
                 FileOutputStream fos = new FileOutputStream(dstFilePath)) {
-            byte[] readBuf = new byte[1024];
+            byte[] readBuf = new byte[8192];
             int readLen;
             while ((readLen = s3is.read(readBuf)) > 0) {
                 fos.write(readBuf, 0, readLen);
             }
         }
+        StorageTransferMetrics.recordTransfer(StorageType.S3, StorageTransferMetrics.DOWNLOAD, objectSize,
+                System.nanoTime() - startNanos);
     }
 
     @Override
@@ -142,9 +172,9 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
             return;
         }
         if (recursive) {
-            List<StorageEntity> storageEntities = listStorageEntityRecursively(absolutePath);
-            for (StorageEntity storageEntity : storageEntities) {
-                s3Client.deleteObject(bucketName, transformAbsolutePathToS3Key(storageEntity.getFullName()));
+            Iterator<StorageEntity> storageEntities = iterateObjects(absolutePath, true);
+            while (storageEntities.hasNext()) {
+                s3Client.deleteObject(bucketName, transformAbsolutePathToS3Key(storageEntities.next().getFullName()));
             }
         }
         s3Client.deleteObject(bucketName, absolutePath);
@@ -179,26 +209,124 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
             }
         }
 
-        s3Client.putObject(bucketName, dstPath, new File(srcFile));
+        File localFile = new File(srcFile);
+        if (parallelObjectTransfer.isMultipart(localFile.length())) {
+            multipartUpload(localFile, dstPath);
+        } else {
+            long startNanos = System.nanoTime();
+            s3Client.putObject(bucketName, dstPath, localFile);
+            StorageTransferMetrics.recordTransfer(StorageType.S3, StorageTransferMetrics.UPLOAD, localFile.length(),
+                    System.nanoTime() - startNanos);
+        }
 
         if (deleteSource) {
             Files.delete(Paths.get(srcFile));
         }
     }
 
+    private void multipartUpload(File localFile, String s3Key) throws IOException {
+        String uploadId = s3Client
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, s3Key))
+                .getUploadId();
+        try {
+            List<PartETag> partETags = parallelObjectTransfer.upload(localFile,
+                    (partNumber, offset, length) -> s3Client.uploadPart(new UploadPartRequest()
+                            .withBucketName(bucketName)
+                            .withKey(s3Key)
+                            .withUploadId(uploadId)
+                            .withPartNumber(partNumber)
+                            .withFile(localFile)
+                            .withFileOffset(offset)
+                            .withPartSize(length))
+                            .getPartETag());
+            s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, s3Key, uploadId,
+                    partETags));
+        } catch (IOException | RuntimeException ex) {
+            abortMultipartUpload(s3Key, uploadId);
+            throw ex;
+        }
+    }
+
+    private void abortMultipartUpload(String s3Key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, s3Key, uploadId));
+        } catch (Exception ex) {
+            log.warn("Abort the multipart upload: {} of {} failed", uploadId, s3Key, ex);
+        }
+    }
+
     @SneakyThrows
     @Override
     public List<String> fetchFileContent(String filePath, int skipLineNums, int limit) {
-        filePath = transformAbsolutePathToS3Key(filePath);
-        S3Object s3Object = s3Client.getObject(bucketName, filePath);
-        try (
-                InputStreamReader inputStreamReader = new InputStreamReader(s3Object.getObjectContent());
-                BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
-            return bufferedReader.lines()
-                    .skip(skipLineNums)
-                    .limit(limit)
-                    .collect(Collectors.toList());
+        String s3Key = transformAbsolutePathToS3Key(filePath);
+        ObjectMetadata objectMetadata = s3Client.getObjectMetadata(bucketName, s3Key);
+        return RangedLineReader.readLines(s3Key, objectMetadata.getETag(), objectMetadata.getContentLength(),
+                skipLineNums, limit, (offset, length) -> openRange(s3Key, objectMetadata.getETag(), offset, length));
+    }
+
+    /**
+     * Open the given byte range of the object, the ETag is pinned so that the ranges cannot come from different
+     * versions of the object.
+     */
+    private InputStream openRange(String s3Key, String eTag, long offset, long length) throws IOException {
+        S3Object rangeObject = s3Client.getObject(new GetObjectRequest(bucketName, s3Key)
+                .withRange(offset, offset + length - 1)
+                .withMatchingETagConstraint(eTag));
+        if (rangeObject == null) {
+            throw new IOException("The object " + s3Key + " has been changed during reading");
+        }
+        return new S3RangeInputStream(rangeObject.getObjectContent(), length);
+    }
+
+    /**
+     * The content of a ranged request, which is aborted rather than drained if it is closed before all the bytes are
+     * read, e.g. the open-ended range scanned by {@link RangedLineReader}, the connection cannot be reused then.
+     */
+    private static class S3RangeInputStream extends FilterInputStream {
+
+        private final S3ObjectInputStream s3ObjectInputStream;
+
+        private long remainingBytes;
+
+        S3RangeInputStream(S3ObjectInputStream s3ObjectInputStream, long length) {
+            super(s3ObjectInputStream);
+            this.s3ObjectInputStream = s3ObjectInputStream;
+            this.remainingBytes = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                remainingBytes--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int readBytes = super.read(b, off, len);
+            if (readBytes > 0) {
+                remainingBytes -= readBytes;
+            }
+            return readBytes;
         }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skippedBytes = super.skip(n);
+            remainingBytes -= skippedBytes;
+            return skippedBytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (remainingBytes > 0) {
+                s3ObjectInputStream.abort();
+            }
+            super.close();
+        }
+
     }
 
     void exceptionWhenBucketNameNotExists(String bucketName) {
@@ -218,72 +346,89 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
 
     @Override
     public List<StorageEntity> listStorageEntity(String resourceAbsolutePath) {
-        final String s3ResourceAbsolutePath = transformAbsolutePathToS3Key(resourceAbsolutePath);
-        ListObjectsV2Request listObjectsV2Request = new ListObjectsV2Request()
-                .withBucketName(bucketName)
-                .withDelimiter("/")
-                .withPrefix(s3ResourceAbsolutePath);
-
-        ListObjectsV2Result listObjectsV2Result = s3Client.listObjectsV2(listObjectsV2Request);
-        List<StorageEntity> storageEntities = new ArrayList<>();
-        storageEntities.addAll(listObjectsV2Result.getCommonPrefixes()
-                .stream()
-                .map(this::transformCommonPrefixToStorageEntity)
-                .collect(Collectors.toList()));
-        storageEntities.addAll(
-                listObjectsV2Result.getObjectSummaries().stream()
-                        .filter(s3ObjectSummary -> !s3ObjectSummary.getKey().equals(s3ResourceAbsolutePath))
-                        .map(this::transformS3ObjectToStorageEntity)
-                        .collect(Collectors.toList()));
-
-        return storageEntities;
+        return Lists.newArrayList(iterateStorageEntity(resourceAbsolutePath));
     }
 
     @Override
     public List<StorageEntity> listFileStorageEntityRecursively(String resourceAbsolutePath) {
-        return listStorageEntityRecursively(resourceAbsolutePath)
-                .stream()
-                .filter(storageEntity -> !storageEntity.isDirectory())
-                .collect(Collectors.toList());
+        return Lists.newArrayList(iterateFileStorageEntityRecursively(resourceAbsolutePath));
+    }
+
+    @Override
+    public Iterator<StorageEntity> iterateStorageEntity(String resourceAbsolutePath) {
+        return iterateObjects(transformAbsolutePathToS3Key(resourceAbsolutePath), false);
+    }
+
+    @Override
+    public Iterator<StorageEntity> iterateFileStorageEntityRecursively(String resourceAbsolutePath) {
+        return Iterators.filter(iterateObjects(transformAbsolutePathToS3Key(resourceAbsolutePath), true),
+                storageEntity -> !storageEntity.isDirectory());
     }
 
     @Override
     public StorageEntity getStorageEntity(String resourceAbsolutePath) {
         resourceAbsolutePath = transformAbsolutePathToS3Key(resourceAbsolutePath);
 
-        S3Object object = s3Client.getObject(bucketName, resourceAbsolutePath);
-        return transformS3ObjectToStorageEntity(object);
+        // Only the metadata is needed, don't open the content of the object
+        ObjectMetadata objectMetadata = s3Client.getObjectMetadata(bucketName, resourceAbsolutePath);
+        return transformS3ObjectToStorageEntity(resourceAbsolutePath, objectMetadata);
     }
 
-    private List<StorageEntity> listStorageEntityRecursively(String resourceAbsolutePath) {
-        resourceAbsolutePath = transformAbsolutePathToS3Key(resourceAbsolutePath);
+    @Override
+    public String getResourceVersion(String resourceAbsolutePath) {
+        String s3Key = transformAbsolutePathToS3Key(resourceAbsolutePath);
+        return s3Client.getObjectMetadata(bucketName, s3Key).getETag();
+    }
 
-        Set<String> visited = new HashSet<>();
-        List<StorageEntity> storageEntityList = new ArrayList<>();
-        LinkedList<String> foldersToFetch = new LinkedList<>();
-        foldersToFetch.addLast(resourceAbsolutePath);
-
-        while (!foldersToFetch.isEmpty()) {
-            String pathToExplore = foldersToFetch.pop();
-            visited.add(pathToExplore);
-            List<StorageEntity> tempList = listStorageEntity(pathToExplore);
-            for (StorageEntity temp : tempList) {
-                if (temp.isDirectory()) {
-                    if (visited.contains(temp.getFullName())) {
-                        continue;
+    /**
+     * Iterate the objects under the given prefix page by page, the next page is requested only when the entities of
+     * the current page are consumed.
+     *
+     * @param s3Prefix  the prefix of the objects
+     * @param recursive whether to list all the objects under the prefix, otherwise only list the direct children and
+     *                  return the sub directories as common prefixes
+     */
+    private Iterator<StorageEntity> iterateObjects(String s3Prefix, boolean recursive) {
+        ListObjectsV2Request listObjectsV2Request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(s3Prefix);
+        if (!recursive) {
+            listObjectsV2Request.withDelimiter("/");
+        }
+        return new AbstractIterator<StorageEntity>() {
+
+            private Iterator<StorageEntity> currentPage = Collections.emptyIterator();
+
+            private boolean hasNextPage = true;
+
+            @Override
+            protected StorageEntity computeNext() {
+                while (!currentPage.hasNext()) {
+                    if (!hasNextPage) {
+                        return endOfData();
                     }
-                    foldersToFetch.add(temp.getFullName());
+                    ListObjectsV2Result listObjectsV2Result = s3Client.listObjectsV2(listObjectsV2Request);
+                    hasNextPage = listObjectsV2Result.isTruncated();
+                    listObjectsV2Request.setContinuationToken(listObjectsV2Result.getNextContinuationToken());
+
+                    List<StorageEntity> storageEntities = new ArrayList<>();
+                    storageEntities.addAll(listObjectsV2Result.getCommonPrefixes()
+                            .stream()
+                            .map(S3StorageOperator.this::transformCommonPrefixToStorageEntity)
+                            .collect(Collectors.toList()));
+                    storageEntities.addAll(listObjectsV2Result.getObjectSummaries()
+                            .stream()
+                            .filter(s3ObjectSummary -> !s3ObjectSummary.getKey().equals(s3Prefix))
+                            .map(S3StorageOperator.this::transformS3ObjectToStorageEntity)
+                            .collect(Collectors.toList()));
+                    currentPage = storageEntities.iterator();
                 }
+                return currentPage.next();
             }
-            storageEntityList.addAll(tempList);
-        }
-
-        return storageEntityList;
+        };
     }
 
-    private StorageEntity transformS3ObjectToStorageEntity(S3Object object) {
-
-        String s3Key = object.getKey();
+    private StorageEntity transformS3ObjectToStorageEntity(String s3Key, ObjectMetadata objectMetadata) {
         String absolutePath = transformS3KeyToAbsolutePath(s3Key);
 
         ResourceMetadata resourceMetaData = getResourceMetaData(absolutePath);
@@ -293,10 +438,10 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         entity.setFullName(absolutePath);
         entity.setDirectory(resourceMetaData.isDirectory());
         entity.setType(resourceMetaData.getResourceType());
-        entity.setSize(object.getObjectMetadata().getContentLength());
+        entity.setSize(objectMetadata.getContentLength());
         entity.setRelativePath(resourceMetaData.getResourceRelativePath());
-        entity.setCreateTime(object.getObjectMetadata().getLastModified());
-        entity.setUpdateTime(object.getObjectMetadata().getLastModified());
+        entity.setCreateTime(objectMetadata.getLastModified());
+        entity.setUpdateTime(objectMetadata.getLastModified());
         return entity;
     }
 
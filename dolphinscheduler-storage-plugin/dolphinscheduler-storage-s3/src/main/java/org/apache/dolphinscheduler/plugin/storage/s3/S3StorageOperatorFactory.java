@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperatorFactory;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageType;
 import org.apache.dolphinscheduler.plugin.storage.api.constants.StorageConstants;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
 
 import com.google.auto.service.AutoService;
 
@@ -39,6 +40,7 @@ public class S3StorageOperatorFactory implements StorageOperatorFactory {
                 .bucketName(PropertyUtils.getString(StorageConstants.AWS_S3_BUCKET_NAME))
                 .s3Configuration(PropertyUtils.getByPrefix("aws.s3.", ""))
                 .resourceUploadPath(PropertyUtils.getString(StorageConstants.RESOURCE_UPLOAD_PATH, "/dolphinscheduler"))
+                .storageTransferConfig(StorageTransferConfig.fromProperties())
                 .build();
     }
 
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.plugin.storage.s3;
 
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
+
 import java.util.Map;
 
 import lombok.AllArgsConstructor;
@@ -35,4 +37,9 @@ public class S3StorageProperties {
     private String bucketName;
 
     private String resourceUploadPath;
+
+    /**
+     * The config of transferring large objects by parallel parts, use the default config if it's null.
+     */
+    private StorageTransferConfig storageTransferConfig;
 }
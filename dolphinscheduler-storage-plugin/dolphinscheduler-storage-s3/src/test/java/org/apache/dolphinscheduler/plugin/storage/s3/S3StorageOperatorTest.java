@@ -25,10 +25,18 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.apache.dolphinscheduler.plugin.storage.api.ResourceMetadata;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.transfer.StorageTransferConfig;
 import org.apache.dolphinscheduler.spi.enums.ResourceType;
 
+import java.io.File;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import lombok.SneakyThrows;
@@ -38,6 +46,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.testcontainers.containers.MinIOContainer;
 import org.testcontainers.lifecycle.Startables;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableMap;
@@ -51,13 +60,19 @@ public class S3StorageOperatorTest {
 
     private static final String demoSql = S3StorageOperatorTest.class.getResource("/demo.sql").getFile();
 
+    private static final String bucketName = "dolphinscheduler";
+
     private static MinIOContainer minIOContainer;
 
+    private static AmazonS3 amazonS3;
+
     private static S3StorageOperator s3StorageOperator;
 
+    @TempDir
+    public Path folder;
+
     @BeforeAll
     public static void setUp() throws Exception {
-        String bucketName = "dolphinscheduler";
         String accessKey = "accessKey123";
         String secretKey = "secretKey123";
         String region = "us-east-1";
@@ -72,7 +87,7 @@ public class S3StorageOperatorTest {
 
         String endpoint = minIOContainer.getS3URL();
 
-        AmazonS3 amazonS3 = AmazonS3ClientBuilder.standard()
+        amazonS3 = AmazonS3ClientBuilder.standard()
                 .withEndpointConfiguration(new AmazonS3ClientBuilder.EndpointConfiguration(endpoint, region))
                 .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)))
                 .withPathStyleAccessEnabled(true)
@@ -87,6 +102,7 @@ public class S3StorageOperatorTest {
                         "access.key.secret", secretKey,
                         "region", region,
                         "endpoint", endpoint))
+                .storageTransferConfig(new StorageTransferConfig(StorageTransferConfig.MIN_PART_SIZE, 4))
                 .build();
         s3StorageOperator = new S3StorageOperator(s3StorageProperties);
     }
@@ -228,6 +244,34 @@ public class S3StorageOperatorTest {
         assertTrue(s3StorageOperator.exists("tmp/dolphinscheduler/default/resources/sqlDirectory/student.sql"));
     }
 
+    @SneakyThrows
+    @Test
+    public void testUploadAndDownload_multipart() {
+        // 2 full parts and a partial one
+        byte[] content = new byte[(int) (StorageTransferConfig.MIN_PART_SIZE * 2 + 1024)];
+        new Random(0).nextBytes(content);
+        Path localFile = folder.resolve("large.bin");
+        Files.write(localFile, content);
+
+        String storagePath = "tmp/dolphinscheduler/default/resources/sqlDirectory/large.bin";
+        s3StorageOperator.upload(localFile.toString(), storagePath, false, true);
+        assertThat(s3StorageOperator.getStorageEntity(storagePath).getSize()).isEqualTo(content.length);
+
+        File downloadedFile = folder.resolve("downloaded/large.bin").toFile();
+        s3StorageOperator.download(storagePath, downloadedFile.getAbsolutePath(), true);
+        assertThat(Files.readAllBytes(downloadedFile.toPath())).isEqualTo(content);
+    }
+
+    @SneakyThrows
+    @Test
+    public void testDownload_singlePart() {
+        File downloadedFile = folder.resolve("demo.sql").toFile();
+        s3StorageOperator.download("tmp/dolphinscheduler/default/resources/sqlDirectory/demo.sql",
+                downloadedFile.getAbsolutePath(), true);
+        assertThat(Files.readAllBytes(downloadedFile.toPath()))
+                .isEqualTo(Files.readAllBytes(new File(demoSql).toPath()));
+    }
+
     @Test
     public void testFetchFileContent() {
         List<String> strings = s3StorageOperator
@@ -235,6 +279,24 @@ public class S3StorageOperatorTest {
         assertThat(strings).hasSize(2);
     }
 
+    @SneakyThrows
+    @Test
+    public void testFetchFileContent_rangedLines() {
+        List<String> lines = IntStream.range(0, 5000)
+                .mapToObj(i -> "line-" + i)
+                .collect(Collectors.toList());
+        Path localFile = folder.resolve("task.log");
+        Files.write(localFile, lines);
+        String storagePath = "tmp/dolphinscheduler/default/resources/sqlDirectory/task.log";
+        s3StorageOperator.upload(localFile.toString(), storagePath, false, true);
+
+        assertThat(s3StorageOperator.fetchFileContent(storagePath, 3000, 5)).isEqualTo(lines.subList(3000, 3005));
+        // Served from the cached line offsets
+        assertThat(s3StorageOperator.fetchFileContent(storagePath, 1500, 5)).isEqualTo(lines.subList(1500, 1505));
+        assertThat(s3StorageOperator.fetchFileContent(storagePath, 4998, 5)).isEqualTo(lines.subList(4998, 5000));
+        assertThat(s3StorageOperator.fetchFileContent(storagePath, 5000, 5)).isEmpty();
+    }
+
     @Test
     public void testListStorageEntity_file() {
         List<StorageEntity> storageEntities =
@@ -267,6 +329,43 @@ public class S3StorageOperatorTest {
 
     }
 
+    @Test
+    public void testListStorageEntity_moreThanOnePage() {
+        // S3 returns at most 1000 entities in one page
+        String directory = "tmp/dolphinscheduler/default/resources/largeDirectory";
+        s3StorageOperator.createStorageDir(directory);
+        for (int i = 0; i < 1010; i++) {
+            amazonS3.putObject(bucketName, directory + "/" + i + ".sql", "");
+        }
+        try {
+            assertThat(s3StorageOperator.listStorageEntity(directory)).hasSize(1010);
+            assertThat(s3StorageOperator.listFileStorageEntityRecursively(directory)).hasSize(1010);
+        } finally {
+            s3StorageOperator.delete(directory, true);
+        }
+        assertThat(s3StorageOperator.listStorageEntity(directory)).isEmpty();
+    }
+
+    @Test
+    public void testIterateStorageEntity() {
+        Iterator<StorageEntity> storageEntities =
+                s3StorageOperator.iterateStorageEntity("tmp/dolphinscheduler/default/resources/sqlDirectory");
+        assertThat(storageEntities.hasNext()).isTrue();
+        assertThat(storageEntities.next().getFullName())
+                .isEqualTo("tmp/dolphinscheduler/default/resources/sqlDirectory/demo.sql");
+        assertThat(storageEntities.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testGetStorageEntity() {
+        StorageEntity storageEntity =
+                s3StorageOperator.getStorageEntity("tmp/dolphinscheduler/default/resources/sqlDirectory/demo.sql");
+        assertThat(storageEntity.getFileName()).isEqualTo("demo.sql");
+        assertThat(storageEntity.getSize()).isEqualTo(new File(demoSql).length());
+        assertThat(storageEntity.getUpdateTime()).isNotNull();
+        assertThat(storageEntity.isDirectory()).isFalse();
+    }
+
     @Test
     public void testListStorageEntityRecursively() {
         List<StorageEntity> storageEntities =
@@ -297,6 +396,9 @@ public class S3StorageOperatorTest {
         if (s3StorageOperator != null) {
             s3StorageOperator.close();
         }
+        if (amazonS3 != null) {
+            amazonS3.shutdown();
+        }
         if (minIOContainer != null) {
             minIOContainer.stop();
         }
@@ -19,9 +19,11 @@ package org.apache.dolphinscheduler.task.executor.container;
 
 import static ch.qos.logback.classic.ClassicConstants.FINALIZE_SESSION_MARKER;
 
+import org.apache.dolphinscheduler.common.log.CompressedLogFile;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
-import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.common.utils.LogUtils;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskLogAppender;
 import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
 import org.apache.dolphinscheduler.task.executor.exceptions.TaskExecutorRuntimeException;
 import org.apache.dolphinscheduler.task.executor.worker.TaskExecutorWorker;
@@ -29,6 +31,7 @@ import org.apache.dolphinscheduler.task.executor.worker.TaskExecutorWorkers;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -38,18 +41,29 @@ import com.google.common.annotations.VisibleForTesting;
 @Slf4j
 public abstract class AbstractTaskExecutorContainer implements ITaskExecutorContainer {
 
+    private static final long TASK_LOG_FLUSH_TIMEOUT_MILLIS = 10_000L;
+
     private final TaskExecutorAssignmentTable taskExecutorAssignmentTable;
 
     protected final ThreadPoolExecutor taskExecutorThreadPool;
 
     protected final TaskExecutorWorkers taskExecutorWorkers;
 
+    /**
+     * Compressing and uploading a large task log may take a while, so they are done out of the lifecycle event thread,
+     * by a pool whose size is configured by {@link TaskExecutorContainerConfig#getTaskLogFinalizeThreadPoolSize()}.
+     */
+    private final ExecutorService taskLogFinalizeExecutor;
+
     public AbstractTaskExecutorContainer(final TaskExecutorContainerConfig containerConfig) {
         final String threadPoolFormat = containerConfig.getContainerName() + "-worker-%d";
         final int threadPoolSize = containerConfig.getTaskExecutorThreadPoolSize();
         this.taskExecutorThreadPool = ThreadUtils.newDaemonFixedThreadExecutor(threadPoolFormat, threadPoolSize);
         this.taskExecutorWorkers = new TaskExecutorWorkers(threadPoolSize);
         this.taskExecutorAssignmentTable = new TaskExecutorAssignmentTable();
+        this.taskLogFinalizeExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
+                containerConfig.getContainerName() + "-log-finalizer-%d",
+                Math.max(1, containerConfig.getTaskLogFinalizeThreadPoolSize()));
         startAllThreadTaskExecutorWorker();
     }
 
@@ -82,11 +96,13 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
     @Override
     public void pause(final ITaskExecutor taskExecutor) {
         taskExecutor.pause();
+        wakeUpTaskExecutor(taskExecutor);
     }
 
     @Override
     public void kill(final ITaskExecutor taskExecutor) {
         taskExecutor.kill();
+        wakeUpTaskExecutor(taskExecutor);
     }
 
     @Override
@@ -97,7 +113,7 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
             taskExecutorAssignmentTable.unregisterTaskExecutor(taskExecutor);
         }
         log.info(FINALIZE_SESSION_MARKER, FINALIZE_SESSION_MARKER.toString());
-        pushTaskExecutorLogToRemote(taskExecutor);
+        finalizeTaskExecutorLog(taskExecutor);
     }
 
     @Override
@@ -132,16 +148,54 @@ public abstract class AbstractTaskExecutorContainer implements ITaskExecutorCont
      */
     protected abstract Optional<TaskExecutorWorker> getTaskExecutorWorkerCandidate(final ITaskExecutor taskExecutor);
 
-    private void pushTaskExecutorLogToRemote(final ITaskExecutor taskExecutor) {
+    /**
+     * Wake up the task executor after its state is changed, then the worker will track the new state immediately
+     * rather than waiting for the next track time.
+     */
+    private void wakeUpTaskExecutor(final ITaskExecutor taskExecutor) {
+        final Integer workerId = taskExecutorAssignmentTable.getTaskExecutorWorkerId(taskExecutor);
+        if (workerId != null) {
+            taskExecutorWorkers.getWorkerById(workerId).wakeUpTaskExecutor(taskExecutor);
+        }
+    }
+
+    private void finalizeTaskExecutorLog(final ITaskExecutor taskExecutor) {
+        final boolean taskLogCompressionEnable = LogUtils.isTaskLogCompressionEnable();
+        if (!taskLogCompressionEnable && !RemoteLogUtils.isRemoteLoggingEnable()) {
+            return;
+        }
+        final String logPath = taskExecutor.getTaskExecutionContext().getLogPath();
+        taskLogFinalizeExecutor.execute(() -> {
+            // The task log is written asynchronously, make sure the whole log is written before compressing/uploading
+            if (!TaskLogAppender.flush(TASK_LOG_FLUSH_TIMEOUT_MILLIS)) {
+                log.warn("Flush task log {} timeout, the finalized log might be incomplete", logPath);
+            }
+            if (taskLogCompressionEnable) {
+                compressTaskExecutorLog(logPath);
+            }
+            pushTaskExecutorLogToRemote(logPath);
+        });
+    }
+
+    private void compressTaskExecutorLog(final String logPath) {
+        try {
+            final String compressedLogPath = CompressedLogFile.compress(logPath);
+            log.info("Compress task log {} to {} successfully", logPath, compressedLogPath);
+        } catch (Exception ex) {
+            // The original log is kept if the compression failed
+            log.error("Compress task log {} failed", logPath, ex);
+        }
+    }
+
+    private void pushTaskExecutorLogToRemote(final String logPath) {
         // todo: move this to customer listener, e.g. RemoteLogApaptor
-        final TaskExecutionContext taskExecutionContext = taskExecutor.getTaskExecutionContext();
         try {
             if (RemoteLogUtils.isRemoteLoggingEnable()) {
-                RemoteLogUtils.sendRemoteLog(taskExecutionContext.getLogPath());
-                log.info("Send task log {} to remote storage successfully", taskExecutionContext.getLogPath());
+                RemoteLogUtils.sendRemoteLog(logPath);
+                log.info("Send task log {} to remote storage successfully", logPath);
             }
         } catch (Exception ex) {
-            log.error("Send task log {} to remote storage failed", taskExecutionContext.getLogPath(), ex);
+            log.error("Send task log {} to remote storage failed", logPath, ex);
         }
     }
 
@@ -33,4 +33,10 @@ public class TaskExecutorContainerConfig {
     @Builder.Default
     private int taskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
 
+    /**
+     * The number of threads used to flush, compress and upload the logs of the finished tasks.
+     */
+    @Builder.Default
+    private int taskLogFinalizeThreadPoolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
 }
@@ -33,6 +33,11 @@ public interface ITaskExecutorWorker {
 
     void unFireTaskExecutor(final ITaskExecutor taskExecutor);
 
+    /**
+     * Track the fired task executor as soon as possible, e.g. its state has been changed.
+     */
+    void wakeUpTaskExecutor(final ITaskExecutor taskExecutor);
+
     int getRegisteredTaskExecutorSize();
 
     int getFiredTaskExecutorSize();
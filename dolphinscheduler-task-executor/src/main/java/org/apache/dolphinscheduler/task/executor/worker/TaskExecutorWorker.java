@@ -21,26 +21,55 @@ import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
 import org.apache.dolphinscheduler.task.executor.log.TaskExecutorMDCUtils;
 import org.apache.dolphinscheduler.task.executor.log.TaskExecutorMDCUtils.MDCAutoClosable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The worker which drives the fired task executors in a single thread.
+ * <p>
+ * The fired task executors are scheduled in a timer queue ordered by the next track time, each iteration only
+ * touches the task executors which are due, rather than polling all the active task executors. A task executor can
+ * be woken up explicitly once its state is changed, e.g. killed, then it will be tracked immediately regardless of its
+ * remaining track delay.
+ */
 @Slf4j
 public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
 
+    /**
+     * The min delay between two tracks of a task executor, avoid busy tracking if the task executor doesn't give a
+     * positive track delay.
+     */
+    private static final long MIN_TRACK_DELAY = 100;
+
     private final Map<Integer, ITaskExecutor> registeredTaskExecutors = new ConcurrentHashMap<>();
 
     private final Map<Integer, ITaskExecutor> activeTaskExecutors = new ConcurrentHashMap<>();
 
+    /**
+     * The scheduled track timers of the active task executors, guarded by activeTaskExecutorsChangeLock. The task
+     * executor which is being tracked has no timer, it will be rescheduled after tracking.
+     */
+    private final PriorityQueue<TrackTimer> trackTimerQueue =
+            new PriorityQueue<>(Comparator.comparingLong(TrackTimer::getTrackTime));
+
+    private final Map<Integer, TrackTimer> scheduledTrackTimers = new HashMap<>();
+
     private final Lock activeTaskExecutorsChangeLock = new ReentrantLock();
 
-    private final Condition activeTaskExecutorEmptyCondition = activeTaskExecutorsChangeLock.newCondition();
+    private final Condition trackTimerChangeCondition = activeTaskExecutorsChangeLock.newCondition();
 
     @Getter
     private final int workerId;
@@ -57,40 +86,35 @@ public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
     @Override
     public void start() {
         while (true) {
-            long minNextTrackDelay = 100;
-            for (final ITaskExecutor taskExecutor : activeTaskExecutors.values()) {
+            final List<TrackTimer> dueTrackTimers;
+            try {
+                dueTrackTimers = awaitDueTrackTimers();
+            } catch (InterruptedException e) {
+                log.info("TaskExecutorWorker(id={}) is interrupted", workerId, e);
+                Thread.currentThread().interrupt();
+                break;
+            }
+            for (final TrackTimer dueTrackTimer : dueTrackTimers) {
+                final ITaskExecutor taskExecutor = dueTrackTimer.getTaskExecutor();
                 try (final MDCAutoClosable closable = TaskExecutorMDCUtils.logWithMDC(taskExecutor)) {
                     try {
                         if (!taskExecutor.isStarted()) {
                             taskExecutor.start();
                         }
 
-                        final long remainingTrackDelay = taskExecutor.getRemainingTrackDelay();
-                        if (remainingTrackDelay > 0) {
-                            minNextTrackDelay = Math.min(minNextTrackDelay, remainingTrackDelay);
-                        } else {
+                        long remainingTrackDelay = taskExecutor.getRemainingTrackDelay();
+                        if (dueTrackTimer.isWokenUp() || remainingTrackDelay <= 0) {
                             trackTaskExecutorState(taskExecutor);
+                            remainingTrackDelay = taskExecutor.getRemainingTrackDelay();
                         }
+                        scheduleTrackTimer(taskExecutor,
+                                System.currentTimeMillis() + Math.max(remainingTrackDelay, MIN_TRACK_DELAY), false);
                     } catch (Throwable e) {
                         log.error("{} execute failed", taskExecutor, e);
                         onTaskExecutorFailed(taskExecutor);
                     }
                 }
             }
-
-            activeTaskExecutorsChangeLock.lock();
-            try {
-                if (activeTaskExecutors.isEmpty()) {
-                    activeTaskExecutorEmptyCondition.await();
-                } else {
-                    activeTaskExecutorEmptyCondition.await(minNextTrackDelay, TimeUnit.MILLISECONDS);
-                }
-            } catch (InterruptedException e) {
-                log.info("TaskExecutorWorker(id={}) is interrupted", workerId, e);
-                break;
-            } finally {
-                activeTaskExecutorsChangeLock.unlock();
-            }
         }
     }
 
@@ -128,7 +152,7 @@ public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
                         "The TaskExecutorWorker has already fired " + taskExecutor);
             }
             activeTaskExecutors.put(taskExecutorId, taskExecutor);
-            activeTaskExecutorEmptyCondition.signalAll();
+            scheduleTrackTimer(taskExecutor, System.currentTimeMillis(), false);
         } finally {
             activeTaskExecutorsChangeLock.unlock();
         }
@@ -136,10 +160,26 @@ public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
 
     @Override
     public void unFireTaskExecutor(ITaskExecutor taskExecutor) {
+        activeTaskExecutorsChangeLock.lock();
         try {
-            activeTaskExecutorsChangeLock.lock();
             final Integer taskExecutorId = taskExecutor.getId();
             activeTaskExecutors.remove(taskExecutorId);
+            final TrackTimer trackTimer = scheduledTrackTimers.remove(taskExecutorId);
+            if (trackTimer != null) {
+                trackTimerQueue.remove(trackTimer);
+            }
+        } finally {
+            activeTaskExecutorsChangeLock.unlock();
+        }
+    }
+
+    @Override
+    public void wakeUpTaskExecutor(final ITaskExecutor taskExecutor) {
+        activeTaskExecutorsChangeLock.lock();
+        try {
+            if (activeTaskExecutors.containsKey(taskExecutor.getId())) {
+                scheduleTrackTimer(taskExecutor, System.currentTimeMillis(), true);
+            }
         } finally {
             activeTaskExecutorsChangeLock.unlock();
         }
@@ -155,4 +195,84 @@ public class TaskExecutorWorker extends AbstractTaskExecutorWorker {
         return activeTaskExecutors.size();
     }
 
+    /**
+     * Wait until some track timers are due, the returned track timers are removed from the timer queue.
+     */
+    private List<TrackTimer> awaitDueTrackTimers() throws InterruptedException {
+        activeTaskExecutorsChangeLock.lock();
+        try {
+            while (true) {
+                final TrackTimer nextTrackTimer = trackTimerQueue.peek();
+                if (nextTrackTimer == null) {
+                    trackTimerChangeCondition.await();
+                    continue;
+                }
+                final long delay = nextTrackTimer.getTrackTime() - System.currentTimeMillis();
+                if (delay <= 0) {
+                    break;
+                }
+                trackTimerChangeCondition.await(delay, TimeUnit.MILLISECONDS);
+            }
+            final long now = System.currentTimeMillis();
+            final List<TrackTimer> dueTrackTimers = new ArrayList<>();
+            while (!trackTimerQueue.isEmpty() && trackTimerQueue.peek().getTrackTime() <= now) {
+                final TrackTimer trackTimer = trackTimerQueue.poll();
+                scheduledTrackTimers.remove(trackTimer.getTaskExecutor().getId());
+                dueTrackTimers.add(trackTimer);
+            }
+            return dueTrackTimers;
+        } finally {
+            activeTaskExecutorsChangeLock.unlock();
+        }
+    }
+
+    /**
+     * Schedule the track timer of the active task executor, if the task executor has been scheduled earlier, e.g.
+     * woken up during tracking, the earlier one is kept. A woken up timer forces the task executor to be tracked once
+     * it's due, the wake-up is never lost by merging with another timer.
+     */
+    private void scheduleTrackTimer(final ITaskExecutor taskExecutor, final long trackTime, final boolean wokenUp) {
+        activeTaskExecutorsChangeLock.lock();
+        try {
+            final Integer taskExecutorId = taskExecutor.getId();
+            if (!activeTaskExecutors.containsKey(taskExecutorId)) {
+                // The task executor has been finished
+                return;
+            }
+            long newTrackTime = trackTime;
+            boolean newWokenUp = wokenUp;
+            final TrackTimer existingTrackTimer = scheduledTrackTimers.get(taskExecutorId);
+            if (existingTrackTimer != null) {
+                if (existingTrackTimer.getTrackTime() <= trackTime && (existingTrackTimer.isWokenUp() || !wokenUp)) {
+                    return;
+                }
+                trackTimerQueue.remove(existingTrackTimer);
+                newTrackTime = Math.min(existingTrackTimer.getTrackTime(), trackTime);
+                newWokenUp = existingTrackTimer.isWokenUp() || wokenUp;
+            }
+            final TrackTimer trackTimer = new TrackTimer(taskExecutor, newTrackTime, newWokenUp);
+            scheduledTrackTimers.put(taskExecutorId, trackTimer);
+            trackTimerQueue.add(trackTimer);
+            if (trackTimerQueue.peek() == trackTimer) {
+                trackTimerChangeCondition.signalAll();
+            }
+        } finally {
+            activeTaskExecutorsChangeLock.unlock();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class TrackTimer {
+
+        private final ITaskExecutor taskExecutor;
+
+        private final long trackTime;
+
+        /**
+         * Whether the task executor is woken up, then it should be tracked immediately once the timer is due.
+         */
+        private final boolean wokenUp;
+    }
+
 }
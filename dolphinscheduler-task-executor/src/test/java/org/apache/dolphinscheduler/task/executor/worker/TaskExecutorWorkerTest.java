@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.task.executor.worker;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
+import org.apache.dolphinscheduler.task.executor.TaskExecutorState;
+import org.apache.dolphinscheduler.task.executor.eventbus.TaskExecutorEventBus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskExecutorWorkerTest {
+
+    private TaskExecutorWorker taskExecutorWorker;
+
+    private Thread workerThread;
+
+    @BeforeEach
+    void setup() {
+        taskExecutorWorker = new TaskExecutorWorker(0);
+        workerThread = new Thread(taskExecutorWorker::start, "TaskExecutorWorker-0");
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        workerThread.interrupt();
+        workerThread.join(Duration.ofSeconds(5).toMillis());
+    }
+
+    @Test
+    void testTrackByTimerOrder() {
+        final FakeTaskExecutor slowTaskExecutor = new FakeTaskExecutor(1, 5_000);
+        final FakeTaskExecutor fastTaskExecutor = new FakeTaskExecutor(2, 200);
+        fire(slowTaskExecutor);
+        fire(fastTaskExecutor);
+
+        await().atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(fastTaskExecutor.trackTimes.size()).isAtLeast(3));
+        // The slow task executor is not due yet, it is not touched while the fast one is tracked
+        assertThat(slowTaskExecutor.trackTimes).hasSize(1);
+        for (int i = 1; i < fastTaskExecutor.trackTimes.size(); i++) {
+            assertThat(fastTaskExecutor.trackTimes.get(i) - fastTaskExecutor.trackTimes.get(i - 1)).isAtLeast(200L);
+        }
+    }
+
+    @Test
+    void testTrackImmediatelyOnWakeUp() {
+        final FakeTaskExecutor taskExecutor = new FakeTaskExecutor(1, 60_000);
+        fire(taskExecutor);
+        await().atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(taskExecutor.trackTimes).hasSize(1));
+
+        // The remaining track delay is far from due, only the wake-up can trigger the track
+        taskExecutor.state = TaskExecutorState.KILLED;
+        taskExecutorWorker.wakeUpTaskExecutor(taskExecutor);
+
+        await().atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(taskExecutorWorker.getFiredTaskExecutorSize()).isEqualTo(0));
+        assertThat(taskExecutor.trackTimes).hasSize(2);
+    }
+
+    @Test
+    void testWakeUpNotFiredTaskExecutor() {
+        final FakeTaskExecutor taskExecutor = new FakeTaskExecutor(1, 60_000);
+        taskExecutorWorker.registerTaskExecutor(taskExecutor);
+
+        taskExecutorWorker.wakeUpTaskExecutor(taskExecutor);
+        assertThat(taskExecutorWorker.getFiredTaskExecutorSize()).isEqualTo(0);
+        assertThat(taskExecutor.trackTimes).isEmpty();
+    }
+
+    private void fire(final ITaskExecutor taskExecutor) {
+        taskExecutorWorker.registerTaskExecutor(taskExecutor);
+        taskExecutorWorker.fireTaskExecutor(taskExecutor);
+    }
+
+    private static class FakeTaskExecutor implements ITaskExecutor {
+
+        private final TaskExecutionContext taskExecutionContext;
+
+        private final TaskExecutorEventBus taskExecutorEventBus = new TaskExecutorEventBus();
+
+        private final long trackInterval;
+
+        private final List<Long> trackTimes = new CopyOnWriteArrayList<>();
+
+        private volatile TaskExecutorState state = TaskExecutorState.RUNNING;
+
+        private FakeTaskExecutor(final int taskInstanceId, final long trackInterval) {
+            this.taskExecutionContext = TaskExecutionContext.builder()
+                    .taskInstanceId(taskInstanceId)
+                    .taskName("task-" + taskInstanceId)
+                    .build();
+            this.trackInterval = trackInterval;
+        }
+
+        @Override
+        public TaskExecutorState trackTaskExecutorState() {
+            trackTimes.add(System.currentTimeMillis());
+            return state;
+        }
+
+        @Override
+        public long getRemainingTrackDelay() {
+            if (trackTimes.isEmpty()) {
+                return 0;
+            }
+            return trackTimes.get(trackTimes.size() - 1) + trackInterval - System.currentTimeMillis();
+        }
+
+        @Override
+        public TaskExecutionContext getTaskExecutionContext() {
+            return taskExecutionContext;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return true;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void pause() {
+        }
+
+        @Override
+        public void kill() {
+        }
+
+        @Override
+        public TaskExecutorEventBus getTaskExecutorEventBus() {
+            return taskExecutorEventBus;
+        }
+    }
+}
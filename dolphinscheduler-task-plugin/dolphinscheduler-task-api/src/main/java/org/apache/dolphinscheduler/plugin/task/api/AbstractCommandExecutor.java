@@ -27,6 +27,8 @@ import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.parser.TaskOutputParameterParser;
+import org.apache.dolphinscheduler.plugin.task.api.process.IProcessOutputHandler;
+import org.apache.dolphinscheduler.plugin.task.api.process.ProcessOutputPump;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptor;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptorBuilder;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
@@ -38,8 +40,8 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
-import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -57,6 +59,11 @@ import io.fabric8.kubernetes.client.dsl.LogWatch;
 @Slf4j
 public abstract class AbstractCommandExecutor {
 
+    /**
+     * Flush the log buffer once the buffered rows exceed this, rather than waiting for the flush interval.
+     */
+    private static final int LOG_FLUSH_ROWS = 1024;
+
     protected volatile Map<String, String> taskOutputParams = new HashMap<>();
     /**
      * process
@@ -73,9 +80,9 @@ public abstract class AbstractCommandExecutor {
      */
     protected LinkedBlockingQueue<String> logBuffer;
 
-    protected boolean processLogOutputIsSuccess = false;
+    protected volatile boolean processLogOutputIsSuccess = false;
 
-    protected boolean podLogOutputIsFinished = false;
+    protected volatile boolean podLogOutputIsFinished = false;
 
     /**
      * taskRequest
@@ -137,13 +144,13 @@ public abstract class AbstractCommandExecutor {
         IShellInterceptor iShellInterceptor = iShellInterceptorBuilder.build();
         process = iShellInterceptor.execute();
 
-        // parse process output
-        parseProcessOutput(this.process);
-
         // collect pod log
         collectPodLogIfNeeded();
 
-        int processId = getProcessId(this.process);
+        // parse process output
+        parseProcessOutput(this.process);
+
+        int processId = ProcessUtils.getProcessId(this.process);
 
         result.setProcessId(processId);
 
@@ -163,6 +170,12 @@ public abstract class AbstractCommandExecutor {
 
         // waiting for the run to finish
         boolean status = this.process.waitFor(remainTime, TimeUnit.SECONDS);
+        if (!status) {
+            log.error("process execution timeout, the task timeout configuration value is:{}",
+                    taskRequest.getTaskTimeout());
+            // kill the process at the deadline, otherwise waiting for its output below blocks until it exits
+            cancelApplication();
+        }
 
         TaskExecutionStatus kubernetesStatus =
                 ProcessUtils.getApplicationStatus(taskRequest.getK8sTaskExecutionContext(), taskRequest.getTaskAppId());
@@ -262,51 +275,60 @@ public abstract class AbstractCommandExecutor {
     }
 
     private void parseProcessOutput(Process process) {
-        // todo: remove this this thread pool.
-        ExecutorService getOutputLogService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("ResolveOutputLog-thread-" + taskRequest.getTaskName());
-        getOutputLogService.execute(() -> {
-            TaskOutputParameterParser taskOutputParameterParser = new TaskOutputParameterParser();
-            try (BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                String line;
-                while ((line = inReader.readLine()) != null) {
+        taskOutputFuture = ProcessOutputPump.getInstance()
+                .pump(process, process.getInputStream(), new ProcessOutputLogHandler());
+    }
+
+    /**
+     * Feed the process output to the log buffer and the output parameter parser, the log buffer is flushed once it's
+     * large enough or the flush interval elapsed.
+     */
+    private class ProcessOutputLogHandler implements IProcessOutputHandler {
+
+        private final TaskOutputParameterParser taskOutputParameterParser = new TaskOutputParameterParser();
+
+        @Override
+        public void onOutputLines(List<String> lines) {
+            LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
+            try {
+                for (String line : lines) {
                     logBuffer.add(line);
                     taskOutputParameterParser.appendParseLog(line);
                 }
-                processLogOutputIsSuccess = true;
-            } catch (Exception e) {
-                log.error("Parse var pool error", e);
-                processLogOutputIsSuccess = true;
+                if (logBuffer.size() > LOG_FLUSH_ROWS) {
+                    flushLogBuffer();
+                }
             } finally {
                 LogUtils.removeTaskInstanceLogFullPathMDC();
             }
-            taskOutputParams = taskOutputParameterParser.getTaskOutputParams();
-        });
-
-        getOutputLogService.shutdown();
+        }
 
-        ExecutorService parseProcessOutputExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("TaskInstanceLogOutput-thread-" + taskRequest.getTaskName());
-        taskOutputFuture = parseProcessOutputExecutorService.submit(() -> {
+        @Override
+        public boolean onFlush(boolean outputEnded) {
+            LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
             try {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                while (logBuffer.size() > 1 || !processLogOutputIsSuccess || !podLogOutputIsFinished) {
-                    if (logBuffer.size() > 1) {
-                        logHandler.accept(logBuffer);
-                        logBuffer.clear();
-                        logBuffer.add(EMPTY_STRING);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
-                    }
+                if (outputEnded && !processLogOutputIsSuccess) {
+                    taskOutputParams = taskOutputParameterParser.getTaskOutputParams();
+                    processLogOutputIsSuccess = true;
                 }
+                flushLogBuffer();
+                // Wait for the pod log which is also written to the log buffer
+                return processLogOutputIsSuccess && podLogOutputIsFinished && logBuffer.size() <= 1;
             } catch (Exception e) {
                 log.error("Output task log error", e);
+                return outputEnded;
             } finally {
                 LogUtils.removeTaskInstanceLogFullPathMDC();
             }
-        });
-        parseProcessOutputExecutorService.shutdown();
+        }
+
+        private void flushLogBuffer() {
+            if (logBuffer.size() > 1) {
+                logHandler.accept(logBuffer);
+                logBuffer.clear();
+                logBuffer.add(EMPTY_STRING);
+            }
+        }
     }
 
     /**
@@ -325,25 +347,4 @@ public abstract class AbstractCommandExecutor {
         return remainTime;
     }
 
-    /**
-     * get process id
-     *
-     * @param process process
-     * @return process id
-     */
-    private int getProcessId(Process process) {
-        int processId = 0;
-
-        try {
-            Field f = process.getClass().getDeclaredField(TaskConstants.PID);
-            f.setAccessible(true);
-
-            processId = f.getInt(process);
-        } catch (Exception e) {
-            log.error("Get task pid failed", e);
-        }
-
-        return processId;
-    }
-
 }
@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.ClassicConstants;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * The appender which writes the task log asynchronously, it replaces the {@code SiftingAppender} which resolves a
+ * {@code FileAppender} per task log file and writes each line synchronously on the logging thread.
+ * <p>
+ * The logging thread only puts the event into a bounded lock-free ring buffer. A single writer thread drains the
+ * events in batches, formats them, groups them by the task log file, masks the sensitive data of each group once, and
+ * appends each group to its file by a single write. The pending groups are written once they exceed
+ * {@link #flushBytes} or {@link #flushIntervalMillis} elapsed, so the appended log can be read within the flush
+ * interval. Once the ring buffer is full, the logging thread waits for the writer, or drops the event if
+ * {@link #neverBlock} is set, both of them are counted in the metrics. The log file is closed once its task is
+ * finalized by {@link ClassicConstants#FINALIZE_SESSION_MARKER}, or it's idle for {@link #fileIdleTimeoutMillis}.
+ * If {@link #logBase} is set, the task logs are only written under it.
+ */
+public class TaskLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final Set<TaskLogAppender> STARTED_APPENDERS = new CopyOnWriteArraySet<>();
+
+    private static final LongAdder DROPPED_EVENT_COUNT = new LongAdder();
+
+    private static final LongAdder BLOCKED_EVENT_COUNT = new LongAdder();
+
+    private static final long MAX_IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private Layout<ILoggingEvent> layout;
+
+    private String logBase;
+
+    private Path logBasePath;
+
+    private int bufferSize = 8192;
+
+    private int batchSize = 1024;
+
+    private int flushBytes = 64 * 1024;
+
+    private long flushIntervalMillis = 200;
+
+    private boolean neverBlock = false;
+
+    private boolean maskSensitiveData = true;
+
+    private int maxOpenFiles = 256;
+
+    private long fileIdleTimeoutMillis = 60_000;
+
+    private TaskLogRingBuffer<ILoggingEvent> ringBuffer;
+
+    private Thread writerThread;
+
+    /**
+     * The consumed count of the ring buffer once the drained events have been written to the files.
+     */
+    private volatile long writtenCount;
+
+    private volatile boolean flushRequested;
+
+    @Override
+    public void start() {
+        if (layout == null) {
+            addError("No layout set for the appender named [" + name + "].");
+            return;
+        }
+        logBasePath = logBase == null ? null : Paths.get(logBase).toAbsolutePath().normalize();
+        ringBuffer = new TaskLogRingBuffer<>(bufferSize);
+        writtenCount = 0;
+        writerThread = new Thread(new TaskLogWriter(), "TaskLogWriter-" + name);
+        writerThread.setDaemon(true);
+        super.start();
+        writerThread.start();
+        STARTED_APPENDERS.add(this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        STARTED_APPENDERS.remove(this);
+        // The writer will write all the buffered events before exiting
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Capture the MDC, thread name and message before handing over to the writer thread
+        event.prepareForDeferredProcessing();
+        if (ringBuffer.offer(event)) {
+            return;
+        }
+        if (neverBlock) {
+            DROPPED_EVENT_COUNT.increment();
+            return;
+        }
+        BLOCKED_EVENT_COUNT.increment();
+        while (isStarted() && !ringBuffer.offer(event)) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    /**
+     * Wait until the events appended before this call have been written to the task log files of all the started
+     * appenders, e.g. before uploading the task log.
+     *
+     * @return false if the timeout elapsed
+     */
+    public static boolean flush(long timeoutMillis) {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (TaskLogAppender appender : STARTED_APPENDERS) {
+            final long producedCount = appender.ringBuffer.getProducedCount();
+            while (appender.isStarted() && appender.writtenCount < producedCount) {
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+                appender.flushRequested = true;
+                LockSupport.unpark(appender.writerThread);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        return true;
+    }
+
+    public static long getDroppedEventCount() {
+        return DROPPED_EVENT_COUNT.sum();
+    }
+
+    public static long getBlockedEventCount() {
+        return BLOCKED_EVENT_COUNT.sum();
+    }
+
+    private class TaskLogWriter implements Runnable {
+
+        private final List<ILoggingEvent> batch = new ArrayList<>();
+
+        private final Map<String, StringBuilder> pendingLogs = new LinkedHashMap<>();
+
+        private final LinkedHashMap<String, OpenedLogFile> openedLogFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * The log files whose task is finalized, they will be closed once the pending logs are written.
+         */
+        private final Set<String> finalizedLogPaths = new HashSet<>();
+
+        private int pendingBytes;
+
+        private long lastFlushTime = System.currentTimeMillis();
+
+        @Override
+        public void run() {
+            long idleWaitNanos = 0;
+            while (isStarted() || !ringBuffer.isEmpty()) {
+                batch.clear();
+                final int drained = ringBuffer.drainTo(batch, batchSize);
+                for (ILoggingEvent event : batch) {
+                    appendPendingLog(event);
+                }
+                final long now = System.currentTimeMillis();
+                if (pendingBytes >= flushBytes || now - lastFlushTime >= flushIntervalMillis || flushRequested
+                        || !finalizedLogPaths.isEmpty() || !isStarted()) {
+                    flushRequested = false;
+                    writePendingLogs(now);
+                }
+                if (pendingLogs.isEmpty()) {
+                    writtenCount = ringBuffer.getConsumedCount();
+                }
+                if (drained > 0) {
+                    idleWaitNanos = 0;
+                    continue;
+                }
+                idleWaitNanos = Math.min(MAX_IDLE_WAIT_NANOS,
+                        Math.max(TimeUnit.MILLISECONDS.toNanos(1), idleWaitNanos * 2));
+                LockSupport.parkNanos(this, idleWaitNanos);
+            }
+            writePendingLogs(System.currentTimeMillis());
+            writtenCount = ringBuffer.getConsumedCount();
+            for (OpenedLogFile openedLogFile : openedLogFiles.values()) {
+                openedLogFile.close();
+            }
+            openedLogFiles.clear();
+        }
+
+        private void appendPendingLog(ILoggingEvent event) {
+            final String logPath = event.getMDCPropertyMap().get(LogUtils.TASK_INSTANCE_LOG_FULL_PATH_MDC_KEY);
+            if (logPath == null) {
+                return;
+            }
+            final Marker marker = event.getMarker();
+            if (marker != null && marker.contains(ClassicConstants.FINALIZE_SESSION_MARKER)) {
+                finalizedLogPaths.add(logPath);
+                return;
+            }
+            try {
+                final String formattedLog = layout.doLayout(event);
+                pendingLogs.computeIfAbsent(logPath, key -> new StringBuilder()).append(formattedLog);
+                pendingBytes += formattedLog.length();
+            } catch (Exception ex) {
+                addError("Format the task log event failed", ex);
+            }
+        }
+
+        private void writePendingLogs(long now) {
+            lastFlushTime = now;
+            for (Map.Entry<String, StringBuilder> pendingLog : pendingLogs.entrySet()) {
+                String content = pendingLog.getValue().toString();
+                if (maskSensitiveData) {
+                    content = SensitiveDataConverter.maskSensitiveData(content);
+                }
+                try {
+                    getOpenedLogFile(pendingLog.getKey(), now).write(content.getBytes(StandardCharsets.UTF_8), now);
+                } catch (IOException ex) {
+                    addError("Write the task log: " + pendingLog.getKey() + " failed", ex);
+                    closeLogFile(pendingLog.getKey());
+                }
+            }
+            pendingLogs.clear();
+            pendingBytes = 0;
+            for (String finalizedLogPath : finalizedLogPaths) {
+                closeLogFile(finalizedLogPath);
+            }
+            finalizedLogPaths.clear();
+            closeIdleLogFiles(now);
+        }
+
+        private OpenedLogFile getOpenedLogFile(String logPath, long now) throws IOException {
+            OpenedLogFile openedLogFile = openedLogFiles.get(logPath);
+            if (openedLogFile != null) {
+                return openedLogFile;
+            }
+            if (openedLogFiles.size() >= maxOpenFiles) {
+                // Close the least recently written file
+                closeLogFile(openedLogFiles.keySet().iterator().next());
+            }
+            final File logFile = new File(logPath);
+            if (logBasePath != null && !logFile.toPath().toAbsolutePath().normalize().startsWith(logBasePath)) {
+                throw new IOException("The task log: " + logPath + " is not under the log base: " + logBasePath);
+            }
+            final File parentFile = logFile.getParentFile();
+            if (parentFile != null && !parentFile.exists() && !parentFile.mkdirs() && !parentFile.exists()) {
+                throw new IOException("Create the task log directory: " + parentFile + " failed");
+            }
+            openedLogFile = new OpenedLogFile(new FileOutputStream(logFile, true), now);
+            openedLogFiles.put(logPath, openedLogFile);
+            return openedLogFile;
+        }
+
+        private void closeIdleLogFiles(long now) {
+            final Iterator<OpenedLogFile> iterator = openedLogFiles.values().iterator();
+            while (iterator.hasNext()) {
+                final OpenedLogFile openedLogFile = iterator.next();
+                if (now - openedLogFile.lastWriteTime < fileIdleTimeoutMillis) {
+                    // In access order, the rest are written more recently
+                    break;
+                }
+                openedLogFile.close();
+                iterator.remove();
+            }
+        }
+
+        private void closeLogFile(String logPath) {
+            final OpenedLogFile openedLogFile = openedLogFiles.remove(logPath);
+            if (openedLogFile != null) {
+                openedLogFile.close();
+            }
+        }
+    }
+
+    private class OpenedLogFile {
+
+        private final OutputStream outputStream;
+
+        private long lastWriteTime;
+
+        OpenedLogFile(OutputStream outputStream, long now) {
+            this.outputStream = outputStream;
+            this.lastWriteTime = now;
+        }
+
+        void write(byte[] bytes, long now) throws IOException {
+            outputStream.write(bytes);
+            lastWriteTime = now;
+        }
+
+        void close() {
+            try {
+                outputStream.close();
+            } catch (IOException ex) {
+                addWarn("Close the task log file failed", ex);
+            }
+        }
+    }
+
+    public Layout<ILoggingEvent> getLayout() {
+        return layout;
+    }
+
+    public void setLayout(Layout<ILoggingEvent> layout) {
+        this.layout = layout;
+    }
+
+    public String getLogBase() {
+        return logBase;
+    }
+
+    public void setLogBase(String logBase) {
+        this.logBase = logBase;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setFlushBytes(int flushBytes) {
+        this.flushBytes = flushBytes;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    public void setMaskSensitiveData(boolean maskSensitiveData) {
+        this.maskSensitiveData = maskSensitiveData;
+    }
+
+    public void setMaxOpenFiles(int maxOpenFiles) {
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    public void setFileIdleTimeoutMillis(long fileIdleTimeoutMillis) {
+        this.fileIdleTimeoutMillis = fileIdleTimeoutMillis;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free ring buffer with multiple producers and a single consumer.
+ * <p>
+ * Each slot has a sequence which tells whether it can be written by the producer who claimed the position, or read by
+ * the consumer, so the producers only compete on the CAS of the tail and never block each other.
+ */
+class TaskLogRingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    TaskLogRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add the element if the buffer is not full, this can be called by multiple producers.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) (position & mask);
+            final long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // Publish the element to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return false;
+            } else {
+                // Claimed by another producer
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move at most maxElements elements to the given list, this should only be called by the single consumer.
+     *
+     * @return the count of the moved elements
+     */
+    int drainTo(List<E> drained, int maxElements) {
+        long position = head.get();
+        int count = 0;
+        while (count < maxElements) {
+            final int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // Empty or the claimed element is not published yet
+                break;
+            }
+            drained.add(elements.get(index));
+            elements.lazySet(index, null);
+            // Release the slot to the producers of the next round
+            sequences.set(index, position + mask + 1);
+            position++;
+            count++;
+        }
+        head.lazySet(position);
+        return count;
+    }
+
+    /**
+     * The count of the elements which have been claimed by the producers, including the ones not published yet.
+     */
+    long getProducedCount() {
+        return tail.get();
+    }
+
+    /**
+     * The count of the elements which have been taken by the consumer.
+     */
+    long getConsumedCount() {
+        return head.get();
+    }
+
+    boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+}
@@ -107,6 +107,12 @@ public class SqlParameters extends AbstractParameters {
 
     private int limit;
 
+    /**
+     * the number of rows fetched from the database per round trip when reading the query result,
+     * use the default of the jdbc driver if it's not positive
+     */
+    private int fetchSize;
+
     public int getLimit() {
         return limit;
     }
@@ -115,6 +121,14 @@ public class SqlParameters extends AbstractParameters {
         this.limit = limit;
     }
 
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     public String getType() {
         return type;
     }
@@ -276,6 +290,7 @@ public class SqlParameters extends AbstractParameters {
                 + ", sendEmail=" + sendEmail
                 + ", displayRows=" + displayRows
                 + ", limit=" + limit
+                + ", fetchSize=" + fetchSize
                 + ", showType='" + showType + '\''
                 + ", connParams='" + connParams + '\''
                 + ", groupId='" + groupId + '\''
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.process;
+
+import java.util.List;
+
+/**
+ * Handle the output of a process which is pumped by {@link ProcessOutputPump}, all the methods are called in the
+ * same pump thread, so the implementation doesn't need to be thread safe, but it should not block the pump thread.
+ */
+public interface IProcessOutputHandler {
+
+    /**
+     * Handle the lines read from the process output, the line separator is removed.
+     */
+    void onOutputLines(List<String> lines);
+
+    /**
+     * Flush the handled output, it's called once the flush interval elapsed, and after the output is ended.
+     *
+     * @param outputEnded whether the process output is ended
+     * @return true if the handler has finished, then the output will not be pumped anymore, only works once the
+     * output is ended
+     */
+    boolean onFlush(boolean outputEnded);
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.process;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * The worker-wide pump which drains the output of all the child processes by a few threads.
+ * <p>
+ * The pipe of a process cannot be registered to a NIO selector in JDK 8, so each pump thread polls its outputs with
+ * the non-blocking {@link InputStream#available()}, and backs off when none of them has data, a pump thread never
+ * blocks on a single process. The output is ended once the process exits and its pipe is drained, the data written by
+ * the orphan descendants after that will be dropped.
+ */
+@Slf4j
+public class ProcessOutputPump {
+
+    private static final int DEFAULT_PUMP_THREADS =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    private static final long MAX_IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final ProcessOutputPump INSTANCE =
+            new ProcessOutputPump(DEFAULT_PUMP_THREADS, DEFAULT_FLUSH_INTERVAL_MILLIS);
+
+    private final List<PumpWorker> pumpWorkers;
+
+    private final long flushIntervalMillis;
+
+    @VisibleForTesting
+    ProcessOutputPump(int pumpThreads, long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+        final ThreadFactory threadFactory = ThreadUtils.newDaemonThreadFactory("ProcessOutputPump-thread-%d");
+        final List<PumpWorker> workers = new ArrayList<>(pumpThreads);
+        for (int i = 0; i < pumpThreads; i++) {
+            final PumpWorker pumpWorker = new PumpWorker();
+            pumpWorker.thread = threadFactory.newThread(pumpWorker);
+            pumpWorker.thread.start();
+            workers.add(pumpWorker);
+        }
+        this.pumpWorkers = Collections.unmodifiableList(workers);
+    }
+
+    public static ProcessOutputPump getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Pump the output of the given process to the handler until the output is ended and the handler is finished.
+     *
+     * @return the future which is completed once the handler is finished, the input stream has been closed then
+     */
+    public CompletableFuture<Void> pump(final Process process,
+                                        final InputStream processOutput,
+                                        final IProcessOutputHandler processOutputHandler) {
+        final ProcessOutput output = new ProcessOutput(process, processOutput, processOutputHandler);
+        final PumpWorker pumpWorker = pumpWorkers.stream()
+                .min(Comparator.comparingInt(worker -> worker.outputCount.get()))
+                .orElseThrow(() -> new IllegalStateException("No pump thread"));
+        pumpWorker.register(output);
+        return output.completion;
+    }
+
+    private class PumpWorker implements Runnable {
+
+        private final ConcurrentLinkedQueue<ProcessOutput> newOutputs = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger outputCount = new AtomicInteger();
+
+        private final List<ProcessOutput> outputs = new ArrayList<>();
+
+        private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        private Thread thread;
+
+        void register(final ProcessOutput output) {
+            outputCount.incrementAndGet();
+            newOutputs.add(output);
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            long idleWaitNanos = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                ProcessOutput newOutput;
+                while ((newOutput = newOutputs.poll()) != null) {
+                    outputs.add(newOutput);
+                }
+                boolean progressed = false;
+                final long now = System.currentTimeMillis();
+                for (int i = outputs.size() - 1; i >= 0; i--) {
+                    final ProcessOutput output = outputs.get(i);
+                    progressed |= output.pump(readBuffer, now);
+                    if (output.completion.isDone()) {
+                        outputs.remove(i);
+                        outputCount.decrementAndGet();
+                    }
+                }
+                if (progressed) {
+                    idleWaitNanos = 0;
+                    continue;
+                }
+                // Back off when there is no data, the registering of new output will wake up the thread
+                idleWaitNanos = Math.min(MAX_IDLE_WAIT_NANOS, Math.max(TimeUnit.MILLISECONDS.toNanos(1),
+                        idleWaitNanos * 2));
+                if (outputs.isEmpty() && newOutputs.isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, idleWaitNanos);
+                }
+            }
+        }
+    }
+
+    private class ProcessOutput {
+
+        private final Process process;
+
+        private final InputStream processOutput;
+
+        private final IProcessOutputHandler processOutputHandler;
+
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private final ByteArrayOutputStream currentLine = new ByteArrayOutputStream();
+
+        private boolean outputEnded;
+
+        private long nextFlushTime;
+
+        ProcessOutput(Process process, InputStream processOutput, IProcessOutputHandler processOutputHandler) {
+            this.process = process;
+            this.processOutput = processOutput;
+            this.processOutputHandler = processOutputHandler;
+            this.nextFlushTime = System.currentTimeMillis() + flushIntervalMillis;
+        }
+
+        /**
+         * Pump the available output without blocking.
+         *
+         * @return true if some data has been read
+         */
+        boolean pump(final byte[] readBuffer, final long now) {
+            try {
+                boolean progressed = false;
+                boolean flush = now >= nextFlushTime;
+                if (!outputEnded) {
+                    progressed = readAvailable(readBuffer);
+                    // Flush at once when the output is just ended
+                    flush |= outputEnded;
+                }
+                if (flush) {
+                    nextFlushTime = now + flushIntervalMillis;
+                    if (processOutputHandler.onFlush(outputEnded) && outputEnded) {
+                        completion.complete(null);
+                    }
+                }
+                return progressed;
+            } catch (Throwable ex) {
+                log.error("Pump the output of process failed", ex);
+                closeProcessOutput();
+                completion.completeExceptionally(ex);
+                return false;
+            }
+        }
+
+        private boolean readAvailable(final byte[] readBuffer) {
+            // Check the process before the pipe, then all the output written before exiting can be read
+            final boolean processAlive = process.isAlive();
+            int readBytes;
+            try {
+                final int availableBytes = processOutput.available();
+                if (availableBytes <= 0) {
+                    if (!processAlive) {
+                        endOutput();
+                    }
+                    return false;
+                }
+                readBytes = processOutput.read(readBuffer, 0, Math.min(availableBytes, readBuffer.length));
+            } catch (IOException ex) {
+                log.warn("Read the output of process failed, will stop reading it", ex);
+                endOutput();
+                return false;
+            }
+            if (readBytes < 0) {
+                endOutput();
+                return false;
+            }
+            final List<String> lines = new ArrayList<>();
+            int lineStart = 0;
+            for (int i = 0; i < readBytes; i++) {
+                if (readBuffer[i] == '\n') {
+                    currentLine.write(readBuffer, lineStart, i - lineStart);
+                    lines.add(takeCurrentLine());
+                    lineStart = i + 1;
+                }
+            }
+            currentLine.write(readBuffer, lineStart, readBytes - lineStart);
+            if (!lines.isEmpty()) {
+                processOutputHandler.onOutputLines(lines);
+            }
+            return true;
+        }
+
+        private void endOutput() {
+            outputEnded = true;
+            closeProcessOutput();
+            if (currentLine.size() > 0) {
+                processOutputHandler.onOutputLines(Collections.singletonList(takeCurrentLine()));
+            }
+        }
+
+        private String takeCurrentLine() {
+            final byte[] lineBytes = currentLine.toByteArray();
+            currentLine.reset();
+            int length = lineBytes.length;
+            if (length > 0 && lineBytes[length - 1] == '\r') {
+                length--;
+            }
+            return new String(lineBytes, 0, length, Charset.defaultCharset());
+        }
+
+        private void closeProcessOutput() {
+            try {
+                processOutput.close();
+            } catch (IOException ex) {
+                log.warn("Close the output of process failed", ex);
+            }
+        }
+    }
+
+}
@@ -21,7 +21,7 @@ import org.apache.dolphinscheduler.common.constants.DateConstants;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
-import org.apache.dolphinscheduler.plugin.task.api.log.TaskLogDiscriminator;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskLogAppender;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -49,7 +49,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import ch.qos.logback.classic.sift.SiftingAppender;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.spi.AppenderAttachable;
 
@@ -134,9 +133,9 @@ public class LogUtils {
     public static Path getTaskInstanceLogBasePath() {
         return Optional.of(LoggerFactory.getILoggerFactory())
                 .map(e -> (AppenderAttachable<ILoggingEvent>) (e.getLogger("ROOT")))
-                .map(e -> (SiftingAppender) (e.getAppender("TASKLOGFILE")))
-                .map(e -> ((TaskLogDiscriminator) (e.getDiscriminator())))
-                .map(TaskLogDiscriminator::getLogBase)
+                .map(e -> e.getAppender("TASKLOGFILE"))
+                .filter(TaskLogAppender.class::isInstance)
+                .map(e -> ((TaskLogAppender) e).getLogBase())
                 .map(e -> Paths.get(e).toAbsolutePath())
                 .orElse(null);
     }
@@ -39,6 +39,8 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -46,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -84,6 +87,51 @@ public final class ProcessUtils {
      */
     private static final Pattern LINUXPATTERN = Pattern.compile("\\((\\d+)\\)");
 
+    /**
+     * The {@code Process#pid()} which exists since JDK 9, null if running on JDK 8.
+     */
+    private static final Method PROCESS_PID_METHOD = findProcessPidMethod();
+
+    /**
+     * The private pid field of the process implementations, looked up once per implementation.
+     */
+    private static final Map<Class<?>, Field> PROCESS_PID_FIELDS = new ConcurrentHashMap<>();
+
+    /**
+     * Get the pid of the given process, {@code Process#pid()} is used if it exists, otherwise read the private pid
+     * field of the process implementation.
+     *
+     * @return the pid, or 0 if it cannot be got
+     */
+    public static int getProcessId(@NonNull Process process) {
+        try {
+            if (PROCESS_PID_METHOD != null) {
+                return ((Long) PROCESS_PID_METHOD.invoke(process)).intValue();
+            }
+            final Field pidField = PROCESS_PID_FIELDS.computeIfAbsent(process.getClass(), processClass -> {
+                try {
+                    final Field field = processClass.getDeclaredField(TaskConstants.PID);
+                    field.setAccessible(true);
+                    return field;
+                } catch (NoSuchFieldException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            return pidField.getInt(process);
+        } catch (Exception e) {
+            log.error("Get task pid failed", e);
+            return 0;
+        }
+    }
+
+    private static Method findProcessPidMethod() {
+        try {
+            return Process.class.getMethod(TaskConstants.PID);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
     /**
      * kill tasks according to different task types.
      */
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+import com.google.common.truth.Truth;
+
+public class TaskLogAppenderTest {
+
+    @TempDir
+    public Path folder;
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    private final Logger logger = loggerContext.getLogger(TaskLogAppenderTest.class);
+
+    private TaskLogAppender taskLogAppender;
+
+    @BeforeEach
+    public void setUp() {
+        final PatternLayout layout = new PatternLayout();
+        layout.setContext(loggerContext);
+        layout.setPattern("%-5level - %msg%n");
+        layout.start();
+
+        taskLogAppender = new TaskLogAppender();
+        taskLogAppender.setContext(loggerContext);
+        taskLogAppender.setName("TASKLOGFILE");
+        taskLogAppender.setLayout(layout);
+        taskLogAppender.setBufferSize(16);
+        taskLogAppender.setFlushIntervalMillis(60_000);
+        taskLogAppender.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskLogAppender.stop();
+        MDC.remove(LogUtils.TASK_INSTANCE_LOG_FULL_PATH_MDC_KEY);
+    }
+
+    @Test
+    public void testAppendTaskLogs() throws IOException {
+        final Path logFile1 = folder.resolve("1.log");
+        final Path logFile2 = folder.resolve("dir").resolve("2.log");
+        for (int i = 0; i < 100; i++) {
+            appendLog(logFile1, "task1 line" + i);
+            appendLog(logFile2, "task2 line" + i);
+        }
+        // The events without log path are ignored
+        MDC.remove(LogUtils.TASK_INSTANCE_LOG_FULL_PATH_MDC_KEY);
+        taskLogAppender.doAppend(new LoggingEvent(Logger.FQCN, logger, Level.INFO, "no path", null, null));
+
+        Assertions.assertTrue(TaskLogAppender.flush(10_000));
+
+        final String[] lines1 = readLog(logFile1).split("\n");
+        final String[] lines2 = readLog(logFile2).split("\n");
+        Assertions.assertEquals(100, lines1.length);
+        Assertions.assertEquals(100, lines2.length);
+        Assertions.assertEquals("INFO  - task1 line0", lines1[0]);
+        Assertions.assertEquals("INFO  - task2 line99", lines2[99]);
+        // The buffer is too small to hold all the events, but no event is dropped
+        Assertions.assertEquals(0, TaskLogAppender.getDroppedEventCount());
+    }
+
+    @Test
+    public void testMaskSensitiveData() throws IOException {
+        final Path logFile = folder.resolve("mask.log");
+        appendLog(logFile, "the password is \"password\":\"123456\"");
+
+        Assertions.assertTrue(TaskLogAppender.flush(10_000));
+
+        Truth.assertThat(readLog(logFile)).doesNotContain("123456");
+    }
+
+    @Test
+    public void testRejectTaskLogOutsideLogBase() throws IOException {
+        taskLogAppender.stop();
+        taskLogAppender.setLogBase(folder.resolve("logs").toString());
+        taskLogAppender.start();
+
+        final Path logFile = folder.resolve("logs").resolve("20240101").resolve("1.log");
+        final Path outsideLogFile = folder.resolve("logs").resolve("..").resolve("outside.log");
+        appendLog(logFile, "inside");
+        appendLog(outsideLogFile, "outside");
+
+        Assertions.assertTrue(TaskLogAppender.flush(10_000));
+
+        Assertions.assertEquals("INFO  - inside\n", readLog(logFile));
+        Assertions.assertFalse(Files.exists(folder.resolve("outside.log")));
+    }
+
+    private void appendLog(Path logFile, String message) {
+        MDC.put(LogUtils.TASK_INSTANCE_LOG_FULL_PATH_MDC_KEY, logFile.toString());
+        taskLogAppender.doAppend(new LoggingEvent(Logger.FQCN, logger, Level.INFO, message, null, null));
+    }
+
+    private String readLog(Path logFile) throws IOException {
+        return new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+    }
+
+}
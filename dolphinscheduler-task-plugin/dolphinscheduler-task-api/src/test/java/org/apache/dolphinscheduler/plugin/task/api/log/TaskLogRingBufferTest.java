@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.truth.Truth;
+
+public class TaskLogRingBufferTest {
+
+    @Test
+    public void testOfferAndDrain() {
+        final TaskLogRingBuffer<Integer> ringBuffer = new TaskLogRingBuffer<>(3);
+        // The capacity is rounded up to the power of 2
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(ringBuffer.offer(i));
+        }
+        Assertions.assertFalse(ringBuffer.offer(4));
+
+        final List<Integer> drained = new ArrayList<>();
+        Assertions.assertEquals(2, ringBuffer.drainTo(drained, 2));
+        Assertions.assertTrue(ringBuffer.offer(4));
+        Assertions.assertEquals(3, ringBuffer.drainTo(drained, 10));
+        Truth.assertThat(drained).containsExactly(0, 1, 2, 3, 4).inOrder();
+        Assertions.assertTrue(ringBuffer.isEmpty());
+        Assertions.assertEquals(5, ringBuffer.getConsumedCount());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        final TaskLogRingBuffer<Integer> ringBuffer = new TaskLogRingBuffer<>(64);
+        final int producers = 4;
+        final int elementsPerProducer = 10_000;
+        final CountDownLatch producersFinished = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            new Thread(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    while (!ringBuffer.offer(producer * elementsPerProducer + i)) {
+                        Thread.yield();
+                    }
+                }
+                producersFinished.countDown();
+            }).start();
+        }
+
+        final List<Integer> drained = new ArrayList<>();
+        while (producersFinished.getCount() > 0 || !ringBuffer.isEmpty()) {
+            ringBuffer.drainTo(drained, 16);
+        }
+        Assertions.assertTrue(producersFinished.await(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(producers * elementsPerProducer, drained.size());
+        Truth.assertThat(drained).containsNoDuplicates();
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.process;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import com.google.common.truth.Truth;
+
+@DisabledOnOs(OS.WINDOWS)
+public class ProcessOutputPumpTest {
+
+    private final ProcessOutputPump processOutputPump = new ProcessOutputPump(1, 100);
+
+    @Test
+    public void testPumpProcessOutput() throws Exception {
+        final Process process =
+                new ProcessBuilder("sh", "-c", "printf 'line1\\nline2\\r\\n'; sleep 0.2; printf 'line3'")
+                        .redirectErrorStream(true)
+                        .start();
+        final List<String> lines = new ArrayList<>();
+        final AtomicInteger endedFlushCount = new AtomicInteger();
+        processOutputPump.pump(process, process.getInputStream(), new IProcessOutputHandler() {
+
+            @Override
+            public void onOutputLines(List<String> outputLines) {
+                lines.addAll(outputLines);
+            }
+
+            @Override
+            public boolean onFlush(boolean outputEnded) {
+                return outputEnded && endedFlushCount.incrementAndGet() >= 2;
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        Truth.assertThat(lines).containsExactly("line1", "line2", "line3").inOrder();
+        // The handler is flushed until it's finished after the output is ended
+        Assertions.assertEquals(2, endedFlushCount.get());
+    }
+
+    @Test
+    public void testPumpMultipleProcessOutputs() throws Exception {
+        final Process process1 = new ProcessBuilder("sh", "-c", "for i in 1 2 3; do echo $i; sleep 0.1; done").start();
+        final Process process2 = new ProcessBuilder("sh", "-c", "echo a; echo b").start();
+        final List<String> lines1 = new ArrayList<>();
+        final List<String> lines2 = new ArrayList<>();
+
+        processOutputPump.pump(process1, process1.getInputStream(), new CollectingOutputHandler(lines1))
+                .get(10, TimeUnit.SECONDS);
+        processOutputPump.pump(process2, process2.getInputStream(), new CollectingOutputHandler(lines2))
+                .get(10, TimeUnit.SECONDS);
+
+        Truth.assertThat(lines1).containsExactly("1", "2", "3").inOrder();
+        Truth.assertThat(lines2).containsExactly("a", "b").inOrder();
+    }
+
+    private static class CollectingOutputHandler implements IProcessOutputHandler {
+
+        private final List<String> lines;
+
+        CollectingOutputHandler(List<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public void onOutputLines(List<String> outputLines) {
+            lines.addAll(outputLines);
+        }
+
+        @Override
+        public boolean onFlush(boolean outputEnded) {
+            return true;
+        }
+    }
+
+}
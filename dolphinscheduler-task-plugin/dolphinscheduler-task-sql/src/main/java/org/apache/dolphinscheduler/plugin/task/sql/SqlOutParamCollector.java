@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Collect the out params from the rows of the query result one by one, so that the whole result never needs to be
+ * held in memory, only the values of the LIST out params are kept.
+ * <p>
+ * The values follow {@link org.apache.dolphinscheduler.plugin.task.api.parameters.SqlParameters#dealOutParam(String)}:
+ * if the query returns only one row, each out param takes the value of the column with the same name, otherwise only
+ * the LIST out params are set, with all the values of the column. An empty result is regarded as a row with empty
+ * values. The FILE out params are skipped, they refer to the file of the result.
+ */
+public class SqlOutParamCollector {
+
+    private final List<Property> outProperties;
+
+    private final List<String> columnLabels;
+
+    private final Map<String, List<String>> listValues = new HashMap<>();
+
+    private final Map<String, String> firstRow = new HashMap<>();
+
+    private long rowCount;
+
+    public SqlOutParamCollector(List<Property> outProperties, List<String> columnLabels) {
+        this.outProperties = outProperties.stream()
+                .filter(property -> property.getType() != DataType.FILE)
+                .collect(Collectors.toList());
+        this.columnLabels = columnLabels;
+        for (Property property : this.outProperties) {
+            if (property.getType() == DataType.LIST && columnLabels.contains(property.getProp())) {
+                listValues.put(property.getProp(), new ArrayList<>());
+            }
+        }
+    }
+
+    public void collect(ObjectNode row) {
+        if (outProperties.isEmpty()) {
+            return;
+        }
+        if (rowCount == 0) {
+            for (Property property : outProperties) {
+                firstRow.put(property.getProp(), SqlResultFileWriter.toText(row.get(property.getProp())));
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : listValues.entrySet()) {
+            entry.getValue().add(String.valueOf(SqlResultFileWriter.toText(row.get(entry.getKey()))));
+        }
+        rowCount++;
+    }
+
+    /**
+     * @return the values of the out params, keyed by the param name
+     */
+    public Map<String, String> getOutParams() {
+        Map<String, String> outParams = new HashMap<>();
+        for (Property property : outProperties) {
+            String prop = property.getProp();
+            if (rowCount > 1) {
+                if (property.getType() == DataType.LIST) {
+                    outParams.put(prop, JSONUtils.toJsonString(listValues.get(prop)));
+                }
+            } else if (rowCount == 1) {
+                outParams.put(prop, String.valueOf(firstRow.get(prop)));
+            } else {
+                // the same as String.valueOf of the missing column in a row
+                outParams.put(prop, columnLabels.contains(prop) ? "" : "null");
+            }
+        }
+        return outParams;
+    }
+}
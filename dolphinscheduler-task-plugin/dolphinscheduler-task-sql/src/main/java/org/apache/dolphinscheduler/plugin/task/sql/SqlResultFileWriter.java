@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Write the rows of the query result into a local file one by one, the file is written in CSV with a header line if
+ * its name ends with {@code .csv}, otherwise in JSON lines.
+ */
+public class SqlResultFileWriter implements Closeable {
+
+    private final List<String> columnLabels;
+
+    private final boolean csv;
+
+    private final BufferedWriter writer;
+
+    public SqlResultFileWriter(Path resultFile, List<String> columnLabels) throws IOException {
+        this.columnLabels = columnLabels;
+        this.csv = StringUtils.endsWithIgnoreCase(resultFile.getFileName().toString(), ".csv");
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+        this.writer = Files.newBufferedWriter(resultFile, StandardCharsets.UTF_8);
+        if (csv) {
+            for (int i = 0; i < columnLabels.size(); i++) {
+                writeCsvCell(i, columnLabels.get(i));
+            }
+            writer.write('\n');
+        }
+    }
+
+    public void write(ObjectNode row) throws IOException {
+        if (!csv) {
+            writer.write(JSONUtils.toJsonString(row));
+            writer.write('\n');
+            return;
+        }
+        for (int i = 0; i < columnLabels.size(); i++) {
+            writeCsvCell(i, toText(row.get(columnLabels.get(i))));
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvCell(int index, String value) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        if (StringUtils.containsAny(value, ',', '"', '\r', '\n')) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+
+    /**
+     * Convert the cell of the row to its plain text, null if the cell is null.
+     */
+    static String toText(JsonNode cell) {
+        if (cell == null || cell.isNull()) {
+            return null;
+        }
+        return cell.isValueNode() ? cell.asText() : cell.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskCallBack;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.enums.SqlType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskTimeoutStrategy;
@@ -41,6 +42,9 @@ import org.apache.dolphinscheduler.spi.enums.DbType;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -59,6 +63,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
 
 @Slf4j
 public class SqlTask extends AbstractTask {
@@ -81,6 +86,11 @@ public class SqlTask extends AbstractTask {
      */
     private static final int QUERY_LIMIT = 10000;
 
+    /**
+     * the max rows of the query result kept in memory for the alert
+     */
+    private static final int ALERT_ROWS_LIMIT = 10000;
+
     private SQLTaskExecutionContext sqlTaskExecutionContext;
 
     public static final int TEST_FLAG_YES = 1;
@@ -183,18 +193,20 @@ public class SqlTask extends AbstractTask {
             executeUpdate(connection, preStatementsBinds, "pre");
 
             // main execute
-            String result = null;
             // decide whether to executeQuery or executeUpdate based on sqlType
             if (sqlParameters.getSqlType() == SqlType.QUERY.ordinal()) {
-                // query statements need to be convert to JsonArray and inserted into Alert to send
-                result = executeQuery(connection, mainStatementsBinds.get(0), "main");
-            } else if (sqlParameters.getSqlType() == SqlType.NON_QUERY.ordinal()) {
-                // non query statement
-                String updateResult = executeUpdate(connection, mainStatementsBinds, "main");
-                result = setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams());
+                // the rows of the query are streamed, the out params are dealt out during the iteration
+                executeQuery(connection, mainStatementsBinds.get(0), "main");
+            } else {
+                String result = null;
+                if (sqlParameters.getSqlType() == SqlType.NON_QUERY.ordinal()) {
+                    // non query statement
+                    String updateResult = executeUpdate(connection, mainStatementsBinds, "main");
+                    result = setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams());
+                }
+                // deal out params
+                sqlParameters.dealOutParam(result);
             }
-            // deal out params
-            sqlParameters.dealOutParam(result);
 
             // post execute
             executeUpdate(connection, postStatementsBinds, "post");
@@ -220,45 +232,113 @@ public class SqlTask extends AbstractTask {
     }
 
     /**
-     * result process
+     * result process, the rows are processed one by one rather than loaded into memory:
+     * <ul>
+     *     <li>the first display rows are printed into the task log</li>
+     *     <li>the first rows, at most {@link #ALERT_ROWS_LIMIT}, are kept for the alert</li>
+     *     <li>all the rows are written into the result file, if there is an out param of FILE type</li>
+     *     <li>the out params are collected from the rows</li>
+     * </ul>
      *
      * @param resultSet resultSet
      * @throws Exception Exception
      */
-    private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
-        if (resultSet != null) {
-            ResultSetMetaData md = resultSet.getMetaData();
-            int num = md.getColumnCount();
+    private void resultProcess(ResultSet resultSet) throws Exception {
+        if (resultSet == null) {
+            String result = JSONUtils.toJsonString(generateEmptyRow(null));
+            sendResultIfNeeded(result);
+            sqlParameters.dealOutParam(result);
+            return;
+        }
 
+        ResultSetMetaData md = resultSet.getMetaData();
+        int num = md.getColumnCount();
+        List<String> columnLabels = new ArrayList<>(num);
+        for (int i = 1; i <= num; i++) {
+            columnLabels.add(md.getColumnLabel(i));
+        }
+        int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
+                : TaskConstants.DEFAULT_DISPLAY_ROWS;
+        boolean sendEmail = Boolean.TRUE.equals(sqlParameters.getSendEmail());
+        ArrayNode alertRows = JSONUtils.createArrayNode();
+        SqlOutParamCollector outParamCollector = new SqlOutParamCollector(getOutProperties(), columnLabels);
+
+        long rowCount = 0;
+        log.info("display sql result at most {} rows as follows:", displayRows);
+        try (SqlResultFileWriter resultFileWriter = createResultFileWriter(columnLabels)) {
             while (resultSet.next()) {
                 ObjectNode mapOfColValues = JSONUtils.createObjectNode();
                 for (int i = 1; i <= num; i++) {
-                    mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
+                    mapOfColValues.set(columnLabels.get(i - 1), JSONUtils.toJsonNode(resultSet.getObject(i)));
+                }
+                if (rowCount < displayRows) {
+                    displayRow(rowCount + 1, mapOfColValues);
                 }
-                resultJSONArray.add(mapOfColValues);
+                if (sendEmail && rowCount < ALERT_ROWS_LIMIT) {
+                    alertRows.add(mapOfColValues);
+                }
+                if (resultFileWriter != null) {
+                    resultFileWriter.write(mapOfColValues);
+                }
+                outParamCollector.collect(mapOfColValues);
+                rowCount++;
             }
+        }
+        log.info("sql query returned {} rows", rowCount);
 
-            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
-                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, resultJSONArray.size());
-            log.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                log.info("row {} : {}", i + 1, row);
-            }
+        if (sendEmail && rowCount > ALERT_ROWS_LIMIT) {
+            log.warn("Only the first {} rows of the query result are sent by the alert", ALERT_ROWS_LIMIT);
         }
+        sendResultIfNeeded(alertRows.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
+                : JSONUtils.toJsonString(alertRows));
+        sqlParameters.dealOutParam(outParamCollector.getOutParams());
+    }
 
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
+    @VisibleForTesting
+    void displayRow(long rowNumber, ObjectNode row) {
+        log.info("row {} : {}", rowNumber, JSONUtils.toJsonString(row));
+    }
 
+    private void sendResultIfNeeded(String result) {
         if (Boolean.TRUE.equals(sqlParameters.getSendEmail())) {
             sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
                     ? sqlParameters.getTitle()
                     : taskExecutionContext.getTaskName() + " query result sets", result);
+            log.debug("execute sql result : {}", result);
         }
-        log.debug("execute sql result : {}", result);
-        return result;
+    }
+
+    private List<Property> getOutProperties() {
+        return Optional.ofNullable(sqlParameters.getLocalParams())
+                .orElse(new ArrayList<>())
+                .stream()
+                .filter(property -> Direct.OUT == property.getDirect())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The query result is written into the file of the first out param of FILE type, relative to the execute path,
+     * then the file is uploaded to the resource storage as the other output files after the task finished.
+     * The file must be under the execute path, otherwise the task fails.
+     *
+     * @return the writer of the result file, null if there is no out param of FILE type
+     */
+    private SqlResultFileWriter createResultFileWriter(List<String> columnLabels) throws IOException {
+        Optional<Property> resultFileProperty = getOutProperties()
+                .stream()
+                .filter(property -> property.getType() == DataType.FILE && StringUtils.isNotEmpty(property.getValue()))
+                .findFirst();
+        if (!resultFileProperty.isPresent()) {
+            return null;
+        }
+        Path executePath = Paths.get(taskExecutionContext.getExecutePath()).toAbsolutePath().normalize();
+        Path resultFile = executePath.resolve(resultFileProperty.get().getValue()).normalize();
+        if (!resultFile.startsWith(executePath) || resultFile.equals(executePath)) {
+            throw new TaskException("The sql result file: " + resultFileProperty.get().getValue()
+                    + " is not under the task execute path");
+        }
+        log.info("Write the sql query result into the file: {}", resultFile);
+        return new SqlResultFileWriter(resultFile, columnLabels);
     }
 
     /**
@@ -296,11 +376,15 @@ public class SqlTask extends AbstractTask {
         setTaskAlertInfo(taskAlertInfo);
     }
 
-    private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
+    @VisibleForTesting
+    void executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
             log.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
+            if (sqlParameters.getFetchSize() > 0) {
+                statement.setFetchSize(sqlParameters.getFetchSize());
+            }
             ResultSet resultSet = statement.executeQuery();
-            return resultProcess(resultSet);
+            resultProcess(resultSet);
         }
     }
 
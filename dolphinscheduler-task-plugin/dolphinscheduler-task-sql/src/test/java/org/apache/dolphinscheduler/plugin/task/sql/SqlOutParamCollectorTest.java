@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class SqlOutParamCollectorTest {
+
+    private final List<String> columnLabels = Arrays.asList("id", "name");
+
+    private final List<Property> outProperties = Arrays.asList(
+            new Property("id", Direct.OUT, DataType.VARCHAR, null),
+            new Property("name", Direct.OUT, DataType.LIST, null),
+            new Property("result", Direct.OUT, DataType.FILE, "result.csv"));
+
+    @Test
+    void testGetOutParams_emptyResult() {
+        SqlOutParamCollector collector = new SqlOutParamCollector(outProperties, columnLabels);
+
+        Map<String, String> outParams = collector.getOutParams();
+        Assertions.assertEquals("", outParams.get("id"));
+        Assertions.assertEquals("", outParams.get("name"));
+        Assertions.assertFalse(outParams.containsKey("result"));
+    }
+
+    @Test
+    void testGetOutParams_oneRow() {
+        SqlOutParamCollector collector = new SqlOutParamCollector(outProperties, columnLabels);
+        collector.collect(row(1, "a"));
+
+        Map<String, String> outParams = collector.getOutParams();
+        Assertions.assertEquals("1", outParams.get("id"));
+        Assertions.assertEquals("a", outParams.get("name"));
+        Assertions.assertFalse(outParams.containsKey("result"));
+    }
+
+    @Test
+    void testGetOutParams_multipleRows() {
+        SqlOutParamCollector collector = new SqlOutParamCollector(outProperties, columnLabels);
+        collector.collect(row(1, "a"));
+        collector.collect(row(2, null));
+        collector.collect(row(3, "c"));
+
+        Map<String, String> outParams = collector.getOutParams();
+        Assertions.assertFalse(outParams.containsKey("id"));
+        Assertions.assertEquals("[\"a\",\"null\",\"c\"]", outParams.get("name"));
+    }
+
+    private ObjectNode row(Object id, Object name) {
+        ObjectNode row = JSONUtils.createObjectNode();
+        row.set("id", JSONUtils.toJsonNode(id));
+        row.set("name", JSONUtils.toJsonNode(name));
+        return row;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class SqlResultFileWriterTest {
+
+    private final List<String> columnLabels = Arrays.asList("id", "name");
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testWriteCsv() throws IOException {
+        Path resultFile = tempDir.resolve("result.csv");
+        try (SqlResultFileWriter writer = new SqlResultFileWriter(resultFile, columnLabels)) {
+            writer.write(row(1, "plain"));
+            writer.write(row(2, "a,b"));
+            writer.write(row(3, "say \"hi\""));
+            writer.write(row(4, "line1\nline2"));
+            writer.write(row(5, "line1\r\nline2"));
+        }
+
+        String expected = "id,name\n"
+                + "1,plain\n"
+                + "2,\"a,b\"\n"
+                + "3,\"say \"\"hi\"\"\"\n"
+                + "4,\"line1\nline2\"\n"
+                + "5,\"line1\r\nline2\"\n";
+        Assertions.assertEquals(expected, new String(Files.readAllBytes(resultFile), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteCsvNullCell() throws IOException {
+        Path resultFile = tempDir.resolve("result.CSV");
+        try (SqlResultFileWriter writer = new SqlResultFileWriter(resultFile, columnLabels)) {
+            writer.write(row(null, "a"));
+            writer.write(row(2, null));
+            ObjectNode missingColumn = JSONUtils.createObjectNode();
+            missingColumn.set("id", JSONUtils.toJsonNode(3));
+            writer.write(missingColumn);
+        }
+
+        String expected = "id,name\n"
+                + ",a\n"
+                + "2,\n"
+                + "3,\n";
+        Assertions.assertEquals(expected, new String(Files.readAllBytes(resultFile), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteJsonLines() throws IOException {
+        Path resultFile = tempDir.resolve("sub").resolve("result.json");
+        try (SqlResultFileWriter writer = new SqlResultFileWriter(resultFile, columnLabels)) {
+            writer.write(row(1, "a,b\n\"c\""));
+            writer.write(row(2, null));
+        }
+
+        List<String> lines = Files.readAllLines(resultFile, StandardCharsets.UTF_8);
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertEquals(row(1, "a,b\n\"c\""), JSONUtils.parseObject(lines.get(0), ObjectNode.class));
+        Assertions.assertEquals(row(2, null), JSONUtils.parseObject(lines.get(1), ObjectNode.class));
+    }
+
+    private ObjectNode row(Object id, Object name) {
+        ObjectNode row = JSONUtils.createObjectNode();
+        row.set("id", JSONUtils.toJsonNode(id));
+        row.set("name", JSONUtils.toJsonNode(name));
+        return row;
+    }
+}
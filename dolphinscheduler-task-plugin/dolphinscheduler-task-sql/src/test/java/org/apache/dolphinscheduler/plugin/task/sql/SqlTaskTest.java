@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.plugin.task.sql;
 
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
@@ -29,21 +30,44 @@ import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.ResourceP
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
 
 class SqlTaskTest {
 
     private SqlTask sqlTask;
 
+    @TempDir
+    private Path executePath;
+
     @BeforeEach
     void setup() {
+        sqlTask = createSqlTask("");
+    }
+
+    private SqlTask createSqlTask(String extraTaskParams) {
         DataSourceParameters parameters = new DataSourceParameters();
         parameters.setType(DbType.HIVE);
         parameters.setResourceType(ResourceType.DATASOURCE.name());
@@ -53,9 +77,11 @@ class SqlTaskTest {
 
         TaskExecutionContext ctx = new TaskExecutionContext();
         ctx.setResourceParametersHelper(resourceParametersHelper);
-        ctx.setTaskParams("{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select 1\"}");
+        ctx.setTaskName("sql-task");
+        ctx.setExecutePath(executePath.toString());
+        ctx.setTaskParams("{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select 1\"" + extraTaskParams + "}");
 
-        sqlTask = new SqlTask(ctx);
+        return new SqlTask(ctx);
     }
 
     @Test
@@ -173,4 +199,123 @@ class SqlTaskTest {
         Assertions.assertEquals(4, sqlParamsMap.size());
         Assertions.assertEquals(expected, formatSql);
     }
+
+    @Test
+    void testExecuteQueryWithFetchSize() throws Exception {
+        SqlTask task = createSqlTask(",\"fetchSize\":500");
+        PreparedStatement statement = mockStatement(mockResultSet(Arrays.asList("id"), 1));
+
+        task.executeQuery(mockConnection(statement), new SqlBinds("select 1", null), "main");
+
+        Mockito.verify(statement).setFetchSize(500);
+        Mockito.verify(statement).close();
+    }
+
+    @Test
+    void testExecuteQueryWithoutFetchSize() throws Exception {
+        PreparedStatement statement = mockStatement(mockResultSet(Arrays.asList("id"), 1));
+
+        sqlTask.executeQuery(mockConnection(statement), new SqlBinds("select 1", null), "main");
+
+        Mockito.verify(statement, Mockito.never()).setFetchSize(Mockito.anyInt());
+    }
+
+    @Test
+    void testExecuteQueryDisplayRows() throws Exception {
+        SqlTask task = Mockito.spy(createSqlTask(",\"displayRows\":2"));
+        PreparedStatement statement = mockStatement(mockResultSet(Arrays.asList("id"), 5));
+
+        task.executeQuery(mockConnection(statement), new SqlBinds("select 1", null), "main");
+
+        ArgumentCaptor<ObjectNode> displayedRows = ArgumentCaptor.forClass(ObjectNode.class);
+        Mockito.verify(task, Mockito.times(2)).displayRow(Mockito.anyLong(), displayedRows.capture());
+        Mockito.verify(task).displayRow(Mockito.eq(1L), Mockito.any());
+        Mockito.verify(task).displayRow(Mockito.eq(2L), Mockito.any());
+        Assertions.assertEquals("id2", displayedRows.getAllValues().get(1).get("id").asText());
+    }
+
+    @Test
+    void testExecuteQueryAlertRowsLimit() throws Exception {
+        SqlTask task = createSqlTask(",\"sendEmail\":true,\"groupId\":3");
+        PreparedStatement statement = mockStatement(mockResultSet(Arrays.asList("id"), 10001));
+
+        task.executeQuery(mockConnection(statement), new SqlBinds("select 1", null), "main");
+
+        Assertions.assertTrue(task.getNeedAlert());
+        Assertions.assertEquals(3, task.getTaskAlertInfo().getAlertGroupId());
+        Assertions.assertEquals("sql-task query result sets", task.getTaskAlertInfo().getTitle());
+        ArrayNode alertRows = JSONUtils.parseObject(task.getTaskAlertInfo().getContent(), ArrayNode.class);
+        Assertions.assertEquals(10000, alertRows.size());
+        Assertions.assertEquals("id10000", alertRows.get(9999).get("id").asText());
+    }
+
+    @Test
+    void testExecuteQueryWithoutAlert() throws Exception {
+        PreparedStatement statement = mockStatement(mockResultSet(Arrays.asList("id"), 3));
+
+        sqlTask.executeQuery(mockConnection(statement), new SqlBinds("select 1", null), "main");
+
+        Assertions.assertFalse(sqlTask.getNeedAlert());
+        Assertions.assertNull(sqlTask.getTaskAlertInfo());
+    }
+
+    @Test
+    void testExecuteQueryFileOutParamExcludedFromVarPool() throws Exception {
+        SqlTask task = createSqlTask(",\"localParams\":["
+                + "{\"prop\":\"id\",\"direct\":\"OUT\",\"type\":\"VARCHAR\",\"value\":\"\"},"
+                + "{\"prop\":\"result\",\"direct\":\"OUT\",\"type\":\"FILE\",\"value\":\"result.csv\"}]");
+        PreparedStatement statement = mockStatement(mockResultSet(Arrays.asList("id", "result"), 1));
+
+        task.executeQuery(mockConnection(statement), new SqlBinds("select 1", null), "main");
+
+        Map<String, Property> varPool = task.getParameters().getVarPoolMap();
+        Assertions.assertEquals("id1", varPool.get("id").getValue());
+        Assertions.assertEquals(DataType.FILE, varPool.get("result").getType());
+        Assertions.assertEquals("result.csv", varPool.get("result").getValue());
+        Assertions.assertEquals(Arrays.asList("id,result", "id1,result1"),
+                Files.readAllLines(executePath.resolve("result.csv"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExecuteQueryFileOutParamOutsideExecutePath() throws Exception {
+        for (String resultFile : new String[]{"../result.csv", "sub/../../result.csv", "/tmp/result.csv", "."}) {
+            SqlTask task = createSqlTask(",\"localParams\":[{\"prop\":\"result\",\"direct\":\"OUT\","
+                    + "\"type\":\"FILE\",\"value\":\"" + resultFile + "\"}]");
+            PreparedStatement statement = mockStatement(mockResultSet(Arrays.asList("id"), 1));
+
+            Assertions.assertThrows(TaskException.class,
+                    () -> task.executeQuery(mockConnection(statement), new SqlBinds("select 1", null), "main"));
+        }
+        Assertions.assertFalse(Files.exists(executePath.resolve("..").resolve("result.csv")));
+    }
+
+    private Connection mockConnection(PreparedStatement statement) throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+        return connection;
+    }
+
+    private PreparedStatement mockStatement(ResultSet resultSet) throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+        return statement;
+    }
+
+    /**
+     * Mock a result set of the given rows, the value of each cell is the column label followed by the row number.
+     */
+    private ResultSet mockResultSet(List<String> columnLabels, int rowCount) throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(columnLabels.size());
+        for (int i = 0; i < columnLabels.size(); i++) {
+            Mockito.when(metaData.getColumnLabel(i + 1)).thenReturn(columnLabels.get(i));
+        }
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+        AtomicInteger currentRow = new AtomicInteger();
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> currentRow.incrementAndGet() <= rowCount);
+        Mockito.when(resultSet.getObject(Mockito.anyInt())).thenAnswer(
+                invocation -> columnLabels.get(invocation.<Integer>getArgument(0) - 1) + currentRow.get());
+        return resultSet;
+    }
 }
@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceProcessorProvider;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageConfiguration;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskLogAppender;
 import org.apache.dolphinscheduler.registry.api.RegistryConfiguration;
 import org.apache.dolphinscheduler.server.worker.executor.PhysicalTaskEngineDelegator;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
@@ -101,6 +102,8 @@ public class WorkerServer implements IStoppable {
             SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
             return systemMetrics.getJvmMemoryUsedPercentage();
         });
+        WorkerServerMetrics.registerWorkerTaskLogDroppedGauge(TaskLogAppender::getDroppedEventCount);
+        WorkerServerMetrics.registerWorkerTaskLogBlockedGauge(TaskLogAppender::getBlockedEventCount);
 
         /*
          * registry hooks, which are called before the process exits
@@ -24,4 +24,15 @@ public class PhysicalTaskConfig {
 
     private int taskExecutorThreadSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
 
+    /**
+     * The number of threads used to transfer the resource files, upstream files and output files of the tasks, the
+     * files will be transferred one by one if the value is not positive.
+     */
+    private int fileTransferThreadSize = 16;
+
+    /**
+     * The number of threads used to flush, compress and upload the logs of the finished tasks.
+     */
+    private int taskLogFinalizeThreadSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
 }
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.worker.config;
 
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.extract.base.config.RpcServerExecutorConfig;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 
 import org.apache.commons.lang3.StringUtils;
@@ -56,6 +57,13 @@ public class WorkerConfig implements Validator {
 
     private PhysicalTaskConfig physicalTaskConfig = new PhysicalTaskConfig();
 
+    private ResourceCacheConfig resourceCacheConfig = new ResourceCacheConfig();
+
+    /**
+     * The executors used to invoke the rpc methods, the slow services such as log service can be isolated.
+     */
+    private RpcServerExecutorConfig rpcServerExecutor = new RpcServerExecutorConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -92,6 +100,8 @@ public class WorkerConfig implements Validator {
                         "\n  address -> " + workerAddress +
                         "\n  registry-path: " + workerRegistryPath +
                         "\n  physical-task-config -> " + physicalTaskConfig +
+                        "\n  resource-cache-config -> " + resourceCacheConfig +
+                        "\n  rpc-server-executor -> " + rpcServerExecutor +
                         "\n  group -> " + group +
                         "\n****************************Worker Configuration**************************************";
         log.info(config);
@@ -25,6 +25,8 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.ApplicationInfo;
 import org.apache.dolphinscheduler.plugin.task.api.resource.ResourceContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerFileTransferExecutor;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.utils.TaskExecutionContextUtils;
 import org.apache.dolphinscheduler.server.worker.utils.TaskFilesTransferUtils;
 import org.apache.dolphinscheduler.server.worker.utils.TenantUtils;
@@ -44,6 +46,10 @@ public class PhysicalTaskExecutor extends AbstractTaskExecutor {
 
     private final StorageOperator storageOperator;
 
+    private final WorkerResourceCache workerResourceCache;
+
+    private final WorkerFileTransferExecutor workerFileTransferExecutor;
+
     @Getter
     private AbstractTask physicalTask;
 
@@ -54,6 +60,8 @@ public class PhysicalTaskExecutor extends AbstractTaskExecutor {
                 physicalTaskExecutorBuilder.getTaskExecutorEventBus());
         this.workerConfig = physicalTaskExecutorBuilder.getWorkerConfig();
         this.storageOperator = physicalTaskExecutorBuilder.getStorageOperator();
+        this.workerResourceCache = physicalTaskExecutorBuilder.getWorkerResourceCache();
+        this.workerFileTransferExecutor = physicalTaskExecutorBuilder.getWorkerFileTransferExecutor();
         this.physicalTaskPluginFactory = physicalTaskExecutorBuilder.getPhysicalTaskPluginFactory();
     }
 
@@ -118,12 +126,14 @@ public class PhysicalTaskExecutor extends AbstractTaskExecutor {
         final ResourceContext resourceContext = TaskExecutionContextUtils.downloadResourcesIfNeeded(
                 physicalTaskPluginFactory.getTaskChannel(this),
                 storageOperator,
+                workerResourceCache,
+                workerFileTransferExecutor,
                 taskExecutionContext);
         taskExecutionContext.setResourceContext(resourceContext);
         log.info("Download resources successfully: \n{}", taskExecutionContext.getResourceContext());
 
         // todo: remove this. The cache should be deprecated
-        TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator);
+        TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator, workerFileTransferExecutor);
         log.info("Download upstream files: {} successfully",
                 TaskFilesTransferUtils.getFileLocalParams(taskExecutionContext, Direct.IN));
 
@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.server.worker.executor;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerFileTransferExecutor;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.task.executor.eventbus.TaskExecutorEventBus;
 
 import lombok.AllArgsConstructor;
@@ -37,6 +39,10 @@ public class PhysicalTaskExecutorBuilder {
 
     private StorageOperator storageOperator;
 
+    private WorkerResourceCache workerResourceCache;
+
+    private WorkerFileTransferExecutor workerFileTransferExecutor;
+
     @Builder.Default
     private TaskExecutorEventBus taskExecutorEventBus = new TaskExecutorEventBus();
 
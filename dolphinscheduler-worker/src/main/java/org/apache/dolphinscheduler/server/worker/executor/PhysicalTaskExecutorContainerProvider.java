@@ -34,6 +34,7 @@ public class PhysicalTaskExecutorContainerProvider implements ITaskExecutorConta
         final TaskExecutorContainerConfig containerConfig = TaskExecutorContainerConfig.builder()
                 .containerName("exclusive-task-executor-container")
                 .taskExecutorThreadPoolSize(workerConfig.getPhysicalTaskConfig().getTaskExecutorThreadSize())
+                .taskLogFinalizeThreadPoolSize(workerConfig.getPhysicalTaskConfig().getTaskLogFinalizeThreadSize())
                 .build();
         this.taskExecutorContainer = new ExclusiveThreadTaskExecutorContainer(containerConfig);
     }
@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerFileTransferExecutor;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.task.executor.ITaskExecutor;
 import org.apache.dolphinscheduler.task.executor.ITaskExecutorFactory;
 
@@ -38,12 +40,20 @@ public class PhysicalTaskExecutorFactory implements ITaskExecutorFactory {
 
     private final StorageOperator storageOperator;
 
+    private final WorkerResourceCache workerResourceCache;
+
+    private final WorkerFileTransferExecutor workerFileTransferExecutor;
+
     public PhysicalTaskExecutorFactory(final WorkerConfig workerConfig,
                                        final PhysicalTaskPluginFactory physicalTaskPluginFactory,
-                                       final StorageOperator storageOperator) {
+                                       final StorageOperator storageOperator,
+                                       final WorkerResourceCache workerResourceCache,
+                                       final WorkerFileTransferExecutor workerFileTransferExecutor) {
         this.workerConfig = workerConfig;
         this.physicalTaskPluginFactory = physicalTaskPluginFactory;
         this.storageOperator = storageOperator;
+        this.workerResourceCache = workerResourceCache;
+        this.workerFileTransferExecutor = workerFileTransferExecutor;
     }
 
     @Override
@@ -54,6 +64,8 @@ public class PhysicalTaskExecutorFactory implements ITaskExecutorFactory {
                 .taskExecutionContext(taskExecutionContext)
                 .workerConfig(workerConfig)
                 .storageOperator(storageOperator)
+                .workerResourceCache(workerResourceCache)
+                .workerFileTransferExecutor(workerFileTransferExecutor)
                 .physicalTaskPluginFactory(physicalTaskPluginFactory)
                 .build();
         return new PhysicalTaskExecutor(physicalTaskExecutorBuilder);
@@ -52,6 +52,18 @@ public class WorkerServerMetrics {
                     .description("worker resource download failure count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceCacheHitCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource cache miss count")
+                    .register(Metrics.globalRegistry);
+
     private final Counter workerHeartBeatCounter =
             Counter.builder("ds.worker.heartbeat.count")
                     .description("worker heartbeat count")
@@ -88,6 +100,14 @@ public class WorkerServerMetrics {
         workerResourceDownloadFailCounter.increment();
     }
 
+    public void incWorkerResourceCacheHitCount() {
+        workerResourceCacheHitCounter.increment();
+    }
+
+    public void incWorkerResourceCacheMissCount() {
+        workerResourceCacheMissCounter.increment();
+    }
+
     public void incWorkerHeartbeatCount() {
         workerHeartBeatCounter.increment();
     }
@@ -100,6 +120,26 @@ public class WorkerServerMetrics {
         workerResourceDownloadSizeDistribution.record(size);
     }
 
+    public void recordWorkerFileTransferTime(final String fileTransferType, final long milliseconds) {
+        Timer.builder("ds.worker.file.transfer.duration")
+                .tag("type", fileTransferType)
+                .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .description("time cost of transferring a single file of tasks on workers")
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordWorkerFileTransferTotalTime(final String fileTransferType, final long milliseconds) {
+        Timer.builder("ds.worker.file.transfer.total.duration")
+                .tag("type", fileTransferType)
+                .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .description("time cost of transferring all the files of a task on workers")
+                .register(Metrics.globalRegistry)
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void registerWorkerTaskTotalGauge(final Supplier<Number> supplier) {
         Gauge.builder("ds.worker.task", supplier)
                 .description("total number of tasks on worker")
@@ -136,6 +176,35 @@ public class WorkerServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerWorkerTaskLogDroppedGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.task.log.dropped", supplier)
+                .description("number of task log events dropped since the task log buffer is full")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkerTaskLogBlockedGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.task.log.blocked", supplier)
+                .description("number of task log events blocked since the task log buffer is full")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkerResourceCacheHitRateGauge() {
+        Gauge.builder("ds.worker.resource.cache.hit.rate", () -> {
+            final double hitCount = workerResourceCacheHitCounter.count();
+            final double totalCount = hitCount + workerResourceCacheMissCounter.count();
+            return totalCount == 0 ? 0 : hitCount / totalCount;
+        })
+                .description("ratio of resource files served by the worker resource cache")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkerResourceCacheSizeGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.resource.cache.size", supplier)
+                .baseUnit("bytes")
+                .description("total size of the resource files cached on worker")
+                .register(Metrics.globalRegistry);
+    }
+
     public static void registerUncachedException(final Supplier<Number> supplier) {
         Gauge.builder("ds.worker.uncached.exception", supplier)
                 .description("number of uncached exception")
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum FileTransferType {
+
+    /**
+     * The resource files downloaded from the storage before the task is executed.
+     */
+    RESOURCE("resource"),
+
+    /**
+     * The files produced by the upstream tasks, downloaded before the task is executed.
+     */
+    UPSTREAM_FILE("upstream_file"),
+
+    /**
+     * The files produced by the task, uploaded to the storage after the task is executed.
+     */
+    OUTPUT_FILE("output_file"),
+    ;
+
+    private final String metricTag;
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The worker-wide pool used to transfer the files between the task working directory and the storage.
+ * <p> The files of a task are transferred concurrently, while the total number of concurrent transfers on the worker
+ * is bounded by {@code worker.physical-task-config.file-transfer-thread-size}. If the size is not positive, the files
+ * will be transferred one by one in the caller thread.
+ */
+@Slf4j
+@Component
+public class WorkerFileTransferExecutor {
+
+    /**
+     * The max time to wait for the cancelled transfers to exit once the caller is interrupted.
+     */
+    private static final long CANCELLED_TRANSFER_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final ExecutorService fileTransferThreadPool;
+
+    public WorkerFileTransferExecutor(final WorkerConfig workerConfig) {
+        final int fileTransferThreadSize = workerConfig.getPhysicalTaskConfig().getFileTransferThreadSize();
+        if (fileTransferThreadSize > 0) {
+            this.fileTransferThreadPool =
+                    ThreadUtils.newDaemonFixedThreadExecutor("WorkerFileTransfer-%d", fileTransferThreadSize);
+        } else {
+            this.fileTransferThreadPool = null;
+        }
+    }
+
+    /**
+     * Run the given transfers and wait until all of them are finished.
+     * <p> The per-file and the total time cost are recorded by the given type. If some transfers failed, the first
+     * failure in the given order will be thrown after the others are finished, so no transfer is still writing the
+     * working directory once this method returns. If the caller is interrupted, the transfers are cancelled and
+     * waited for at most {@link #CANCELLED_TRANSFER_WAIT_MILLIS} before the exception is thrown.
+     *
+     * @param fileTransferType the type of the transferred files
+     * @param transfers        the independent transfers, each one transfers a single file
+     * @return the results of the transfers, in the same order as the given transfers
+     * @throws TaskException if any transfer failed
+     */
+    public <T> List<T> transfer(final FileTransferType fileTransferType,
+                                final List<Callable<T>> transfers) throws TaskException {
+        final long transferStartTime = System.currentTimeMillis();
+        final List<T> results;
+        if (fileTransferThreadPool == null || transfers.size() <= 1) {
+            results = new ArrayList<>(transfers.size());
+            for (Callable<T> transfer : transfers) {
+                try {
+                    results.add(timed(fileTransferType, transfer).call());
+                } catch (Exception ex) {
+                    throw toTaskException(fileTransferType, ex);
+                }
+            }
+        } else {
+            results = transferConcurrently(fileTransferType, transfers);
+        }
+        final long transferTime = System.currentTimeMillis() - transferStartTime;
+        WorkerServerMetrics.recordWorkerFileTransferTotalTime(fileTransferType.getMetricTag(), transferTime);
+        log.info("Transfer {} {} files cost {} ms", transfers.size(), fileTransferType.getMetricTag(), transferTime);
+        return results;
+    }
+
+    private <T> List<T> transferConcurrently(final FileTransferType fileTransferType,
+                                             final List<Callable<T>> transfers) {
+        final RunningTransfers runningTransfers = new RunningTransfers();
+        final List<Future<T>> futures = new ArrayList<>(transfers.size());
+        for (Callable<T> transfer : transfers) {
+            futures.add(fileTransferThreadPool.submit(runningTransfers.track(timed(fileTransferType, transfer))));
+        }
+        final List<T> results = new ArrayList<>(transfers.size());
+        Exception firstFailure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                if (firstFailure == null) {
+                    firstFailure = ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+                }
+            } catch (InterruptedException ex) {
+                runningTransfers.close();
+                futures.forEach(f -> f.cancel(true));
+                // A cancelled future is done at once, but its transfer may still write the file until it exits
+                if (!runningTransfers.awaitFinished(CANCELLED_TRANSFER_WAIT_MILLIS)) {
+                    log.warn("Some {} file transfers are still running {} ms after they were cancelled",
+                            fileTransferType.getMetricTag(), CANCELLED_TRANSFER_WAIT_MILLIS);
+                }
+                Thread.currentThread().interrupt();
+                throw new TaskException("Transfer " + fileTransferType.getMetricTag() + " files is interrupted", ex);
+            }
+        }
+        if (firstFailure != null) {
+            throw toTaskException(fileTransferType, firstFailure);
+        }
+        return results;
+    }
+
+    private <T> Callable<T> timed(final FileTransferType fileTransferType, final Callable<T> transfer) {
+        return () -> {
+            final long fileTransferStartTime = System.currentTimeMillis();
+            try {
+                return transfer.call();
+            } finally {
+                WorkerServerMetrics.recordWorkerFileTransferTime(fileTransferType.getMetricTag(),
+                        System.currentTimeMillis() - fileTransferStartTime);
+            }
+        };
+    }
+
+    private TaskException toTaskException(final FileTransferType fileTransferType, final Exception ex) {
+        if (ex instanceof TaskException) {
+            return (TaskException) ex;
+        }
+        return new TaskException("Transfer " + fileTransferType.getMetricTag() + " files failed", ex);
+    }
+
+    /**
+     * Track the transfers running in the pool, so that the caller can wait for them to exit after cancelling them.
+     */
+    private static class RunningTransfers {
+
+        private int runningCount;
+
+        private boolean closed;
+
+        <T> Callable<T> track(final Callable<T> transfer) {
+            return () -> {
+                synchronized (this) {
+                    if (closed) {
+                        throw new CancellationException("The file transfer is cancelled");
+                    }
+                    runningCount++;
+                }
+                try {
+                    return transfer.call();
+                } finally {
+                    synchronized (this) {
+                        runningCount--;
+                        notifyAll();
+                    }
+                }
+            };
+        }
+
+        /**
+         * No more transfer will be started once closed.
+         */
+        synchronized void close() {
+            closed = true;
+        }
+
+        /**
+         * @return false if some transfers are still running after the timeout
+         */
+        synchronized boolean awaitFinished(final long timeoutMillis) {
+            final long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (runningCount > 0) {
+                final long remainingMillis = deadline - System.currentTimeMillis();
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                try {
+                    wait(remainingMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
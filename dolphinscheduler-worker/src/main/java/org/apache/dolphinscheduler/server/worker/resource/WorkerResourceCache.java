@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * The resource files cached on the worker, shared by all the task instances.
+ * <p> A cached file is addressed by its storage path and the version reported by
+ * {@link StorageOperator#getResourceVersion(String)}, so a changed resource is downloaded again. The files are placed
+ * into the task working directories by hard links, or by copies if the working directory is on another file system,
+ * and they are read-only to prevent a task from modifying the content shared with others.
+ * <p> Concurrent fetches of the same resource are served by one download, the least recently used files will be
+ * evicted once the total size exceeds {@link ResourceCacheConfig#getMaxSizeBytes()}. A resource larger than the max
+ * size is never cached. The cache directory is cleaned when the worker starts.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache {
+
+    private static final String RESOURCE_CACHE_DIRECTORY = "resource-cache";
+
+    private static final int MAX_PLACE_ATTEMPTS = 2;
+
+    private final boolean enabled;
+
+    private final Path cacheDirectory;
+
+    private final long maxWeight;
+
+    private final Cache<String, Path> cachedResources;
+
+    private final AtomicLong cachedSize = new AtomicLong();
+
+    public WorkerResourceCache(final WorkerConfig workerConfig) throws IOException {
+        final ResourceCacheConfig resourceCacheConfig = workerConfig.getResourceCacheConfig();
+        this.enabled = resourceCacheConfig.isEnabled();
+        this.cacheDirectory = Paths.get(FileUtils.DATA_BASEDIR, RESOURCE_CACHE_DIRECTORY).toAbsolutePath();
+        // The weight is counted in kilobytes since a single file may exceed Integer.MAX_VALUE bytes
+        this.maxWeight = Math.max(1, resourceCacheConfig.getMaxSizeBytes() / 1024);
+        this.cachedResources = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maxWeight)
+                .weigher((String cacheKey, Path cachedResource) -> getWeight(cachedResource.toFile().length()))
+                .removalListener(this::onRemoval)
+                .build();
+        if (enabled) {
+            FileUtils.deleteFile(cacheDirectory.toString());
+            FileUtils.createDirectoryWith755(cacheDirectory);
+            WorkerServerMetrics.registerWorkerResourceCacheSizeGauge(cachedSize::get);
+            WorkerServerMetrics.registerWorkerResourceCacheHitRateGauge();
+            log.info("Worker resource cache is enabled, directory: {}, max size: {} bytes",
+                    cacheDirectory, resourceCacheConfig.getMaxSizeBytes());
+        }
+    }
+
+    /**
+     * Fetch the resource file from the storage into the given local path.
+     * <p> The cached file will be used if the same version of the resource has been downloaded before, the resource
+     * will be downloaded directly if the cache is disabled, the storage cannot tell the version or the size, or the
+     * resource is larger than the max size of the cache.
+     *
+     * @param storageOperator               the storage which the resource is in
+     * @param resourceAbsolutePathInStorage the resource absolute path in storage
+     * @param resourceAbsolutePathInLocal   the local file which the resource will be placed to, should not exist
+     */
+    public void fetch(final StorageOperator storageOperator,
+                      final String resourceAbsolutePathInStorage,
+                      final String resourceAbsolutePathInLocal) throws IOException {
+        final Path localPath = Paths.get(resourceAbsolutePathInLocal);
+        final String resourceVersion =
+                enabled ? getResourceVersion(storageOperator, resourceAbsolutePathInStorage) : null;
+        // A resource heavier than the whole cache would be evicted as soon as it is loaded, don't cache it at all
+        if (resourceVersion != null && isCacheable(storageOperator, resourceAbsolutePathInStorage)) {
+            final String cacheKey = resourceAbsolutePathInStorage + "@" + resourceVersion;
+            for (int i = 0; i < MAX_PLACE_ATTEMPTS; i++) {
+                final Path cachedResource = getOrDownload(storageOperator, resourceAbsolutePathInStorage, cacheKey);
+                if (placeCachedResource(cachedResource, localPath)) {
+                    return;
+                }
+                // The cached file has been evicted before placed, download it again
+                cachedResources.asMap().remove(cacheKey, cachedResource);
+            }
+        }
+        download(storageOperator, resourceAbsolutePathInStorage, localPath);
+        FileUtils.setFileTo755(localPath.toFile());
+    }
+
+    @VisibleForTesting
+    long getCachedSize() {
+        return cachedSize.get();
+    }
+
+    @VisibleForTesting
+    Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    private String getResourceVersion(final StorageOperator storageOperator, final String resourceAbsolutePath) {
+        try {
+            return storageOperator.getResourceVersion(resourceAbsolutePath);
+        } catch (Exception ex) {
+            log.warn("Get the version of resource: {} failed, will not use the resource cache",
+                    resourceAbsolutePath, ex);
+            return null;
+        }
+    }
+
+    private boolean isCacheable(final StorageOperator storageOperator, final String resourceAbsolutePath) {
+        final long resourceSize;
+        try {
+            resourceSize = storageOperator.getStorageEntity(resourceAbsolutePath).getSize();
+        } catch (Exception ex) {
+            log.warn("Get the size of resource: {} failed, will not use the resource cache", resourceAbsolutePath, ex);
+            return false;
+        }
+        if (getWeight(resourceSize) > maxWeight) {
+            log.info("The size of resource: {} is {} bytes, which exceeds the max size of resource cache, "
+                    + "will not use the resource cache", resourceAbsolutePath, resourceSize);
+            return false;
+        }
+        return true;
+    }
+
+    private int getWeight(final long fileSize) {
+        return (int) Math.min(Integer.MAX_VALUE, (fileSize + 1023) / 1024);
+    }
+
+    private Path getOrDownload(final StorageOperator storageOperator,
+                               final String resourceAbsolutePath,
+                               final String cacheKey) throws IOException {
+        final AtomicBoolean downloaded = new AtomicBoolean(false);
+        final Path cachedResource;
+        try {
+            // The concurrent loads of the same key will wait for the first one rather than download again
+            cachedResource = cachedResources.get(cacheKey, () -> {
+                downloaded.set(true);
+                return downloadIntoCache(storageOperator, resourceAbsolutePath, cacheKey);
+            });
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            throw new IOException("Download resource: " + resourceAbsolutePath + " into cache failed", ex.getCause());
+        }
+        if (downloaded.get()) {
+            WorkerServerMetrics.incWorkerResourceCacheMissCount();
+        } else {
+            WorkerServerMetrics.incWorkerResourceCacheHitCount();
+            log.info("Resource: {} hits the worker resource cache: {}", resourceAbsolutePath, cachedResource);
+        }
+        return cachedResource;
+    }
+
+    private Path downloadIntoCache(final StorageOperator storageOperator,
+                                   final String resourceAbsolutePath,
+                                   final String cacheKey) throws IOException {
+        // Each load gets its own file, so deleting an evicted file never removes the file of a later load
+        final String fileName = Hashing.sha256().hashString(cacheKey, StandardCharsets.UTF_8) + "-" + UUID.randomUUID();
+        final Path cachedResource = cacheDirectory.resolve(fileName);
+        final Path tmpResource = cacheDirectory.resolve(fileName + ".tmp");
+        try {
+            download(storageOperator, resourceAbsolutePath, tmpResource);
+            if (!OSUtils.isWindows()) {
+                Files.setPosixFilePermissions(tmpResource, PosixFilePermissions.fromString("r-xr-xr-x"));
+            }
+            Files.move(tmpResource, cachedResource, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpResource);
+        }
+        cachedSize.addAndGet(cachedResource.toFile().length());
+        return cachedResource;
+    }
+
+    private boolean placeCachedResource(final Path cachedResource, final Path localPath) throws IOException {
+        FileUtils.createDirectoryWith755(localPath.getParent());
+        try {
+            Files.createLink(localPath, cachedResource);
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
+        } catch (IOException | UnsupportedOperationException ex) {
+            log.debug("Cannot link the cached resource: {} to {}, will copy it", cachedResource, localPath, ex);
+        }
+        try {
+            Files.copy(cachedResource, localPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+        FileUtils.setFileTo755(localPath.toFile());
+        return true;
+    }
+
+    private void download(final StorageOperator storageOperator,
+                          final String resourceAbsolutePath,
+                          final Path localPath) throws IOException {
+        try {
+            final long resourceDownloadStartTime = System.currentTimeMillis();
+            storageOperator.download(resourceAbsolutePath, localPath.toString(), true);
+            WorkerServerMetrics
+                    .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+            WorkerServerMetrics.recordWorkerResourceDownloadSize(Files.size(localPath));
+            WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+        } catch (Exception ex) {
+            WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+            throw ex;
+        }
+    }
+
+    private void onRemoval(final RemovalNotification<String, Path> notification) {
+        final File cachedResource = notification.getValue().toFile();
+        cachedSize.addAndGet(-cachedResource.length());
+        if (!cachedResource.delete() && cachedResource.exists()) {
+            log.warn("Delete the evicted resource cache file: {} failed", cachedResource);
+        }
+    }
+
+}
@@ -17,14 +17,20 @@
 
 package org.apache.dolphinscheduler.server.worker.rpc;
 
+import org.apache.dolphinscheduler.common.log.CompressedLogFile;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailResponse;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +49,18 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest taskInstanceLogFileChunkRequest) {
+        final long offset = Math.max(0, taskInstanceLogFileChunkRequest.getOffset());
+        final int chunkSize = Math.min(taskInstanceLogFileChunkRequest.getChunkSize(),
+                TaskInstanceLogFileChunkRequest.MAX_CHUNK_SIZE);
+        final byte[] chunk = LogUtils.readPartFileContentBytes(
+                taskInstanceLogFileChunkRequest.getTaskInstanceLogAbsolutePath(),
+                offset,
+                chunkSize);
+        return new TaskInstanceLogFileChunkResponse(offset, chunk, chunk.length < chunkSize);
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
         List<String> lines = LogUtils.readPartFileContent(
@@ -54,8 +72,22 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailResponse readTaskInstanceLogFrom(TaskInstanceLogTailRequest taskInstanceLogTailRequest) {
+        final long offset = Math.max(0, taskInstanceLogTailRequest.getOffset());
+        final int maxBytes = Math.min(taskInstanceLogTailRequest.getMaxBytes(),
+                TaskInstanceLogFileChunkRequest.MAX_CHUNK_SIZE);
+        final LogUtils.AppendedFileContent appendedLog = LogUtils.readAppendedFileContent(
+                taskInstanceLogTailRequest.getTaskInstanceLogAbsolutePath(),
+                offset,
+                maxBytes);
+        return new TaskInstanceLogTailResponse(offset, offset + appendedLog.getBytes().length,
+                new String(appendedLog.getBytes(), StandardCharsets.UTF_8), appendedLog.isEndOfFile());
+    }
+
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        FileUtils.deleteFile(CompressedLogFile.getCompressedLogPath(taskInstanceLogAbsolutePath));
     }
 }
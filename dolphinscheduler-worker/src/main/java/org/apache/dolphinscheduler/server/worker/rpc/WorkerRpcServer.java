@@ -33,6 +33,7 @@ public class WorkerRpcServer extends SpringServerMethodInvokerDiscovery implemen
 
     public WorkerRpcServer(WorkerConfig workerConfig) {
         super(NettyServerConfig.builder().serverName("WorkerRpcServer").listenPort(workerConfig.getListenPort())
+                .executorConfig(workerConfig.getRpcServerExecutor())
                 .build());
     }
 
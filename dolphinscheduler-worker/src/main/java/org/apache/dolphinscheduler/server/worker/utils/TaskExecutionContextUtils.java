@@ -26,14 +26,19 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.ResourceInfo;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.resource.ResourceContext;
-import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.server.worker.resource.FileTransferType;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerFileTransferExecutor;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -62,6 +67,8 @@ public class TaskExecutionContextUtils {
 
     public static ResourceContext downloadResourcesIfNeeded(TaskChannel taskChannel,
                                                             StorageOperator storageOperator,
+                                                            WorkerResourceCache workerResourceCache,
+                                                            WorkerFileTransferExecutor workerFileTransferExecutor,
                                                             TaskExecutionContext taskExecutionContext) {
         AbstractParameters abstractParameters = taskChannel.parseParameters(taskExecutionContext.getTaskParams());
 
@@ -73,6 +80,8 @@ public class TaskExecutionContextUtils {
 
         ResourceContext resourceContext = new ResourceContext();
         String taskWorkingDirectory = taskExecutionContext.getExecutePath();
+        // The same local file may be referenced by several resources, it should only be downloaded once
+        Map<String, Callable<Void>> resourceDownloads = new LinkedHashMap<>();
 
         for (ResourceInfo resourceInfo : resourceFilesList) {
             String resourceAbsolutePathInStorage = resourceInfo.getResourceName();
@@ -81,22 +90,18 @@ public class TaskExecutionContextUtils {
                     Paths.get(taskWorkingDirectory, resourceMetaData.getResourceRelativePath()).toString();
             File file = new File(resourceAbsolutePathInLocal);
             if (!file.exists()) {
-                try {
-                    long resourceDownloadStartTime = System.currentTimeMillis();
-                    storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
-                    log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
-                            resourceAbsolutePathInLocal);
-                    FileUtils.setFileTo755(file);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadSize(Files.size(Paths.get(resourceAbsolutePathInLocal)));
-                    WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
-                } catch (Exception ex) {
-                    WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
-                    throw new TaskException(
-                            String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
-                }
+                resourceDownloads.putIfAbsent(resourceAbsolutePathInLocal, () -> {
+                    try {
+                        workerResourceCache.fetch(storageOperator, resourceAbsolutePathInStorage,
+                                resourceAbsolutePathInLocal);
+                        log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
+                                resourceAbsolutePathInLocal);
+                    } catch (Exception ex) {
+                        throw new TaskException(
+                                String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
+                    }
+                    return null;
+                });
             }
             ResourceContext.ResourceItem resourceItem = ResourceContext.ResourceItem.builder()
                     .resourceAbsolutePathInStorage(resourceAbsolutePathInStorage)
@@ -104,6 +109,7 @@ public class TaskExecutionContextUtils {
                     .build();
             resourceContext.addResourceItem(resourceItem);
         }
+        workerFileTransferExecutor.transfer(FileTransferType.RESOURCE, new ArrayList<>(resourceDownloads.values()));
         return resourceContext;
     }
 
@@ -28,6 +28,8 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.server.worker.resource.FileTransferType;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerFileTransferExecutor;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -37,6 +39,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -64,12 +67,14 @@ public class TaskFilesTransferUtils {
     /**
      * upload output files to resource storage
      *
-     * @param taskExecutionContext is the context of task
-     * @param storageOperator      is the storage operate
+     * @param taskExecutionContext       is the context of task
+     * @param storageOperator            is the storage operate
+     * @param workerFileTransferExecutor is the executor to upload the files concurrently
      * @throws TaskException TaskException
      */
     public static void uploadOutputFiles(TaskExecutionContext taskExecutionContext,
-                                         StorageOperator storageOperator) throws TaskException {
+                                         StorageOperator storageOperator,
+                                         WorkerFileTransferExecutor workerFileTransferExecutor) throws TaskException {
         // get OUTPUT FILE parameters
         List<Property> localParamsProperty = getFileLocalParams(taskExecutionContext, Direct.OUT);
         if (localParamsProperty.isEmpty()) {
@@ -83,37 +88,14 @@ public class TaskFilesTransferUtils {
                 .collect(Collectors.toMap(Property::getProp, x -> x));
 
         log.info("Upload output files ...");
+        List<Callable<String>> uploads = new ArrayList<>(localParamsProperty.size());
         for (Property property : localParamsProperty) {
-            // get local file path
-            String path = String.format("%s/%s", taskExecutionContext.getExecutePath(), property.getValue());
-            String srcPath = packIfDir(path);
-
-            // get crc file path
-            String srcCRCPath = srcPath + CRC_SUFFIX;
-            try {
-                FileUtils.writeContent2File(FileUtils.getFileChecksum(path), srcCRCPath);
-            } catch (IOException ex) {
-                throw new TaskException(ex.getMessage(), ex);
-            }
-
-            // get remote file path
-            String resourcePath = getResourcePath(taskExecutionContext, new File(srcPath).getName());
-            String resourceCRCPath = resourcePath + CRC_SUFFIX;
-            try {
-                // upload file to storage
-                String resourceWholePath =
-                        storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
-                String resourceCRCWholePath =
-                        storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(),
-                                resourceCRCPath);
-                log.info("{} --- Local:{} to Remote:{}", property, srcPath, resourceWholePath);
-                storageOperator.upload(srcPath, resourceWholePath, false, true);
-                log.info("{} --- Local:{} to Remote:{}", "CRC file", srcCRCPath, resourceCRCWholePath);
-                storageOperator.upload(srcCRCPath, resourceCRCWholePath, false, true);
-            } catch (Exception ex) {
-                throw new TaskException("Upload file to storage error", ex);
-            }
+            uploads.add(() -> uploadOutputFile(taskExecutionContext, storageOperator, property));
+        }
+        List<String> resourcePaths = workerFileTransferExecutor.transfer(FileTransferType.OUTPUT_FILE, uploads);
 
+        for (int i = 0; i < localParamsProperty.size(); i++) {
+            Property property = localParamsProperty.get(i);
             // update varPool
             Property oriProperty;
             // if the property is not in varPool, add it
@@ -124,21 +106,63 @@ public class TaskFilesTransferUtils {
                 varPools.add(oriProperty);
             }
             oriProperty.setProp(String.format("%s.%s", taskExecutionContext.getTaskName(), oriProperty.getProp()));
-            oriProperty.setValue(resourcePath);
+            oriProperty.setValue(resourcePaths.get(i));
         }
         taskExecutionContext.setVarPool(JSONUtils.toJsonString(varPools));
     }
 
+    /**
+     * upload the output file of the given property and its crc file to resource storage
+     *
+     * @return the resource path of the uploaded file
+     */
+    private static String uploadOutputFile(TaskExecutionContext taskExecutionContext,
+                                           StorageOperator storageOperator,
+                                           Property property) throws TaskException {
+        // get local file path
+        String path = String.format("%s/%s", taskExecutionContext.getExecutePath(), property.getValue());
+        String srcPath = packIfDir(path);
+
+        // get crc file path
+        String srcCRCPath = srcPath + CRC_SUFFIX;
+        try {
+            FileUtils.writeContent2File(FileUtils.getFileChecksum(path), srcCRCPath);
+        } catch (IOException ex) {
+            throw new TaskException(ex.getMessage(), ex);
+        }
+
+        // get remote file path
+        String resourcePath = getResourcePath(taskExecutionContext, new File(srcPath).getName());
+        String resourceCRCPath = resourcePath + CRC_SUFFIX;
+        try {
+            // upload file to storage
+            String resourceWholePath =
+                    storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
+            String resourceCRCWholePath =
+                    storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(),
+                            resourceCRCPath);
+            log.info("{} --- Local:{} to Remote:{}", property, srcPath, resourceWholePath);
+            storageOperator.upload(srcPath, resourceWholePath, false, true);
+            log.info("{} --- Local:{} to Remote:{}", "CRC file", srcCRCPath, resourceCRCWholePath);
+            storageOperator.upload(srcCRCPath, resourceCRCWholePath, false, true);
+        } catch (Exception ex) {
+            throw new TaskException("Upload file to storage error", ex);
+        }
+        return resourcePath;
+    }
+
     /**
      * download upstream files from storage
      * only download files which are defined in the task parameters
      *
-     * @param taskExecutionContext is the context of task
-     * @param storageOperator      is the storage operate
+     * @param taskExecutionContext       is the context of task
+     * @param storageOperator            is the storage operate
+     * @param workerFileTransferExecutor is the executor to download the files concurrently
      * @throws TaskException task exception
      */
     public static void downloadUpstreamFiles(TaskExecutionContext taskExecutionContext,
-                                             StorageOperator storageOperator) {
+                                             StorageOperator storageOperator,
+                                             WorkerFileTransferExecutor workerFileTransferExecutor) {
         // get "IN FILE" parameters
         List<Property> localParamsProperty = getFileLocalParams(taskExecutionContext, Direct.IN);
 
@@ -158,6 +182,7 @@ public class TaskFilesTransferUtils {
         String downloadTmpPath = String.format("%s/%s", executePath, DOWNLOAD_TMP);
 
         log.info("Download upstream files...");
+        List<Callable<Void>> downloads = new ArrayList<>(localParamsProperty.size());
         for (Property property : localParamsProperty) {
             Property inVarPool = varPoolsMap.get(property.getValue());
             if (inVarPool == null) {
@@ -168,35 +193,54 @@ public class TaskFilesTransferUtils {
 
             String resourcePath = inVarPool.getValue();
             String targetPath = String.format("%s/%s", executePath, property.getProp());
-
-            String downloadPath;
-            // If the data is packaged, download it to a special directory (DOWNLOAD_TMP) and unpack it to the
-            // targetPath
-            boolean isPack = resourcePath.endsWith(PACK_SUFFIX);
-            if (isPack) {
-                downloadPath = String.format("%s/%s", downloadTmpPath, new File(resourcePath).getName());
-            } else {
-                downloadPath = targetPath;
+            downloads.add(() -> {
+                downloadUpstreamFile(taskExecutionContext, storageOperator, property, resourcePath, targetPath,
+                        downloadTmpPath);
+                return null;
+            });
+        }
+        try {
+            workerFileTransferExecutor.transfer(FileTransferType.UPSTREAM_FILE, downloads);
+        } finally {
+            // delete DownloadTmp Folder if DownloadTmpPath exists
+            try {
+                org.apache.commons.io.FileUtils.deleteDirectory(new File(downloadTmpPath));
+            } catch (IOException e) {
+                log.error("Delete DownloadTmpPath {} failed, this will not affect the task status", downloadTmpPath,
+                        e);
             }
+        }
+    }
 
-            String resourceWholePath =
-                    storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
-            log.info("{} --- Remote:{} to Local:{}", property, resourceWholePath, downloadPath);
-            storageOperator.download(resourceWholePath, downloadPath, true);
-
-            // unpack if the data is packaged
-            if (isPack) {
-                File downloadFile = new File(downloadPath);
-                log.info("Unpack {} to {}", downloadPath, targetPath);
-                ZipUtil.unpack(downloadFile, new File(targetPath));
-            }
+    /**
+     * download the upstream file of the given property from storage, unpack it if the data is packaged
+     */
+    private static void downloadUpstreamFile(TaskExecutionContext taskExecutionContext,
+                                             StorageOperator storageOperator,
+                                             Property property,
+                                             String resourcePath,
+                                             String targetPath,
+                                             String downloadTmpPath) {
+        String downloadPath;
+        // If the data is packaged, download it to a special directory (DOWNLOAD_TMP) and unpack it to the
+        // targetPath
+        boolean isPack = resourcePath.endsWith(PACK_SUFFIX);
+        if (isPack) {
+            downloadPath = String.format("%s/%s", downloadTmpPath, new File(resourcePath).getName());
+        } else {
+            downloadPath = targetPath;
         }
 
-        // delete DownloadTmp Folder if DownloadTmpPath exists
-        try {
-            org.apache.commons.io.FileUtils.deleteDirectory(new File(downloadTmpPath));
-        } catch (IOException e) {
-            log.error("Delete DownloadTmpPath {} failed, this will not affect the task status", downloadTmpPath, e);
+        String resourceWholePath =
+                storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
+        log.info("{} --- Remote:{} to Local:{}", property, resourceWholePath, downloadPath);
+        storageOperator.download(resourceWholePath, downloadPath, true);
+
+        // unpack if the data is packaged
+        if (isPack) {
+            File downloadFile = new File(downloadPath);
+            log.info("Unpack {} to {}", downloadPath, targetPath);
+            ZipUtil.unpack(downloadFile, new File(targetPath));
         }
     }
 
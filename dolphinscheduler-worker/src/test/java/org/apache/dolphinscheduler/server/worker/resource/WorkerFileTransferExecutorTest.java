@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class WorkerFileTransferExecutorTest {
+
+    @Test
+    void testTransferConcurrently() {
+        final WorkerFileTransferExecutor workerFileTransferExecutor = createWorkerFileTransferExecutor(4);
+        // Each transfer waits for the others, it can only finish when all of them run concurrently
+        final CountDownLatch allStarted = new CountDownLatch(4);
+        final List<Callable<Integer>> transfers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final int index = i;
+            transfers.add(() -> {
+                allStarted.countDown();
+                assertThat(allStarted.await(10, TimeUnit.SECONDS)).isTrue();
+                return index;
+            });
+        }
+
+        final List<Integer> results = workerFileTransferExecutor.transfer(FileTransferType.RESOURCE, transfers);
+
+        assertThat(results).containsExactly(0, 1, 2, 3).inOrder();
+    }
+
+    @Test
+    void testTransferBoundedByThreadSize() {
+        final WorkerFileTransferExecutor workerFileTransferExecutor = createWorkerFileTransferExecutor(2);
+        final AtomicInteger runningTransfers = new AtomicInteger();
+        final AtomicInteger maxRunningTransfers = new AtomicInteger();
+        final List<Callable<Void>> transfers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            transfers.add(() -> {
+                maxRunningTransfers.accumulateAndGet(runningTransfers.incrementAndGet(), Math::max);
+                ThreadUtils.sleep(20);
+                runningTransfers.decrementAndGet();
+                return null;
+            });
+        }
+
+        workerFileTransferExecutor.transfer(FileTransferType.UPSTREAM_FILE, transfers);
+
+        assertThat(maxRunningTransfers.get()).isAtMost(2);
+    }
+
+    @Test
+    void testTransferFailedAfterOthersFinished() {
+        final WorkerFileTransferExecutor workerFileTransferExecutor = createWorkerFileTransferExecutor(4);
+        final AtomicInteger finishedTransfers = new AtomicInteger();
+        final List<Callable<Void>> transfers = new ArrayList<>();
+        transfers.add(() -> {
+            throw new TaskException("Download resource file: test.jar error");
+        });
+        for (int i = 0; i < 3; i++) {
+            transfers.add(() -> {
+                ThreadUtils.sleep(50);
+                finishedTransfers.incrementAndGet();
+                return null;
+            });
+        }
+
+        final TaskException taskException = assertThrows(TaskException.class,
+                () -> workerFileTransferExecutor.transfer(FileTransferType.RESOURCE, transfers));
+
+        assertThat(taskException).hasMessageThat().isEqualTo("Download resource file: test.jar error");
+        assertThat(finishedTransfers.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testTransferInterruptedAfterCancelledFinished() throws InterruptedException {
+        final WorkerFileTransferExecutor workerFileTransferExecutor = createWorkerFileTransferExecutor(2);
+        final CountDownLatch allStarted = new CountDownLatch(2);
+        final AtomicInteger finishedTransfers = new AtomicInteger();
+        final List<Callable<Void>> transfers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            transfers.add(() -> {
+                allStarted.countDown();
+                // Ignore the interrupt as a blocking file write does
+                final long deadline = System.currentTimeMillis() + 200;
+                while (System.currentTimeMillis() < deadline) {
+                    Thread.yield();
+                }
+                finishedTransfers.incrementAndGet();
+                return null;
+            });
+        }
+        final AtomicInteger finishedTransfersOnThrown = new AtomicInteger(-1);
+        final Thread callerThread = new Thread(() -> {
+            try {
+                workerFileTransferExecutor.transfer(FileTransferType.RESOURCE, transfers);
+            } catch (TaskException ex) {
+                finishedTransfersOnThrown.set(finishedTransfers.get());
+            }
+        });
+        callerThread.start();
+
+        assertThat(allStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        callerThread.interrupt();
+        callerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        // The two running transfers are waited, the two queued ones are never started
+        assertThat(finishedTransfersOnThrown.get()).isEqualTo(2);
+        ThreadUtils.sleep(300);
+        assertThat(finishedTransfers.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testTransferInCallerThread() {
+        final WorkerFileTransferExecutor workerFileTransferExecutor = createWorkerFileTransferExecutor(0);
+        final Thread callerThread = Thread.currentThread();
+        final List<Callable<Thread>> transfers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            transfers.add(Thread::currentThread);
+        }
+
+        final List<Thread> results = workerFileTransferExecutor.transfer(FileTransferType.OUTPUT_FILE, transfers);
+
+        assertThat(results).containsExactly(callerThread, callerThread);
+    }
+
+    private WorkerFileTransferExecutor createWorkerFileTransferExecutor(final int fileTransferThreadSize) {
+        final WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.getPhysicalTaskConfig().setFileTransferThreadSize(fileTransferThreadSize);
+        return new WorkerFileTransferExecutor(workerConfig);
+    }
+
+}
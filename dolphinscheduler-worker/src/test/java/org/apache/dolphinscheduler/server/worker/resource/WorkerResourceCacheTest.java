@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WorkerResourceCacheTest {
+
+    private static final String RESOURCE = "file:///tmp/dolphinscheduler/default/resources/test.jar";
+
+    @TempDir
+    public Path workingDirectory;
+
+    private StorageOperator storageOperator;
+
+    private WorkerResourceCache workerResourceCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storageOperator = mock(StorageOperator.class);
+        mockDownload("content");
+        mockSize("content".length());
+        workerResourceCache = createWorkerResourceCache(10L * 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FileUtils.deleteFile(workerResourceCache.getCacheDirectory().toString());
+    }
+
+    @Test
+    void testFetchSameVersionDownloadOnce() throws IOException {
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn("v1");
+
+        final Path first = workingDirectory.resolve("1/test.jar");
+        final Path second = workingDirectory.resolve("2/test.jar");
+        workerResourceCache.fetch(storageOperator, RESOURCE, first.toString());
+        workerResourceCache.fetch(storageOperator, RESOURCE, second.toString());
+
+        verify(storageOperator, times(1)).download(eq(RESOURCE), anyString(), anyBoolean());
+        assertThat(readContent(first)).isEqualTo("content");
+        assertThat(readContent(second)).isEqualTo("content");
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo("content".length());
+    }
+
+    @Test
+    void testFetchChangedVersionDownloadAgain() throws IOException {
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn("v1");
+        final Path first = workingDirectory.resolve("1/test.jar");
+        workerResourceCache.fetch(storageOperator, RESOURCE, first.toString());
+
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn("v2");
+        mockDownload("changed");
+        final Path second = workingDirectory.resolve("2/test.jar");
+        workerResourceCache.fetch(storageOperator, RESOURCE, second.toString());
+
+        verify(storageOperator, times(2)).download(eq(RESOURCE), anyString(), anyBoolean());
+        assertThat(readContent(first)).isEqualTo("content");
+        assertThat(readContent(second)).isEqualTo("changed");
+    }
+
+    @Test
+    void testFetchUnknownVersionBypassCache() throws IOException {
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn(null);
+
+        final Path first = workingDirectory.resolve("1/test.jar");
+        final Path second = workingDirectory.resolve("2/test.jar");
+        workerResourceCache.fetch(storageOperator, RESOURCE, first.toString());
+        workerResourceCache.fetch(storageOperator, RESOURCE, second.toString());
+
+        verify(storageOperator).download(RESOURCE, first.toString(), true);
+        verify(storageOperator).download(RESOURCE, second.toString(), true);
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo(0);
+    }
+
+    @Test
+    void testFetchOversizeBypassCache() throws IOException {
+        workerResourceCache = createWorkerResourceCache(1024);
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn("v1");
+        mockSize(1025);
+
+        final Path first = workingDirectory.resolve("1/test.jar");
+        final Path second = workingDirectory.resolve("2/test.jar");
+        workerResourceCache.fetch(storageOperator, RESOURCE, first.toString());
+        workerResourceCache.fetch(storageOperator, RESOURCE, second.toString());
+
+        // Downloaded into the working directories directly, once for each fetch
+        verify(storageOperator, times(2)).download(eq(RESOURCE), anyString(), anyBoolean());
+        verify(storageOperator).download(RESOURCE, first.toString(), true);
+        verify(storageOperator).download(RESOURCE, second.toString(), true);
+        assertThat(readContent(first)).isEqualTo("content");
+        assertThat(readContent(second)).isEqualTo("content");
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo(0);
+        assertThat(workerResourceCache.getCacheDirectory().toFile().list()).isEmpty();
+    }
+
+    @Test
+    void testFetchUnknownSizeBypassCache() throws IOException {
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn("v1");
+        when(storageOperator.getStorageEntity(RESOURCE)).thenThrow(new IllegalStateException("not found"));
+
+        final Path localPath = workingDirectory.resolve("test.jar");
+        workerResourceCache.fetch(storageOperator, RESOURCE, localPath.toString());
+
+        verify(storageOperator).download(RESOURCE, localPath.toString(), true);
+        assertThat(readContent(localPath)).isEqualTo("content");
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo(0);
+    }
+
+    @Test
+    void testFetchEvictLeastRecentlyUsed() throws IOException {
+        workerResourceCache = createWorkerResourceCache(2 * 1024);
+        when(storageOperator.getResourceVersion(anyString())).thenReturn("v1");
+
+        workerResourceCache.fetch(storageOperator, RESOURCE + ".1", workingDirectory.resolve("1.jar").toString());
+        workerResourceCache.fetch(storageOperator, RESOURCE + ".2", workingDirectory.resolve("2.jar").toString());
+        workerResourceCache.fetch(storageOperator, RESOURCE + ".3", workingDirectory.resolve("3.jar").toString());
+        workerResourceCache.fetch(storageOperator, RESOURCE + ".1", workingDirectory.resolve("4.jar").toString());
+
+        verify(storageOperator, times(2)).download(eq(RESOURCE + ".1"), anyString(), anyBoolean());
+        assertThat(readContent(workingDirectory.resolve("1.jar"))).isEqualTo("content");
+        assertThat(readContent(workingDirectory.resolve("4.jar"))).isEqualTo("content");
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo(2 * "content".length());
+    }
+
+    @Test
+    void testConcurrentFetchDownloadOnce() throws Exception {
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn("v1");
+        final CountDownLatch downloadStarted = new CountDownLatch(1);
+        final CountDownLatch downloadReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            downloadStarted.countDown();
+            downloadReleased.await();
+            Files.write(Paths.get(invocation.getArgument(1, String.class)),
+                    "content".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(anyString(), anyString(), anyBoolean());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final Path localPath = workingDirectory.resolve(i + "/test.jar");
+                futures.add(executorService.submit(() -> {
+                    workerResourceCache.fetch(storageOperator, RESOURCE, localPath.toString());
+                    return null;
+                }));
+            }
+            downloadStarted.await();
+            downloadReleased.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(storageOperator, times(1)).download(anyString(), anyString(), anyBoolean());
+        for (int i = 0; i < 4; i++) {
+            assertThat(readContent(workingDirectory.resolve(i + "/test.jar"))).isEqualTo("content");
+        }
+    }
+
+    @Test
+    void testFetchDownloadFailed() {
+        when(storageOperator.getResourceVersion(RESOURCE)).thenReturn("v1");
+        doAnswer(invocation -> {
+            throw new IllegalStateException("download failed");
+        }).when(storageOperator).download(anyString(), anyString(), anyBoolean());
+
+        final String localPath = workingDirectory.resolve("test.jar").toString();
+        assertThrows(IOException.class, () -> workerResourceCache.fetch(storageOperator, RESOURCE, localPath));
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo(0);
+    }
+
+    private WorkerResourceCache createWorkerResourceCache(final long maxSizeBytes) throws IOException {
+        final WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.getResourceCacheConfig().setEnabled(true);
+        workerConfig.getResourceCacheConfig().setMaxSizeBytes(maxSizeBytes);
+        return new WorkerResourceCache(workerConfig);
+    }
+
+    private void mockDownload(final String content) {
+        doAnswer(invocation -> {
+            final Path dst = Paths.get(invocation.getArgument(1, String.class));
+            Files.createDirectories(dst.getParent());
+            Files.write(dst, content.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(anyString(), anyString(), anyBoolean());
+    }
+
+    private void mockSize(final long size) {
+        when(storageOperator.getStorageEntity(anyString())).thenReturn(StorageEntity.builder().size(size).build());
+    }
+
+    private String readContent(final Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+}
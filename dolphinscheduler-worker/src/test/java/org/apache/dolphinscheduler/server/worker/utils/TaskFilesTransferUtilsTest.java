@@ -23,6 +23,8 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerFileTransferExecutor;
 
 import org.apache.curator.shaded.com.google.common.io.Files;
 
@@ -100,7 +102,7 @@ public class TaskFilesTransferUtilsTest {
         List<Property> oriProperties = TaskFilesTransferUtils.getVarPools(taskExecutionContext);
 
         StorageOperator storageOperator = Mockito.mock(StorageOperator.class);
-        TaskFilesTransferUtils.uploadOutputFiles(taskExecutionContext, storageOperator);
+        TaskFilesTransferUtils.uploadOutputFiles(taskExecutionContext, storageOperator, createFileTransferExecutor());
         System.out.println(taskExecutionContext.getVarPool());
 
         String exceptFolder =
@@ -157,7 +159,8 @@ public class TaskFilesTransferUtilsTest {
         StorageOperator storageOperator = Mockito.mock(StorageOperator.class);
         Mockito.mockStatic(ZipUtil.class);
         Assertions.assertDoesNotThrow(
-                () -> TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator));
+                () -> TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator,
+                        createFileTransferExecutor()));
     }
 
     @Test
@@ -252,4 +255,11 @@ public class TaskFilesTransferUtilsTest {
         String expectFolderPackPath = folderPath.getPath() + TaskFilesTransferUtils.PACK_SUFFIX;
         Assertions.assertEquals(expectFolderPackPath, TaskFilesTransferUtils.packIfDir(folderPath.getPath()));
     }
+
+    private WorkerFileTransferExecutor createFileTransferExecutor() {
+        // Transfer in the test thread since the static mock of ZipUtil only works in the current thread
+        WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.getPhysicalTaskConfig().setFileTransferThreadSize(0);
+        return new WorkerFileTransferExecutor(workerConfig);
+    }
 }